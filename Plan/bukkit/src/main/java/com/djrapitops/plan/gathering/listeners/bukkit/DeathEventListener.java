@@ -18,11 +18,8 @@ package com.djrapitops.plan.gathering.listeners.bukkit;
 
 import com.djrapitops.plan.delivery.formatting.EntityNameFormatter;
 import com.djrapitops.plan.delivery.formatting.ItemNameFormatter;
-import com.djrapitops.plan.gathering.cache.SessionCache;
-import com.djrapitops.plan.gathering.domain.ActiveSession;
-import com.djrapitops.plan.processing.Processing;
-import com.djrapitops.plan.processing.processors.player.MobKillProcessor;
-import com.djrapitops.plan.processing.processors.player.PlayerKillProcessor;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
+import com.djrapitops.plan.gathering.events.ListenerTiming;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import org.bukkit.Material;
@@ -45,26 +42,29 @@ import java.util.Optional;
  */
 public class DeathEventListener implements Listener {
 
-    private final Processing processing;
+    private final GatheringEventPipeline pipeline;
+    private final ListenerTiming timing;
     private final ErrorLogger errorLogger;
 
     @Inject
     public DeathEventListener(
-            Processing processing,
+            GatheringEventPipeline pipeline,
             ErrorLogger errorLogger
     ) {
-        this.processing = processing;
+        this.pipeline = pipeline;
         this.errorLogger = errorLogger;
+        timing = pipeline.registerTiming(getClass().getSimpleName());
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onDeath(EntityDeathEvent event) {
+        long start = System.nanoTime();
         long time = System.currentTimeMillis();
         LivingEntity dead = event.getEntity();
 
         if (dead instanceof Player) {
             // Process Death
-            SessionCache.getCachedSession(dead.getUniqueId()).ifPresent(ActiveSession::addDeath);
+            pipeline.death(dead.getUniqueId());
         }
 
         try {
@@ -74,12 +74,15 @@ public class DeathEventListener implements Listener {
             }
             Player killer = foundKiller.get();
 
-            Runnable processor = dead instanceof Player
-                    ? new PlayerKillProcessor(killer.getUniqueId(), time, dead.getUniqueId(), findWeapon(dead))
-                    : new MobKillProcessor(killer.getUniqueId());
-            processing.submitCritical(processor);
+            if (dead instanceof Player) {
+                pipeline.playerKill(killer.getUniqueId(), dead.getUniqueId(), findWeapon(dead), time);
+            } else {
+                pipeline.mobKill(killer.getUniqueId());
+            }
         } catch (Exception e) {
             errorLogger.error(e, ErrorContext.builder().related(event, dead).build());
+        } finally {
+            timing.recordSince(start);
         }
     }
 
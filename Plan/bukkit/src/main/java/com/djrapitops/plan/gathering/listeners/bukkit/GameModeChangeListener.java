@@ -16,12 +16,8 @@
  */
 package com.djrapitops.plan.gathering.listeners.bukkit;
 
-import com.djrapitops.plan.gathering.cache.SessionCache;
-import com.djrapitops.plan.gathering.domain.ActiveSession;
-import com.djrapitops.plan.identification.ServerInfo;
-import com.djrapitops.plan.settings.config.WorldAliasSettings;
-import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.transactions.events.WorldNameStoreTransaction;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
+import com.djrapitops.plan.gathering.events.ListenerTiming;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import org.bukkit.entity.Player;
@@ -31,7 +27,6 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerGameModeChangeEvent;
 
 import javax.inject.Inject;
-import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -41,22 +36,18 @@ import java.util.UUID;
  */
 public class GameModeChangeListener implements Listener {
 
-    private final WorldAliasSettings worldAliasSettings;
-    private final ServerInfo serverInfo;
-    private final DBSystem dbSystem;
+    private final GatheringEventPipeline pipeline;
+    private final ListenerTiming timing;
     private final ErrorLogger errorLogger;
 
     @Inject
     public GameModeChangeListener(
-            WorldAliasSettings worldAliasSettings,
-            ServerInfo serverInfo,
-            DBSystem dbSystem,
+            GatheringEventPipeline pipeline,
             ErrorLogger errorLogger
     ) {
-        this.worldAliasSettings = worldAliasSettings;
-        this.serverInfo = serverInfo;
-        this.dbSystem = dbSystem;
+        this.pipeline = pipeline;
         this.errorLogger = errorLogger;
+        timing = pipeline.registerTiming(getClass().getSimpleName());
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
@@ -64,10 +55,13 @@ public class GameModeChangeListener implements Listener {
         if (event.isCancelled()) {
             return;
         }
+        long start = System.nanoTime();
         try {
             actOnEvent(event);
         } catch (Exception e) {
             errorLogger.error(e, ErrorContext.builder().related(event, event.getPlayer().getGameMode() + "->" + event.getNewGameMode()).build());
+        } finally {
+            timing.recordSince(start);
         }
     }
 
@@ -78,10 +72,6 @@ public class GameModeChangeListener implements Listener {
         String gameMode = event.getNewGameMode().name();
         String worldName = player.getWorld().getName();
 
-        dbSystem.getDatabase().executeTransaction(new WorldNameStoreTransaction(serverInfo.getServerUUID(), worldName));
-        worldAliasSettings.addWorld(worldName);
-
-        Optional<ActiveSession> cachedSession = SessionCache.getCachedSession(uuid);
-        cachedSession.ifPresent(session -> session.changeState(worldName, gameMode, time));
+        pipeline.changeState(uuid, worldName, gameMode, time);
     }
 }
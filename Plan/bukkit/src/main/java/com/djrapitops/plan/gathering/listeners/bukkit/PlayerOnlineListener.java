@@ -25,6 +25,7 @@ import com.djrapitops.plan.extension.ExtensionSvc;
 import com.djrapitops.plan.gathering.cache.NicknameCache;
 import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.gathering.domain.ActiveSession;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
 import com.djrapitops.plan.gathering.geolocation.GeolocationCache;
 import com.djrapitops.plan.gathering.listeners.Status;
 import com.djrapitops.plan.identification.ServerInfo;
@@ -70,6 +71,7 @@ public class PlayerOnlineListener implements Listener {
     private final GeolocationCache geolocationCache;
     private final NicknameCache nicknameCache;
     private final SessionCache sessionCache;
+    private final GatheringEventPipeline pipeline;
     private final ErrorLogger errorLogger;
     private final Status status;
 
@@ -86,6 +88,7 @@ public class PlayerOnlineListener implements Listener {
             GeolocationCache geolocationCache,
             NicknameCache nicknameCache,
             SessionCache sessionCache,
+            GatheringEventPipeline pipeline,
             Status status,
             ErrorLogger errorLogger
     ) {
@@ -98,6 +101,7 @@ public class PlayerOnlineListener implements Listener {
         this.geolocationCache = geolocationCache;
         this.nicknameCache = nicknameCache;
         this.sessionCache = sessionCache;
+        this.pipeline = pipeline;
         this.status = status;
         this.errorLogger = errorLogger;
 
@@ -239,6 +243,8 @@ public class PlayerOnlineListener implements Listener {
 
         dbSystem.getDatabase().executeTransaction(new BanStatusTransaction(playerUUID, serverUUID, player::isBanned));
 
+        // Events of the player that are still queued belong to the session that is ending.
+        pipeline.flush();
         sessionCache.endSession(playerUUID, time)
                 .ifPresent(endedSession -> dbSystem.getDatabase().executeTransaction(new SessionEndTransaction(endedSession)));
 
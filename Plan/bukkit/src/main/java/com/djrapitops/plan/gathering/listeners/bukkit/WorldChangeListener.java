@@ -16,12 +16,8 @@
  */
 package com.djrapitops.plan.gathering.listeners.bukkit;
 
-import com.djrapitops.plan.gathering.cache.SessionCache;
-import com.djrapitops.plan.gathering.domain.ActiveSession;
-import com.djrapitops.plan.identification.ServerInfo;
-import com.djrapitops.plan.settings.config.WorldAliasSettings;
-import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.transactions.events.WorldNameStoreTransaction;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
+import com.djrapitops.plan.gathering.events.ListenerTiming;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import org.bukkit.entity.Player;
@@ -31,35 +27,33 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
 
 import javax.inject.Inject;
-import java.util.Optional;
 import java.util.UUID;
 
 public class WorldChangeListener implements Listener {
 
-    private final WorldAliasSettings worldAliasSettings;
-    private final ServerInfo serverInfo;
-    private final DBSystem dbSystem;
+    private final GatheringEventPipeline pipeline;
+    private final ListenerTiming timing;
     private final ErrorLogger errorLogger;
 
     @Inject
     public WorldChangeListener(
-            WorldAliasSettings worldAliasSettings,
-            ServerInfo serverInfo,
-            DBSystem dbSystem,
+            GatheringEventPipeline pipeline,
             ErrorLogger errorLogger
     ) {
-        this.worldAliasSettings = worldAliasSettings;
-        this.serverInfo = serverInfo;
-        this.dbSystem = dbSystem;
+        this.pipeline = pipeline;
         this.errorLogger = errorLogger;
+        timing = pipeline.registerTiming(getClass().getSimpleName());
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onWorldChange(PlayerChangedWorldEvent event) {
+        long start = System.nanoTime();
         try {
             actOnEvent(event);
         } catch (Exception e) {
             errorLogger.error(e, ErrorContext.builder().related(event).build());
+        } finally {
+            timing.recordSince(start);
         }
     }
 
@@ -72,10 +66,6 @@ public class WorldChangeListener implements Listener {
         String worldName = player.getWorld().getName();
         String gameMode = player.getGameMode().name();
 
-        dbSystem.getDatabase().executeTransaction(new WorldNameStoreTransaction(serverInfo.getServerUUID(), worldName));
-        worldAliasSettings.addWorld(worldName);
-
-        Optional<ActiveSession> cachedSession = SessionCache.getCachedSession(uuid);
-        cachedSession.ifPresent(session -> session.changeState(worldName, gameMode, time));
+        pipeline.changeState(uuid, worldName, gameMode, time);
     }
 }
@@ -23,8 +23,10 @@ import com.djrapitops.plan.delivery.web.ResolverSvc;
 import com.djrapitops.plan.delivery.web.ResourceSvc;
 import com.djrapitops.plan.delivery.webserver.NonProxyWebserverDisableChecker;
 import com.djrapitops.plan.delivery.webserver.WebServerSystem;
+import com.djrapitops.plan.extension.ExtensionGatheringScheduler;
 import com.djrapitops.plan.extension.ExtensionSvc;
 import com.djrapitops.plan.gathering.cache.CacheSystem;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
 import com.djrapitops.plan.gathering.importing.ImportSystem;
 import com.djrapitops.plan.gathering.listeners.ListenerSystem;
 import com.djrapitops.plan.identification.ServerInfo;
@@ -36,6 +38,7 @@ import com.djrapitops.plan.settings.SchedulerSvc;
 import com.djrapitops.plan.settings.SettingsSvc;
 import com.djrapitops.plan.settings.locale.LocaleSystem;
 import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.ParallelQueries;
 import com.djrapitops.plan.storage.file.PlanFiles;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
@@ -62,8 +65,10 @@ public class PlanSystem implements SubSystem {
     private final VersionChecker versionChecker;
     private final LocaleSystem localeSystem;
     private final DBSystem databaseSystem;
+    private final ParallelQueries parallelQueries;
     private final CacheSystem cacheSystem;
     private final ListenerSystem listenerSystem;
+    private final GatheringEventPipeline gatheringEventPipeline;
     private final TaskSystem taskSystem;
     private final ServerInfo serverInfo;
     private final WebServerSystem webServerSystem;
@@ -76,6 +81,7 @@ public class PlanSystem implements SubSystem {
     private final ResolverSvc resolverService;
     private final ResourceSvc resourceService;
     private final ExtensionSvc extensionService;
+    private final ExtensionGatheringScheduler extensionGatheringScheduler;
     private final QuerySvc queryService;
     private final ListenerSvc listenerService;
     private final SettingsSvc settingsService;
@@ -90,8 +96,10 @@ public class PlanSystem implements SubSystem {
             VersionChecker versionChecker,
             LocaleSystem localeSystem,
             DBSystem databaseSystem,
+            ParallelQueries parallelQueries,
             CacheSystem cacheSystem,
             ListenerSystem listenerSystem,
+            GatheringEventPipeline gatheringEventPipeline,
             TaskSystem taskSystem,
             ServerInfo serverInfo,
             WebServerSystem webServerSystem,
@@ -102,6 +110,7 @@ public class PlanSystem implements SubSystem {
             ResolverSvc resolverService,
             ResourceSvc resourceService,
             ExtensionSvc extensionService,
+            ExtensionGatheringScheduler extensionGatheringScheduler,
             QuerySvc queryService,
             ListenerSvc listenerService,
             SettingsSvc settingsService,
@@ -115,8 +124,10 @@ public class PlanSystem implements SubSystem {
         this.versionChecker = versionChecker;
         this.localeSystem = localeSystem;
         this.databaseSystem = databaseSystem;
+        this.parallelQueries = parallelQueries;
         this.cacheSystem = cacheSystem;
         this.listenerSystem = listenerSystem;
+        this.gatheringEventPipeline = gatheringEventPipeline;
         this.taskSystem = taskSystem;
         this.serverInfo = serverInfo;
         this.webServerSystem = webServerSystem;
@@ -127,6 +138,7 @@ public class PlanSystem implements SubSystem {
         this.resolverService = resolverService;
         this.resourceService = resourceService;
         this.extensionService = extensionService;
+        this.extensionGatheringScheduler = extensionGatheringScheduler;
         this.queryService = queryService;
         this.listenerService = listenerService;
         this.settingsService = settingsService;
@@ -163,12 +175,15 @@ public class PlanSystem implements SubSystem {
                 localeSystem,
                 versionChecker,
                 databaseSystem,
+                parallelQueries,
                 webServerSystem,
                 processing,
+                extensionGatheringScheduler,
                 serverInfo,
                 importSystem,
                 exportSystem,
                 cacheSystem,
+                gatheringEventPipeline,
                 listenerSystem,
                 taskSystem
         );
@@ -197,9 +212,12 @@ public class PlanSystem implements SubSystem {
                 taskSystem,
                 cacheSystem,
                 listenerSystem,
+                gatheringEventPipeline,
                 importSystem,
                 exportSystem,
+                extensionGatheringScheduler,
                 processing,
+                parallelQueries,
                 databaseSystem,
                 webServerSystem,
                 serverInfo,
@@ -244,6 +262,10 @@ public class PlanSystem implements SubSystem {
         return listenerSystem;
     }
 
+    public GatheringEventPipeline getGatheringEventPipeline() {
+        return gatheringEventPipeline;
+    }
+
     public TaskSystem getTaskSystem() {
         return taskSystem;
     }
@@ -19,6 +19,7 @@ package com.djrapitops.plan.commands.subcommands;
 import com.djrapitops.plan.commands.use.Arguments;
 import com.djrapitops.plan.commands.use.CMDSender;
 import com.djrapitops.plan.commands.use.ColorScheme;
+import com.djrapitops.plan.delivery.webserver.auth.VerifiedCredentialCache;
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.exceptions.database.DBOpException;
@@ -65,6 +66,7 @@ public class DatabaseCommands {
     private final ServerInfo serverInfo;
     private final Identifiers identifiers;
     private final PluginStatusCommands statusCommands;
+    private final VerifiedCredentialCache verifiedCredentialCache;
     private final ErrorLogger errorLogger;
 
     private final Formatter<Long> timestamp;
@@ -83,6 +85,7 @@ public class DatabaseCommands {
             Formatters formatters,
             Identifiers identifiers,
             PluginStatusCommands statusCommands,
+            VerifiedCredentialCache verifiedCredentialCache,
             ErrorLogger errorLogger
     ) {
         this.locale = locale;
@@ -96,6 +99,7 @@ public class DatabaseCommands {
         this.serverInfo = serverInfo;
         this.identifiers = identifiers;
         this.statusCommands = statusCommands;
+        this.verifiedCredentialCache = verifiedCredentialCache;
         this.errorLogger = errorLogger;
 
         this.timestamp = formatters.iso8601NoClockLong();
@@ -198,6 +202,8 @@ public class DatabaseCommands {
 
             sender.send(locale.getString(CommandLang.DB_WRITE, toDB.getType().getName()));
             toDB.executeTransaction(new BackupCopyTransaction(fromDB, toDB)).get();
+            // Web users were replaced by the ones in the backup
+            verifiedCredentialCache.invalidateAll();
             sender.send(locale.getString(CommandLang.PROGRESS_SUCCESS));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -0,0 +1,121 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.domain;
+
+import java.util.Objects;
+
+/**
+ * Data class for session aggregates of a single time window.
+ * <p>
+ * Playtime, AFK time and session count include every session that overlaps the window,
+ * while unique players and per player averages only count sessions fully within the window,
+ * matching the separate queries in SessionQueries and PlayerCountQueries.
+ *
+ * @author AuroraLS3
+ */
+public class SessionAggregates {
+
+    private final long after;
+    private final long before;
+    private final long playtime;
+    private final long afkTime;
+    private final long sessionCount;
+    private final int uniquePlayers;
+    private final long averagePlaytimePerPlayer;
+    private final long averageAfkPerPlayer;
+
+    public SessionAggregates(
+            long after, long before,
+            long playtime, long afkTime, long sessionCount,
+            int uniquePlayers, long averagePlaytimePerPlayer, long averageAfkPerPlayer
+    ) {
+        this.after = after;
+        this.before = before;
+        this.playtime = playtime;
+        this.afkTime = afkTime;
+        this.sessionCount = sessionCount;
+        this.uniquePlayers = uniquePlayers;
+        this.averagePlaytimePerPlayer = averagePlaytimePerPlayer;
+        this.averageAfkPerPlayer = averageAfkPerPlayer;
+    }
+
+    public long getAfter() {
+        return after;
+    }
+
+    public long getBefore() {
+        return before;
+    }
+
+    public long getPlaytime() {
+        return playtime;
+    }
+
+    public long getAfkTime() {
+        return afkTime;
+    }
+
+    public long getSessionCount() {
+        return sessionCount;
+    }
+
+    public int getUniquePlayers() {
+        return uniquePlayers;
+    }
+
+    public long getAveragePlaytimePerPlayer() {
+        return averagePlaytimePerPlayer;
+    }
+
+    public long getAverageAfkPerPlayer() {
+        return averageAfkPerPlayer;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SessionAggregates that = (SessionAggregates) o;
+        return after == that.after &&
+                before == that.before &&
+                playtime == that.playtime &&
+                afkTime == that.afkTime &&
+                sessionCount == that.sessionCount &&
+                uniquePlayers == that.uniquePlayers &&
+                averagePlaytimePerPlayer == that.averagePlaytimePerPlayer &&
+                averageAfkPerPlayer == that.averageAfkPerPlayer;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(after, before, playtime, afkTime, sessionCount, uniquePlayers, averagePlaytimePerPlayer, averageAfkPerPlayer);
+    }
+
+    @Override
+    public String toString() {
+        return "SessionAggregates{" +
+                "after=" + after +
+                ", before=" + before +
+                ", playtime=" + playtime +
+                ", afkTime=" + afkTime +
+                ", sessionCount=" + sessionCount +
+                ", uniquePlayers=" + uniquePlayers +
+                ", averagePlaytimePerPlayer=" + averagePlaytimePerPlayer +
+                ", averageAfkPerPlayer=" + averageAfkPerPlayer +
+                '}';
+    }
+}
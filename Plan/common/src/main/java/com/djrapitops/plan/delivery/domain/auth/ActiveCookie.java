@@ -0,0 +1,45 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.domain.auth;
+
+/**
+ * Represents a login cookie of a {@link User} that has not expired yet.
+ *
+ * @author AuroraLS3
+ */
+public class ActiveCookie {
+
+    private final User user;
+    private final long expires;
+
+    public ActiveCookie(User user, long expires) {
+        this.user = user;
+        this.expires = expires;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public long getExpires() {
+        return expires;
+    }
+
+    public boolean isExpired(long now) {
+        return expires <= now;
+    }
+}
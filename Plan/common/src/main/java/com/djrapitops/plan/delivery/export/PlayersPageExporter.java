@@ -114,6 +114,8 @@ public class PlayersPageExporter extends FileExporter {
                 // Replace ../player in urls to fix player page links
                 StringUtils.replace(found.get().getAsString(), "../player", toRelativePathFromRoot("player"))
         );
+        // Webserver returns the players table one page at a time, the exported json has the whole table.
+        exportPaths.put("./v1/players?start=0&length=0", toRelativePathFromRoot("data/" + jsonResourceName));
         exportPaths.put("./v1/players", toRelativePathFromRoot("data/" + jsonResourceName));
     }
 
@@ -153,7 +155,8 @@ public class PlayersPageExporter extends FileExporter {
                 "vendor/fontawesome-free/webfonts/fa-solid-900.woff2",
                 "js/sb-admin-2.js",
                 "js/xmlhttprequests.js",
-                "js/color-selector.js"
+                "js/color-selector.js",
+                "js/playersTable.js"
         );
     }
 
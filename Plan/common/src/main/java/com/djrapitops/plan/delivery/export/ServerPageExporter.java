@@ -179,6 +179,10 @@ public class ServerPageExporter extends FileExporter {
                         StringEscapeUtils.escapeJson(toRelativePathFromRoot("player"))
                 )
         );
+        if (resource.startsWith("players?")) {
+            // Webserver returns the players table one page at a time, the exported json has the whole table.
+            exportPaths.put("../v1/" + resource + "&start=0&length=0", toRelativePathFromRoot("data/" + jsonResourceName));
+        }
         exportPaths.put("../v1/" + resource, toRelativePathFromRoot("data/" + jsonResourceName));
     }
 
@@ -232,6 +236,7 @@ public class ServerPageExporter extends FileExporter {
                 "../js/color-selector.js",
                 "../js/sessionAccordion.js",
                 "../js/pingTable.js",
+                "../js/playersTable.js",
                 "../js/graphs.js",
                 "../js/server-values.js"
         );
@@ -28,10 +28,15 @@ import java.util.HashMap;
  */
 public class PlaceholderReplacer extends HashMap<String, Serializable> implements Formatter<String> {
 
+    // Reads the values from this map when replacing, so it can be reused after placeholders are added.
+    private transient StringSubstitutor substitutor;
+
     @Override
     public String apply(String string) {
-        StringSubstitutor sub = new StringSubstitutor(this);
-        sub.setEnableSubstitutionInVariables(true);
-        return sub.replace(string);
+        if (substitutor == null) {
+            substitutor = new StringSubstitutor(this);
+            substitutor.setEnableSubstitutionInVariables(true);
+        }
+        return substitutor.replace(string);
     }
 }
\ No newline at end of file
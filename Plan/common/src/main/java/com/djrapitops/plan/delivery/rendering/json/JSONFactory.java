@@ -82,7 +82,17 @@ public class JSONFactory {
     }
 
     public Map<String, Object> serverPlayersTableJSON(ServerUUID serverUUID) {
-        Integer xMostRecentPlayers = config.get(DisplaySettings.PLAYERS_PER_SERVER_PAGE);
+        return serverPlayersTable(serverUUID, config.get(DisplaySettings.PLAYERS_PER_SERVER_PAGE)).toJSONMap();
+    }
+
+    /**
+     * Query the players table of a server.
+     *
+     * @param serverUUID         UUID of the server.
+     * @param xMostRecentPlayers How many of the most recently seen players to include.
+     * @return Players table.
+     */
+    public PlayersTableJSONCreator serverPlayersTable(ServerUUID serverUUID, int xMostRecentPlayers) {
         Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
         boolean openPlayerLinksInNewTab = config.isTrue(DisplaySettings.OPEN_PLAYER_LINKS_IN_NEW_TAB);
 
@@ -93,11 +103,20 @@ public class JSONFactory {
                 database.query(new ExtensionServerTableDataQuery(serverUUID, xMostRecentPlayers)),
                 openPlayerLinksInNewTab,
                 formatters, locale
-        ).toJSONMap();
+        );
     }
 
     public Map<String, Object> networkPlayersTableJSON() {
-        Integer xMostRecentPlayers = config.get(DisplaySettings.PLAYERS_PER_PLAYERS_PAGE);
+        return networkPlayersTable(config.get(DisplaySettings.PLAYERS_PER_PLAYERS_PAGE)).toJSONMap();
+    }
+
+    /**
+     * Query the players table of the network.
+     *
+     * @param xMostRecentPlayers How many of the most recently seen players to include.
+     * @return Players table.
+     */
+    public PlayersTableJSONCreator networkPlayersTable(int xMostRecentPlayers) {
         Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
         boolean openPlayerLinksInNewTab = config.isTrue(DisplaySettings.OPEN_PLAYER_LINKS_IN_NEW_TAB);
 
@@ -112,7 +131,7 @@ public class JSONFactory {
                 openPlayerLinksInNewTab,
                 formatters, locale,
                 true // players page
-        ).toJSONMap();
+        );
     }
 
     public List<Map<String, Object>> serverSessionsAsJSONMap(ServerUUID serverUUID) {
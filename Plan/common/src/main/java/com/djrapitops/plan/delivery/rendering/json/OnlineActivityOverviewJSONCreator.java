@@ -16,19 +16,21 @@
  */
 package com.djrapitops.plan.delivery.rendering.json;
 
+import com.djrapitops.plan.delivery.domain.SessionAggregates;
+import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
 import com.djrapitops.plan.delivery.domain.mutators.PlayersOnlineResolver;
 import com.djrapitops.plan.delivery.domain.mutators.RetentionData;
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
 import com.djrapitops.plan.delivery.domain.mutators.TPSMutator;
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
+import com.djrapitops.plan.gathering.domain.FinishedSession;
 import com.djrapitops.plan.gathering.domain.TPS;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.DisplaySettings;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
-import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.ParallelQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
@@ -38,10 +40,7 @@ import com.djrapitops.plan.utilities.analysis.Percentage;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -53,7 +52,7 @@ import java.util.concurrent.TimeUnit;
 public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<Map<String, Object>> {
 
     private final PlanConfig config;
-    private final DBSystem dbSystem;
+    private final ParallelQueries parallelQueries;
 
     private final Formatter<Long> timeAmountFormatter;
     private final Formatter<Double> decimalFormatter;
@@ -62,11 +61,11 @@ public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<M
     @Inject
     public OnlineActivityOverviewJSONCreator(
             PlanConfig config,
-            DBSystem dbSystem,
+            ParallelQueries parallelQueries,
             Formatters formatters
     ) {
         this.config = config;
-        this.dbSystem = dbSystem;
+        this.parallelQueries = parallelQueries;
 
         timeAmountFormatter = formatters.timeAmount();
         decimalFormatter = formatters.decimals();
@@ -81,7 +80,6 @@ public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<M
     }
 
     private Map<String, Object> createNumbersMap(ServerUUID serverUUID) {
-        Database db = dbSystem.getDatabase();
         long now = System.currentTimeMillis();
         long dayAgo = now - TimeUnit.DAYS.toMillis(1L);
         long weekAgo = now - TimeUnit.DAYS.toMillis(7L);
@@ -90,49 +88,82 @@ public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<M
         int timeZoneOffset = config.getTimeZone().getOffset(now);
         Long playThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
-        Map<String, Object> numbers = new HashMap<>();
-
-        numbers.put("unique_players_30d", db.query(PlayerCountQueries.uniquePlayerCount(monthAgo, now, serverUUID)));
-        numbers.put("unique_players_30d_trend", new Trend(
-                db.query(PlayerCountQueries.uniquePlayerCount(monthAgo, halfMonthAgo, serverUUID)),
-                db.query(PlayerCountQueries.uniquePlayerCount(halfMonthAgo, now, serverUUID)),
-                false
-        ));
-        numbers.put("unique_players_7d", db.query(PlayerCountQueries.uniquePlayerCount(weekAgo, now, serverUUID)));
-        numbers.put("unique_players_24h", db.query(PlayerCountQueries.uniquePlayerCount(dayAgo, now, serverUUID)));
-
-        numbers.put("unique_players_30d_avg", db.query(PlayerCountQueries.averageUniquePlayerCount(monthAgo, now, timeZoneOffset, serverUUID)));
-        numbers.put("unique_players_30d_avg_trend", new Trend(
-                db.query(PlayerCountQueries.averageUniquePlayerCount(monthAgo, halfMonthAgo, timeZoneOffset, serverUUID)),
-                db.query(PlayerCountQueries.averageUniquePlayerCount(halfMonthAgo, now, timeZoneOffset, serverUUID)),
-                false
+        // All queries are independent, start all of them before waiting for any.
+        ParallelQueries.Batch queries = parallelQueries.batch();
+        // Playtime, session counts and unique players of all windows come from one pass over sessions
+        ParallelQueries.Pending<List<SessionAggregates>> sessionAggregates = queries.query(SessionQueries.aggregatesOfWindows(serverUUID,
+                new long[]{monthAgo, now},
+                new long[]{weekAgo, now},
+                new long[]{dayAgo, now},
+                new long[]{monthAgo, halfMonthAgo},
+                new long[]{halfMonthAgo, now}
         ));
-        numbers.put("unique_players_7d_avg", db.query(PlayerCountQueries.averageUniquePlayerCount(weekAgo, now, timeZoneOffset, serverUUID)));
-        numbers.put("unique_players_24h_avg", db.query(PlayerCountQueries.averageUniquePlayerCount(dayAgo, now, timeZoneOffset, serverUUID)));
 
-        Integer new30d = db.query(PlayerCountQueries.newPlayerCount(monthAgo, now, serverUUID));
-        Integer new7d = db.query(PlayerCountQueries.newPlayerCount(weekAgo, now, serverUUID));
-        Integer new1d = db.query(PlayerCountQueries.newPlayerCount(dayAgo, now, serverUUID));
+        ParallelQueries.Pending<Integer> uniqueAvg30d = queries.query(PlayerCountQueries.averageUniquePlayerCount(monthAgo, now, timeZoneOffset, serverUUID));
+        ParallelQueries.Pending<Integer> uniqueAvgBefore = queries.query(PlayerCountQueries.averageUniquePlayerCount(monthAgo, halfMonthAgo, timeZoneOffset, serverUUID));
+        ParallelQueries.Pending<Integer> uniqueAvgAfter = queries.query(PlayerCountQueries.averageUniquePlayerCount(halfMonthAgo, now, timeZoneOffset, serverUUID));
+        ParallelQueries.Pending<Integer> uniqueAvg7d = queries.query(PlayerCountQueries.averageUniquePlayerCount(weekAgo, now, timeZoneOffset, serverUUID));
+        ParallelQueries.Pending<Integer> uniqueAvg1d = queries.query(PlayerCountQueries.averageUniquePlayerCount(dayAgo, now, timeZoneOffset, serverUUID));
+
+        ParallelQueries.Pending<Integer> new30dQuery = queries.query(PlayerCountQueries.newPlayerCount(monthAgo, now, serverUUID));
+        ParallelQueries.Pending<Integer> new7dQuery = queries.query(PlayerCountQueries.newPlayerCount(weekAgo, now, serverUUID));
+        ParallelQueries.Pending<Integer> new1dQuery = queries.query(PlayerCountQueries.newPlayerCount(dayAgo, now, serverUUID));
+        ParallelQueries.Pending<Integer> newBefore = queries.query(PlayerCountQueries.newPlayerCount(monthAgo, halfMonthAgo, serverUUID));
+        ParallelQueries.Pending<Integer> newAfter = queries.query(PlayerCountQueries.newPlayerCount(halfMonthAgo, now, serverUUID));
+
+        ParallelQueries.Pending<Integer> newAvg30d = queries.query(PlayerCountQueries.averageNewPlayerCount(monthAgo, now, timeZoneOffset, serverUUID));
+        ParallelQueries.Pending<Integer> newAvgBefore = queries.query(PlayerCountQueries.averageNewPlayerCount(monthAgo, halfMonthAgo, timeZoneOffset, serverUUID));
+        ParallelQueries.Pending<Integer> newAvgAfter = queries.query(PlayerCountQueries.averageNewPlayerCount(halfMonthAgo, now, timeZoneOffset, serverUUID));
+        ParallelQueries.Pending<Integer> newAvg7d = queries.query(PlayerCountQueries.averageNewPlayerCount(weekAgo, now, timeZoneOffset, serverUUID));
+        ParallelQueries.Pending<Integer> newAvg1d = queries.query(PlayerCountQueries.averageNewPlayerCount(dayAgo, now, timeZoneOffset, serverUUID));
+
+        ParallelQueries.Pending<Integer> retained30dQuery = queries.query(PlayerCountQueries.retainedPlayerCount(monthAgo, now, serverUUID));
+        ParallelQueries.Pending<Integer> retained7dQuery = queries.query(PlayerCountQueries.retainedPlayerCount(weekAgo, now, serverUUID));
+        ParallelQueries.Pending<Collection<ActivityIndex>> newActivity1d = queries.query(ActivityIndexQueries.activityIndexForNewPlayers(dayAgo, now, serverUUID, playThreshold));
+        ParallelQueries.Pending<ActivityIndex> retainedActivity = queries.query(ActivityIndexQueries.averageActivityIndexForRetainedPlayers(monthAgo, now, serverUUID, playThreshold));
+        ParallelQueries.Pending<ActivityIndex> nonRetainedActivity = queries.query(ActivityIndexQueries.averageActivityIndexForNonRetainedPlayers(monthAgo, now, serverUUID, playThreshold));
+
+        ParallelQueries.Pending<Long> playtimeAvg30d = queries.query(SessionQueries.averagePlaytimePerDay(monthAgo, now, timeZoneOffset, serverUUID));
+        ParallelQueries.Pending<Long> playtimeAvgBefore = queries.query(SessionQueries.averagePlaytimePerDay(monthAgo, halfMonthAgo, timeZoneOffset, serverUUID));
+        ParallelQueries.Pending<Long> playtimeAvgAfter = queries.query(SessionQueries.averagePlaytimePerDay(halfMonthAgo, now, timeZoneOffset, serverUUID));
+        ParallelQueries.Pending<Long> playtimeAvg7d = queries.query(SessionQueries.averagePlaytimePerDay(weekAgo, now, timeZoneOffset, serverUUID));
+
+        ParallelQueries.Pending<List<TPS>> tpsData = queries.query(TPSQueries.fetchTPSDataOfServer(monthAgo, now, serverUUID));
+
+        Map<String, Object> numbers = new HashMap<>();
+
+        List<SessionAggregates> aggregates = sessionAggregates.get();
+        SessionAggregates month = aggregates.get(0);
+        SessionAggregates week = aggregates.get(1);
+        SessionAggregates day = aggregates.get(2);
+        SessionAggregates before = aggregates.get(3);
+        SessionAggregates after = aggregates.get(4);
+
+        numbers.put("unique_players_30d", month.getUniquePlayers());
+        numbers.put("unique_players_30d_trend", new Trend(before.getUniquePlayers(), after.getUniquePlayers(), false));
+        numbers.put("unique_players_7d", week.getUniquePlayers());
+        numbers.put("unique_players_24h", day.getUniquePlayers());
+
+        numbers.put("unique_players_30d_avg", uniqueAvg30d.get());
+        numbers.put("unique_players_30d_avg_trend", new Trend(uniqueAvgBefore.get(), uniqueAvgAfter.get(), false));
+        numbers.put("unique_players_7d_avg", uniqueAvg7d.get());
+        numbers.put("unique_players_24h_avg", uniqueAvg1d.get());
+
+        Integer new30d = new30dQuery.get();
+        Integer new7d = new7dQuery.get();
+        Integer new1d = new1dQuery.get();
         numbers.put("new_players_30d", new30d);
-        numbers.put("new_players_30d_trend", new Trend(
-                db.query(PlayerCountQueries.newPlayerCount(monthAgo, halfMonthAgo, serverUUID)),
-                db.query(PlayerCountQueries.newPlayerCount(halfMonthAgo, now, serverUUID)),
-                false
-        ));
+        numbers.put("new_players_30d_trend", new Trend(newBefore.get(), newAfter.get(), false));
         numbers.put("new_players_7d", new7d);
         numbers.put("new_players_24h", new1d);
 
-        numbers.put("new_players_30d_avg", db.query(PlayerCountQueries.averageNewPlayerCount(monthAgo, now, timeZoneOffset, serverUUID)));
-        numbers.put("new_players_30d_avg_trend", new Trend(
-                db.query(PlayerCountQueries.averageNewPlayerCount(monthAgo, halfMonthAgo, timeZoneOffset, serverUUID)),
-                db.query(PlayerCountQueries.averageNewPlayerCount(halfMonthAgo, now, timeZoneOffset, serverUUID)),
-                false
-        ));
-        numbers.put("new_players_7d_avg", db.query(PlayerCountQueries.averageNewPlayerCount(weekAgo, now, timeZoneOffset, serverUUID)));
-        numbers.put("new_players_24h_avg", db.query(PlayerCountQueries.averageNewPlayerCount(dayAgo, now, timeZoneOffset, serverUUID)));
+        numbers.put("new_players_30d_avg", newAvg30d.get());
+        numbers.put("new_players_30d_avg_trend", new Trend(newAvgBefore.get(), newAvgAfter.get(), false));
+        numbers.put("new_players_7d_avg", newAvg7d.get());
+        numbers.put("new_players_24h_avg", newAvg1d.get());
 
-        int retained30d = db.query(PlayerCountQueries.retainedPlayerCount(monthAgo, now, serverUUID));
-        int retained7d = db.query(PlayerCountQueries.retainedPlayerCount(weekAgo, now, serverUUID));
+        int retained30d = retained30dQuery.get();
+        int retained7d = retained7dQuery.get();
         double retentionPercentage30d = Percentage.calculate(retained30d, new30d, -1);
         double retentionPercentage7d = Percentage.calculate(retained7d, new7d, -1);
         numbers.put("new_players_retention_30d", retained30d);
@@ -141,47 +172,47 @@ public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<M
         numbers.put("new_players_retention_7d_perc", percentageFormatter.apply(retentionPercentage7d));
 
         int prediction1d = RetentionData.countRetentionPrediction(
-                db.query(ActivityIndexQueries.activityIndexForNewPlayers(dayAgo, now, serverUUID, playThreshold)),
-                db.query(ActivityIndexQueries.averageActivityIndexForRetainedPlayers(monthAgo, now, serverUUID, playThreshold)),
-                db.query(ActivityIndexQueries.averageActivityIndexForNonRetainedPlayers(monthAgo, now, serverUUID, playThreshold))
+                newActivity1d.get(),
+                retainedActivity.get(),
+                nonRetainedActivity.get()
         );
         double retentionPercentage1d = Percentage.calculate(prediction1d, new1d, -1);
         numbers.put("new_players_retention_24h", prediction1d);
         numbers.put("new_players_retention_24h_perc", percentageFormatter.apply(retentionPercentage1d));
 
-        Long playtimeMonth = db.query(SessionQueries.playtime(monthAgo, now, serverUUID));
-        Long playtimeWeek = db.query(SessionQueries.playtime(weekAgo, now, serverUUID));
-        Long playtimeDay = db.query(SessionQueries.playtime(dayAgo, now, serverUUID));
-        Long playtimeBefore = db.query(SessionQueries.playtime(monthAgo, halfMonthAgo, serverUUID));
-        Long playtimeAfter = db.query(SessionQueries.playtime(halfMonthAgo, now, serverUUID));
+        long playtimeMonth = month.getPlaytime();
+        long playtimeWeek = week.getPlaytime();
+        long playtimeDay = day.getPlaytime();
+        long playtimeBefore = before.getPlaytime();
+        long playtimeAfter = after.getPlaytime();
         numbers.put("playtime_30d", timeAmountFormatter.apply(playtimeMonth));
         numbers.put("playtime_30d_trend", new Trend(playtimeBefore, playtimeAfter, false, timeAmountFormatter));
         numbers.put("playtime_7d", timeAmountFormatter.apply(playtimeWeek));
         numbers.put("playtime_24h", timeAmountFormatter.apply(playtimeDay));
 
-        numbers.put("playtime_30d_avg", timeAmountFormatter.apply(db.query(SessionQueries.averagePlaytimePerDay(monthAgo, now, timeZoneOffset, serverUUID))));
+        numbers.put("playtime_30d_avg", timeAmountFormatter.apply(playtimeAvg30d.get()));
         numbers.put("playtime_30d_avg_trend", new Trend(
-                db.query(SessionQueries.averagePlaytimePerDay(monthAgo, halfMonthAgo, timeZoneOffset, serverUUID)),
-                db.query(SessionQueries.averagePlaytimePerDay(halfMonthAgo, now, timeZoneOffset, serverUUID)),
+                playtimeAvgBefore.get(),
+                playtimeAvgAfter.get(),
                 false,
                 timeAmountFormatter
         ));
-        numbers.put("playtime_7d_avg", timeAmountFormatter.apply(db.query(SessionQueries.averagePlaytimePerDay(weekAgo, now, timeZoneOffset, serverUUID))));
-        numbers.put("playtime_24h_avg", timeAmountFormatter.apply(db.query(SessionQueries.playtime(dayAgo, now, serverUUID))));
-
-        Long sessionsMonth = db.query(SessionQueries.sessionCount(monthAgo, now, serverUUID));
-        Long sessionsWeek = db.query(SessionQueries.sessionCount(weekAgo, now, serverUUID));
-        Long sessionsDay = db.query(SessionQueries.sessionCount(dayAgo, now, serverUUID));
-        Long sessionsBefore = db.query(SessionQueries.sessionCount(monthAgo, halfMonthAgo, serverUUID));
-        Long sessionsAfter = db.query(SessionQueries.sessionCount(halfMonthAgo, now, serverUUID));
+        numbers.put("playtime_7d_avg", timeAmountFormatter.apply(playtimeAvg7d.get()));
+        numbers.put("playtime_24h_avg", timeAmountFormatter.apply(playtimeDay));
+
+        long sessionsMonth = month.getSessionCount();
+        long sessionsWeek = week.getSessionCount();
+        long sessionsDay = day.getSessionCount();
+        long sessionsBefore = before.getSessionCount();
+        long sessionsAfter = after.getSessionCount();
         numbers.put("sessions_30d", sessionsMonth);
         numbers.put("sessions_30d_trend", new Trend(sessionsBefore, sessionsAfter, false));
         numbers.put("sessions_7d", sessionsWeek);
         numbers.put("sessions_24h", sessionsDay);
 
-        Long sessionLengthAvgMonth = sessionsMonth != 0 ? playtimeMonth / sessionsMonth : 0;
-        Long sessionLengthAvgWeek = sessionsWeek != 0 ? playtimeWeek / sessionsWeek : 0;
-        Long sessionLengthAvgDay = sessionsDay != 0 ? playtimeDay / sessionsDay : 0;
+        long sessionLengthAvgMonth = sessionsMonth != 0 ? playtimeMonth / sessionsMonth : 0;
+        long sessionLengthAvgWeek = sessionsWeek != 0 ? playtimeWeek / sessionsWeek : 0;
+        long sessionLengthAvgDay = sessionsDay != 0 ? playtimeDay / sessionsDay : 0;
         numbers.put("session_length_30d_avg", timeAmountFormatter.apply(sessionLengthAvgMonth));
         numbers.put("session_length_30d_trend", new Trend(
                 sessionsBefore != 0 ? playtimeBefore / sessionsBefore : 0,
@@ -192,7 +223,7 @@ public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<M
         numbers.put("session_length_7d_avg", timeAmountFormatter.apply(sessionLengthAvgWeek));
         numbers.put("session_length_24h_avg", timeAmountFormatter.apply(sessionLengthAvgDay));
 
-        TPSMutator tpsMutator = new TPSMutator(db.query(TPSQueries.fetchTPSDataOfServer(monthAgo, now, serverUUID)));
+        TPSMutator tpsMutator = new TPSMutator(tpsData.get());
         numbers.put("average_tps", decimalFormatter.apply(tpsMutator.averageTPS()));
         numbers.put("low_tps_spikes", tpsMutator.lowTpsSpikeCount(config.get(DisplaySettings.GRAPH_TPS_THRESHOLD_MED)));
         numbers.put("downtime", timeAmountFormatter.apply(tpsMutator.serverDownTime()));
@@ -201,16 +232,20 @@ public class OnlineActivityOverviewJSONCreator implements ServerTabJSONCreator<M
     }
 
     private Map<String, Object> createInsightsMap(ServerUUID serverUUID) {
-        Database db = dbSystem.getDatabase();
         long now = System.currentTimeMillis();
         long halfMonthAgo = now - TimeUnit.DAYS.toMillis(15L);
         long monthAgo = now - TimeUnit.DAYS.toMillis(30L);
 
+        ParallelQueries.Batch queries = parallelQueries.batch();
+        ParallelQueries.Pending<List<FinishedSession>> sessionsQuery = queries.query(SessionQueries.fetchServerSessionsWithoutKillOrWorldData(monthAgo, now, serverUUID));
+        ParallelQueries.Pending<List<TPS>> tpsQuery = queries.query(TPSQueries.fetchTPSDataOfServer(monthAgo, now, serverUUID));
+        ParallelQueries.Pending<Map<UUID, Long>> registerDatesQuery = queries.query(UserInfoQueries.fetchRegisterDates(monthAgo, now, serverUUID));
+
         Map<String, Object> insights = new HashMap<>();
 
-        SessionsMutator sessions = new SessionsMutator(db.query(SessionQueries.fetchServerSessionsWithoutKillOrWorldData(monthAgo, now, serverUUID)));
-        List<TPS> tpsData = db.query(TPSQueries.fetchTPSDataOfServer(monthAgo, now, serverUUID));
-        Map<UUID, Long> registerDates = db.query(UserInfoQueries.fetchRegisterDates(monthAgo, now, serverUUID));
+        SessionsMutator sessions = new SessionsMutator(sessionsQuery.get());
+        List<TPS> tpsData = tpsQuery.get();
+        Map<UUID, Long> registerDates = registerDatesQuery.get();
 
         PlayersOnlineResolver playersOnlineResolver = new PlayersOnlineResolver(new TPSMutator(tpsData));
         SessionsMutator firstSessions = sessions.filterBy(session -> {
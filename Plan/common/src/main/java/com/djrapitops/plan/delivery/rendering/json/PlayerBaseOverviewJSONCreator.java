@@ -16,13 +16,13 @@
  */
 package com.djrapitops.plan.delivery.rendering.json;
 
+import com.djrapitops.plan.delivery.domain.SessionAggregates;
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
-import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.ParallelQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
@@ -31,6 +31,7 @@ import com.djrapitops.plan.utilities.analysis.Percentage;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -43,7 +44,7 @@ import java.util.concurrent.TimeUnit;
 public class PlayerBaseOverviewJSONCreator implements ServerTabJSONCreator<Map<String, Object>> {
 
     private final PlanConfig config;
-    private final DBSystem dbSystem;
+    private final ParallelQueries parallelQueries;
 
     private final Formatter<Long> timeAmount;
     private final Formatter<Double> percentage;
@@ -51,11 +52,11 @@ public class PlayerBaseOverviewJSONCreator implements ServerTabJSONCreator<Map<S
     @Inject
     public PlayerBaseOverviewJSONCreator(
             PlanConfig config,
-            DBSystem dbSystem,
+            ParallelQueries parallelQueries,
             Formatters formatters
     ) {
         this.config = config;
-        this.dbSystem = dbSystem;
+        this.parallelQueries = parallelQueries;
 
         timeAmount = formatters.timeAmount();
         percentage = formatters.percentage();
@@ -69,54 +70,73 @@ public class PlayerBaseOverviewJSONCreator implements ServerTabJSONCreator<Map<S
     }
 
     private Map<String, Object> createTrendsMap(ServerUUID serverUUID) {
-        Database db = dbSystem.getDatabase();
         long now = System.currentTimeMillis();
         long monthAgo = now - TimeUnit.DAYS.toMillis(30L);
         long twoMonthsAgo = now - TimeUnit.DAYS.toMillis(60L);
         Long playThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
+        ParallelQueries.Batch queries = parallelQueries.batch();
+        ParallelQueries.Pending<Integer> playersBeforeQuery = queries.query(PlayerCountQueries.newPlayerCount(0L, monthAgo, serverUUID));
+        ParallelQueries.Pending<Integer> playersAfterQuery = queries.query(PlayerCountQueries.newPlayerCount(0L, now, serverUUID));
+        ParallelQueries.Pending<Integer> regularBeforeQuery = queries.query(ActivityIndexQueries.fetchRegularPlayerCount(monthAgo, serverUUID, playThreshold));
+        ParallelQueries.Pending<Integer> regularAfterQuery = queries.query(ActivityIndexQueries.fetchRegularPlayerCount(now, serverUUID, playThreshold));
+        ParallelQueries.Pending<List<SessionAggregates>> sessionAggregates = queries.query(SessionQueries.aggregatesOfWindows(serverUUID,
+                new long[]{twoMonthsAgo, monthAgo},
+                new long[]{monthAgo, now}
+        ));
+        ParallelQueries.Pending<Long> avgRegularPlaytimeBeforeQuery = queries.query(ActivityIndexQueries.averagePlaytimePerRegularPlayer(twoMonthsAgo, monthAgo, serverUUID, playThreshold));
+        ParallelQueries.Pending<Long> avgRegularPlaytimeAfterQuery = queries.query(ActivityIndexQueries.averagePlaytimePerRegularPlayer(monthAgo, now, serverUUID, playThreshold));
+        ParallelQueries.Pending<Long> avgRegularSessionLengthBeforeQuery = queries.query(ActivityIndexQueries.averageSessionLengthPerRegularPlayer(twoMonthsAgo, monthAgo, serverUUID, playThreshold));
+        ParallelQueries.Pending<Long> avgRegularSessionLengthAfterQuery = queries.query(ActivityIndexQueries.averageSessionLengthPerRegularPlayer(monthAgo, now, serverUUID, playThreshold));
+        ParallelQueries.Pending<Long> avgRegularAfkBeforeQuery = queries.query(ActivityIndexQueries.averageAFKPerRegularPlayer(twoMonthsAgo, monthAgo, serverUUID, playThreshold));
+        ParallelQueries.Pending<Long> avgRegularAfkAfterQuery = queries.query(ActivityIndexQueries.averageAFKPerRegularPlayer(monthAgo, now, serverUUID, playThreshold));
+
         Map<String, Object> trends = new HashMap<>();
 
-        Integer playersBefore = db.query(PlayerCountQueries.newPlayerCount(0L, monthAgo, serverUUID));
-        Integer playersAfter = db.query(PlayerCountQueries.newPlayerCount(0L, now, serverUUID));
+        Integer playersBefore = playersBeforeQuery.get();
+        Integer playersAfter = playersAfterQuery.get();
         trends.put("total_players_then", playersBefore);
         trends.put("total_players_now", playersAfter);
         trends.put("total_players_trend", new Trend(playersBefore, playersAfter, false));
 
-        Integer regularBefore = db.query(ActivityIndexQueries.fetchRegularPlayerCount(monthAgo, serverUUID, playThreshold));
-        Integer regularAfter = db.query(ActivityIndexQueries.fetchRegularPlayerCount(now, serverUUID, playThreshold));
+        Integer regularBefore = regularBeforeQuery.get();
+        Integer regularAfter = regularAfterQuery.get();
         trends.put("regular_players_then", regularBefore);
         trends.put("regular_players_now", regularAfter);
         trends.put("regular_players_trend", new Trend(regularBefore, regularAfter, false));
 
-        Long avgPlaytimeBefore = db.query(SessionQueries.averagePlaytimePerPlayer(twoMonthsAgo, monthAgo, serverUUID));
-        Long avgPlaytimeAfter = db.query(SessionQueries.averagePlaytimePerPlayer(monthAgo, now, serverUUID));
+        List<SessionAggregates> aggregates = sessionAggregates.get();
+        SessionAggregates monthBefore = aggregates.get(0);
+        SessionAggregates monthAfter = aggregates.get(1);
+
+        long avgPlaytimeBefore = monthBefore.getAveragePlaytimePerPlayer();
+        long avgPlaytimeAfter = monthAfter.getAveragePlaytimePerPlayer();
         trends.put("playtime_avg_then", timeAmount.apply(avgPlaytimeBefore));
         trends.put("playtime_avg_now", timeAmount.apply(avgPlaytimeAfter));
         trends.put("playtime_avg_trend", new Trend(avgPlaytimeBefore, avgPlaytimeAfter, false, timeAmount));
 
-        Long avgAfkBefore = db.query(SessionQueries.averageAfkPerPlayer(twoMonthsAgo, monthAgo, serverUUID));
-        Long avgAfkAfter = db.query(SessionQueries.averageAfkPerPlayer(monthAgo, now, serverUUID));
+        long avgAfkBefore = monthBefore.getAverageAfkPerPlayer();
+        long avgAfkAfter = monthAfter.getAverageAfkPerPlayer();
         double afkPercentageBefore = Percentage.calculate(avgAfkBefore, avgPlaytimeBefore);
         double afkPercentageAfter = Percentage.calculate(avgAfkAfter, avgPlaytimeAfter);
         trends.put("afk_then", percentage.apply(afkPercentageBefore));
         trends.put("afk_now", percentage.apply(afkPercentageAfter));
         trends.put("afk_trend", new Trend(afkPercentageBefore, afkPercentageAfter, Trend.REVERSED, percentage));
 
-        Long avgRegularPlaytimeBefore = db.query(ActivityIndexQueries.averagePlaytimePerRegularPlayer(twoMonthsAgo, monthAgo, serverUUID, playThreshold));
-        Long avgRegularPlaytimeAfter = db.query(ActivityIndexQueries.averagePlaytimePerRegularPlayer(monthAgo, now, serverUUID, playThreshold));
+        Long avgRegularPlaytimeBefore = avgRegularPlaytimeBeforeQuery.get();
+        Long avgRegularPlaytimeAfter = avgRegularPlaytimeAfterQuery.get();
         trends.put("regular_playtime_avg_then", timeAmount.apply(avgRegularPlaytimeBefore));
         trends.put("regular_playtime_avg_now", timeAmount.apply(avgRegularPlaytimeAfter));
         trends.put("regular_playtime_avg_trend", new Trend(avgRegularPlaytimeBefore, avgRegularPlaytimeAfter, false, timeAmount));
 
-        Long avgRegularSessionLengthBefore = db.query(ActivityIndexQueries.averageSessionLengthPerRegularPlayer(twoMonthsAgo, monthAgo, serverUUID, playThreshold));
-        Long avgRegularSessionLengthAfter = db.query(ActivityIndexQueries.averageSessionLengthPerRegularPlayer(monthAgo, now, serverUUID, playThreshold));
+        Long avgRegularSessionLengthBefore = avgRegularSessionLengthBeforeQuery.get();
+        Long avgRegularSessionLengthAfter = avgRegularSessionLengthAfterQuery.get();
         trends.put("regular_session_avg_then", timeAmount.apply(avgRegularSessionLengthBefore));
         trends.put("regular_session_avg_now", timeAmount.apply(avgRegularSessionLengthAfter));
         trends.put("regular_session_avg_trend", new Trend(avgRegularSessionLengthBefore, avgRegularSessionLengthAfter, false, timeAmount));
 
-        Long avgRegularAfkBefore = db.query(ActivityIndexQueries.averageAFKPerRegularPlayer(twoMonthsAgo, monthAgo, serverUUID, playThreshold));
-        Long avgRegularAfkAfter = db.query(ActivityIndexQueries.averageAFKPerRegularPlayer(monthAgo, now, serverUUID, playThreshold));
+        Long avgRegularAfkBefore = avgRegularAfkBeforeQuery.get();
+        Long avgRegularAfkAfter = avgRegularAfkAfterQuery.get();
         double afkRegularPercentageBefore = Percentage.calculate(avgRegularAfkBefore, avgRegularPlaytimeBefore);
         double afkRegularPercentageAfter = Percentage.calculate(avgRegularAfkAfter, avgRegularPlaytimeAfter);
         trends.put("regular_afk_avg_then", percentage.apply(afkRegularPercentageBefore));
@@ -127,23 +147,30 @@ public class PlayerBaseOverviewJSONCreator implements ServerTabJSONCreator<Map<S
     }
 
     private Map<String, Object> createInsightsMap(ServerUUID serverUUID) {
-        Database db = dbSystem.getDatabase();
         long now = System.currentTimeMillis();
         long halfMonthAgo = now - TimeUnit.DAYS.toMillis(15L);
         long monthAgo = now - TimeUnit.DAYS.toMillis(30L);
         Long playThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
+        ParallelQueries.Batch queries = parallelQueries.batch();
+        ParallelQueries.Pending<Integer> newToRegularQuery = queries.query(ActivityIndexQueries.countNewPlayersTurnedRegular(monthAgo, now, serverUUID, playThreshold));
+        ParallelQueries.Pending<Integer> newToRegularBeforeQuery = queries.query(ActivityIndexQueries.countNewPlayersTurnedRegular(monthAgo, halfMonthAgo, serverUUID, playThreshold));
+        ParallelQueries.Pending<Integer> newToRegularAfterQuery = queries.query(ActivityIndexQueries.countNewPlayersTurnedRegular(halfMonthAgo, now, serverUUID, playThreshold));
+        ParallelQueries.Pending<Integer> regularToInactiveQuery = queries.query(ActivityIndexQueries.countRegularPlayersTurnedInactive(monthAgo, now, serverUUID, playThreshold));
+        ParallelQueries.Pending<Integer> regularToInactiveBeforeQuery = queries.query(ActivityIndexQueries.countRegularPlayersTurnedInactive(monthAgo, halfMonthAgo, serverUUID, playThreshold));
+        ParallelQueries.Pending<Integer> regularToInactiveAfterQuery = queries.query(ActivityIndexQueries.countRegularPlayersTurnedInactive(halfMonthAgo, now, serverUUID, playThreshold));
+
         Map<String, Object> insights = new HashMap<>();
 
-        int newToRegular = db.query(ActivityIndexQueries.countNewPlayersTurnedRegular(monthAgo, now, serverUUID, playThreshold));
-        Integer newToRegularBefore = db.query(ActivityIndexQueries.countNewPlayersTurnedRegular(monthAgo, halfMonthAgo, serverUUID, playThreshold));
-        Integer newToRegularAfter = db.query(ActivityIndexQueries.countNewPlayersTurnedRegular(halfMonthAgo, now, serverUUID, playThreshold));
+        int newToRegular = newToRegularQuery.get();
+        Integer newToRegularBefore = newToRegularBeforeQuery.get();
+        Integer newToRegularAfter = newToRegularAfterQuery.get();
         insights.put("new_to_regular", newToRegular);
         insights.put("new_to_regular_trend", new Trend(newToRegularBefore, newToRegularAfter, false));
 
-        Integer regularToInactive = db.query(ActivityIndexQueries.countRegularPlayersTurnedInactive(monthAgo, now, serverUUID, playThreshold));
-        Integer regularToInactiveBefore = db.query(ActivityIndexQueries.countRegularPlayersTurnedInactive(monthAgo, halfMonthAgo, serverUUID, playThreshold));
-        Integer regularToInactiveAfter = db.query(ActivityIndexQueries.countRegularPlayersTurnedInactive(halfMonthAgo, now, serverUUID, playThreshold));
+        Integer regularToInactive = regularToInactiveQuery.get();
+        Integer regularToInactiveBefore = regularToInactiveBeforeQuery.get();
+        Integer regularToInactiveAfter = regularToInactiveAfterQuery.get();
         insights.put("regular_to_inactive", regularToInactive);
         insights.put("regular_to_inactive_trend", new Trend(regularToInactiveBefore, regularToInactiveAfter, Trend.REVERSED));
 
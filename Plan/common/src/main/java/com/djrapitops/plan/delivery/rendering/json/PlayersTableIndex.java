@@ -0,0 +1,302 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.rendering.json;
+
+import com.djrapitops.plan.delivery.domain.TablePlayer;
+import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Sorted indexes over the columns of a players table, so that the table can be returned one page at a time.
+ * <p>
+ * Column values are kept in primitive arrays, and the sort order of a column is calculated when it is first needed.
+ * Rows are sorted as primitive (rank of value, row) keys, so sorting does not box every row.
+ * Players are searched by name prefix from the name order.
+ *
+ * @author AuroraLS3
+ */
+public class PlayersTableIndex {
+
+    private static final Set<String> SORTABLE_COLUMNS = new HashSet<>(Arrays.asList(
+            "name", "index", "activePlaytime", "sessions", "registered", "seen", "geolocation"
+    ));
+
+    private final List<TablePlayer> players;
+    private final String[] names; // lower case
+    private final String[] geolocations;
+    private final double[] activityIndexes;
+    private final long[] activePlaytimes;
+    private final int[] sessionCounts;
+    private final long[] registerDates;
+    private final long[] lastSeenDates;
+
+    private final Map<String, int[]> sortedIndexes;
+    private final int[] byName;
+
+    public PlayersTableIndex(List<TablePlayer> players) {
+        List<TablePlayer> rows = new ArrayList<>(players.size());
+        for (TablePlayer player : players) {
+            if (player.getPlayerUUID() != null) rows.add(player);
+        }
+        this.players = rows;
+
+        int size = rows.size();
+        names = new String[size];
+        geolocations = new String[size];
+        activityIndexes = new double[size];
+        activePlaytimes = new long[size];
+        sessionCounts = new int[size];
+        registerDates = new long[size];
+        lastSeenDates = new long[size];
+        for (int row = 0; row < size; row++) {
+            TablePlayer player = rows.get(row);
+            names[row] = player.getName().orElse(player.getPlayerUUID().toString()).toLowerCase(Locale.ROOT);
+            geolocations[row] = player.getGeolocation().orElse("-");
+            activityIndexes[row] = player.getCurrentActivityIndex().map(ActivityIndex::getValue).orElse(0.0);
+            activePlaytimes[row] = player.getActivePlaytime().orElse(-1L);
+            sessionCounts[row] = player.getSessionCount().orElse(0);
+            registerDates[row] = player.getRegistered().orElse(-1L);
+            lastSeenDates[row] = player.getLastSeen().orElse(-1L);
+        }
+
+        sortedIndexes = new ConcurrentHashMap<>();
+        byName = getSortedIndex("name");
+    }
+
+    /**
+     * Check if the table can be sorted by a column.
+     *
+     * @param column Data property of the column, see {@link PlayersTableJSONCreator}.
+     * @return true for the player columns, false for extension columns.
+     */
+    public boolean isSortable(String column) {
+        return SORTABLE_COLUMNS.contains(column);
+    }
+
+    /**
+     * Rank the column values of the rows, equal values get the same rank and larger values a larger rank.
+     */
+    private int[] getRanks(String column, int[] rows) {
+        switch (column) {
+            case "name":
+                return ranks(rows, names);
+            case "index":
+                return ranks(rows, activityIndexes);
+            case "activePlaytime":
+                return ranks(rows, activePlaytimes);
+            case "sessions":
+                int[] ranks = new int[rows.length];
+                for (int i = 0; i < rows.length; i++) {
+                    ranks[i] = sessionCounts[rows[i]];
+                }
+                return ranks;
+            case "registered":
+                return ranks(rows, registerDates);
+            case "seen":
+                return ranks(rows, lastSeenDates);
+            case "geolocation":
+                return ranks(rows, geolocations);
+            default:
+                throw new IllegalArgumentException("Players table can not be sorted by '" + column + "'");
+        }
+    }
+
+    private int[] getSortedIndex(String column) {
+        int[] sorted = sortedIndexes.get(column);
+        if (sorted != null) return sorted;
+
+        // Sorted outside the map, concurrent sorts of the same column produce the same order.
+        int[] rows = new int[players.size()];
+        for (int row = 0; row < rows.length; row++) {
+            rows[row] = row;
+        }
+        sort(rows, column);
+        sorted = sortedIndexes.putIfAbsent(column, rows);
+        return sorted != null ? sorted : rows;
+    }
+
+    /**
+     * Get a page of the table.
+     *
+     * @param sortBy     Data property of the column to sort by, see {@link #isSortable(String)}.
+     * @param descending Should the largest values be first.
+     * @param search     Beginning of player names to include, case-insensitive. Empty or null for all players.
+     * @param start      Position of the first player of the page in the sorted and searched table.
+     * @param length     Maximum number of players on the page.
+     * @return The page.
+     * @throws IllegalArgumentException If the table can not be sorted by the column.
+     */
+    public Page query(String sortBy, boolean descending, String search, int start, int length) {
+        if (!isSortable(sortBy)) throw new IllegalArgumentException("Players table can not be sorted by '" + sortBy + "'");
+
+        String prefix = search != null ? search.trim().toLowerCase(Locale.ROOT) : "";
+        if (prefix.isEmpty()) {
+            return new Page(slice(getSortedIndex(sortBy), 0, players.size(), descending, null, start, length), players.size(), players.size());
+        }
+
+        int from = binarySearch(0, row -> names[row].compareTo(prefix) < 0);
+        int to = binarySearch(from, row -> names[row].startsWith(prefix));
+        int found = to - from;
+        if (found == 0 || "name".equals(sortBy)) {
+            return new Page(slice(byName, from, to, descending, null, start, length), found, players.size());
+        }
+        if (found <= players.size() / 8) {
+            // Sorting few results is faster than scanning the whole sorted index
+            int[] rows = Arrays.copyOfRange(byName, from, to);
+            sort(rows, sortBy);
+            return new Page(slice(rows, 0, found, descending, null, start, length), found, players.size());
+        }
+        BitSet matching = new BitSet(players.size());
+        for (int i = from; i < to; i++) {
+            matching.set(byName[i]);
+        }
+        return new Page(slice(getSortedIndex(sortBy), 0, players.size(), descending, matching, start, length), found, players.size());
+    }
+
+    /**
+     * Find the first position in name order from which the predicate no longer holds.
+     */
+    private int binarySearch(int from, IntPredicate before) {
+        int low = from;
+        int high = byName.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (before.test(byName[middle])) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private List<TablePlayer> slice(int[] sorted, int from, int to, boolean descending, BitSet filter, int start, int length) {
+        List<TablePlayer> page = new ArrayList<>(Math.max(0, Math.min(length, to - from - start)));
+        int skipped = filter == null ? start : 0;
+        for (int i = skipped; i < to - from && page.size() < length; i++) {
+            int row = sorted[descending ? to - 1 - i : from + i];
+            if (filter != null) {
+                if (!filter.get(row)) continue;
+                if (skipped < start) {
+                    skipped++;
+                    continue;
+                }
+            }
+            page.add(players.get(row));
+        }
+        return page;
+    }
+
+    private void sort(int[] rows, String column) {
+        int[] ranks = getRanks(column, rows);
+        // Rank in the high bits and row in the low bits, so equal values are in row order
+        // and every sort of the same rows has the same result.
+        long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            keys[i] = ((long) ranks[i] << 32) | rows[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = (int) keys[i];
+        }
+    }
+
+    private static int[] ranks(int[] rows, long[] column) {
+        long[] distinct = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            distinct[i] = column[rows[i]];
+        }
+        Arrays.sort(distinct);
+        int count = 0;
+        for (long value : distinct) {
+            if (count == 0 || distinct[count - 1] != value) distinct[count++] = value;
+        }
+        int[] ranks = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            ranks[i] = Arrays.binarySearch(distinct, 0, count, column[rows[i]]);
+        }
+        return ranks;
+    }
+
+    private static int[] ranks(int[] rows, double[] column) {
+        double[] distinct = new double[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            distinct[i] = column[rows[i]];
+        }
+        Arrays.sort(distinct);
+        int count = 0;
+        for (double value : distinct) {
+            if (count == 0 || Double.compare(distinct[count - 1], value) != 0) distinct[count++] = value;
+        }
+        int[] ranks = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            ranks[i] = Arrays.binarySearch(distinct, 0, count, column[rows[i]]);
+        }
+        return ranks;
+    }
+
+    private static int[] ranks(int[] rows, String[] column) {
+        String[] distinct = new String[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            distinct[i] = column[rows[i]];
+        }
+        Arrays.sort(distinct);
+        int count = 0;
+        for (String value : distinct) {
+            if (count == 0 || !distinct[count - 1].equals(value)) distinct[count++] = value;
+        }
+        int[] ranks = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            ranks[i] = Arrays.binarySearch(distinct, 0, count, column[rows[i]]);
+        }
+        return ranks;
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Players of one page of the table.
+     */
+    public static class Page {
+        private final List<TablePlayer> players;
+        private final int filteredCount;
+        private final int totalCount;
+
+        public Page(List<TablePlayer> players, int filteredCount, int totalCount) {
+            this.players = players;
+            this.filteredCount = filteredCount;
+            this.totalCount = totalCount;
+        }
+
+        public List<TablePlayer> getPlayers() {
+            return players;
+        }
+
+        public int getFilteredCount() {
+            return filteredCount;
+        }
+
+        public int getTotalCount() {
+            return totalCount;
+        }
+    }
+}
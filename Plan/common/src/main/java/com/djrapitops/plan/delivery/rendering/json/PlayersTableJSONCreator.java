@@ -38,6 +38,9 @@ import java.util.*;
  * Utility for creating jQuery Datatables JSON for a Players Table.
  * <p>
  * See https://www.datatables.net/manual/data/orthogonal-data#HTML-5 for sort kinds
+ * <p>
+ * Large tables can be created one page at a time with {@link #toPageJSONMap(String, boolean, String, int, int)},
+ * for server-side processing https://datatables.net/manual/server-side
  *
  * @author AuroraLS3
  */
@@ -55,6 +58,8 @@ public class PlayersTableJSONCreator {
 
     private final Formatter<Double> decimalFormatter;
 
+    private PlayersTableIndex index; // Created when the table is first requested one page at a time
+
     public PlayersTableJSONCreator(
             List<TablePlayer> players,
             Map<UUID, ExtensionTabData> extensionData,
@@ -111,12 +116,44 @@ public class PlayersTableJSONCreator {
 
     public Map<String, Object> toJSONMap() {
         return Maps.builder(String.class, Object.class)
-                .put("columns", createColumnHeaders())
+                .put("columns", createColumnHeaders(true))
                 .put("data", createData())
                 .build();
     }
 
+    /**
+     * Create json of one page of the table.
+     *
+     * @param sortBy     Data property of the column to sort by.
+     * @param descending Should the largest values be first.
+     * @param search     Beginning of player names to include. Empty for all players.
+     * @param start      Position of the first player on the page.
+     * @param length     Maximum number of players on the page.
+     * @return Map with columns, data of the page, recordsTotal and recordsFiltered.
+     * @throws IllegalArgumentException If the table can not be sorted by the column.
+     */
+    public Map<String, Object> toPageJSONMap(String sortBy, boolean descending, String search, int start, int length) {
+        PlayersTableIndex.Page page = getIndex().query(sortBy, descending, search, start, length);
+        return Maps.builder(String.class, Object.class)
+                .put("columns", createColumnHeaders(false))
+                .put("data", createData(page.getPlayers()))
+                .put("recordsTotal", page.getTotalCount())
+                .put("recordsFiltered", page.getFilteredCount())
+                .build();
+    }
+
+    public synchronized PlayersTableIndex getIndex() {
+        if (index == null) {
+            index = new PlayersTableIndex(players);
+        }
+        return index;
+    }
+
     private List<Map<String, Object>> createData() {
+        return createData(players);
+    }
+
+    private List<Map<String, Object>> createData(List<TablePlayer> players) {
         List<Map<String, Object>> dataJson = new ArrayList<>();
 
         ExtensionTabData emptyExtensionData = new ExtensionTabData.Builder(null).build();
@@ -200,7 +237,7 @@ public class PlayersTableJSONCreator {
         putDataEntry(dataJson, stringValue, stringValue, key);
     }
 
-    private List<Map<String, Object>> createColumnHeaders() {
+    private List<Map<String, Object>> createColumnHeaders(boolean orderableExtensionColumns) {
         List<Map<String, Object>> columnHeaders = new ArrayList<>();
 
         columnHeaders.add(makeColumnHeader(Icon.called("user") + " " + locale.get(HtmlLang.LABEL_NAME), "name"));
@@ -211,7 +248,7 @@ public class PlayersTableJSONCreator {
         columnHeaders.add(makeFColumnHeader(Icon.called("calendar-check").of(Family.REGULAR) + " " + locale.get(HtmlLang.LABEL_LAST_SEEN), "seen"));
         columnHeaders.add(makeColumnHeader(Icon.called("globe") + " " + locale.get(HtmlLang.TITLE_COUNTRY), "geolocation"));
 
-        addExtensionHeaders(columnHeaders);
+        addExtensionHeaders(columnHeaders, orderableExtensionColumns);
 
         return columnHeaders;
     }
@@ -233,10 +270,13 @@ public class PlayersTableJSONCreator {
                 ).build();
     }
 
-    private void addExtensionHeaders(List<Map<String, Object>> columnHeaders) {
+    private void addExtensionHeaders(List<Map<String, Object>> columnHeaders, boolean orderable) {
         for (ExtensionDescription provider : extensionDescriptions) {
             String headerText = Icon.fromExtensionIcon(provider.getIcon().setColor(Color.NONE)).toHtml().replace('"', '\'') + ' ' + provider.getText();
-            columnHeaders.add(makeFColumnHeader(headerText, provider.getName()));
+            Map<String, Object> columnHeader = makeFColumnHeader(headerText, provider.getName());
+            // Extension values are not in the sorted indexes of PlayersTableIndex
+            if (!orderable) columnHeader.put("orderable", false);
+            columnHeaders.add(columnHeader);
         }
     }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ package com.djrapitops.plan.delivery.rendering.json;
 
 import com.djrapitops.plan.delivery.domain.DateHolder;
 import com.djrapitops.plan.delivery.domain.DateObj;
+import com.djrapitops.plan.delivery.domain.SessionAggregates;
 import com.djrapitops.plan.delivery.domain.mutators.TPSMutator;
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
@@ -30,8 +31,7 @@ import com.djrapitops.plan.settings.config.paths.DisplaySettings;
 import com.djrapitops.plan.settings.config.paths.TimeSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.GenericLang;
-import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.ParallelQueries;
 import com.djrapitops.plan.storage.database.queries.ServerAggregateQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.ActivityIndexQueries;
 import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
@@ -43,9 +43,11 @@ import com.djrapitops.plan.utilities.analysis.Percentage;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Creates JSON payload for /server-page Server Overview tab.
@@ -58,7 +60,7 @@ public class ServerOverviewJSONCreator implements ServerTabJSONCreator<Map<Strin
     private final Formatter<Long> day;
     private final PlanConfig config;
     private final Locale locale;
-    private final DBSystem dbSystem;
+    private final ParallelQueries parallelQueries;
     private final ServerInfo serverInfo;
     private final ServerSensor<?> serverSensor;
 
@@ -71,14 +73,14 @@ public class ServerOverviewJSONCreator implements ServerTabJSONCreator<Map<Strin
     public ServerOverviewJSONCreator(
             PlanConfig config,
             Locale locale,
-            DBSystem dbSystem,
+            ParallelQueries parallelQueries,
             ServerInfo serverInfo,
             ServerSensor<?> serverSensor,
             Formatters formatters
     ) {
         this.config = config;
         this.locale = locale;
-        this.dbSystem = dbSystem;
+        this.parallelQueries = parallelQueries;
         this.serverInfo = serverInfo;
         this.serverSensor = serverSensor;
 
@@ -98,23 +100,29 @@ public class ServerOverviewJSONCreator implements ServerTabJSONCreator<Map<Strin
     }
 
     private Map<String, Object> createLast7DaysMap(ServerUUID serverUUID) {
-        Database db = dbSystem.getDatabase();
         long now = System.currentTimeMillis();
         long weekAgo = now - TimeUnit.DAYS.toMillis(7L);
 
+        ParallelQueries.Batch queries = parallelQueries.batch();
+        ParallelQueries.Pending<Integer> uniquePlayers = queries.query(PlayerCountQueries.uniquePlayerCount(weekAgo, now, serverUUID));
+        ParallelQueries.Pending<Integer> uniquePlayersPerDay = queries.query(PlayerCountQueries.averageUniquePlayerCount(weekAgo, now, config.getTimeZone().getOffset(now), serverUUID));
+        ParallelQueries.Pending<Integer> new7dQuery = queries.query(PlayerCountQueries.newPlayerCount(weekAgo, now, serverUUID));
+        ParallelQueries.Pending<Integer> retained7dQuery = queries.query(PlayerCountQueries.retainedPlayerCount(weekAgo, now, serverUUID));
+        ParallelQueries.Pending<List<TPS>> tpsData = queries.query(TPSQueries.fetchTPSDataOfServer(weekAgo, now, serverUUID));
+
         Map<String, Object> sevenDays = new HashMap<>();
 
-        sevenDays.put("unique_players", db.query(PlayerCountQueries.uniquePlayerCount(weekAgo, now, serverUUID)));
-        sevenDays.put("unique_players_day", db.query(PlayerCountQueries.averageUniquePlayerCount(weekAgo, now, config.getTimeZone().getOffset(now), serverUUID)));
+        sevenDays.put("unique_players", uniquePlayers.get());
+        sevenDays.put("unique_players_day", uniquePlayersPerDay.get());
 
-        int new7d = db.query(PlayerCountQueries.newPlayerCount(weekAgo, now, serverUUID));
-        int retained7d = db.query(PlayerCountQueries.retainedPlayerCount(weekAgo, now, serverUUID));
+        int new7d = new7dQuery.get();
+        int retained7d = retained7dQuery.get();
         double retentionPercentage7d = Percentage.calculate(retained7d, new7d, -1);
 
         sevenDays.put("new_players", new7d);
         sevenDays.put("new_players_retention", retained7d);
         sevenDays.put("new_players_retention_perc", percentage.apply(retentionPercentage7d));
-        TPSMutator tpsMutator = new TPSMutator(db.query(TPSQueries.fetchTPSDataOfServer(weekAgo, now, serverUUID)));
+        TPSMutator tpsMutator = new TPSMutator(tpsData.get());
         double averageTPS = tpsMutator.averageTPS();
         sevenDays.put("average_tps", averageTPS != -1 ? decimals.apply(averageTPS) : locale.get(GenericLang.UNAVAILABLE).toString());
         sevenDays.put("low_tps_spikes", tpsMutator.lowTpsSpikeCount(config.get(DisplaySettings.GRAPH_TPS_THRESHOLD_MED)));
@@ -124,77 +132,109 @@ public class ServerOverviewJSONCreator implements ServerTabJSONCreator<Map<Strin
     }
 
     private Map<String, Object> createNumbersMap(ServerUUID serverUUID) {
-        Database db = dbSystem.getDatabase();
         long now = System.currentTimeMillis();
         long twoDaysAgo = now - TimeUnit.DAYS.toMillis(2L);
         Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
+        ParallelQueries.Batch queries = parallelQueries.batch();
+        ParallelQueries.Pending<Integer> userCountQuery = queries.query(ServerAggregateQueries.serverUserCount(serverUUID));
+        ParallelQueries.Pending<Integer> regularPlayers = queries.query(ActivityIndexQueries.fetchRegularPlayerCount(now, serverUUID, playtimeThreshold));
+        Supplier<Object> onlinePlayers = getOnlinePlayers(serverUUID, queries);
+        ParallelQueries.Pending<Optional<DateObj<Integer>>> lastPeakQuery = queries.query(TPSQueries.fetchPeakPlayerCount(serverUUID, twoDaysAgo));
+        ParallelQueries.Pending<Optional<DateObj<Integer>>> allTimePeakQuery = queries.query(TPSQueries.fetchAllTimePeakPlayerCount(serverUUID));
+        ParallelQueries.Pending<Long> totalPlaytimeQuery = queries.query(SessionQueries.playtime(0L, now, serverUUID));
+        ParallelQueries.Pending<Long> sessions = queries.query(SessionQueries.sessionCount(0L, now, serverUUID));
+        ParallelQueries.Pending<Long> playerKills = queries.query(KillQueries.playerKillCount(0L, now, serverUUID));
+        ParallelQueries.Pending<Long> mobKills = queries.query(KillQueries.mobKillCount(0L, now, serverUUID));
+        ParallelQueries.Pending<Long> deaths = queries.query(KillQueries.deathCount(0L, now, serverUUID));
+
         Map<String, Object> numbers = new HashMap<>();
 
-        Integer userCount = db.query(ServerAggregateQueries.serverUserCount(serverUUID));
+        Integer userCount = userCountQuery.get();
         numbers.put("total_players", userCount);
-        numbers.put("regular_players", db.query(ActivityIndexQueries.fetchRegularPlayerCount(now, serverUUID, playtimeThreshold)));
-        numbers.put("online_players", getOnlinePlayers(serverUUID, db));
-        Optional<DateObj<Integer>> lastPeak = db.query(TPSQueries.fetchPeakPlayerCount(serverUUID, twoDaysAgo));
-        Optional<DateObj<Integer>> allTimePeak = db.query(TPSQueries.fetchAllTimePeakPlayerCount(serverUUID));
+        numbers.put("regular_players", regularPlayers.get());
+        numbers.put("online_players", onlinePlayers.get());
+        Optional<DateObj<Integer>> lastPeak = lastPeakQuery.get();
+        Optional<DateObj<Integer>> allTimePeak = allTimePeakQuery.get();
         numbers.put("last_peak_date", lastPeak.map(year).orElse("-"));
         numbers.put("last_peak_players", lastPeak.map(dateObj -> dateObj.getValue().toString()).orElse("-"));
         numbers.put("best_peak_date", allTimePeak.map(year).orElse("-"));
         numbers.put("best_peak_players", allTimePeak.map(dateObj -> dateObj.getValue().toString()).orElse("-"));
-        Long totalPlaytime = db.query(SessionQueries.playtime(0L, now, serverUUID));
+        Long totalPlaytime = totalPlaytimeQuery.get();
         numbers.put("playtime", timeAmount.apply(totalPlaytime));
         numbers.put("player_playtime", userCount != 0 ? timeAmount.apply(totalPlaytime / userCount) : "-");
-        numbers.put("sessions", db.query(SessionQueries.sessionCount(0L, now, serverUUID)));
-        numbers.put("player_kills", db.query(KillQueries.playerKillCount(0L, now, serverUUID)));
-        numbers.put("mob_kills", db.query(KillQueries.mobKillCount(0L, now, serverUUID)));
-        numbers.put("deaths", db.query(KillQueries.deathCount(0L, now, serverUUID)));
+        numbers.put("sessions", sessions.get());
+        numbers.put("player_kills", playerKills.get());
+        numbers.put("mob_kills", mobKills.get());
+        numbers.put("deaths", deaths.get());
 
         return numbers;
     }
 
-    private Object getOnlinePlayers(ServerUUID serverUUID, Database db) {
-        return serverUUID.equals(serverInfo.getServerUUID())
-                ? serverSensor.getOnlinePlayerCount()
-                : db.query(TPSQueries.fetchLatestTPSEntryForServer(serverUUID))
+    private Supplier<Object> getOnlinePlayers(ServerUUID serverUUID, ParallelQueries.Batch queries) {
+        if (serverUUID.equals(serverInfo.getServerUUID())) {
+            return serverSensor::getOnlinePlayerCount;
+        }
+        ParallelQueries.Pending<Optional<TPS>> latestTPS = queries.query(TPSQueries.fetchLatestTPSEntryForServer(serverUUID));
+        return () -> latestTPS.get()
                 .map(TPS::getPlayers).map(Object::toString)
                 .orElse(locale.get(GenericLang.UNKNOWN).toString());
     }
 
     private Map<String, Object> createWeeksMap(ServerUUID serverUUID) {
-        Database db = dbSystem.getDatabase();
         long now = System.currentTimeMillis();
         long oneWeekAgo = now - TimeUnit.DAYS.toMillis(7L);
         long twoWeeksAgo = now - TimeUnit.DAYS.toMillis(14L);
         Long playtimeThreshold = config.get(TimeSettings.ACTIVE_PLAY_THRESHOLD);
 
+        ParallelQueries.Batch queries = parallelQueries.batch();
+        ParallelQueries.Pending<List<SessionAggregates>> sessionAggregates = queries.query(SessionQueries.aggregatesOfWindows(serverUUID,
+                new long[]{twoWeeksAgo, oneWeekAgo},
+                new long[]{oneWeekAgo, now}
+        ));
+        ParallelQueries.Pending<Integer> newBeforeQuery = queries.query(PlayerCountQueries.newPlayerCount(twoWeeksAgo, oneWeekAgo, serverUUID));
+        ParallelQueries.Pending<Integer> newAfterQuery = queries.query(PlayerCountQueries.newPlayerCount(oneWeekAgo, now, serverUUID));
+        ParallelQueries.Pending<Integer> regularBeforeQuery = queries.query(ActivityIndexQueries.fetchRegularPlayerCount(oneWeekAgo, serverUUID, playtimeThreshold));
+        ParallelQueries.Pending<Integer> regularAfterQuery = queries.query(ActivityIndexQueries.fetchRegularPlayerCount(now, serverUUID, playtimeThreshold));
+        ParallelQueries.Pending<Long> pksBeforeQuery = queries.query(KillQueries.playerKillCount(twoWeeksAgo, oneWeekAgo, serverUUID));
+        ParallelQueries.Pending<Long> pksAfterQuery = queries.query(KillQueries.playerKillCount(oneWeekAgo, now, serverUUID));
+        ParallelQueries.Pending<Long> mkBeforeQuery = queries.query(KillQueries.mobKillCount(twoWeeksAgo, oneWeekAgo, serverUUID));
+        ParallelQueries.Pending<Long> mkAfterQuery = queries.query(KillQueries.mobKillCount(oneWeekAgo, now, serverUUID));
+        ParallelQueries.Pending<Long> deathsBeforeQuery = queries.query(KillQueries.deathCount(twoWeeksAgo, oneWeekAgo, serverUUID));
+        ParallelQueries.Pending<Long> deathsAfterQuery = queries.query(KillQueries.deathCount(oneWeekAgo, now, serverUUID));
+
         Map<String, Object> weeks = new HashMap<>();
 
         weeks.put("start", day.apply(twoWeeksAgo));
         weeks.put("midpoint", day.apply(oneWeekAgo));
         weeks.put("end", day.apply(now));
 
-        Integer uniqueBefore = db.query(PlayerCountQueries.uniquePlayerCount(twoWeeksAgo, oneWeekAgo, serverUUID));
-        Integer uniqueAfter = db.query(PlayerCountQueries.uniquePlayerCount(oneWeekAgo, now, serverUUID));
+        List<SessionAggregates> aggregates = sessionAggregates.get();
+        SessionAggregates weekBefore = aggregates.get(0);
+        SessionAggregates weekAfter = aggregates.get(1);
+
+        int uniqueBefore = weekBefore.getUniquePlayers();
+        int uniqueAfter = weekAfter.getUniquePlayers();
         Trend uniqueTrend = new Trend(uniqueBefore, uniqueAfter, false);
         weeks.put("unique_before", uniqueBefore);
         weeks.put("unique_after", uniqueAfter);
         weeks.put("unique_trend", uniqueTrend);
 
-        Integer newBefore = db.query(PlayerCountQueries.newPlayerCount(twoWeeksAgo, oneWeekAgo, serverUUID));
-        Integer newAfter = db.query(PlayerCountQueries.newPlayerCount(oneWeekAgo, now, serverUUID));
+        Integer newBefore = newBeforeQuery.get();
+        Integer newAfter = newAfterQuery.get();
         Trend newTrend = new Trend(newBefore, newAfter, false);
         weeks.put("new_before", newBefore);
         weeks.put("new_after", newAfter);
         weeks.put("new_trend", newTrend);
 
-        int regularBefore = db.query(ActivityIndexQueries.fetchRegularPlayerCount(oneWeekAgo, serverUUID, playtimeThreshold));
-        int regularAfter = db.query(ActivityIndexQueries.fetchRegularPlayerCount(now, serverUUID, playtimeThreshold));
+        int regularBefore = regularBeforeQuery.get();
+        int regularAfter = regularAfterQuery.get();
         weeks.put("regular_before", regularBefore);
         weeks.put("regular_after", regularAfter);
         weeks.put("regular_trend", new Trend(regularBefore, regularAfter, false));
 
-        Long playtimeBefore = db.query(SessionQueries.playtime(twoWeeksAgo, oneWeekAgo, serverUUID));
-        Long playtimeAfter = db.query(SessionQueries.playtime(oneWeekAgo, now, serverUUID));
+        long playtimeBefore = weekBefore.getPlaytime();
+        long playtimeAfter = weekAfter.getPlaytime();
         long avgPlaytimeBefore = uniqueBefore != 0 ? playtimeBefore / uniqueBefore : 0L;
         long avgPlaytimeAfter = uniqueAfter != 0 ? playtimeAfter / uniqueAfter : 0L;
         Trend avgPlaytimeTrend = new Trend(avgPlaytimeBefore, avgPlaytimeAfter, false, timeAmount);
@@ -202,29 +242,29 @@ public class ServerOverviewJSONCreator implements ServerTabJSONCreator<Map<Strin
         weeks.put("average_playtime_after", timeAmount.apply(avgPlaytimeAfter));
         weeks.put("average_playtime_trend", avgPlaytimeTrend);
 
-        Long sessionsBefore = db.query(SessionQueries.sessionCount(twoWeeksAgo, oneWeekAgo, serverUUID));
-        Long sessionsAfter = db.query(SessionQueries.sessionCount(oneWeekAgo, now, serverUUID));
+        long sessionsBefore = weekBefore.getSessionCount();
+        long sessionsAfter = weekAfter.getSessionCount();
         Trend sessionsTrend = new Trend(sessionsBefore, sessionsAfter, false);
         weeks.put("sessions_before", sessionsBefore);
         weeks.put("sessions_after", sessionsAfter);
         weeks.put("sessions_trend", sessionsTrend);
 
-        Long pksBefore = db.query(KillQueries.playerKillCount(twoWeeksAgo, oneWeekAgo, serverUUID));
-        Long pksAfter = db.query(KillQueries.playerKillCount(oneWeekAgo, now, serverUUID));
+        Long pksBefore = pksBeforeQuery.get();
+        Long pksAfter = pksAfterQuery.get();
         Trend pksTrend = new Trend(pksBefore, pksAfter, false);
         weeks.put("player_kills_before", pksBefore);
         weeks.put("player_kills_after", pksAfter);
         weeks.put("player_kills_trend", pksTrend);
 
-        Long mkBefore = db.query(KillQueries.mobKillCount(twoWeeksAgo, oneWeekAgo, serverUUID));
-        Long mkAfter = db.query(KillQueries.mobKillCount(oneWeekAgo, now, serverUUID));
+        Long mkBefore = mkBeforeQuery.get();
+        Long mkAfter = mkAfterQuery.get();
         Trend mkTrend = new Trend(mkBefore, mkAfter, false);
         weeks.put("mob_kills_before", mkBefore);
         weeks.put("mob_kills_after", mkAfter);
         weeks.put("mob_kills_trend", mkTrend);
 
-        Long deathsBefore = db.query(KillQueries.deathCount(twoWeeksAgo, oneWeekAgo, serverUUID));
-        Long deathsAfter = db.query(KillQueries.deathCount(oneWeekAgo, now, serverUUID));
+        Long deathsBefore = deathsBeforeQuery.get();
+        Long deathsAfter = deathsAfterQuery.get();
         Trend deathTrend = new Trend(deathsBefore, deathsAfter, true);
         weeks.put("deaths_before", deathsBefore);
         weeks.put("deaths_after", deathsAfter);
@@ -25,6 +25,7 @@ import com.djrapitops.plan.delivery.rendering.json.graphs.line.LineGraph;
 import com.djrapitops.plan.delivery.rendering.json.graphs.line.LineGraphFactory;
 import com.djrapitops.plan.delivery.rendering.json.graphs.line.PingGraph;
 import com.djrapitops.plan.delivery.rendering.json.graphs.line.Point;
+import com.djrapitops.plan.delivery.rendering.json.graphs.line.TimeSeriesColumns;
 import com.djrapitops.plan.delivery.rendering.json.graphs.pie.Pie;
 import com.djrapitops.plan.delivery.rendering.json.graphs.pie.WorldPie;
 import com.djrapitops.plan.delivery.rendering.json.graphs.special.WorldMap;
@@ -67,6 +68,8 @@ import java.util.concurrent.TimeUnit;
 @Singleton
 public class GraphJSONCreator {
 
+    private static final String[] PERFORMANCE_GRAPH_KEYS = {"date", "playersOnline", "tps", "cpu", "ram", "entities", "chunks", "disk"};
+
     private final PlanConfig config;
     private final Locale locale;
     private final Theme theme;
@@ -120,6 +123,22 @@ public class GraphJSONCreator {
     }
 
     public Map<String, Object> optimizedPerformanceGraphJSON(ServerUUID serverUUID) {
+        return withPerformanceGraphMetadata(Maps.builder(String.class, Object.class)
+                .put("values", optimizedPerformanceGraphValues(serverUUID)));
+    }
+
+    /**
+     * Same data as {@link #optimizedPerformanceGraphJSON(ServerUUID)}, with the values as columns instead of rows.
+     *
+     * @param serverUUID UUID of the server.
+     * @return Graph json where 'columns' has one array per key, see {@link TimeSeriesColumns}.
+     */
+    public Map<String, Object> optimizedPerformanceGraphColumnarJSON(ServerUUID serverUUID) {
+        return withPerformanceGraphMetadata(Maps.builder(String.class, Object.class)
+                .put("columns", TimeSeriesColumns.fromRows(optimizedPerformanceGraphValues(serverUUID), PERFORMANCE_GRAPH_KEYS.length)));
+    }
+
+    private List<Number[]> optimizedPerformanceGraphValues(ServerUUID serverUUID) {
         long now = System.currentTimeMillis();
         long twoMonthsAgo = now - TimeUnit.DAYS.toMillis(60);
         long monthAgo = now - TimeUnit.DAYS.toMillis(30);
@@ -152,10 +171,12 @@ public class GraphJSONCreator {
                 TimeUnit.MINUTES.toMillis(30),
                 null
         )));
+        return values;
+    }
 
-        return Maps.builder(String.class, Object.class)
-                .put("keys", new String[]{"date", "playersOnline", "tps", "cpu", "ram", "entities", "chunks", "disk"})
-                .put("values", values)
+    private Map<String, Object> withPerformanceGraphMetadata(Maps.Builder<String, Object> data) {
+        return data
+                .put("keys", PERFORMANCE_GRAPH_KEYS)
                 .put("colors", Maps.builder(String.class, Object.class)
                         .put("playersOnline", theme.getValue(ThemeVal.GRAPH_PLAYERS_ONLINE))
                         .put("cpu", theme.getValue(ThemeVal.GRAPH_CPU))
@@ -0,0 +1,67 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.rendering.json.graphs.line;
+
+import java.util.List;
+
+/**
+ * Columnar form of time series rows, used by graph endpoints when the client supports it.
+ * <p>
+ * Each series is one array instead of every point being its own array.
+ * The first column holds delta encoded dates: the first date is absolute, and the rest are differences
+ * to the previous date, which for data gathered every minute is the same short number repeated.
+ * Decimal values are rounded to two decimals, which is what the graphs display.
+ *
+ * @author AuroraLS3
+ */
+public class TimeSeriesColumns {
+
+    private TimeSeriesColumns() {
+        /* Static method class */
+    }
+
+    /**
+     * Turn rows of [date, value, value...] into columns.
+     *
+     * @param rows        Rows in ascending date order, missing values in a row are null.
+     * @param columnCount Number of columns, including the date.
+     * @return Array of columns, first column has the delta encoded dates.
+     */
+    public static Number[][] fromRows(List<Number[]> rows, int columnCount) {
+        Number[][] columns = new Number[columnCount][rows.size()];
+        long previousDate = 0L;
+        for (int i = 0; i < rows.size(); i++) {
+            Number[] row = rows.get(i);
+            long date = row[0].longValue();
+            columns[0][i] = date - previousDate;
+            previousDate = date;
+            for (int column = 1; column < columnCount; column++) {
+                columns[column][i] = column < row.length ? compact(row[column]) : null;
+            }
+        }
+        return columns;
+    }
+
+    private static Number compact(Number value) {
+        if (!(value instanceof Double) && !(value instanceof Float)) return value;
+        double decimal = value.doubleValue();
+        if (Double.isNaN(decimal) || Double.isInfinite(decimal)) return null;
+        long rounded = Math.round(decimal * 100.0);
+        // Whole numbers are written without the trailing .0
+        return rounded % 100 == 0 ? (Number) (rounded / 100) : (Number) (rounded / 100.0);
+    }
+}
@@ -18,6 +18,7 @@ package com.djrapitops.plan.delivery.rendering.json.network;
 
 import com.djrapitops.plan.delivery.domain.DateHolder;
 import com.djrapitops.plan.delivery.domain.DateObj;
+import com.djrapitops.plan.delivery.domain.SessionAggregates;
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.delivery.rendering.json.Trend;
@@ -36,6 +37,7 @@ import com.djrapitops.plan.storage.database.queries.objects.TPSQueries;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -91,9 +93,14 @@ public class NetworkOverviewJSONCreator implements NetworkTabJSONCreator<Map<Str
 
         Map<String, Object> sevenDays = new HashMap<>();
 
-        sevenDays.put("unique_players_1d", db.query(PlayerCountQueries.uniquePlayerCount(dayAgo, now)));
-        sevenDays.put("unique_players_7d", db.query(PlayerCountQueries.uniquePlayerCount(weekAgo, now)));
-        sevenDays.put("unique_players_30d", db.query(PlayerCountQueries.uniquePlayerCount(monthAgo, now)));
+        List<SessionAggregates> aggregates = db.query(SessionQueries.aggregatesOfWindows(
+                new long[]{dayAgo, now},
+                new long[]{weekAgo, now},
+                new long[]{monthAgo, now}
+        ));
+        sevenDays.put("unique_players_1d", aggregates.get(0).getUniquePlayers());
+        sevenDays.put("unique_players_7d", aggregates.get(1).getUniquePlayers());
+        sevenDays.put("unique_players_30d", aggregates.get(2).getUniquePlayers());
 
         sevenDays.put("new_players_1d", db.query(PlayerCountQueries.newPlayerCount(dayAgo, now)));
         sevenDays.put("new_players_7d", db.query(PlayerCountQueries.newPlayerCount(weekAgo, now)));
@@ -144,8 +151,15 @@ public class NetworkOverviewJSONCreator implements NetworkTabJSONCreator<Map<Str
         weeks.put("midpoint", day.apply(oneWeekAgo));
         weeks.put("end", day.apply(now));
 
-        Integer uniqueBefore = db.query(PlayerCountQueries.uniquePlayerCount(twoWeeksAgo, oneWeekAgo));
-        Integer uniqueAfter = db.query(PlayerCountQueries.uniquePlayerCount(oneWeekAgo, now));
+        List<SessionAggregates> aggregates = db.query(SessionQueries.aggregatesOfWindows(
+                new long[]{twoWeeksAgo, oneWeekAgo},
+                new long[]{oneWeekAgo, now}
+        ));
+        SessionAggregates weekBefore = aggregates.get(0);
+        SessionAggregates weekAfter = aggregates.get(1);
+
+        int uniqueBefore = weekBefore.getUniquePlayers();
+        int uniqueAfter = weekAfter.getUniquePlayers();
         Trend uniqueTrend = new Trend(uniqueBefore, uniqueAfter, false);
         weeks.put("unique_before", uniqueBefore);
         weeks.put("unique_after", uniqueAfter);
@@ -164,8 +178,8 @@ public class NetworkOverviewJSONCreator implements NetworkTabJSONCreator<Map<Str
         weeks.put("regular_after", regularAfter);
         weeks.put("regular_trend", new Trend(regularBefore, regularAfter, false));
 
-        Long playtimeBefore = db.query(SessionQueries.playtime(twoWeeksAgo, oneWeekAgo));
-        Long playtimeAfter = db.query(SessionQueries.playtime(oneWeekAgo, now));
+        long playtimeBefore = weekBefore.getPlaytime();
+        long playtimeAfter = weekAfter.getPlaytime();
         long avgPlaytimeBefore = uniqueBefore != 0 ? playtimeBefore / uniqueBefore : 0L;
         long avgPlaytimeAfter = uniqueAfter != 0 ? playtimeAfter / uniqueAfter : 0L;
         Trend avgPlaytimeTrend = new Trend(avgPlaytimeBefore, avgPlaytimeAfter, false, timeAmount);
@@ -173,8 +187,8 @@ public class NetworkOverviewJSONCreator implements NetworkTabJSONCreator<Map<Str
         weeks.put("average_playtime_after", timeAmount.apply(avgPlaytimeAfter));
         weeks.put("average_playtime_trend", avgPlaytimeTrend);
 
-        Long sessionsBefore = db.query(SessionQueries.sessionCount(twoWeeksAgo, oneWeekAgo));
-        Long sessionsAfter = db.query(SessionQueries.sessionCount(oneWeekAgo, now));
+        long sessionsBefore = weekBefore.getSessionCount();
+        long sessionsAfter = weekAfter.getSessionCount();
         Trend sessionsTrend = new Trend(sessionsBefore, sessionsAfter, false);
         weeks.put("sessions_before", sessionsBefore);
         weeks.put("sessions_after", sessionsAfter);
@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.delivery.rendering.json.network;
 
+import com.djrapitops.plan.delivery.domain.SessionAggregates;
 import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.delivery.rendering.json.Trend;
@@ -31,6 +32,7 @@ import com.djrapitops.plan.utilities.analysis.Percentage;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -89,14 +91,21 @@ public class NetworkPlayerBaseOverviewJSONCreator implements NetworkTabJSONCreat
         trends.put("regular_players_now", regularAfter);
         trends.put("regular_players_trend", new Trend(regularBefore, regularAfter, false));
 
-        long avgPlaytimeBefore = db.query(SessionQueries.averagePlaytimePerPlayer(twoMonthsAgo, monthAgo));
-        long avgPlaytimeAfter = db.query(SessionQueries.averagePlaytimePerPlayer(monthAgo, now));
+        List<SessionAggregates> aggregates = db.query(SessionQueries.aggregatesOfWindows(
+                new long[]{twoMonthsAgo, monthAgo},
+                new long[]{monthAgo, now}
+        ));
+        SessionAggregates monthBefore = aggregates.get(0);
+        SessionAggregates monthAfter = aggregates.get(1);
+
+        long avgPlaytimeBefore = monthBefore.getAveragePlaytimePerPlayer();
+        long avgPlaytimeAfter = monthAfter.getAveragePlaytimePerPlayer();
         trends.put("playtime_avg_then", timeAmount.apply(avgPlaytimeBefore));
         trends.put("playtime_avg_now", timeAmount.apply(avgPlaytimeAfter));
         trends.put("playtime_avg_trend", new Trend(avgPlaytimeBefore, avgPlaytimeAfter, false, timeAmount));
 
-        long avgAfkBefore = db.query(SessionQueries.averageAfkPerPlayer(twoMonthsAgo, monthAgo));
-        long avgAfkAfter = db.query(SessionQueries.averageAfkPerPlayer(monthAgo, now));
+        long avgAfkBefore = monthBefore.getAverageAfkPerPlayer();
+        long avgAfkAfter = monthAfter.getAverageAfkPerPlayer();
         double afkPercentageBefore = Percentage.calculate(avgAfkBefore, avgPlaytimeBefore);
         double afkPercentageAfter = Percentage.calculate(avgAfkAfter, avgPlaytimeAfter);
         trends.put("afk_then", percentage.apply(afkPercentageBefore));
@@ -21,7 +21,6 @@ import com.djrapitops.plan.delivery.rendering.html.Contributors;
 import com.djrapitops.plan.delivery.rendering.html.icon.Icon;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.theme.Theme;
-import com.djrapitops.plan.utilities.java.UnaryChain;
 import com.djrapitops.plan.version.VersionChecker;
 
 /**
@@ -56,11 +55,8 @@ public class ErrorsPage implements Page {
         placeholders.put("version", versionChecker.getUpdateButton().orElse(versionChecker.getCurrentVersionButton()));
         placeholders.put("updateModal", versionChecker.getUpdateModal());
         placeholders.put("contributors", Contributors.generateContributorHtml());
-        return UnaryChain.of(template)
-                .chain(theme::replaceThemeColors)
-                .chain(placeholders::apply)
-                .chain(locale::replaceLanguageInHtml)
-                .apply();
+        return locale.getTemplate(template, theme)
+                .render(placeholders);
     }
 
     private String buildBody() {
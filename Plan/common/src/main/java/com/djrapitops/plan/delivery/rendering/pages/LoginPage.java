@@ -20,7 +20,6 @@ import com.djrapitops.plan.delivery.formatting.PlaceholderReplacer;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.theme.Theme;
-import com.djrapitops.plan.utilities.java.UnaryChain;
 
 /**
  * Html String generator for /login and /register page.
@@ -50,11 +49,8 @@ public class LoginPage implements Page {
     public String toHtml() {
         PlaceholderReplacer placeholders = new PlaceholderReplacer();
         placeholders.put("command", getCommand());
-        return UnaryChain.of(template)
-                .chain(theme::replaceThemeColors)
-                .chain(placeholders::apply)
-                .chain(locale::replaceLanguageInHtml)
-                .apply();
+        return locale.getTemplate(template, theme)
+                .render(placeholders);
     }
 
     private String getCommand() {
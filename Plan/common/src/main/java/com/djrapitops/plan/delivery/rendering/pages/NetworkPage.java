@@ -33,7 +33,6 @@ import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.theme.Theme;
 import com.djrapitops.plan.settings.theme.ThemeVal;
 import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.utilities.java.UnaryChain;
 import com.djrapitops.plan.version.VersionChecker;
 import org.apache.commons.lang3.StringUtils;
 
@@ -127,11 +126,7 @@ public class NetworkPage implements Page {
         pluginPlaceholders.put("navPluginsTabs", nav);
         pluginPlaceholders.put("tabsPlugins", StringUtils.remove(tabs, "${backButton}"));
 
-        return UnaryChain.of(templateHtml)
-                .chain(theme::replaceThemeColors)
-                .chain(placeholders::apply)
-                .chain(pluginPlaceholders::apply)
-                .chain(locale::replaceLanguageInHtml)
-                .apply();
+        return locale.getTemplate(templateHtml, theme)
+                .render(placeholders, pluginPlaceholders);
     }
 }
\ No newline at end of file
@@ -28,7 +28,6 @@ import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.theme.Theme;
 import com.djrapitops.plan.settings.theme.ThemeVal;
-import com.djrapitops.plan.utilities.java.UnaryChain;
 import com.djrapitops.plan.version.VersionChecker;
 
 import java.util.UUID;
@@ -113,11 +112,7 @@ public class PlayerPage implements Page {
         pluginPlaceholders.put("navPluginsTabs", pluginTabs.getNav());
         pluginPlaceholders.put("pluginsTabs", pluginTabs.getTab());
 
-        return UnaryChain.of(templateHtml)
-                .chain(theme::replaceThemeColors)
-                .chain(placeholders::apply)
-                .chain(pluginPlaceholders::apply)
-                .chain(locale::replaceLanguageInHtml)
-                .apply();
+        return locale.getTemplate(templateHtml, theme)
+                .render(placeholders, pluginPlaceholders);
     }
 }
@@ -71,6 +71,6 @@ public class PlayersPage implements Page {
             placeholders.put("networkName", config.get(PluginSettings.SERVER_NAME));
         }
 
-        return locale.replaceLanguageInHtml(placeholders.apply(theme.replaceThemeColors(templateHtml)));
+        return locale.getTemplate(templateHtml, theme).render(placeholders);
     }
 }
\ No newline at end of file
@@ -34,7 +34,6 @@ import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.theme.Theme;
 import com.djrapitops.plan.settings.theme.ThemeVal;
 import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.utilities.java.UnaryChain;
 import com.djrapitops.plan.version.VersionChecker;
 
 import java.util.List;
@@ -122,11 +121,7 @@ public class ServerPage implements Page {
         pluginPlaceholders.put("navPluginsTabs", nav);
         pluginPlaceholders.put("tabsPlugins", tabs);
 
-        return UnaryChain.of(templateHtml)
-                .chain(theme::replaceThemeColors)
-                .chain(placeholders::apply)
-                .chain(pluginPlaceholders::apply)
-                .chain(locale::replaceLanguageInHtml)
-                .apply();
+        return locale.getTemplate(templateHtml, theme)
+                .render(placeholders, pluginPlaceholders);
     }
 }
\ No newline at end of file
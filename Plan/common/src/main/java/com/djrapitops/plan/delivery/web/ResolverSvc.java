@@ -20,25 +20,27 @@ import com.djrapitops.plan.delivery.web.resolver.Resolver;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.*;
-import java.util.function.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 /**
  * ResolverService Implementation.
+ * <p>
+ * Registered resolvers are kept in a {@link RouteTable} that is rebuilt on registration,
+ * so finding the resolvers of a request does not need to test every registered prefix.
  *
  * @author AuroraLS3
  */
 @Singleton
 public class ResolverSvc implements ResolverService {
 
-    private final List<Container> basicResolvers;
-    private final List<Container> regexResolvers;
+    private volatile RouteTable routes;
 
     @Inject
     public ResolverSvc() {
-        basicResolvers = new ArrayList<>();
-        regexResolvers = new ArrayList<>();
+        routes = RouteTable.EMPTY;
     }
 
     public void register() {
@@ -46,83 +48,53 @@ public class ResolverSvc implements ResolverService {
     }
 
     @Override
-    public void registerResolver(String pluginName, String start, Resolver resolver) {
-        basicResolvers.add(new Container(pluginName, checking -> checking.startsWith(start), resolver, start));
-        Collections.sort(basicResolvers);
+    public synchronized void registerResolver(String pluginName, String start, Resolver resolver) {
+        routes = routes.withRoute(Route.prefix(pluginName, start, resolver));
     }
 
     @Override
-    public void registerResolverForMatches(String pluginName, Pattern pattern, Resolver resolver) {
-        regexResolvers.add(new Container(pluginName, pattern.asPredicate(), resolver, pattern.pattern()));
-        Collections.sort(regexResolvers);
+    public synchronized void registerResolverForMatches(String pluginName, Pattern pattern, Resolver resolver) {
+        routes = routes.withRoute(Route.regex(pluginName, pattern, resolver));
     }
 
     @Override
     public Optional<Resolver> getResolver(String target) {
-        for (Container container : basicResolvers) {
-            if (container.matcher.test(target)) return Optional.of(container.resolver);
-        }
-        for (Container container : regexResolvers) {
-            if (container.matcher.test(target)) return Optional.of(container.resolver);
-        }
-        return Optional.empty();
+        return routes.findFirst(target).map(Route::getResolver);
     }
 
     @Override
     public List<Resolver> getResolvers(String target) {
         List<Resolver> resolvers = new ArrayList<>();
-        for (Container container : basicResolvers) {
-            if (container.matcher.test(target)) resolvers.add(container.resolver);
-        }
-        for (Container container : regexResolvers) {
-            if (container.matcher.test(target)) resolvers.add(container.resolver);
+        for (Route route : routes.findAll(target)) {
+            resolvers.add(route.getResolver());
         }
         return resolvers;
     }
 
-    public Optional<String> getPluginInChargeOf(String target) {
-        for (Container container : basicResolvers) {
-            if (container.matcher.test(target)) return Optional.of(container.plugin);
-        }
-        for (Container container : regexResolvers) {
-            if (container.matcher.test(target)) return Optional.of(container.plugin);
-        }
-        return Optional.empty();
+    /**
+     * Obtain all routes that match the target, in the order their resolvers should be tried.
+     *
+     * @param target "/example/target"
+     * @return List of Routes if registered or empty list.
+     */
+    public List<Route> getRoutes(String target) {
+        return routes.findAll(target);
     }
 
-    private static class Container implements Comparable<Container> {
-        final String plugin;
-        final Predicate<String> matcher;
-        final Resolver resolver;
-        final String sortBy;
-
-        public Container(String plugin, Predicate<String> matcher, Resolver resolver, String sortBy) {
-            this.plugin = plugin;
-            this.matcher = matcher;
-            this.resolver = resolver;
-            this.sortBy = sortBy;
-        }
-
-        @Override
-        public int compareTo(Container o) {
-            // Longest first
-            return Integer.compare(o.sortBy.length(), this.sortBy.length());
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (!(o instanceof Container)) return false;
-            Container container = (Container) o;
-            return Objects.equals(plugin, container.plugin) &&
-                    Objects.equals(matcher, container.matcher) &&
-                    Objects.equals(resolver, container.resolver) &&
-                    Objects.equals(sortBy, container.sortBy);
-        }
+    public Optional<String> getPluginInChargeOf(String target) {
+        return routes.findFirst(target).map(Route::getPlugin);
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(plugin, matcher, resolver, sortBy);
+    /**
+     * Obtain latency and throughput of every registered route.
+     *
+     * @return Stats of each registered route.
+     */
+    public List<RouteStats> getRouteStats() {
+        List<RouteStats> stats = new ArrayList<>();
+        for (Route route : routes.getRoutes()) {
+            stats.add(route.getStats());
         }
+        return stats;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.web;
+
+import com.djrapitops.plan.delivery.web.resolver.Resolver;
+
+import java.util.regex.Pattern;
+
+/**
+ * A {@link Resolver} registered to {@link ResolverSvc} for a target prefix or a regex.
+ *
+ * @author AuroraLS3
+ */
+public class Route {
+
+    private final String plugin;
+    private final String route;
+    private final Pattern pattern;
+    private final Resolver resolver;
+    private final RouteStats stats;
+
+    private Route(String plugin, String route, Pattern pattern, Resolver resolver) {
+        this.plugin = plugin;
+        this.route = route;
+        this.pattern = pattern;
+        this.resolver = resolver;
+        this.stats = new RouteStats(plugin, route);
+    }
+
+    static Route prefix(String plugin, String start, Resolver resolver) {
+        return new Route(plugin, start, null, resolver);
+    }
+
+    static Route regex(String plugin, Pattern pattern, Resolver resolver) {
+        return new Route(plugin, pattern.pattern(), pattern, resolver);
+    }
+
+    boolean isRegex() {
+        return pattern != null;
+    }
+
+    boolean matches(String target) {
+        return pattern != null ? pattern.matcher(target).find() : target.startsWith(route);
+    }
+
+    public String getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * Get the prefix or regex the route was registered with.
+     *
+     * @return "/example" or "^/example.*"
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    public Resolver getResolver() {
+        return resolver;
+    }
+
+    public RouteStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return "Route{" +
+                "plugin='" + plugin + '\'' +
+                ", route='" + route + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and throughput counters of a single registered {@link Route}.
+ *
+ * @author AuroraLS3
+ */
+public class RouteStats {
+
+    private final String plugin;
+    private final String route;
+    private final long createdAtNanos;
+
+    private final LongAdder calls;
+    private final LongAdder totalNanos;
+    private final LongAdder errors;
+    private final AtomicLong maxNanos;
+
+    public RouteStats(String plugin, String route) {
+        this.plugin = plugin;
+        this.route = route;
+        createdAtNanos = System.nanoTime();
+        calls = new LongAdder();
+        totalNanos = new LongAdder();
+        errors = new LongAdder();
+        maxNanos = new AtomicLong();
+    }
+
+    /**
+     * Record a call to the resolver of the route.
+     *
+     * @param tookNanos How long the resolver took.
+     * @param failed    Did the resolver throw an exception.
+     */
+    public void record(long tookNanos, boolean failed) {
+        calls.increment();
+        totalNanos.add(tookNanos);
+        if (failed) errors.increment();
+        maxNanos.accumulateAndGet(tookNanos, Math::max);
+    }
+
+    public String getPlugin() {
+        return plugin;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getAverageNanos() {
+        long callCount = getCalls();
+        return callCount != 0 ? getTotalNanos() / callCount : 0L;
+    }
+
+    /**
+     * Get the average throughput since the route was registered.
+     *
+     * @return Calls per second.
+     */
+    public double getCallsPerSecond() {
+        long elapsedNanos = System.nanoTime() - createdAtNanos;
+        return elapsedNanos > 0 ? getCalls() * 1_000_000_000.0 / elapsedNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteStats{" +
+                "plugin='" + plugin + '\'' +
+                ", route='" + route + '\'' +
+                ", calls=" + getCalls() +
+                ", errors=" + getErrors() +
+                ", averageNanos=" + getAverageNanos() +
+                ", maxNanos=" + getMaxNanos() +
+                '}';
+    }
+}
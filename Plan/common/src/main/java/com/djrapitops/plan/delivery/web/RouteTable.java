@@ -0,0 +1,146 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.web;
+
+import java.util.*;
+
+/**
+ * Immutable lookup structure for the {@link Route}s registered to {@link ResolverSvc}.
+ * <p>
+ * Prefix routes are stored in a character trie so that all prefixes of a target are found
+ * with a single walk over the target, instead of testing every registered prefix.
+ * Regex routes can not be indexed and are tested after the prefix routes.
+ * <p>
+ * Routes are returned in the same order as before: longest prefix first, then longest regex first,
+ * routes of same length in the order they were registered.
+ *
+ * @author AuroraLS3
+ */
+final class RouteTable {
+
+    static final RouteTable EMPTY = new RouteTable(Collections.emptyList(), Collections.emptyList());
+
+    private final List<Route> prefixRoutes;
+    private final List<Route> regexRoutes;
+    private final Node root;
+
+    private RouteTable(List<Route> prefixRoutes, List<Route> regexRoutes) {
+        this.prefixRoutes = prefixRoutes;
+        this.regexRoutes = regexRoutes;
+        root = new Node();
+        for (Route route : prefixRoutes) {
+            Node node = root;
+            String prefix = route.getRoute();
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.getOrCreateChild(prefix.charAt(i));
+            }
+            node.routes.add(route);
+        }
+    }
+
+    RouteTable withRoute(Route route) {
+        if (route.isRegex()) {
+            return new RouteTable(prefixRoutes, insertLongestFirst(regexRoutes, route));
+        } else {
+            List<Route> withAdded = new ArrayList<>(prefixRoutes);
+            withAdded.add(route);
+            return new RouteTable(withAdded, regexRoutes);
+        }
+    }
+
+    private static List<Route> insertLongestFirst(List<Route> routes, Route route) {
+        List<Route> withAdded = new ArrayList<>(routes);
+        int length = route.getRoute().length();
+        int index = 0;
+        while (index < withAdded.size() && withAdded.get(index).getRoute().length() >= length) {
+            index++;
+        }
+        withAdded.add(index, route);
+        return withAdded;
+    }
+
+    Optional<Route> findFirst(String target) {
+        Node node = root;
+        Node deepestWithRoutes = null;
+        for (int i = 0; i < target.length() && node != null; i++) {
+            node = node.getChild(target.charAt(i));
+            if (node != null && !node.routes.isEmpty()) deepestWithRoutes = node;
+        }
+        if (deepestWithRoutes != null) return Optional.of(deepestWithRoutes.routes.get(0));
+        if (!root.routes.isEmpty()) return Optional.of(root.routes.get(0));
+
+        for (Route route : regexRoutes) {
+            if (route.matches(target)) return Optional.of(route);
+        }
+        return Optional.empty();
+    }
+
+    List<Route> findAll(String target) {
+        // Nodes along the target from shortest to longest prefix
+        List<Node> matchedNodes = new ArrayList<>();
+        Node node = root;
+        if (!root.routes.isEmpty()) matchedNodes.add(root);
+        for (int i = 0; i < target.length() && node != null; i++) {
+            node = node.getChild(target.charAt(i));
+            if (node != null && !node.routes.isEmpty()) matchedNodes.add(node);
+        }
+
+        List<Route> found = new ArrayList<>();
+        for (int i = matchedNodes.size() - 1; i >= 0; i--) {
+            found.addAll(matchedNodes.get(i).routes);
+        }
+        for (Route route : regexRoutes) {
+            if (route.matches(target)) found.add(route);
+        }
+        return found;
+    }
+
+    List<Route> getRoutes() {
+        List<Route> routes = new ArrayList<>(prefixRoutes);
+        routes.addAll(regexRoutes);
+        return routes;
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private final List<Route> routes = new ArrayList<>(1);
+
+        Node getChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node getOrCreateChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) return children[index];
+
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+    }
+}
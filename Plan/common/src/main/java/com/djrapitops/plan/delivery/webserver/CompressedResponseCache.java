@@ -0,0 +1,166 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps gzip compressed versions of response bodies so that the same content is only compressed once.
+ * <p>
+ * Compressed bodies are looked up by the request target and strong ETag of the response,
+ * as the ETag identifies the content of one resource.
+ * Static resources are looked up by the SHA-256 digest that is calculated for them once when they are stored.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class CompressedResponseCache {
+
+    /**
+     * Bodies smaller than this are not worth the compression overhead.
+     */
+    public static final int MIN_COMPRESSED_SIZE = 1024;
+    private static final long MAX_CACHED_BYTES = 32L * 1024L * 1024L;
+
+    private final Cache<Object, byte[]> gzipped; // Keys are request targets with ETags, or digests
+
+    @Inject
+    public CompressedResponseCache() {
+        gzipped = Caffeine.newBuilder()
+                .maximumWeight(MAX_CACHED_BYTES)
+                .weigher((Object key, byte[] compressed) -> compressed.length)
+                .expireAfterAccess(30, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Check if response with given Content-Type should be compressed.
+     *
+     * @param contentType Value of Content-Type header, can be null.
+     * @return true if the content is text based.
+     */
+    public static boolean isCompressible(String contentType) {
+        if (contentType == null) return false;
+        String type = contentType.toLowerCase();
+        return type.startsWith("text/")
+                || type.startsWith("application/json")
+                || type.startsWith("application/javascript")
+                || type.startsWith("application/xml")
+                || type.startsWith("image/svg+xml");
+    }
+
+    /**
+     * Check if the client accepts gzip encoding.
+     *
+     * @param acceptEncoding Value of Accept-Encoding header, can be null.
+     * @return true if gzip is accepted explicitly or with a wildcard, and not rejected with q=0.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        boolean wildcard = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] parameters = part.split(";");
+            String coding = parameters[0].trim().toLowerCase();
+            boolean accepted = getQuality(parameters) > 0.0;
+            if ("gzip".equals(coding) || "x-gzip".equals(coding)) {
+                return accepted;
+            } else if ("*".equals(coding)) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard;
+    }
+
+    private static double getQuality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException invalid) {
+                    return 0.0;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    /**
+     * Get gzip compressed version of the content.
+     *
+     * @param digest  Digest of the content, from {@link #digest(byte[])}.
+     * @param content Uncompressed content.
+     * @return Compressed content, shared between calls with same content - do not modify.
+     * @throws UncheckedIOException If compression fails.
+     */
+    public byte[] gzip(ByteBuffer digest, byte[] content) {
+        return gzipped.get(digest, key -> compress(content));
+    }
+
+    /**
+     * Get gzip compressed version of a response body.
+     * <p>
+     * Bodies without a strong ETag are compressed again every time, as finding them would need a digest of the content.
+     *
+     * @param target  Path and query of the request, eg. "/v1/graph?type=performance&server=..."
+     * @param etag    Value of the ETag header of the response, can be null.
+     * @param content Uncompressed content.
+     * @return Compressed content, shared between calls with same target and ETag - do not modify.
+     * @throws UncheckedIOException If compression fails.
+     */
+    public byte[] gzipByETag(String target, String etag, byte[] content) {
+        if (etag == null || etag.startsWith("W/")) return compress(content);
+        return gzipped.get(target + ' ' + etag + '/' + content.length, key -> compress(content));
+    }
+
+    /**
+     * Calculate SHA-256 digest of the content.
+     *
+     * @param content Content to digest.
+     * @return Digest that can be used as a key.
+     */
+    public static ByteBuffer digest(byte[] content) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+
+    private static byte[] compress(byte[] content) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4 + 64)) {
+            try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+                out.write(content);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
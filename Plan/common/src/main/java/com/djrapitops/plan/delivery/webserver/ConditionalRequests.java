@@ -0,0 +1,159 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.delivery.web.resolver.ResponseBuilder;
+import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Utilities for HTTP conditional requests (ETag, If-None-Match, Last-Modified and If-Modified-Since).
+ *
+ * @author AuroraLS3
+ */
+public class ConditionalRequests {
+
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter
+            .ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.ENGLISH)
+            .withZone(ZoneOffset.UTC);
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private ConditionalRequests() {
+        // Static method class
+    }
+
+    /**
+     * Add validators of cached json to a response.
+     * <p>
+     * Clients are told to revalidate every time, so that the validators do not make browsers use stale json.
+     * The identifier of the json is also included, so that pages can wait for {@link DataUpdateEvents} of it.
+     * The json is compressed when it is sent, so this is called after the content is set.
+     *
+     * @param builder    Response builder with the content set.
+     * @param storedJSON Json the response contains.
+     * @return the builder.
+     */
+    public static ResponseBuilder withValidators(ResponseBuilder builder, JSONStorage.StoredJSON storedJSON) {
+        builder.setHeader("ETag", '"' + Long.toHexString(storedJSON.timestamp) + '-' + Integer.toHexString(storedJSON.json.hashCode()) + '"')
+                .setHeader("Last-Modified", formatHttpDate(storedJSON.timestamp))
+                .setHeader("Cache-Control", "no-cache")
+                // Replaces 'bytes' set with the content: byte ranges of the compressed json are not supported.
+                .setHeader("Accept-Ranges", "none");
+        if (storedJSON.identifier != null) {
+            builder.setHeader(DataUpdateEvents.DATA_ID_HEADER, storedJSON.identifier);
+        }
+        return builder;
+    }
+
+    /**
+     * Create a strong ETag from a digest of the content.
+     *
+     * @param digest Digest of the content.
+     * @return Quoted ETag.
+     */
+    public static String etagOf(ByteBuffer digest) {
+        StringBuilder etag = new StringBuilder("\"");
+        int length = Math.min(digest.remaining(), 16);
+        for (int i = 0; i < length; i++) {
+            int b = digest.get(digest.position() + i) & 0xFF;
+            etag.append(Character.forDigit(b >> 4, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * ETag for the gzip encoded version of the content, as the two are not byte-for-byte equal.
+     *
+     * @param etag ETag of the unencoded content.
+     * @return Quoted ETag.
+     */
+    public static String gzipEtagOf(String etag) {
+        if (etag.endsWith("\"")) {
+            return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + '"';
+        }
+        return etag;
+    }
+
+    public static String formatHttpDate(long epochMs) {
+        return HTTP_DATE.format(Instant.ofEpochMilli(epochMs));
+    }
+
+    /**
+     * Parse a HTTP-date.
+     *
+     * @param httpDate Date in RFC 1123 format.
+     * @return Epoch ms or -1 if the date could not be parsed.
+     */
+    public static long parseHttpDate(String httpDate) {
+        try {
+            return ZonedDateTime.parse(httpDate.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException unparseable) {
+            return -1;
+        }
+    }
+
+    /**
+     * Check if the client already has the current version of the content.
+     * <p>
+     * If-None-Match takes precedence over If-Modified-Since, as specified in RFC 7232.
+     *
+     * @param ifNoneMatch     Value of If-None-Match request header, can be null.
+     * @param ifModifiedSince Value of If-Modified-Since request header, can be null.
+     * @param etag            ETag of the content, can be null.
+     * @param lastModified    Value of Last-Modified response header, can be null.
+     * @return true if 304 Not Modified should be sent.
+     */
+    public static boolean isNotModified(String ifNoneMatch, String ifModifiedSince, String etag, String lastModified) {
+        if (ifNoneMatch != null) {
+            return etag != null && matchesAny(ifNoneMatch, etag);
+        }
+        if (ifModifiedSince != null && lastModified != null) {
+            long since = parseHttpDate(ifModifiedSince);
+            long modified = parseHttpDate(lastModified);
+            return since != -1 && modified != -1 && modified <= since;
+        }
+        return false;
+    }
+
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        String opaqueTag = normalize(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || normalize(tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String etag) {
+        // Weak comparison, and both encodings of the same content match.
+        String tag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        String gzipEnd = GZIP_SUFFIX + '"';
+        if (tag.endsWith(gzipEnd)) {
+            tag = tag.substring(0, tag.length() - gzipEnd.length()) + '"';
+        }
+        return tag;
+    }
+}
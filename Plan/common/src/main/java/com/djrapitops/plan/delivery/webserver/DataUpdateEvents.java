@@ -0,0 +1,298 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.webserver.cache.DataID;
+import com.djrapitops.plan.delivery.webserver.cache.JSONSerializer;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-Sent Events channel that tells open pages when json they show has been updated.
+ * <p>
+ * Pages subscribe by requesting /v1/events. The connection is kept open after the request has been handled,
+ * so subscribers do not occupy webserver worker threads. Each subscriber has a bounded queue of events that is written
+ * by a writer thread of its own while there is something to write, so a client that stops reading only stalls itself.
+ * Subscribers that fall behind by more than the queue holds are dropped.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class DataUpdateEvents {
+
+    public static final String CONTENT_TYPE = "text/event-stream";
+    public static final String DATA_ID_HEADER = "X-Plan-Data-ID";
+    /**
+     * Header of the /v1/events response that lists the kinds of json the subscriber is allowed to see.
+     * <p>
+     * Set by the resolver after checking permissions, it is not sent to the browser.
+     */
+    public static final String SCOPES_HEADER = "X-Plan-Event-Scopes";
+    public static final String SERVER_SCOPE = "server";
+    public static final String NETWORK_SCOPE = "network";
+    public static final String PLAYERS_SCOPE = "players";
+
+    private static final int MAX_SUBSCRIBERS = 200;
+    private static final int MAX_PENDING_EVENTS = 32;
+    private static final long HEARTBEAT_INTERVAL_SECONDS = 30L;
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ErrorLogger errorLogger;
+    private final Set<Subscriber> subscribers;
+    private ScheduledExecutorService scheduler;
+    private volatile ExecutorService writers;
+
+    @Inject
+    public DataUpdateEvents(ErrorLogger errorLogger) {
+        this.errorLogger = errorLogger;
+        subscribers = ConcurrentHashMap.newKeySet();
+    }
+
+    public synchronized void enable() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(createThreadFactory("Plan Update-events-%d"));
+        // At most one write task per subscriber, idle writer threads are stopped.
+        writers = new ThreadPoolExecutor(0, MAX_SUBSCRIBERS, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), createThreadFactory("Plan Update-events-writer-%d"));
+        // Writing regularly notices closed connections and keeps proxies from timing the stream out.
+        scheduler.scheduleWithFixedDelay(() -> sendToAll(HEARTBEAT),
+                HEARTBEAT_INTERVAL_SECONDS, HEARTBEAT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private BasicThreadFactory createThreadFactory(String namingPattern) {
+        return new BasicThreadFactory.Builder()
+                .namingPattern(namingPattern)
+                .daemon(true)
+                .uncaughtExceptionHandler((thread, throwable) ->
+                        errorLogger.warn(throwable, ErrorContext.builder().build())
+                ).build();
+    }
+
+    public synchronized void disable() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        for (Subscriber subscriber : subscribers) {
+            drop(subscriber);
+        }
+        if (writers != null) {
+            // Lets the writers close the connections, closing can block on a client that is not reading.
+            writers.shutdown();
+            writers = null;
+        }
+    }
+
+    public static boolean isEventStream(Response response) {
+        String contentType = response.getHeaders().get("Content-Type");
+        return response.getCode() == 200 && contentType != null && contentType.startsWith(CONTENT_TYPE);
+    }
+
+    public boolean isAcceptingSubscribers() {
+        return writers != null && subscribers.size() < MAX_SUBSCRIBERS;
+    }
+
+    /**
+     * Start sending events to a client.
+     * <p>
+     * The exchange must not be closed by the caller after this.
+     * The subscriber is registered before anything is sent, so that updates published while the page
+     * requests its json again after the stream opens are not missed.
+     *
+     * @param exchange Exchange of the /v1/events request.
+     * @param response Response given by the resolver, its headers and content are sent first.
+     * @throws IOException If the connection was closed.
+     */
+    public void subscribe(HttpExchange exchange, Response response) throws IOException {
+        ExecutorService running = writers;
+        if (running == null) throw new IOException("Update events are disabled");
+
+        Headers headers = exchange.getResponseHeaders();
+        for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+            headers.set(header.getKey(), header.getValue());
+        }
+        String scopes = headers.getFirst(SCOPES_HEADER);
+        headers.remove(SCOPES_HEADER);
+        headers.set("Cache-Control", "no-cache");
+        headers.set("X-Accel-Buffering", "no"); // Tells nginx not to buffer the events
+        headers.remove("Content-Length");
+        headers.remove("Accept-Ranges");
+
+        OutputStream out = exchange.getResponseBody();
+        Subscriber subscriber = new Subscriber(exchange, out, running, parseScopes(scopes));
+        subscribers.add(subscriber);
+        try {
+            exchange.sendResponseHeaders(200, 0); // Length 0 = chunked, the stream stays open
+            byte[] content = response.getBytes();
+            if (content != null) out.write(content);
+            out.flush();
+        } catch (IOException closed) {
+            subscribers.remove(subscriber);
+            throw closed;
+        }
+        // Events published in between were queued and are written now.
+        subscriber.startWriting();
+    }
+
+    private static Set<String> parseScopes(String scopes) {
+        if (scopes == null || scopes.isEmpty()) return Collections.emptySet();
+        return new HashSet<>(Arrays.asList(StringUtils.split(scopes, ',')));
+    }
+
+    /**
+     * Tell subscribed pages that json was updated.
+     *
+     * @param identifier Identifier of the json, eg. SERVER_OVERVIEW-serverUUID
+     * @param timestamp  When the updated json was created.
+     */
+    public void publish(String identifier, long timestamp) {
+        if (writers == null || subscribers.isEmpty()) return;
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("identifier", identifier);
+        data.put("timestamp", timestamp);
+        byte[] event = ("event: update\ndata: " + JSONSerializer.toJson(data) + "\n\n").getBytes(StandardCharsets.UTF_8);
+        String scope = getScope(identifier);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.canSee(scope)) offer(subscriber, event);
+        }
+    }
+
+    static String getScope(String identifier) {
+        // Identifiers are DataID name or DataID name-ServerUUID, see DataID#of
+        if (identifier.indexOf('-') != -1) return SERVER_SCOPE;
+        return DataID.PLAYERS.name().equals(identifier) ? PLAYERS_SCOPE : NETWORK_SCOPE;
+    }
+
+    private void sendToAll(byte[] event) {
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, event);
+        }
+    }
+
+    private void offer(Subscriber subscriber, byte[] event) {
+        if (!subscriber.offer(event)) {
+            drop(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.close();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private class Subscriber {
+        private final HttpExchange exchange;
+        private final OutputStream out;
+        private final Executor writer;
+        private final Set<String> scopes;
+        private final BlockingQueue<byte[]> pending;
+        // Starts as true so that nothing is written before the headers have been sent.
+        private final AtomicBoolean writing;
+        private volatile boolean closed;
+
+        Subscriber(HttpExchange exchange, OutputStream out, Executor writer, Set<String> scopes) {
+            this.exchange = exchange;
+            this.out = out;
+            this.writer = writer;
+            this.scopes = scopes;
+            pending = new ArrayBlockingQueue<>(MAX_PENDING_EVENTS);
+            writing = new AtomicBoolean(true);
+        }
+
+        boolean canSee(String scope) {
+            return scopes.contains(scope);
+        }
+
+        /**
+         * Queue an event to be written.
+         *
+         * @param event Event to write.
+         * @return false if the subscriber has fallen too far behind.
+         */
+        boolean offer(byte[] event) {
+            if (!pending.offer(event)) return false;
+            scheduleWrite();
+            return true;
+        }
+
+        void startWriting() {
+            writing.set(false);
+            scheduleWrite();
+        }
+
+        private void scheduleWrite() {
+            if ((closed || !pending.isEmpty()) && writing.compareAndSet(false, true)) {
+                try {
+                    writer.execute(this::writePending);
+                } catch (RejectedExecutionException disabledInBetween) {
+                    // Nothing is writing, so a later offer or close can try again.
+                    writing.set(false);
+                    if (closed) exchange.close();
+                }
+            }
+        }
+
+        // Only one writePending runs at a time for a subscriber, guarded by 'writing'.
+        private void writePending() {
+            try {
+                byte[] event;
+                while (!closed && (event = pending.poll()) != null) {
+                    out.write(event);
+                }
+                if (!closed) out.flush();
+            } catch (IOException disconnected) {
+                drop(this);
+            }
+            if (closed) {
+                exchange.close();
+                return;
+            }
+            writing.set(false);
+            // An event may have been queued after the last poll.
+            scheduleWrite();
+        }
+
+        /**
+         * Close the connection on the writer of this subscriber, after a write that might be in progress.
+         */
+        void close() {
+            closed = true;
+            pending.clear();
+            scheduleWrite();
+        }
+    }
+}
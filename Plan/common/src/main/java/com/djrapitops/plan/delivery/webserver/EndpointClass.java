@@ -0,0 +1,74 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.delivery.web.resolver.request.URIPath;
+
+/**
+ * Kinds of requests that are limited separately by {@link RequestBulkheads}.
+ *
+ * @author AuroraLS3
+ */
+public enum EndpointClass {
+
+    /**
+     * Requests that run large queries, like Query results, player pages and the optimized performance graph.
+     */
+    HEAVY,
+    /**
+     * Pages and json that are mostly served from caches.
+     */
+    DEFAULT,
+    /**
+     * Css, javascript, images and other files from the jar or the web folder.
+     * <p>
+     * Not limited, browsers do not retry '429 Too Many Requests' for scripts, stylesheets or images.
+     */
+    STATIC;
+
+    public static EndpointClass of(Request request) {
+        URIPath path = request.getPath();
+        String first = path.getPart(0).orElse("");
+        if ("v1".equals(first)) {
+            String endpoint = path.getPart(1).orElse("");
+            if ("query".equals(endpoint) || "player".equals(endpoint)) return HEAVY;
+            if ("graph".equals(endpoint) && request.getQuery().get("type").filter("optimizedPerformance"::equals).isPresent()) {
+                return HEAVY;
+            }
+            return DEFAULT;
+        }
+        if ("favicon.ico".equals(first) || "robots.txt".equals(first) || isResourceFile(path)) {
+            return STATIC;
+        }
+        return "player".equals(first) ? HEAVY : DEFAULT;
+    }
+
+    /**
+     * Check the path the same way as the static resource route, pages skip these paths.
+     */
+    private static boolean isResourceFile(URIPath path) {
+        int parts = path.length();
+        for (int i = 0; i < parts - 1; i++) {
+            String part = path.getPart(i).orElse("");
+            if ("vendor".equals(part) || "css".equals(part) || "js".equals(part) || "img".equals(part)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.PluginSettings;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.sun.net.httpserver.*;
+import net.playeranalytics.plugin.server.PluginLogger;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link WebServerEngine} using the HttpServer included in the JDK.
+ * <p>
+ * Connections are accepted and read with a NIO selector, requests are handled by a bounded worker pool.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class JdkHttpServerEngine implements WebServerEngine {
+
+    private static final String[] PREFERRED_PROTOCOLS = {"TLSv1.3", "TLSv1.2"};
+
+    private final PlanConfig config;
+    private final PluginLogger logger;
+    private final ErrorLogger errorLogger;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    @Inject
+    public JdkHttpServerEngine(
+            PlanConfig config,
+            PluginLogger logger,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.logger = logger;
+        this.errorLogger = errorLogger;
+    }
+
+    @Override
+    public void start(InetSocketAddress address, SSLContext sslContext, HttpHandler handler) throws IOException {
+        int backlog = config.get(WebserverSettings.CONNECTION_BACKLOG);
+        if (sslContext == null) {
+            server = HttpServer.create(address, backlog);
+        } else {
+            HttpsServer httpsServer = HttpsServer.create(address, backlog);
+            httpsServer.setHttpsConfigurator(new TLSConfigurator(sslContext));
+            server = httpsServer;
+        }
+        server.createContext("/", handler);
+
+        executor = createExecutor();
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    private ExecutorService createExecutor() {
+        int workers = config.get(WebserverSettings.WORKER_THREADS);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                workers, workers, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100),
+                new BasicThreadFactory.Builder()
+                        .namingPattern("Plan WebServer Thread-%d")
+                        .uncaughtExceptionHandler((thread, throwable) -> {
+                            if (config.isTrue(PluginSettings.DEV_MODE)) {
+                                errorLogger.warn(throwable, ErrorContext.builder()
+                                        .whatToDo("THIS ERROR IS ONLY LOGGED IN DEV MODE")
+                                        .build());
+                            }
+                        }).build()
+        );
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @Override
+    public InetSocketAddress getAddress() {
+        return server != null ? server.getAddress() : null;
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) return;
+        server.stop(0);
+        server = null;
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            logger.error("WebServer ExecutorService shutdown thread interrupted on disable: " + e.getMessage());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static String[] selectProtocols(String[] supported) {
+        List<String> supportedProtocols = Arrays.asList(supported);
+        List<String> selected = new ArrayList<>();
+        for (String protocol : PREFERRED_PROTOCOLS) {
+            if (supportedProtocols.contains(protocol)) selected.add(protocol);
+        }
+        return selected.isEmpty() ? supported : selected.toArray(new String[0]);
+    }
+
+    private static class TLSConfigurator extends HttpsConfigurator {
+        private final String[] protocols;
+
+        TLSConfigurator(SSLContext sslContext) {
+            super(sslContext);
+            protocols = selectProtocols(sslContext.getSupportedSSLParameters().getProtocols());
+        }
+
+        @Override
+        public void configure(HttpsParameters params) {
+            SSLParameters sslParameters = getSSLContext().getDefaultSSLParameters();
+            sslParameters.setNeedClientAuth(false);
+            sslParameters.setProtocols(protocols);
+            params.setSSLParameters(sslParameters);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits how many requests of one {@link EndpointClass} are handled at the same time.
+ * <p>
+ * Requests over the limit are rejected right away instead of waiting, so that they do not hold worker threads.
+ *
+ * @author AuroraLS3
+ */
+public class RequestBulkhead {
+
+    private final EndpointClass endpointClass;
+    private final int limit;
+    private final Semaphore permits;
+
+    public RequestBulkhead(EndpointClass endpointClass, int limit) {
+        this.endpointClass = endpointClass;
+        this.limit = limit;
+        permits = new Semaphore(limit);
+    }
+
+    /**
+     * Attempt to start handling a request.
+     * <p>
+     * {@link #exit()} needs to be called after the request has been handled if this returns true.
+     *
+     * @return true if the request can be handled, false if it should be rejected.
+     */
+    public boolean tryEnter() {
+        return permits.tryAcquire();
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    /**
+     * Get how long a rejected client should wait before trying again.
+     *
+     * @return Seconds for Retry-After header.
+     */
+    public long getRetryAfterSeconds() {
+        return 1L;
+    }
+
+    public EndpointClass getEndpointClass() {
+        return endpointClass;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getRunning() {
+        return limit - permits.availablePermits();
+    }
+
+    @Override
+    public String toString() {
+        return "RequestBulkhead{" +
+                "endpointClass=" + endpointClass +
+                ", limit=" + limit +
+                ", running=" + getRunning() +
+                '}';
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import net.playeranalytics.plugin.server.PluginLogger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Holds a {@link RequestBulkhead} for each {@link EndpointClass}.
+ * <p>
+ * Keeps heavy requests like large Query filters from starving cheap requests of worker threads.
+ * The limits are kept below Webserver.Performance.Worker_threads so that one worker is always left for unlimited requests.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class RequestBulkheads {
+
+    private final PlanConfig config;
+    private final PluginLogger logger;
+    private volatile Map<EndpointClass, RequestBulkhead> bulkheads;
+
+    @Inject
+    public RequestBulkheads(PlanConfig config, PluginLogger logger) {
+        this.config = config;
+        this.logger = logger;
+    }
+
+    /**
+     * Find the bulkhead that limits the request.
+     *
+     * @param request Request to limit.
+     * @return Bulkhead of the {@link EndpointClass} of the request, or empty if the class is not limited.
+     */
+    public Optional<RequestBulkhead> getBulkhead(Request request) {
+        return Optional.ofNullable(getBulkheads().get(EndpointClass.of(request)));
+    }
+
+    private Map<EndpointClass, RequestBulkhead> getBulkheads() {
+        Map<EndpointClass, RequestBulkhead> created = bulkheads;
+        if (created == null) {
+            synchronized (this) {
+                created = bulkheads;
+                if (created == null) {
+                    created = createBulkheads();
+                    bulkheads = created;
+                }
+            }
+        }
+        return created;
+    }
+
+    private Map<EndpointClass, RequestBulkhead> createBulkheads() {
+        int workers = config.get(WebserverSettings.WORKER_THREADS);
+        int heavyLimit = limitTo(config.get(WebserverSettings.HEAVY_REQUEST_LIMIT), workers - 2);
+        int defaultLimit = limitTo(config.get(WebserverSettings.DEFAULT_REQUEST_LIMIT), workers - 1 - heavyLimit);
+
+        Map<EndpointClass, RequestBulkhead> created = new EnumMap<>(EndpointClass.class);
+        created.put(EndpointClass.HEAVY, new RequestBulkhead(EndpointClass.HEAVY, heavyLimit));
+        created.put(EndpointClass.DEFAULT, new RequestBulkhead(EndpointClass.DEFAULT, defaultLimit));
+        return created;
+    }
+
+    private int limitTo(int configured, int available) {
+        int limit = Math.min(configured, Math.max(1, available));
+        if (limit < configured) {
+            logger.warn("Webserver.Performance.Request_limits need to be lower than Worker_threads, using " + limit + " instead of " + configured);
+        }
+        return limit;
+    }
+}
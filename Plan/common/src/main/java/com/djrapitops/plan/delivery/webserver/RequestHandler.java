@@ -23,6 +23,7 @@ import com.djrapitops.plan.delivery.web.resolver.request.URIPath;
 import com.djrapitops.plan.delivery.web.resolver.request.URIQuery;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
 import com.djrapitops.plan.delivery.webserver.auth.*;
+import com.djrapitops.plan.delivery.webserver.cache.StaticResourceCache;
 import com.djrapitops.plan.exceptions.WebUserAuthException;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.PluginSettings;
@@ -60,10 +61,15 @@ public class RequestHandler implements HttpHandler {
     private final Addresses addresses;
     private final ResponseResolver responseResolver;
     private final ResponseFactory responseFactory;
+    private final CompressedResponseCache compressedResponseCache;
+    private final StaticResourceCache staticResourceCache;
+    private final RequestBulkheads bulkheads;
+    private final DataUpdateEvents dataUpdateEvents;
     private final PluginLogger logger;
     private final ErrorLogger errorLogger;
 
     private final ActiveCookieStore activeCookieStore;
+    private final VerifiedCredentialCache verifiedCredentialCache;
     private final PassBruteForceGuard bruteForceGuard;
     private List<String> ipWhitelist = null;
 
@@ -77,7 +83,12 @@ public class RequestHandler implements HttpHandler {
             Addresses addresses,
             ResponseResolver responseResolver,
             ResponseFactory responseFactory,
+            CompressedResponseCache compressedResponseCache,
+            StaticResourceCache staticResourceCache,
+            RequestBulkheads bulkheads,
+            DataUpdateEvents dataUpdateEvents,
             ActiveCookieStore activeCookieStore,
+            VerifiedCredentialCache verifiedCredentialCache,
             PluginLogger logger,
             ErrorLogger errorLogger
     ) {
@@ -87,7 +98,12 @@ public class RequestHandler implements HttpHandler {
         this.addresses = addresses;
         this.responseResolver = responseResolver;
         this.responseFactory = responseFactory;
+        this.compressedResponseCache = compressedResponseCache;
+        this.staticResourceCache = staticResourceCache;
+        this.bulkheads = bulkheads;
+        this.dataUpdateEvents = dataUpdateEvents;
         this.activeCookieStore = activeCookieStore;
+        this.verifiedCredentialCache = verifiedCredentialCache;
         this.logger = logger;
         this.errorLogger = errorLogger;
 
@@ -96,13 +112,21 @@ public class RequestHandler implements HttpHandler {
 
     @Override
     public void handle(HttpExchange exchange) {
+        boolean keepOpen = false;
         try {
             Response response = getResponse(exchange);
             response.getHeaders().putIfAbsent("Access-Control-Allow-Origin", config.get(WebserverSettings.CORS_ALLOW_ORIGIN));
             response.getHeaders().putIfAbsent("Access-Control-Allow-Methods", "GET, OPTIONS");
             response.getHeaders().putIfAbsent("Access-Control-Allow-Credentials", "true");
+            response.getHeaders().putIfAbsent("Access-Control-Expose-Headers", DataUpdateEvents.DATA_ID_HEADER + ", Retry-After");
             response.getHeaders().putIfAbsent("X-Robots-Tag", "noindex, nofollow");
-            ResponseSender sender = new ResponseSender(addresses, exchange, response);
+            if (DataUpdateEvents.isEventStream(response)) {
+                // Connection stays open for events after this worker thread returns
+                dataUpdateEvents.subscribe(exchange, response);
+                keepOpen = true;
+                return;
+            }
+            ResponseSender sender = new ResponseSender(addresses, compressedResponseCache, staticResourceCache, exchange, response);
             sender.send();
         } catch (Exception e) {
             if (config.isTrue(PluginSettings.DEV_MODE)) {
@@ -113,7 +137,7 @@ public class RequestHandler implements HttpHandler {
                         .build());
             }
         } finally {
-            exchange.close();
+            if (!keepOpen) exchange.close();
         }
     }
 
@@ -134,7 +158,7 @@ public class RequestHandler implements HttpHandler {
                 response = responseFactory.ipWhitelist403(accessor);
                 logger.info(locale.getString(PluginLang.WEB_SERVER_NOTIFY_IP_WHITELIST_BLOCK, accessor, exchange.getRequestURI().toString()));
             } else {
-                response = responseResolver.getResponse(request);
+                response = getResponseWithinLimits(request);
             }
         } catch (WebUserAuthException thrownByAuthentication) {
             FailReason failReason = thrownByAuthentication.getFailReason();
@@ -163,6 +187,22 @@ public class RequestHandler implements HttpHandler {
         return response;
     }
 
+    private Response getResponseWithinLimits(Request request) {
+        Optional<RequestBulkhead> limitedBy = bulkheads.getBulkhead(request);
+        if (!limitedBy.isPresent()) {
+            return responseResolver.getResponse(request);
+        }
+        RequestBulkhead bulkhead = limitedBy.get();
+        if (!bulkhead.tryEnter()) {
+            return responseFactory.tooManyRequests429(bulkhead.getRetryAfterSeconds());
+        }
+        try {
+            return responseResolver.getResponse(request);
+        } finally {
+            bulkhead.exit();
+        }
+    }
+
     private String getAccessorAddress(HttpExchange exchange) {
         if (config.isTrue(WebserverSettings.IP_WHITELIST_X_FORWARDED)) {
             String header = exchange.getRequestHeaders().getFirst("X-Forwarded-For");
@@ -246,7 +286,7 @@ public class RequestHandler implements HttpHandler {
 
         String authLine = authorization.get(0);
         if (StringUtils.contains(authLine, "Basic ")) {
-            return Optional.of(new BasicAuthentication(StringUtils.split(authLine, ' ')[1], dbSystem.getDatabase()));
+            return Optional.of(new BasicAuthentication(StringUtils.split(authLine, ' ')[1], dbSystem.getDatabase(), verifiedCredentialCache));
         }
         return Optional.empty();
     }
@@ -27,6 +27,7 @@ import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.exception.NotFoundException;
 import com.djrapitops.plan.delivery.web.resource.WebResource;
 import com.djrapitops.plan.delivery.webserver.auth.FailReason;
+import com.djrapitops.plan.delivery.webserver.cache.StaticResourceCache;
 import com.djrapitops.plan.exceptions.WebUserAuthException;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.settings.locale.Locale;
@@ -38,6 +39,7 @@ import com.djrapitops.plan.storage.database.queries.containers.ContainerFetchQue
 import com.djrapitops.plan.storage.file.PlanFiles;
 import com.djrapitops.plan.utilities.java.Maps;
 import com.djrapitops.plan.utilities.java.UnaryChain;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -47,6 +49,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Factory for creating different {@link Response} objects.
@@ -56,11 +60,15 @@ import java.util.UUID;
 @Singleton
 public class ResponseFactory {
 
+    // src="../css/style.css", href="./vendor/..." etc. in the page html
+    private static final Pattern RESOURCE_URL = Pattern.compile("((?:src|href)=\"(?:\\.{1,2}/)?)((?:vendor|css|js|img)/[^\"?#]+)\"");
+
     private final PlanFiles files;
     private final PageFactory pageFactory;
     private final Locale locale;
     private final DBSystem dbSystem;
     private final Theme theme;
+    private final StaticResourceCache staticResourceCache;
 
     @Inject
     public ResponseFactory(
@@ -68,13 +76,15 @@ public class ResponseFactory {
             PageFactory pageFactory,
             Locale locale,
             DBSystem dbSystem,
-            Theme theme
+            Theme theme,
+            StaticResourceCache staticResourceCache
     ) {
         this.files = files;
         this.pageFactory = pageFactory;
         this.locale = locale;
         this.dbSystem = dbSystem;
         this.theme = theme;
+        this.staticResourceCache = staticResourceCache;
     }
 
     public WebResource getResource(String resourceName) {
@@ -85,10 +95,30 @@ public class ResponseFactory {
     private Response forPage(Page page) {
         return Response.builder()
                 .setMimeType(MimeType.HTML)
-                .setContent(page.toHtml())
+                .setContent(versionResourceURLs(page.toHtml()))
                 .build();
     }
 
+    /**
+     * Add the content hash to URLs of static resources, so that browsers can cache them until the content changes.
+     *
+     * @param html Html of a page.
+     * @return Html where URLs like "../css/style.css" are "../css/style.css?v=hash".
+     */
+    private String versionResourceURLs(String html) {
+        Matcher matcher = RESOURCE_URL.matcher(html);
+        StringBuffer versioned = new StringBuffer(html.length() + 1024);
+        while (matcher.find()) {
+            String resource = matcher.group(2);
+            String version = staticResourceCache.getHash(resource, () -> createStaticResourceResponse(resource))
+                    .map(hash -> "?v=" + hash)
+                    .orElse("");
+            matcher.appendReplacement(versioned, Matcher.quoteReplacement(matcher.group(1) + resource + version + '"'));
+        }
+        matcher.appendTail(versioned);
+        return versioned.toString();
+    }
+
     private Response forInternalError(Throwable error, String cause) {
         return Response.builder()
                 .setMimeType(MimeType.HTML)
@@ -164,6 +194,32 @@ public class ResponseFactory {
                 .build();
     }
 
+    /**
+     * Get a response for a file in vendor, css, js or img directories.
+     *
+     * @param resource Name of the resource, eg. "css/style.css"
+     * @return Response or null if the file type is not served.
+     */
+    public Response staticResourceResponse(String resource) {
+        return staticResourceCache.getResponse(resource, () -> createStaticResourceResponse(resource));
+    }
+
+    private Response createStaticResourceResponse(String resource) {
+        if (resource.endsWith(".css")) {
+            return cssResponse(resource);
+        }
+        if (resource.endsWith(".js")) {
+            return javaScriptResponse(resource);
+        }
+        if (resource.endsWith(".png")) {
+            return imageResponse(resource);
+        }
+        if (StringUtils.endsWithAny(resource, ".woff", ".woff2", ".eot", ".ttf")) {
+            return fontResponse(resource);
+        }
+        return null;
+    }
+
     public Response javaScriptResponse(String fileName) {
         try {
             String content = UnaryChain.of(getResource(fileName).asString())
@@ -353,6 +409,16 @@ public class ResponseFactory {
                 .build();
     }
 
+    public Response tooManyRequests429(long retryAfterSeconds) {
+        return Response.builder()
+                .setMimeType(MimeType.HTML)
+                .setContent("<h1>429 Too Many Requests</h1>" +
+                        "<p>The server is busy with other requests. Please try again in a moment.</p>")
+                .setHeader("Retry-After", retryAfterSeconds)
+                .setStatus(429)
+                .build();
+    }
+
     public Response ipWhitelist403(String accessor) {
         return Response.builder()
                 .setMimeType(MimeType.HTML)
@@ -16,8 +16,8 @@
  */
 package com.djrapitops.plan.delivery.webserver;
 
-import com.djrapitops.plan.delivery.web.ResolverService;
 import com.djrapitops.plan.delivery.web.ResolverSvc;
+import com.djrapitops.plan.delivery.web.Route;
 import com.djrapitops.plan.delivery.web.resolver.NoAuthResolver;
 import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
@@ -67,7 +67,7 @@ public class ResponseResolver {
     private final ErrorsPageResolver errorsPageResolver;
     private final ErrorLogger errorLogger;
 
-    private final ResolverService resolverService;
+    private final ResolverSvc resolverService;
     private final ResponseFactory responseFactory;
     private final Lazy<WebServer> webServer;
 
@@ -167,10 +167,11 @@ public class ResponseResolver {
 
         Optional<WebUser> user = request.getUser();
 
-        List<Resolver> foundResolvers = resolverService.getResolvers(request.getPath().asString());
-        if (foundResolvers.isEmpty()) return responseFactory.pageNotFound404();
+        List<Route> foundRoutes = resolverService.getRoutes(request.getPath().asString());
+        if (foundRoutes.isEmpty()) return responseFactory.pageNotFound404();
 
-        for (Resolver resolver : foundResolvers) {
+        for (Route route : foundRoutes) {
+            Resolver resolver = route.getResolver();
             boolean isAuthRequired = webServer.get().isAuthRequired() && resolver.requiresAuth(request);
             if (isAuthRequired) {
                 if (!user.isPresent()) {
@@ -182,16 +183,28 @@ public class ResponseResolver {
                 }
 
                 if (resolver.canAccess(request)) {
-                    Optional<Response> resolved = resolver.resolve(request);
+                    Optional<Response> resolved = resolve(route, request);
                     if (resolved.isPresent()) return resolved.get();
                 } else {
                     return responseFactory.forbidden403();
                 }
             } else {
-                Optional<Response> resolved = resolver.resolve(request);
+                Optional<Response> resolved = resolve(route, request);
                 if (resolved.isPresent()) return resolved.get();
             }
         }
         return responseFactory.pageNotFound404();
     }
+
+    private Optional<Response> resolve(Route route, Request request) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Optional<Response> resolved = route.getResolver().resolve(request);
+            failed = false;
+            return resolved;
+        } finally {
+            route.getStats().record(System.nanoTime() - start, failed);
+        }
+    }
 }
@@ -17,14 +17,18 @@
 package com.djrapitops.plan.delivery.webserver;
 
 import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.webserver.cache.StaticResourceCache;
 import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Map;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * Utility for sending a Response to HttpExchange.
@@ -34,23 +38,112 @@ import java.util.zip.GZIPOutputStream;
 public class ResponseSender {
 
     private final Addresses addresses;
+    private final CompressedResponseCache compressedResponseCache;
     private final HttpExchange exchange;
     private final Response response;
+    private final StaticResourceCache.StaticFile staticFile; // null if the content is in the response
+    private final boolean staticFileMissing;
 
-    public ResponseSender(Addresses addresses, HttpExchange exchange, Response response) {
+    public ResponseSender(
+            Addresses addresses,
+            CompressedResponseCache compressedResponseCache,
+            StaticResourceCache staticResourceCache,
+            HttpExchange exchange,
+            Response response
+    ) {
         this.addresses = addresses;
+        this.compressedResponseCache = compressedResponseCache;
         this.exchange = exchange;
         this.response = response;
+        String fileHash = response.getHeaders().remove(StaticResourceCache.FILE_HEADER);
+        this.staticFile = staticResourceCache.getFile(fileHash).orElse(null);
+        this.staticFileMissing = fileHash != null && staticFile == null;
     }
 
     public void send() throws IOException {
         setResponseHeaders();
-        if ("HEAD".equals(exchange.getRequestMethod()) || response.getCode() == 204) {
+        if (staticFileMissing) {
+            sendStaticFileMissing();
+        } else if (isNotModified()) {
+            sendNotModified();
+        } else if ("HEAD".equals(exchange.getRequestMethod()) || response.getCode() == 204) {
             sendHeadResponse();
-        } else if ("bytes".equalsIgnoreCase(response.getHeaders().get("Accept-Ranges"))) {
-            sendRawBytes();
-        } else {
+        } else if (staticFile != null) {
+            sendFile();
+        } else if (shouldCompress()) {
             sendCompressed();
+        } else {
+            sendRawBytes();
+        }
+    }
+
+    private boolean isNotModified() {
+        String method = exchange.getRequestMethod();
+        if (response.getCode() != 200 || !("GET".equals(method) || "HEAD".equals(method))) return false;
+
+        // Only responses that were given validators can be revalidated, others are not worth hashing.
+        Headers headers = exchange.getResponseHeaders();
+        String etag = headers.getFirst("ETag");
+
+        Headers requestHeaders = exchange.getRequestHeaders();
+        return ConditionalRequests.isNotModified(
+                requestHeaders.getFirst("If-None-Match"), requestHeaders.getFirst("If-Modified-Since"),
+                etag, headers.getFirst("Last-Modified")
+        );
+    }
+
+    private void sendNotModified() throws IOException {
+        if (isCompressible()) addVaryAcceptEncoding();
+        Headers headers = exchange.getResponseHeaders();
+        headers.remove("Content-Length");
+        headers.remove("Content-Type");
+        headers.remove("Accept-Ranges");
+        try {
+            exchange.sendResponseHeaders(304, -1);
+        } finally {
+            exchange.getRequestBody().close();
+        }
+    }
+
+    private void sendStaticFileMissing() throws IOException {
+        // Files were cleared after the response was created, eg. during reload. The response has no content of its own.
+        Headers headers = exchange.getResponseHeaders();
+        headers.remove("Content-Length");
+        headers.remove("Content-Type");
+        headers.remove("ETag");
+        headers.remove("Cache-Control");
+        headers.set("Retry-After", "1");
+        try {
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.getRequestBody().close();
+        }
+    }
+
+    private boolean isCompressible() {
+        if (staticFile != null) return staticFile.getGzipPath().isPresent();
+        byte[] bytes = response.getBytes();
+        if (bytes == null || bytes.length < CompressedResponseCache.MIN_COMPRESSED_SIZE) return false;
+        if (response.getHeaders().containsKey("Content-Encoding")) return false;
+        // Set by ResponseBuilder#setContent(byte[]) for content that is not compressed.
+        if ("bytes".equalsIgnoreCase(response.getHeaders().get("Accept-Ranges"))) return false;
+        return CompressedResponseCache.isCompressible(response.getHeaders().get("Content-Type"));
+    }
+
+    private boolean shouldCompress() {
+        if (!isCompressible()) return false;
+        // The response depends on Accept-Encoding even if this client does not accept compression.
+        addVaryAcceptEncoding();
+        return CompressedResponseCache.acceptsGzip(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+    }
+
+    private void addVaryAcceptEncoding() {
+        Headers headers = exchange.getResponseHeaders();
+        String vary = headers.getFirst("Vary");
+        if (vary == null) {
+            headers.set("Vary", "Accept-Encoding");
+        } else if (!vary.toLowerCase().contains("accept-encoding")) {
+            headers.set("Vary", vary + ", Accept-Encoding");
         }
     }
 
@@ -83,10 +176,42 @@ public class ResponseSender {
     }
 
     private void sendCompressed() throws IOException {
-        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
-        beginSend();
-        try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
-            send(out);
+        Headers headers = exchange.getResponseHeaders();
+        String etag = headers.getFirst("ETag");
+        byte[] compressed = compressedResponseCache.gzipByETag(exchange.getRequestURI().toString(), etag, response.getBytes());
+        headers.set("Content-Encoding", "gzip");
+        if (etag != null) headers.set("ETag", ConditionalRequests.gzipEtagOf(etag));
+        headers.remove("Accept-Ranges"); // Ranges of the compressed content are not supported
+        headers.remove("Content-Length"); // Set by sendResponseHeaders
+        exchange.sendResponseHeaders(response.getCode(), compressed.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(compressed);
+        }
+    }
+
+    private void sendFile() throws IOException {
+        boolean gzip = shouldCompress();
+        Path path = gzip ? staticFile.getGzipPath().orElse(staticFile.getPath()) : staticFile.getPath();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Headers headers = exchange.getResponseHeaders();
+            if (gzip) {
+                headers.set("Content-Encoding", "gzip");
+                String etag = headers.getFirst("ETag");
+                if (etag != null) headers.set("ETag", ConditionalRequests.gzipEtagOf(etag));
+            }
+            headers.remove("Accept-Ranges");
+            headers.remove("Content-Length"); // Set by sendResponseHeaders
+            exchange.sendResponseHeaders(response.getCode(), size);
+            try (OutputStream out = exchange.getResponseBody()) {
+                // HttpExchange only exposes a stream, so this is not zero-copy: transferTo copies through
+                // a small buffer, but the file is never held in heap as a whole.
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
         }
     }
 
@@ -103,19 +228,8 @@ public class ResponseSender {
     private void sendRawBytes() throws IOException {
         beginSend();
         try (OutputStream out = exchange.getResponseBody()) {
-            send(out);
-        }
-    }
-
-    private void send(OutputStream out) throws IOException {
-        try (
-                ByteArrayInputStream bis = new ByteArrayInputStream(response.getBytes())
-        ) {
-            byte[] buffer = new byte[2048];
-            int count;
-            while ((count = bis.read(buffer)) != -1) {
-                out.write(buffer, 0, count);
-            }
+            // Written in one call, copying large json through a small buffer only adds work.
+            out.write(response.getBytes());
         }
     }
 }
\ No newline at end of file
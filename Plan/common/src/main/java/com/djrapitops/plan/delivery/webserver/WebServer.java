@@ -18,23 +18,18 @@ package com.djrapitops.plan.delivery.webserver;
 
 import com.djrapitops.plan.SubSystem;
 import com.djrapitops.plan.settings.config.PlanConfig;
-import com.djrapitops.plan.settings.config.paths.PluginSettings;
 import com.djrapitops.plan.settings.config.paths.WebserverSettings;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.PluginLang;
 import com.djrapitops.plan.storage.file.PlanFiles;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
-import com.sun.net.httpserver.HttpServer;
-import com.sun.net.httpserver.HttpsConfigurator;
-import com.sun.net.httpserver.HttpsParameters;
-import com.sun.net.httpserver.HttpsServer;
 import net.playeranalytics.plugin.server.PluginLogger;
-import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import javax.net.ssl.*;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
 import java.io.*;
 import java.net.BindException;
 import java.net.InetSocketAddress;
@@ -43,7 +38,6 @@ import java.nio.file.Paths;
 import java.security.*;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
-import java.util.concurrent.*;
 
 /**
  * @author AuroraLS3
@@ -57,13 +51,13 @@ public class WebServer implements SubSystem {
 
     private final Addresses addresses;
     private final RequestHandler requestHandler;
+    private final WebServerEngine engine;
 
     private final PluginLogger logger;
     private final ErrorLogger errorLogger;
 
     private int port;
     private boolean enabled = false;
-    private HttpServer server;
 
     private boolean usingHttps = false;
 
@@ -75,7 +69,8 @@ public class WebServer implements SubSystem {
             Addresses addresses,
             PluginLogger logger,
             ErrorLogger errorLogger,
-            RequestHandler requestHandler
+            RequestHandler requestHandler,
+            WebServerEngine engine
     ) {
         this.locale = locale;
         this.files = files;
@@ -83,6 +78,7 @@ public class WebServer implements SubSystem {
         this.addresses = addresses;
 
         this.requestHandler = requestHandler;
+        this.engine = engine;
 
         this.logger = logger;
         this.errorLogger = errorLogger;
@@ -112,7 +108,7 @@ public class WebServer implements SubSystem {
     }
 
     /**
-     * Starts up the WebServer in a new Thread Pool.
+     * Starts up the WebServer using the {@link WebServerEngine}.
      */
     private void initServer() {
         if (config.isTrue(WebserverSettings.DISABLED)) {
@@ -126,38 +122,24 @@ public class WebServer implements SubSystem {
         }
 
         try {
-            usingHttps = startHttpsServer();
+            boolean proxyMode = "proxy".equalsIgnoreCase(config.get(WebserverSettings.CERTIFICATE_PATH));
+            SSLContext sslContext = proxyMode ? null : loadSSLContext();
+            usingHttps = proxyMode || sslContext != null;
 
             if (!usingHttps) {
                 logger.info("§e" + locale.getString(PluginLang.WEB_SERVER_NOTIFY_HTTP_USER_AUTH));
-                server = HttpServer.create(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), 10);
-            } else if (server == null) {
+            } else if (proxyMode) {
                 logger.info("§e" + locale.getString(PluginLang.WEB_SERVER_NOTIFY_USING_PROXY_MODE));
-                server = HttpServer.create(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), 10);
             } else if (config.isTrue(WebserverSettings.DISABLED_AUTHENTICATION)) {
                 logger.info(locale.getString(PluginLang.WEB_SERVER_NOTIFY_HTTPS_USER_AUTH));
             }
-            server.createContext("/", requestHandler);
-
-            ExecutorService executor = new ThreadPoolExecutor(
-                    4, 8, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100),
-                    new BasicThreadFactory.Builder()
-                            .namingPattern("Plan WebServer Thread-%d")
-                            .uncaughtExceptionHandler((thread, throwable) -> {
-                                if (config.isTrue(PluginSettings.DEV_MODE)) {
-                                    errorLogger.warn(throwable, ErrorContext.builder()
-                                            .whatToDo("THIS ERROR IS ONLY LOGGED IN DEV MODE")
-                                            .build());
-                                }
-                            }).build()
-            );
-            server.setExecutor(executor);
-            server.start();
+
+            engine.start(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), sslContext, requestHandler);
 
             enabled = true;
 
             String address = addresses.getAccessAddress().orElse(addresses.getFallbackLocalhostAddress());
-            logger.info(locale.getString(PluginLang.ENABLED_WEB_SERVER, server.getAddress().getPort(), address));
+            logger.info(locale.getString(PluginLang.ENABLED_WEB_SERVER, engine.getAddress().getPort(), address));
 
             boolean usingAlternativeIP = config.isTrue(WebserverSettings.SHOW_ALTERNATIVE_IP);
             if (!usingAlternativeIP && !addresses.getAccessAddress().isPresent()) {
@@ -172,13 +154,9 @@ public class WebServer implements SubSystem {
         }
     }
 
-    private boolean startHttpsServer() throws BindException {
+    private SSLContext loadSSLContext() {
         String keyStorePath = config.get(WebserverSettings.CERTIFICATE_PATH);
 
-        if ("proxy".equalsIgnoreCase(keyStorePath)) {
-            return true;
-        }
-
         try {
             if (!Paths.get(keyStorePath).isAbsolute()) {
                 keyStorePath = files.getDataFolder() + File.separator + keyStorePath;
@@ -194,7 +172,6 @@ public class WebServer implements SubSystem {
         char[] keypass = config.get(WebserverSettings.CERTIFICATE_KEYPASS).toCharArray();
         String alias = config.get(WebserverSettings.CERTIFICATE_ALIAS);
 
-        boolean startSuccessful = false;
         String keyStoreKind = keyStorePath.endsWith(".p12") ? "PKCS12" : "JKS";
         try (FileInputStream fIn = new FileInputStream(keyStorePath)) {
             KeyStore keystore = KeyStore.getInstance(keyStoreKind);
@@ -211,27 +188,10 @@ public class WebServer implements SubSystem {
             KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance("SunX509");
             keyManagerFactory.init(keystore, keypass);
 
-            TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance("SunX509");
-            trustManagerFactory.init(keystore);
-
-            server = HttpsServer.create(new InetSocketAddress(config.get(WebserverSettings.INTERNAL_IP), port), 10);
-            SSLContext sslContext = SSLContext.getInstance("TLSv1.2");
-            sslContext.init(keyManagerFactory.getKeyManagers(), null/*trustManagerFactory.getTrustManagers()*/, null);
-
-            ((HttpsServer) server).setHttpsConfigurator(new HttpsConfigurator(sslContext) {
-                @Override
-                public void configure(HttpsParameters params) {
-                    SSLEngine engine = sslContext.createSSLEngine();
-
-                    params.setNeedClientAuth(false);
-                    params.setCipherSuites(engine.getEnabledCipherSuites());
-                    params.setProtocols(engine.getEnabledProtocols());
-
-                    SSLParameters defaultSSLParameters = sslContext.getDefaultSSLParameters();
-                    params.setSSLParameters(defaultSSLParameters);
-                }
-            });
-            startSuccessful = true;
+            // Protocol versions are chosen by the engine, TLSv1.3 is preferred when the JVM supports it.
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+            return sslContext;
         } catch (IllegalStateException e) {
             logger.error(e.getMessage());
         } catch (KeyManagementException | NoSuchAlgorithmException e) {
@@ -242,17 +202,15 @@ public class WebServer implements SubSystem {
         } catch (FileNotFoundException e) {
             logger.info(locale.getString(PluginLang.WEB_SERVER_NOTIFY_NO_CERT_FILE, keyStorePath));
             logger.info(locale.getString(PluginLang.WEB_SERVER_NOTIFY_HTTP));
-        } catch (BindException e) {
-            throw e; // Pass to above error handler
         } catch (IOException e) {
-            errorLogger.error(e, ErrorContext.builder().related(config.get(WebserverSettings.INTERNAL_IP) + ":" + port).build());
+            errorLogger.error(e, ErrorContext.builder().related(keyStorePath).build());
         } catch (KeyStoreException | CertificateException | UnrecoverableKeyException e) {
             logger.error(locale.getString(PluginLang.WEB_SERVER_FAIL_STORE_LOAD));
             errorLogger.error(e, ErrorContext.builder()
                     .whatToDo("Make sure the Certificate settings are correct / You can try remaking the keystore without -passin or -passout parameters.")
                     .related(keyStorePath).build());
         }
-        return startSuccessful;
+        return null;
     }
 
     /**
@@ -267,30 +225,13 @@ public class WebServer implements SubSystem {
      */
     @Override
     public void disable() {
-        if (server != null) {
-            shutdown();
+        if (enabled) {
+            engine.stop();
             logger.info(locale.getString(PluginLang.DISABLED_WEB_SERVER));
         }
         enabled = false;
     }
 
-    private void shutdown() {
-        server.stop(0);
-        Executor executor = server.getExecutor();
-        if (executor instanceof ExecutorService) {
-            ExecutorService service = (ExecutorService) executor;
-            service.shutdown();
-            try {
-                if (!service.awaitTermination(5, TimeUnit.SECONDS)) {
-                    service.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                logger.error("WebServer ExecutorService shutdown thread interrupted on disable: " + e.getMessage());
-                Thread.currentThread().interrupt();
-            }
-        }
-    }
-
     public String getProtocol() {
         return usingHttps ? "https" : "http";
     }
@@ -0,0 +1,55 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.sun.net.httpserver.HttpHandler;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Transport that accepts HTTP connections and passes the requests to a handler.
+ * <p>
+ * {@link WebServer} decides the address and TLS configuration, the engine decides how connections are served.
+ *
+ * @author AuroraLS3
+ */
+public interface WebServerEngine {
+
+    /**
+     * Start accepting connections.
+     *
+     * @param address    Address to bind to.
+     * @param sslContext Context for HTTPS, or null to serve plain HTTP.
+     * @param handler    Handler for all requests, usually {@link RequestHandler}.
+     * @throws IOException If the address could not be bound.
+     */
+    void start(InetSocketAddress address, SSLContext sslContext, HttpHandler handler) throws IOException;
+
+    /**
+     * Get the address the engine is bound to.
+     *
+     * @return Bound address, null if the engine is not running.
+     */
+    InetSocketAddress getAddress();
+
+    /**
+     * Stop accepting connections and wait for requests in progress to finish.
+     */
+    void stop();
+}
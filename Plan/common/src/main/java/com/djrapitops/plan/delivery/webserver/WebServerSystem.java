@@ -19,6 +19,9 @@ package com.djrapitops.plan.delivery.webserver;
 import com.djrapitops.plan.SubSystem;
 import com.djrapitops.plan.delivery.web.ResourceService;
 import com.djrapitops.plan.delivery.webserver.auth.ActiveCookieStore;
+import com.djrapitops.plan.delivery.webserver.auth.VerifiedCredentialCache;
+import com.djrapitops.plan.delivery.webserver.cache.JSONRefreshScheduler;
+import com.djrapitops.plan.delivery.webserver.cache.StaticResourceCache;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -33,22 +36,37 @@ public class WebServerSystem implements SubSystem {
 
     private final Addresses addresses;
     private final ActiveCookieStore activeCookieStore;
+    private final VerifiedCredentialCache verifiedCredentialCache;
+    private final DataUpdateEvents dataUpdateEvents;
+    private final JSONRefreshScheduler jsonRefreshScheduler;
+    private final StaticResourceCache staticResourceCache;
     private final WebServer webServer;
 
     @Inject
     public WebServerSystem(
             Addresses addresses,
             ActiveCookieStore activeCookieStore,
+            VerifiedCredentialCache verifiedCredentialCache,
+            DataUpdateEvents dataUpdateEvents,
+            JSONRefreshScheduler jsonRefreshScheduler,
+            StaticResourceCache staticResourceCache,
             WebServer webServer
     ) {
         this.addresses = addresses;
         this.activeCookieStore = activeCookieStore;
+        this.verifiedCredentialCache = verifiedCredentialCache;
+        this.dataUpdateEvents = dataUpdateEvents;
+        this.jsonRefreshScheduler = jsonRefreshScheduler;
+        this.staticResourceCache = staticResourceCache;
         this.webServer = webServer;
     }
 
     @Override
     public void enable() {
         activeCookieStore.enable();
+        verifiedCredentialCache.enable();
+        dataUpdateEvents.enable();
+        staticResourceCache.enable();
         webServer.enable();
         if (!webServer.isAuthRequired()) {
             ResourceService.getInstance().addStylesToResource("Plan", "error.html", ResourceService.Position.PRE_CONTENT, "./css/noauth.css");
@@ -59,6 +77,7 @@ public class WebServerSystem implements SubSystem {
             ResourceService.getInstance().addStylesToResource("Plan", "query.html", ResourceService.Position.PRE_CONTENT, "./css/noauth.css");
         }
         if (webServer.isEnabled()) {
+            jsonRefreshScheduler.enable();
             ResourceService.getInstance().addStylesToResource("Plan", "server.html", ResourceService.Position.PRE_CONTENT, "../css/querybutton.css");
             ResourceService.getInstance().addStylesToResource("Plan", "players.html", ResourceService.Position.PRE_CONTENT, "./css/querybutton.css");
             ResourceService.getInstance().addStylesToResource("Plan", "network.html", ResourceService.Position.PRE_CONTENT, "./css/querybutton.css");
@@ -67,7 +86,11 @@ public class WebServerSystem implements SubSystem {
 
     @Override
     public void disable() {
+        jsonRefreshScheduler.disable();
         webServer.disable();
+        staticResourceCache.disable();
+        dataUpdateEvents.disable();
+        verifiedCredentialCache.disable();
         activeCookieStore.disable();
     }
 
@@ -17,13 +17,17 @@
 package com.djrapitops.plan.delivery.webserver.auth;
 
 import com.djrapitops.plan.SubSystem;
+import com.djrapitops.plan.delivery.domain.auth.ActiveCookie;
 import com.djrapitops.plan.delivery.domain.auth.User;
 import com.djrapitops.plan.processing.Processing;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.WebserverSettings;
 import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
 import com.djrapitops.plan.storage.database.queries.objects.WebUserQueries;
 import com.djrapitops.plan.storage.database.transactions.events.CookieChangeTransaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import net.playeranalytics.plugin.scheduling.RunnableFactory;
 import net.playeranalytics.plugin.scheduling.Task;
 import net.playeranalytics.plugin.scheduling.TimeAmount;
@@ -31,14 +35,34 @@ import org.apache.commons.codec.digest.DigestUtils;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
-
+import java.util.stream.Collectors;
+
+/**
+ * In-memory front for the login cookies stored in the database.
+ * <p>
+ * Cookies are swept from the database once a minute in a batch: expired and removed cookies are dropped, and cookies
+ * created by other Plan web servers sharing the database are loaded. Every active cookie is kept in memory, so cookies
+ * that are not in memory are never looked up on request, and unknown cookies can not cause database queries.
+ *
+ * @author AuroraLS3
+ */
 @Singleton
 public class ActiveCookieStore implements SubSystem {
 
-    private static final Map<String, User> USERS_BY_COOKIE = new ConcurrentHashMap<>();
+    // Not size limited, cookies that do not fit would be logged out. Expired cookies are removed by the sweep.
+    private static final Cache<String, ActiveCookie> ACTIVE_COOKIES = Caffeine.newBuilder()
+            .build();
+    // Cookies removed on this server, prevents a sweep from reviving a removed cookie before the removal has been saved.
+    // Only filled on logout and user removal, so requests can not flood it.
+    private static final Cache<String, Boolean> REJECTED_COOKIES = Caffeine.newBuilder()
+            .expireAfterWrite(30, TimeUnit.SECONDS)
+            .maximumSize(1000)
+            .build();
     public static long cookieExpiresAfter = TimeUnit.HOURS.toMillis(2L);
     private static ActiveCookieStore activeCookieStore;
 
@@ -46,15 +70,17 @@ public class ActiveCookieStore implements SubSystem {
     private final DBSystem dbSystem;
     private final RunnableFactory runnableFactory;
     private final Processing processing;
+    private final VerifiedCredentialCache verifiedCredentialCache;
 
-    private final Collection<Task> expiryTasks;
+    private Task sweepTask;
 
     @Inject
     public ActiveCookieStore(
             PlanConfig config,
             DBSystem dbSystem,
             RunnableFactory runnableFactory,
-            Processing processing
+            Processing processing,
+            VerifiedCredentialCache verifiedCredentialCache
     ) {
         ActiveCookieStore.activeCookieStore = this;
 
@@ -62,73 +88,113 @@ public class ActiveCookieStore implements SubSystem {
         this.dbSystem = dbSystem;
         this.processing = processing;
         this.runnableFactory = runnableFactory;
-
-        expiryTasks = new ArrayList<>();
-    }
-
-    private static void removeCookieStatic(String cookie) {
-        activeCookieStore.removeCookie(cookie);
+        this.verifiedCredentialCache = verifiedCredentialCache;
     }
 
     public static void removeUserCookie(String username) {
-        USERS_BY_COOKIE.entrySet().stream().filter(entry -> entry.getValue().getUsername().equals(username))
-                .findAny()
+        Set<String> cookiesOfUser = ACTIVE_COOKIES.asMap().entrySet().stream()
+                .filter(entry -> entry.getValue().getUser().getUsername().equals(username))
                 .map(Map.Entry::getKey)
-                .ifPresent(ActiveCookieStore::removeCookieStatic);
+                .collect(Collectors.toSet());
+        for (String cookie : cookiesOfUser) {
+            reject(cookie);
+        }
+        if (activeCookieStore != null) {
+            // The cookies may only be in the database if they were not used through this server.
+            activeCookieStore.deleteCookie(username);
+            // Logging out also applies to Basic auth, the user may have been changed or removed.
+            activeCookieStore.verifiedCredentialCache.invalidate(username);
+        }
+    }
+
+    private static void reject(String cookie) {
+        REJECTED_COOKIES.put(cookie, true);
+        ACTIVE_COOKIES.invalidate(cookie);
     }
 
     @Override
     public void enable() {
         cookieExpiresAfter = config.get(WebserverSettings.COOKIES_EXPIRE_AFTER);
         processing.submitNonCritical(this::loadActiveCookies);
+        long sweepPeriod = TimeAmount.toTicks(1, TimeUnit.MINUTES);
+        sweepTask = runnableFactory.create(this::sweepCookies)
+                .runTaskTimerAsynchronously(sweepPeriod, sweepPeriod);
     }
 
     private void loadActiveCookies() {
-        USERS_BY_COOKIE.clear();
-        USERS_BY_COOKIE.putAll(dbSystem.getDatabase().query(WebUserQueries.fetchActiveCookies()));
-        for (Map.Entry<String, Long> entry : dbSystem.getDatabase().query(WebUserQueries.getCookieExpiryTimes()).entrySet()) {
-            long timeToExpiry = Math.max(entry.getValue() - System.currentTimeMillis(), 0L);
-            expiryTasks.add(runnableFactory.create(() -> removeCookie(entry.getKey()))
-                    .runTaskLaterAsynchronously(TimeAmount.toTicks(timeToExpiry, TimeUnit.MILLISECONDS)));
+        Database database = dbSystem.getDatabase();
+        loadCookies(database.query(WebUserQueries.fetchActiveCookies()), database.query(WebUserQueries.getCookieExpiryTimes()));
+    }
+
+    private void loadCookies(Map<String, User> usersByCookie, Map<String, Long> expiryTimes) {
+        for (Map.Entry<String, User> entry : usersByCookie.entrySet()) {
+            String cookie = entry.getKey();
+            Long expires = expiryTimes.get(cookie);
+            if (expires == null || REJECTED_COOKIES.getIfPresent(cookie) != null) continue;
+
+            ACTIVE_COOKIES.asMap().putIfAbsent(cookie, new ActiveCookie(entry.getValue(), expires));
+            // The cookie may have been removed while it was being loaded.
+            if (REJECTED_COOKIES.getIfPresent(cookie) != null) {
+                ACTIVE_COOKIES.invalidate(cookie);
+            }
         }
     }
 
+    /**
+     * Removes cookies from memory that have expired or were removed from the database by another server,
+     * and loads cookies that were created by another server.
+     */
+    private void sweepCookies() {
+        Database database = dbSystem.getDatabase();
+        if (database.getState() != Database.State.OPEN) return;
+
+        long now = System.currentTimeMillis();
+        // Cookies created during the last minute might not have been saved yet.
+        long createdBeforeExpiry = now + cookieExpiresAfter - TimeUnit.MINUTES.toMillis(1L);
+        Map<String, Long> expiryTimes = database.query(WebUserQueries.getCookieExpiryTimes());
+        ACTIVE_COOKIES.asMap().entrySet().removeIf(entry -> entry.getValue().isExpired(now)
+                || entry.getValue().getExpires() < createdBeforeExpiry && !expiryTimes.containsKey(entry.getKey()));
+        loadCookies(database.query(WebUserQueries.fetchActiveCookies()), expiryTimes);
+    }
+
     @Override
     public void disable() {
-        USERS_BY_COOKIE.clear();
-        expiryTasks.forEach(task -> {
-            try {
-                task.cancel();
-            } catch (Exception e) {
-                // Ignore, task has already been cancelled
-            }
-        });
-        expiryTasks.clear();
+        ACTIVE_COOKIES.invalidateAll();
+        REJECTED_COOKIES.invalidateAll();
+        try {
+            sweepTask.cancel();
+        } catch (Exception e) {
+            // Ignore, task has already been cancelled or was never started
+        }
+        sweepTask = null;
     }
 
     public Optional<User> checkCookie(String cookie) {
-        return Optional.ofNullable(USERS_BY_COOKIE.get(cookie));
+        ActiveCookie found = ACTIVE_COOKIES.getIfPresent(cookie);
+        if (found == null || found.isExpired(System.currentTimeMillis())) {
+            return Optional.empty();
+        }
+        return Optional.of(found.getUser());
     }
 
     public String generateNewCookie(User user) {
         String cookie = DigestUtils.sha256Hex(user.getUsername() + UUID.randomUUID() + System.currentTimeMillis());
-        USERS_BY_COOKIE.put(cookie, user);
-        saveNewCookie(user, cookie, System.currentTimeMillis());
-        expiryTasks.add(runnableFactory.create(() -> removeCookie(cookie))
-                .runTaskLaterAsynchronously(TimeAmount.toTicks(cookieExpiresAfter, TimeUnit.MILLISECONDS)));
+        long expires = System.currentTimeMillis() + cookieExpiresAfter;
+        ACTIVE_COOKIES.put(cookie, new ActiveCookie(user, expires));
+        saveNewCookie(user, cookie, expires);
         return cookie;
     }
 
-    private void saveNewCookie(User user, String cookie, long now) {
+    private void saveNewCookie(User user, String cookie, long expires) {
         dbSystem.getDatabase().executeTransaction(CookieChangeTransaction.storeCookie(
-                user.getUsername(), cookie, now + cookieExpiresAfter
+                user.getUsername(), cookie, expires
         ));
     }
 
     public void removeCookie(String cookie) {
         Optional<User> foundUser = checkCookie(cookie);
         if (foundUser.isPresent()) {
-            USERS_BY_COOKIE.remove(cookie);
+            reject(cookie);
             deleteCookie(foundUser.get().getUsername());
         }
     }
@@ -138,7 +204,11 @@ public class ActiveCookieStore implements SubSystem {
     }
 
     public void removeAll() {
-        disable();
+        // The sweep keeps running, rejected cookies are not loaded again before the removal has been saved.
+        for (String cookie : ACTIVE_COOKIES.asMap().keySet()) {
+            reject(cookie);
+        }
+        verifiedCredentialCache.invalidateAll();
         dbSystem.getDatabase().executeTransaction(CookieChangeTransaction.removeAll());
     }
-}
\ No newline at end of file
+}
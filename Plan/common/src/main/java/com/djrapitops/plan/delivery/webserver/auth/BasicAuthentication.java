@@ -26,6 +26,7 @@ import com.djrapitops.plan.utilities.Base64Util;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Arrays;
+import java.util.Optional;
 
 /**
  * Authentication handling for Basic Auth.
@@ -39,14 +40,19 @@ public class BasicAuthentication implements Authentication {
 
     private final String authenticationString;
     private final Database database;
+    private final VerifiedCredentialCache verifiedCredentialCache;
 
-    public BasicAuthentication(String authenticationString, Database database) {
+    public BasicAuthentication(String authenticationString, Database database, VerifiedCredentialCache verifiedCredentialCache) {
         this.authenticationString = authenticationString;
         this.database = database;
+        this.verifiedCredentialCache = verifiedCredentialCache;
     }
 
     @Override
     public User getUser() {
+        Optional<User> verified = verifiedCredentialCache.getVerified(authenticationString);
+        if (verified.isPresent()) return verified.get();
+
         String decoded = Base64Util.decode(authenticationString);
 
         String[] userInfo = StringUtils.split(decoded, ':');
@@ -70,6 +76,7 @@ public class BasicAuthentication implements Authentication {
             if (!correctPass) {
                 throw new WebUserAuthException(FailReason.USER_PASS_MISMATCH, username);
             }
+            verifiedCredentialCache.storeVerified(authenticationString, user);
             return user;
         } catch (DBOpException | PassEncryptException e) {
             throw new WebUserAuthException(e);
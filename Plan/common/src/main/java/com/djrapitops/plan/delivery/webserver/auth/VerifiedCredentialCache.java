@@ -0,0 +1,112 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.auth;
+
+import com.djrapitops.plan.SubSystem;
+import com.djrapitops.plan.delivery.domain.auth.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds recently verified Basic authentication credentials.
+ * <p>
+ * Verifying a password hashes it with PBKDF2, which is too slow to do for every request of a page
+ * or of a scraper that sends the Authorization header each time.
+ * Credentials are only kept for a short while, and keyed by a HMAC with a random key so that the
+ * passwords are not held in memory. Failed attempts are never cached so brute-force counting is unaffected.
+ * <p>
+ * Entries of a user are removed when the user logs out or is removed on this server, and the cache is cleared on reload.
+ * Changes made by another server sharing the database are noticed when the entry expires, at most 60 seconds later.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class VerifiedCredentialCache implements SubSystem {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final Cache<String, User> verified;
+
+    @Inject
+    public VerifiedCredentialCache() {
+        key = generateKey();
+        verified = Caffeine.newBuilder()
+                .expireAfterWrite(60, TimeUnit.SECONDS)
+                .maximumSize(500)
+                .build();
+    }
+
+    @Override
+    public void enable() {
+        // Users may have been changed while disabled
+        invalidateAll();
+    }
+
+    @Override
+    public void disable() {
+        invalidateAll();
+    }
+
+    private static SecretKeySpec generateKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return new SecretKeySpec(key, ALGORITHM);
+    }
+
+    private String keyOf(String authorization) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Base64.getEncoder().encodeToString(mac.doFinal(authorization.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    public Optional<User> getVerified(String authorization) {
+        return Optional.ofNullable(verified.getIfPresent(keyOf(authorization)));
+    }
+
+    public void storeVerified(String authorization, User user) {
+        verified.put(keyOf(authorization), user);
+    }
+
+    /**
+     * Require credentials of a user to be verified again, for example after logout or changes to the user.
+     *
+     * @param username Username of the user.
+     */
+    public void invalidate(String username) {
+        verified.asMap().values().removeIf(user -> user.getUsername().equals(username));
+    }
+
+    public void invalidateAll() {
+        verified.invalidateAll();
+    }
+}
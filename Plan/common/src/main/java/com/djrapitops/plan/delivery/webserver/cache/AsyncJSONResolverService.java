@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.delivery.webserver.cache;
 
+import com.djrapitops.plan.delivery.webserver.DataUpdateEvents;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.processing.Processing;
 import com.djrapitops.plan.settings.config.PlanConfig;
@@ -24,7 +25,10 @@ import com.djrapitops.plan.utilities.UnitSemaphoreAccessLock;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -44,20 +48,32 @@ public class AsyncJSONResolverService {
     private final JSONStorage jsonStorage;
     private final Map<String, Future<JSONStorage.StoredJSON>> currentlyProcessing;
     private final Map<String, Long> previousUpdates;
+    private final Map<String, Long> lastRequested; // Used by JSONRefreshScheduler to find json worth refreshing
+    private final Map<DataID, Function<ServerUUID, ?>> serverJSONCreators;
+    private final Map<DataID, Supplier<?>> networkJSONCreators;
     private final UnitSemaphoreAccessLock accessLock; // Access lock prevents double processing same resource
+    private final SingleFlight singleFlight;
+    private final DataUpdateEvents dataUpdateEvents;
 
     @Inject
     public AsyncJSONResolverService(
             PlanConfig config,
             Processing processing,
-            JSONStorage jsonStorage
+            JSONStorage jsonStorage,
+            SingleFlight singleFlight,
+            DataUpdateEvents dataUpdateEvents
     ) {
         this.config = config;
         this.processing = processing;
         this.jsonStorage = jsonStorage;
+        this.singleFlight = singleFlight;
+        this.dataUpdateEvents = dataUpdateEvents;
 
         currentlyProcessing = new ConcurrentHashMap<>();
         previousUpdates = new ConcurrentHashMap<>();
+        lastRequested = new ConcurrentHashMap<>();
+        serverJSONCreators = new ConcurrentHashMap<>();
+        networkJSONCreators = new ConcurrentHashMap<>();
         accessLock = new UnitSemaphoreAccessLock();
     }
 
@@ -66,6 +82,7 @@ public class AsyncJSONResolverService {
     ) {
         String identifier = dataID.of(serverUUID);
         Supplier<T> jsonCreator = () -> creator.apply(serverUUID);
+        serverJSONCreators.putIfAbsent(dataID, creator);
         return getStoredOrCreateJSON(newerThanTimestamp, identifier, jsonCreator);
     }
 
@@ -74,12 +91,14 @@ public class AsyncJSONResolverService {
             long newerThanTimestamp, DataID dataID, Supplier<T> jsonCreator
     ) {
         String identifier = dataID.name();
+        networkJSONCreators.putIfAbsent(dataID, jsonCreator);
         return getStoredOrCreateJSON(newerThanTimestamp, identifier, jsonCreator);
     }
 
     private <T> JSONStorage.StoredJSON getStoredOrCreateJSON(
             long timestamp, String identifier, Supplier<T> jsonCreator
     ) {
+        lastRequested.put(identifier, System.currentTimeMillis());
         JSONStorage.StoredJSON storedJSON = getNewFromCache(timestamp, identifier);
         if (storedJSON != null) return storedJSON;
 
@@ -93,7 +112,9 @@ public class AsyncJSONResolverService {
             // Update not performed if the last update was recent and the file is deleted before next update
             // Fall back to waiting for the updated file if old version of the file doesn't exist.
             if (updatedJSON == null) {
-                updatedJSON = submitToProcessing(identifier, jsonCreator);
+                // Concurrent requests for the same missing file share one update.
+                return singleFlight.execute("json:" + identifier,
+                        () -> waitAndGetUpdated(submitToProcessing(identifier, jsonCreator)));
             }
             return waitAndGetUpdated(updatedJSON);
         }
@@ -140,12 +161,100 @@ public class AsyncJSONResolverService {
         return updatedJSON;
     }
 
+    /**
+     * Register how json of a server is created, so that it can be created before it is requested.
+     *
+     * @param dataID  DataID of the json.
+     * @param creator Function that creates the json for a server.
+     */
+    public <T> void registerCreator(DataID dataID, Function<ServerUUID, T> creator) {
+        serverJSONCreators.put(dataID, creator);
+    }
+
+    /**
+     * Register how network wide json is created, so that it can be created before it is requested.
+     *
+     * @param dataID  DataID of the json.
+     * @param creator Supplier that creates the json.
+     */
+    public <T> void registerCreator(DataID dataID, Supplier<T> creator) {
+        networkJSONCreators.put(dataID, creator);
+    }
+
+    /**
+     * Get identifiers of json that has been requested recently.
+     * <p>
+     * Identifiers requested before the given time are forgotten.
+     *
+     * @param since Epoch ms.
+     * @return Identifiers requested after the given time.
+     */
+    public Collection<String> getRequestedSince(long since) {
+        lastRequested.values().removeIf(requestedAt -> requestedAt < since);
+        return new ArrayList<>(lastRequested.keySet());
+    }
+
+    /**
+     * Get when json was last created by this service.
+     *
+     * @param identifier Identifier of the json.
+     * @return Epoch ms, or 0 if it has not been created since enable.
+     */
+    public long getLastUpdated(String identifier) {
+        return previousUpdates.getOrDefault(identifier, 0L);
+    }
+
+    public boolean canCreate(String identifier) {
+        return findCreator(identifier) != null;
+    }
+
+    /**
+     * Create json again without a request.
+     *
+     * @param identifier Identifier of the json.
+     * @return Future of the created json, or empty if it is not known how the json is created.
+     */
+    public Optional<Future<JSONStorage.StoredJSON>> refresh(String identifier) {
+        Supplier<?> jsonCreator = findCreator(identifier);
+        if (jsonCreator == null) return Optional.empty();
+
+        accessLock.enter();
+        try {
+            Future<JSONStorage.StoredJSON> updatedJSON = currentlyProcessing.get(identifier);
+            if (updatedJSON == null) {
+                updatedJSON = submitToProcessing(identifier, jsonCreator);
+                currentlyProcessing.put(identifier, updatedJSON);
+            }
+            return Optional.of(updatedJSON);
+        } finally {
+            accessLock.exit();
+        }
+    }
+
+    private Supplier<?> findCreator(String identifier) {
+        // Identifiers are DataID name or DataID name-ServerUUID, see DataID#of
+        int split = identifier.indexOf('-');
+        try {
+            if (split == -1) {
+                return networkJSONCreators.get(DataID.valueOf(identifier));
+            }
+            Function<ServerUUID, ?> creator = serverJSONCreators.get(DataID.valueOf(identifier.substring(0, split)));
+            if (creator == null) return null;
+            ServerUUID serverUUID = ServerUUID.fromString(identifier.substring(split + 1));
+            return () -> creator.apply(serverUUID);
+        } catch (IllegalArgumentException notDataIDJSON) {
+            // Such as query results
+            return null;
+        }
+    }
+
     private <T> Future<JSONStorage.StoredJSON> submitToProcessing(String identifier, Supplier<T> jsonCreator) {
         return processing.submitNonCritical(() -> {
             JSONStorage.StoredJSON created = jsonStorage.storeJson(identifier, jsonCreator.get());
             currentlyProcessing.remove(identifier);
             jsonStorage.invalidateOlder(identifier, created.timestamp);
             previousUpdates.put(identifier, created.timestamp);
+            dataUpdateEvents.publish(identifier, created.timestamp);
             return created;
         });
     }
@@ -31,6 +31,7 @@ public enum DataID {
     PING_TABLE,
     GRAPH_PERFORMANCE,
     GRAPH_OPTIMIZED_PERFORMANCE,
+    GRAPH_OPTIMIZED_PERFORMANCE_COLUMNAR,
     GRAPH_ONLINE,
     GRAPH_UNIQUE_NEW,
     GRAPH_HOURLY_UNIQUE_NEW,
@@ -29,21 +29,14 @@ import org.apache.commons.lang3.StringUtils;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.function.BiPredicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
 /**
  * In charge of storing json files on disk for later retrieval.
@@ -56,8 +49,9 @@ public class JSONFileStorage implements JSONStorage {
     private final PluginLogger logger;
 
     private final Path jsonDirectory;
+    // identifier -> timestamps of stored files, built from the directory on first use.
+    private volatile Map<String, NavigableSet<Long>> index;
 
-    private final Pattern timestampRegex = Pattern.compile(".*-([0-9]*).json");
     private static final String JSON_FILE_EXTENSION = ".json";
 
     private final Formatter<Long> dateFormatter;
@@ -93,10 +87,11 @@ public class JSONFileStorage implements JSONStorage {
         try {
             if (!Files.isSymbolicLink(jsonDirectory)) Files.createDirectories(jsonDirectory);
             Files.write(writingTo, jsonToWrite.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            getTimestamps(identifier).add(timestamp);
         } catch (IOException e) {
             logger.warn("Could not write a file to " + writingTo.toFile().getAbsolutePath() + ": " + e.getMessage());
         }
-        return new StoredJSON(jsonToWrite, timestamp);
+        return new StoredJSON(identifier, jsonToWrite, timestamp);
     }
 
     private String addMissingTimestamp(String json, long timestamp) {
@@ -118,144 +113,134 @@ public class JSONFileStorage implements JSONStorage {
         return writtenJSON;
     }
 
+    private Map<String, NavigableSet<Long>> getIndex() {
+        Map<String, NavigableSet<Long>> built = index;
+        if (built == null) {
+            synchronized (this) {
+                built = index;
+                if (built == null) {
+                    built = buildIndex();
+                    index = built;
+                }
+            }
+        }
+        return built;
+    }
+
+    private Map<String, NavigableSet<Long>> buildIndex() {
+        Map<String, NavigableSet<Long>> built = new ConcurrentHashMap<>();
+        if (!Files.isDirectory(jsonDirectory)) return built;
+
+        try (DirectoryStream<Path> stored = Files.newDirectoryStream(jsonDirectory, "*" + JSON_FILE_EXTENSION)) {
+            for (Path file : stored) {
+                String fileName = file.getFileName().toString();
+                int split = fileName.lastIndexOf('-');
+                if (split <= 0) continue; // Not placed there by Plan
+                try {
+                    long timestamp = Long.parseLong(fileName.substring(split + 1, fileName.length() - JSON_FILE_EXTENSION.length()));
+                    built.computeIfAbsent(fileName.substring(0, split), key -> new ConcurrentSkipListSet<>()).add(timestamp);
+                } catch (NumberFormatException e) {
+                    // Ignore this file, malformed timestamp
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not list files in " + jsonDirectory.toFile().getAbsolutePath() + ": " + e.getMessage());
+        }
+        return built;
+    }
+
+    private NavigableSet<Long> getTimestamps(String identifier) {
+        return getIndex().computeIfAbsent(identifier, key -> new ConcurrentSkipListSet<>());
+    }
+
+    private Path getFile(String identifier, long timestamp) {
+        return jsonDirectory.resolve(identifier + '-' + timestamp + JSON_FILE_EXTENSION);
+    }
+
     @Override
     public Optional<StoredJSON> fetchJSON(String identifier) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return Optional.empty();
-        for (File file : stored) {
-            String fileName = file.getName();
-            if (fileName.endsWith(JSON_FILE_EXTENSION) && fileName.startsWith(identifier + '-')) {
-                return Optional.ofNullable(readStoredJSON(file));
-            }
+        return fetchNewestOf(identifier, getIndex().get(identifier));
+    }
+
+    private Optional<StoredJSON> fetchNewestOf(String identifier, NavigableSet<Long> timestamps) {
+        if (timestamps == null) return Optional.empty();
+        // Iterates from newest, in case a file has been removed from the disk by someone else.
+        for (Long timestamp : timestamps.descendingSet()) {
+            StoredJSON found = readStoredJSON(identifier, timestamp);
+            if (found != null) return Optional.of(found);
         }
         return Optional.empty();
     }
 
-    private StoredJSON readStoredJSON(File from) {
-        Matcher timestampMatch = timestampRegex.matcher(from.getName());
-        if (timestampMatch.find()) {
-            try (Stream<String> lines = Files.lines(from.toPath())) {
-                long timestamp = Long.parseLong(timestampMatch.group(1));
-                StringBuilder json = new StringBuilder();
-                lines.forEach(json::append);
-                return new StoredJSON(json.toString(), timestamp);
-            } catch (IOException e) {
-                logger.warn(jsonDirectory.toFile().getAbsolutePath() + " file '" + from.getName() + "' could not be read: " + e.getMessage());
-            } catch (NumberFormatException e) {
-                logger.warn(jsonDirectory.toFile().getAbsolutePath() + " contained a file '" + from.getName() + "' with improperly formatted -timestamp (could not parse number). This file was not placed there by Plan!");
-            }
-        } else {
-            logger.warn(jsonDirectory.toFile().getAbsolutePath() + " contained a file '" + from.getName() + "' that has no -timestamp. This file was not placed there by Plan!");
+    private StoredJSON readStoredJSON(String identifier, long timestamp) {
+        Path from = getFile(identifier, timestamp);
+        try {
+            return new StoredJSON(identifier, new String(Files.readAllBytes(from), StandardCharsets.UTF_8), timestamp);
+        } catch (NoSuchFileException e) {
+            getTimestamps(identifier).remove(timestamp);
+        } catch (IOException e) {
+            logger.warn(jsonDirectory.toFile().getAbsolutePath() + " file '" + from.getFileName() + "' could not be read: " + e.getMessage());
         }
         return null;
     }
 
     @Override
     public Optional<StoredJSON> fetchExactJson(String identifier, long timestamp) {
-        File found = jsonDirectory.resolve(identifier + "-" + timestamp + JSON_FILE_EXTENSION).toFile();
-        if (!found.exists()) return Optional.empty();
-        return Optional.ofNullable(readStoredJSON(found));
+        NavigableSet<Long> timestamps = getIndex().get(identifier);
+        if (timestamps == null || !timestamps.contains(timestamp)) return Optional.empty();
+        return Optional.ofNullable(readStoredJSON(identifier, timestamp));
     }
 
     @Override
     public Optional<StoredJSON> fetchJsonMadeBefore(String identifier, long timestamp) {
-        return fetchJSONWithTimestamp(identifier, timestamp, (timestampMatch, time) -> Long.parseLong(timestampMatch.group(1)) < time);
+        NavigableSet<Long> timestamps = getIndex().get(identifier);
+        if (timestamps == null) return Optional.empty();
+        return fetchNewestOf(identifier, timestamps.headSet(timestamp, false));
     }
 
     @Override
     public Optional<StoredJSON> fetchJsonMadeAfter(String identifier, long timestamp) {
-        return fetchJSONWithTimestamp(identifier, timestamp, (timestampMatch, time) -> Long.parseLong(timestampMatch.group(1)) > time);
-    }
-
-    private Optional<StoredJSON> fetchJSONWithTimestamp(String identifier, long timestamp, BiPredicate<Matcher, Long> timestampComparator) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return Optional.empty();
-        for (File file : stored) {
-            try {
-                String fileName = file.getName();
-                if (fileName.endsWith(JSON_FILE_EXTENSION) && fileName.startsWith(identifier + '-')) {
-                    Matcher timestampMatch = timestampRegex.matcher(fileName);
-                    if (timestampMatch.find() && timestampComparator.test(timestampMatch, timestamp)) {
-                        return Optional.ofNullable(readStoredJSON(file));
-                    }
-                }
-            } catch (NumberFormatException e) {
-                // Ignore this file, malformed timestamp
-            }
-        }
-        return Optional.empty();
+        NavigableSet<Long> timestamps = getIndex().get(identifier);
+        if (timestamps == null) return Optional.empty();
+        return fetchNewestOf(identifier, timestamps.tailSet(timestamp, false));
     }
 
     @Override
     public void invalidateOlder(String identifier, long timestamp) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return;
-
-        List<File> toDelete = new ArrayList<>();
-        for (File file : stored) {
-            if (shouldDeleteFile(identifier, timestamp, file)) {
-                toDelete.add(file);
-            }
-        }
-        deleteFiles(toDelete);
+        NavigableSet<Long> timestamps = getIndex().get(identifier);
+        if (timestamps == null) return;
+        deleteFiles(identifier, timestamps.headSet(timestamp, false));
     }
 
-    private boolean shouldDeleteFile(String identifier, long timestamp, File file) {
-        try {
-            String fileName = file.getName();
-            if (fileName.endsWith(JSON_FILE_EXTENSION) && fileName.startsWith(identifier + '-')) {
-                Matcher timestampMatch = timestampRegex.matcher(fileName);
-                if (timestampMatch.find() && Long.parseLong(timestampMatch.group(1)) < timestamp) {
-                    return true;
-                }
-            }
-        } catch (NumberFormatException e) {
-            // Ignore this file, malformed timestamp
+    @Override
+    public Collection<String> getStoredIdentifiers() {
+        List<String> identifiers = new ArrayList<>();
+        for (Map.Entry<String, NavigableSet<Long>> entry : getIndex().entrySet()) {
+            if (!entry.getValue().isEmpty()) identifiers.add(entry.getKey());
         }
-        return false;
+        return identifiers;
     }
 
     private void invalidateOlderButIgnore(long timestamp, String... ignoredIdentifiers) {
-        File[] stored = jsonDirectory.toFile().listFiles();
-        if (stored == null) return;
-
-        List<File> toDelete = new ArrayList<>();
-        for (File file : stored) {
-            if (shouldDeleteFile(timestamp, file, ignoredIdentifiers)) {
-                toDelete.add(file);
-            }
-        }
-
-        deleteFiles(toDelete);
-    }
-
-    private boolean shouldDeleteFile(long timestamp, File file, String[] ignoredIdentifiers) {
-        try {
-            String fileName = file.getName();
-            if (fileName.endsWith(JSON_FILE_EXTENSION)) {
-                Matcher timestampMatch = timestampRegex.matcher(fileName);
-                boolean isOlder = timestampMatch.find() && Long.parseLong(timestampMatch.group(1)) < timestamp;
-                if (isOlder) {
-                    for (String ignoredIdentifier : ignoredIdentifiers) {
-                        if (fileName.startsWith(ignoredIdentifier + "-")) return false;
-                    }
-                    return true;
-                }
-            }
-        } catch (NumberFormatException e) {
-            // Ignore this file, malformed timestamp
+        List<String> ignored = Arrays.asList(ignoredIdentifiers);
+        for (Map.Entry<String, NavigableSet<Long>> entry : getIndex().entrySet()) {
+            String identifier = entry.getKey();
+            if (ignored.contains(identifier)) continue;
+            deleteFiles(identifier, entry.getValue().headSet(timestamp, false));
         }
-        return false;
     }
 
-    private void deleteFiles(List<File> toDelete) {
-        for (File fileToDelete : toDelete) {
+    private void deleteFiles(String identifier, NavigableSet<Long> timestamps) {
+        // Copy to avoid modifying the set while iterating it.
+        for (Long timestamp : new ArrayList<>(timestamps)) {
+            Path fileToDelete = getFile(identifier, timestamp);
             try {
-                Files.delete(fileToDelete.toPath());
+                Files.deleteIfExists(fileToDelete);
             } catch (IOException e) {
                 // Failed to delete, set for deletion on next server shutdown.
-                fileToDelete.deleteOnExit();
+                fileToDelete.toFile().deleteOnExit();
             }
+            timestamps.remove(timestamp);
         }
     }
 
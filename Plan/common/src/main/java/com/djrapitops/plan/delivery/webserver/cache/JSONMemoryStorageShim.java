@@ -20,16 +20,29 @@ import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.config.paths.WebserverSettings;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 public class JSONMemoryStorageShim implements JSONStorage {
 
+    // Object headers, fields and array headers of TimestampedIdentifier, StoredJSON and their Strings and arrays.
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
     private final PlanConfig config;
     private final JSONStorage underlyingStorage;
 
     private Cache<TimestampedIdentifier, StoredJSON> cache;
+    // identifier -> timestamps of cached json, avoids iterating the whole cache on lookups.
+    private final Map<String, NavigableSet<Long>> index;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
 
     public JSONMemoryStorageShim(
             PlanConfig config,
@@ -37,89 +50,171 @@ public class JSONMemoryStorageShim implements JSONStorage {
     ) {
         this.config = config;
         this.underlyingStorage = underlyingStorage;
+
+        index = new ConcurrentHashMap<>();
+        hits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
     }
 
     @Override
     public void enable() {
+        index.clear();
         cache = Caffeine.newBuilder()
                 .expireAfterWrite(config.get(WebserverSettings.INVALIDATE_MEMORY_CACHE), TimeUnit.MILLISECONDS)
+                .maximumWeight(config.get(WebserverSettings.MEMORY_CACHE_MAX_SIZE_MB) * 1024L * 1024L)
+                .weigher(JSONMemoryStorageShim::weigh)
+                // Index is updated on the thread that removed the entry.
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
                 .build();
     }
 
+    /**
+     * Estimate the bytes held by a cached entry.
+     * <p>
+     * Strings are counted as two bytes per char. The UTF-8 bytes sent in responses are counted as well,
+     * they are encoded here when the entry is cached so that the weight does not change afterwards.
+     *
+     * @param key   Key of the entry.
+     * @param value Cached json.
+     * @return Approximate size in bytes.
+     */
+    static int weigh(TimestampedIdentifier key, StoredJSON value) {
+        long chars = key.identifier.length() + value.json.length() + (value.identifier != null ? value.identifier.length() : 0);
+        long size = ENTRY_OVERHEAD_BYTES + chars * 2L + value.getBytes().length;
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    private void onRemoval(TimestampedIdentifier key, StoredJSON value, RemovalCause cause) {
+        if (cause == RemovalCause.REPLACED || key == null) return;
+        if (cause.wasEvicted()) evictions.increment();
+        // The same key might have been cached again.
+        if (cache.asMap().containsKey(key)) return;
+        index.computeIfPresent(key.identifier, (identifier, timestamps) -> {
+            timestamps.remove(key.timestamp);
+            return timestamps.isEmpty() ? null : timestamps;
+        });
+    }
+
     @Override
     public StoredJSON storeJson(String identifier, String json, long timestamp) {
         StoredJSON storedJSON = underlyingStorage.storeJson(identifier, json, timestamp);
-        getCache().put(new TimestampedIdentifier(identifier, timestamp), storedJSON);
+        cache(identifier, storedJSON);
         return storedJSON;
     }
 
+    private void cache(String identifier, StoredJSON storedJSON) {
+        getCache().put(new TimestampedIdentifier(identifier, storedJSON.timestamp), storedJSON);
+        // compute keeps this from adding to a set that a removal just dropped from the index.
+        index.compute(identifier, (key, timestamps) -> {
+            NavigableSet<Long> indexed = timestamps != null ? timestamps : new ConcurrentSkipListSet<>();
+            indexed.add(storedJSON.timestamp);
+            return indexed;
+        });
+    }
+
+    int getIndexedIdentifierCount() {
+        return index.size();
+    }
+
     public Cache<TimestampedIdentifier, StoredJSON> getCache() {
         if (cache == null) enable();
         return cache;
     }
 
-    @Override
-    public Optional<StoredJSON> fetchJSON(String identifier) {
-        for (Map.Entry<TimestampedIdentifier, StoredJSON> entry : getCache().asMap().entrySet()) {
-            if (entry.getKey().identifier.equalsIgnoreCase(identifier)) {
-                return Optional.of(entry.getValue());
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private Optional<StoredJSON> findNewestCached(String identifier, NavigableSet<Long> timestamps) {
+        if (timestamps != null) {
+            Cache<TimestampedIdentifier, StoredJSON> cached = getCache();
+            for (Long timestamp : timestamps.descendingSet()) {
+                StoredJSON found = cached.getIfPresent(new TimestampedIdentifier(identifier, timestamp));
+                if (found != null) {
+                    hits.increment();
+                    return Optional.of(found);
+                }
             }
         }
-        Optional<StoredJSON> found = underlyingStorage.fetchJSON(identifier);
-        found.ifPresent(storedJSON -> getCache().put(new TimestampedIdentifier(identifier, storedJSON.timestamp), storedJSON));
+        misses.increment();
+        return Optional.empty();
+    }
+
+    private Optional<StoredJSON> cacheFound(String identifier, Optional<StoredJSON> found) {
+        found.ifPresent(storedJSON -> cache(identifier, storedJSON));
         return found;
     }
 
+    @Override
+    public Optional<StoredJSON> fetchJSON(String identifier) {
+        Optional<StoredJSON> cached = findNewestCached(identifier, index.get(identifier));
+        if (cached.isPresent()) return cached;
+
+        return cacheFound(identifier, underlyingStorage.fetchJSON(identifier));
+    }
+
     @Override
     public Optional<StoredJSON> fetchExactJson(String identifier, long timestamp) {
         StoredJSON cached = getCache().getIfPresent(new TimestampedIdentifier(identifier, timestamp));
-        if (cached != null) return Optional.of(cached);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
 
-        Optional<StoredJSON> found = underlyingStorage.fetchExactJson(identifier, timestamp);
-        found.ifPresent(storedJSON -> getCache().put(new TimestampedIdentifier(identifier, timestamp), storedJSON));
-        return found;
+        return cacheFound(identifier, underlyingStorage.fetchExactJson(identifier, timestamp));
     }
 
     @Override
     public Optional<StoredJSON> fetchJsonMadeBefore(String identifier, long timestamp) {
-        for (Map.Entry<TimestampedIdentifier, StoredJSON> entry : getCache().asMap().entrySet()) {
-            TimestampedIdentifier key = entry.getKey();
-            if (key.timestamp < timestamp && key.identifier.equalsIgnoreCase(identifier)) {
-                return Optional.of(entry.getValue());
-            }
-        }
+        NavigableSet<Long> timestamps = index.get(identifier);
+        Optional<StoredJSON> cached = findNewestCached(identifier, timestamps != null ? timestamps.headSet(timestamp, false) : null);
+        if (cached.isPresent()) return cached;
 
-        Optional<StoredJSON> found = underlyingStorage.fetchJsonMadeBefore(identifier, timestamp);
-        found.ifPresent(storedJSON -> getCache().put(new TimestampedIdentifier(identifier, storedJSON.timestamp), storedJSON));
-        return found;
+        return cacheFound(identifier, underlyingStorage.fetchJsonMadeBefore(identifier, timestamp));
     }
 
     @Override
     public Optional<StoredJSON> fetchJsonMadeAfter(String identifier, long timestamp) {
-        for (Map.Entry<TimestampedIdentifier, StoredJSON> entry : getCache().asMap().entrySet()) {
-            TimestampedIdentifier key = entry.getKey();
-            if (key.timestamp > timestamp && key.identifier.equalsIgnoreCase(identifier)) {
-                return Optional.of(entry.getValue());
-            }
-        }
-        Optional<StoredJSON> found = underlyingStorage.fetchJsonMadeAfter(identifier, timestamp);
-        found.ifPresent(storedJSON -> getCache().put(new TimestampedIdentifier(identifier, storedJSON.timestamp), storedJSON));
-        return found;
+        NavigableSet<Long> timestamps = index.get(identifier);
+        Optional<StoredJSON> cached = findNewestCached(identifier, timestamps != null ? timestamps.tailSet(timestamp, false) : null);
+        if (cached.isPresent()) return cached;
+
+        return cacheFound(identifier, underlyingStorage.fetchJsonMadeAfter(identifier, timestamp));
     }
 
     @Override
     public void invalidateOlder(String identifier, long timestamp) {
-        Set<TimestampedIdentifier> toInvalidate = new HashSet<>();
-        for (TimestampedIdentifier key : getCache().asMap().keySet()) {
-            if (key.timestamp < timestamp && key.identifier.equalsIgnoreCase(identifier)) {
-                toInvalidate.add(key);
+        NavigableSet<Long> timestamps = index.get(identifier);
+        if (timestamps != null) {
+            NavigableSet<Long> older = timestamps.headSet(timestamp, false);
+            List<TimestampedIdentifier> toInvalidate = new ArrayList<>();
+            for (Long olderTimestamp : older) {
+                toInvalidate.add(new TimestampedIdentifier(identifier, olderTimestamp));
             }
+            getCache().invalidateAll(toInvalidate);
+            older.removeAll(new ArrayList<>(older));
+            index.computeIfPresent(identifier, (key, indexed) -> indexed.isEmpty() ? null : indexed);
         }
-        toInvalidate.forEach(getCache()::invalidate);
 
         underlyingStorage.invalidateOlder(identifier, timestamp);
     }
 
+    @Override
+    public Collection<String> getStoredIdentifiers() {
+        return underlyingStorage.getStoredIdentifiers();
+    }
+
     static class TimestampedIdentifier {
         private final String identifier;
         private final long timestamp;
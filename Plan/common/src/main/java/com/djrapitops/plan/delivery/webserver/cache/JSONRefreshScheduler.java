@@ -0,0 +1,176 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.SubSystem;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import net.playeranalytics.plugin.scheduling.RunnableFactory;
+import net.playeranalytics.plugin.scheduling.Task;
+import net.playeranalytics.plugin.scheduling.TimeAmount;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Updates json that pages request before it is requested again, so that requests are answered from a fresh cache.
+ * <p>
+ * Json requested during the last 10 minutes is updated when it becomes older than
+ * Webserver.Cache.Refresh_requested_json_after. After enable the json stored before a restart is created again,
+ * so that the first visitor does not need to wait for it.
+ * <p>
+ * Each run may spend a fifth of the time between runs creating json one identifier at a time,
+ * the rest is left for the next run.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class JSONRefreshScheduler implements SubSystem {
+
+    static final long RUN_PERIOD_MS = TimeUnit.SECONDS.toMillis(30L);
+    static final long REQUESTED_WITHIN_MS = TimeUnit.MINUTES.toMillis(10L);
+    static final double TIME_BUDGET = 0.2;
+
+    private final PlanConfig config;
+    private final DBSystem dbSystem;
+    private final JSONStorage jsonStorage;
+    private final AsyncJSONResolverService jsonResolverService;
+    private final RunnableFactory runnableFactory;
+    private final ErrorLogger errorLogger;
+
+    private final Queue<String> warmUpQueue;
+    private volatile boolean warmUpQueued;
+    private Task task;
+
+    @Inject
+    public JSONRefreshScheduler(
+            PlanConfig config,
+            DBSystem dbSystem,
+            JSONStorage jsonStorage,
+            AsyncJSONResolverService jsonResolverService,
+            RunnableFactory runnableFactory,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.dbSystem = dbSystem;
+        this.jsonStorage = jsonStorage;
+        this.jsonResolverService = jsonResolverService;
+        this.runnableFactory = runnableFactory;
+        this.errorLogger = errorLogger;
+
+        warmUpQueue = new ConcurrentLinkedQueue<>();
+    }
+
+    @Override
+    public void enable() {
+        warmUpQueue.clear();
+        warmUpQueued = false;
+        // Jitter keeps servers that restart at the same time from refreshing at the same time.
+        long delayMs = RUN_PERIOD_MS + ThreadLocalRandom.current().nextLong(RUN_PERIOD_MS);
+        task = runnableFactory.create(this::refresh).runTaskTimerAsynchronously(
+                TimeAmount.toTicks(delayMs, TimeUnit.MILLISECONDS),
+                TimeAmount.toTicks(RUN_PERIOD_MS, TimeUnit.MILLISECONDS)
+        );
+    }
+
+    @Override
+    public void disable() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    void refresh() {
+        if (dbSystem.getDatabase().getState() != Database.State.OPEN) return;
+        if (!warmUpQueued) {
+            queueWarmUp();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos((long) (RUN_PERIOD_MS * TIME_BUDGET));
+        for (String identifier : findDue(System.currentTimeMillis())) {
+            if (!refreshBefore(identifier, deadline)) return;
+        }
+        String identifier;
+        while ((identifier = warmUpQueue.poll()) != null) {
+            // Skip json that has been created since the queue was filled
+            if (jsonResolverService.getLastUpdated(identifier) != 0L) continue;
+            if (!refreshBefore(identifier, deadline)) return;
+        }
+    }
+
+    private void queueWarmUp() {
+        for (String identifier : jsonStorage.getStoredIdentifiers()) {
+            if (jsonResolverService.canCreate(identifier)) warmUpQueue.add(identifier);
+        }
+        warmUpQueued = true;
+    }
+
+    List<String> findDue(long now) {
+        long refreshAfter = config.get(WebserverSettings.REFRESH_REQUESTED_JSON);
+        List<String> due = new ArrayList<>();
+        Map<String, Long> lastUpdated = new HashMap<>();
+        for (String identifier : jsonResolverService.getRequestedSince(now - REQUESTED_WITHIN_MS)) {
+            long updated = jsonResolverService.getLastUpdated(identifier);
+            // Jitter spreads json that was created at the same time over multiple runs
+            long jitter = ThreadLocalRandom.current().nextLong(refreshAfter / 10L + 1L);
+            if (updated + refreshAfter - jitter <= now && jsonResolverService.canCreate(identifier)) {
+                due.add(identifier);
+                lastUpdated.put(identifier, updated);
+            }
+        }
+        // Oldest first
+        due.sort(Comparator.comparingLong(lastUpdated::get));
+        return due;
+    }
+
+    /**
+     * Create json and wait for it until the deadline.
+     *
+     * @param identifier Identifier of the json.
+     * @param deadline   {@link System#nanoTime()} when the run has used its time budget.
+     * @return true if there is time left for more json.
+     */
+    private boolean refreshBefore(String identifier, long deadline) {
+        long timeLeft = deadline - System.nanoTime();
+        if (timeLeft <= 0) return false;
+
+        Optional<Future<JSONStorage.StoredJSON>> refreshing = jsonResolverService.refresh(identifier);
+        if (!refreshing.isPresent()) return true;
+        try {
+            refreshing.get().get(timeLeft, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException stillRunning) {
+            // Finishes in the background, next run continues from the next identifier.
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            errorLogger.warn(e.getCause() != null ? e.getCause() : e, ErrorContext.builder()
+                    .related("Refreshing json", identifier)
+                    .build());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.google.gson.Gson;
+
+/**
+ * Serializes json payloads of the web server.
+ * <p>
+ * A single Gson instance is shared, since creating one builds its type adapters again for every payload.
+ * Payloads are written into a StringBuilder instead of the synchronized buffer of a StringWriter.
+ *
+ * @author AuroraLS3
+ */
+public final class JSONSerializer {
+
+    /**
+     * Content-Type of json responses with UTF-8 bytes, same as {@link com.djrapitops.plan.delivery.web.resolver.ResponseBuilder#setJSONContent(String)}.
+     */
+    public static final String CONTENT_TYPE = MimeType.JSON + "; charset=utf-8";
+
+    private static final Gson GSON = new Gson();
+
+    private JSONSerializer() {
+        /* Static method class */
+    }
+
+    /**
+     * Serialize an object into json.
+     *
+     * @param object Object to serialize, a String is assumed to be json already.
+     * @return json.
+     */
+    public static String toJson(Object object) {
+        if (object instanceof String) return (String) object;
+        StringBuilder json = new StringBuilder(1024);
+        GSON.toJson(object, json);
+        return json.toString();
+    }
+}
@@ -17,8 +17,10 @@
 package com.djrapitops.plan.delivery.webserver.cache;
 
 import com.djrapitops.plan.SubSystem;
-import com.google.gson.Gson;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -42,15 +44,13 @@ public interface JSONStorage extends SubSystem {
     }
 
     default StoredJSON storeJson(String identifier, Object json) {
-        if (json instanceof String) return storeJson(identifier, (String) json);
-        return storeJson(identifier, new Gson().toJson(json));
+        return storeJson(identifier, JSONSerializer.toJson(json));
     }
 
     StoredJSON storeJson(String identifier, String json, long timestamp);
 
     default StoredJSON storeJson(String identifier, Object json, long timestamp) {
-        if (json instanceof String) return storeJson(identifier, (String) json, timestamp);
-        return storeJson(identifier, new Gson().toJson(json), timestamp);
+        return storeJson(identifier, JSONSerializer.toJson(json), timestamp);
     }
 
     Optional<StoredJSON> fetchJSON(String identifier);
@@ -63,15 +63,47 @@ public interface JSONStorage extends SubSystem {
 
     void invalidateOlder(String identifier, long timestamp);
 
+    /**
+     * Get identifiers of all json in the storage.
+     *
+     * @return Identifiers, empty if the storage can not list them.
+     */
+    default Collection<String> getStoredIdentifiers() {
+        return Collections.emptyList();
+    }
+
     final class StoredJSON {
+        public final String identifier; // null if not known
         public final String json;
         public final long timestamp;
+        private volatile byte[] bytes; // Encoded when first sent
 
         public StoredJSON(String json, long timestamp) {
+            this(null, json, timestamp);
+        }
+
+        public StoredJSON(String identifier, String json, long timestamp) {
+            this.identifier = identifier;
             this.json = json;
             this.timestamp = timestamp;
         }
 
+        /**
+         * Get the json as UTF-8 bytes for a response.
+         * <p>
+         * The bytes are encoded once and shared by every response of this json, so they must not be modified.
+         *
+         * @return UTF-8 encoded json.
+         */
+        public byte[] getBytes() {
+            byte[] encoded = bytes;
+            if (encoded == null) {
+                encoded = json.getBytes(StandardCharsets.UTF_8);
+                bytes = encoded;
+            }
+            return encoded;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -0,0 +1,135 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.delivery.rendering.json.PlayersTableJSONCreator;
+import com.djrapitops.plan.processing.Processing;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps players tables in memory so that pages of them can be returned without querying the database again.
+ * <p>
+ * Tables are refreshed like json of {@link AsyncJSONResolverService}: an older table is used while a new one is created.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class PlayersTableCache {
+
+    private final PlanConfig config;
+    private final Processing processing;
+
+    private final Cache<String, Snapshot> tables;
+    private final Map<String, Future<Snapshot>> currentlyCreating;
+
+    @Inject
+    public PlayersTableCache(
+            PlanConfig config,
+            Processing processing
+    ) {
+        this.config = config;
+        this.processing = processing;
+
+        tables = Caffeine.newBuilder()
+                // Unused tables are removed, they are large on big networks
+                .expireAfterAccess(5, TimeUnit.MINUTES)
+                .build();
+        currentlyCreating = new HashMap<>();
+    }
+
+    /**
+     * Get a players table.
+     *
+     * @param newerThanTimestamp Epoch ms the table should be created after, see {@link com.djrapitops.plan.identification.Identifiers#getTimestamp}.
+     * @param identifier         Identifier of the table, eg. {@link DataID#of}.
+     * @param creator            Queries the table.
+     * @return The table, older than the timestamp if a new one is still being created.
+     */
+    public Snapshot get(long newerThanTimestamp, String identifier, Supplier<PlayersTableJSONCreator> creator) {
+        Snapshot snapshot = tables.getIfPresent(identifier);
+        long updateThreshold = config.get(WebserverSettings.REDUCED_REFRESH_BARRIER);
+        if (snapshot != null && snapshot.timestamp >= newerThanTimestamp - updateThreshold) {
+            return snapshot;
+        }
+
+        Future<Snapshot> created = scheduleForUpdate(identifier, creator);
+        if (snapshot != null) return snapshot;
+        if (created == null) return new Snapshot(System.currentTimeMillis(), creator.get()); // Processing has been shut down
+
+        try {
+            snapshot = created.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating players table " + identifier, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+        if (snapshot == null) throw new IllegalStateException("Players table " + identifier + " could not be created");
+        return snapshot;
+    }
+
+    private synchronized Future<Snapshot> scheduleForUpdate(String identifier, Supplier<PlayersTableJSONCreator> creator) {
+        Future<Snapshot> created = currentlyCreating.get(identifier);
+        if (created == null || created.isDone()) {
+            created = processing.submitNonCritical(() -> create(identifier, creator));
+            currentlyCreating.put(identifier, created);
+        }
+        return created;
+    }
+
+    private Snapshot create(String identifier, Supplier<PlayersTableJSONCreator> creator) {
+        long timestamp = System.currentTimeMillis();
+        PlayersTableJSONCreator table = creator.get();
+        table.getIndex(); // Index is created here instead of on the request thread
+        Snapshot snapshot = new Snapshot(timestamp, table);
+        tables.put(identifier, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Players table and the time its queries were started.
+     */
+    public static class Snapshot {
+        private final long timestamp;
+        private final PlayersTableJSONCreator table;
+
+        Snapshot(long timestamp, PlayersTableJSONCreator table) {
+            this.timestamp = timestamp;
+            this.table = table;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public PlayersTableJSONCreator getTable() {
+            return table;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent computations so that they are performed only once.
+ * <p>
+ * The first caller with a key performs the computation on its own thread,
+ * callers with the same key that arrive before it finishes wait for and share the result.
+ * Keys should identify the resolver and the normalized parameters of the request.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class SingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> inFlight;
+
+    @Inject
+    public SingleFlight() {
+        inFlight = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Perform the computation, or wait for the same computation already in progress.
+     *
+     * @param key         Identifies the computation, same key must always produce the same type.
+     * @param computation Computation to perform.
+     * @param <T>         Type of the result.
+     * @return Result of the computation.
+     * @throws RuntimeException Any exception thrown by the computation, to every caller that shared it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> computation) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) return (T) waitFor(existing);
+
+        try {
+            T result = computation.get();
+            created.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private Object waitFor(CompletableFuture<Object> computation) {
+        try {
+            return computation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared computation", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
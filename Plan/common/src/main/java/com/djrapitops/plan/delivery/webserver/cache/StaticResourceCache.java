@@ -0,0 +1,259 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.SubSystem;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.webserver.CompressedResponseCache;
+import com.djrapitops.plan.delivery.webserver.ConditionalRequests;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.storage.file.PlanFiles;
+import net.playeranalytics.plugin.server.PluginLogger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Keeps static resources (vendor, css, js, img, fonts) extracted in a content-addressed directory.
+ * <p>
+ * Each resource is extracted once after theme and locale replacements, after which the responses only point
+ * to the file and the content is streamed from it in small chunks, so it is not kept in heap.
+ * <p>
+ * The content hash is the ETag, so browsers revalidate with a cheap '304 Not Modified'.
+ * Pages add the hash to resource URLs, and those URLs are cached by browsers without revalidation.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class StaticResourceCache implements SubSystem {
+
+    /**
+     * Internal header that marks a {@link Response} with the hash of the file the content should be sent from.
+     */
+    public static final String FILE_HEADER = "X-Plan-Static-File";
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private final PlanConfig config;
+    private final PlanFiles files;
+    private final CompressedResponseCache compressedResponseCache;
+    private final PluginLogger logger;
+
+    private final Map<String, StaticFile> byResource;
+    private final Map<String, StaticFile> byHash;
+    private final Set<String> uncached;
+    private volatile boolean writable = true;
+
+    @Inject
+    public StaticResourceCache(
+            PlanConfig config,
+            PlanFiles files,
+            CompressedResponseCache compressedResponseCache,
+            PluginLogger logger
+    ) {
+        this.config = config;
+        this.files = files;
+        this.compressedResponseCache = compressedResponseCache;
+        this.logger = logger;
+
+        byResource = new ConcurrentHashMap<>();
+        byHash = new ConcurrentHashMap<>();
+        uncached = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public void enable() {
+        // Theme and locale may have changed since last enable
+        clear();
+        writable = true;
+    }
+
+    @Override
+    public void disable() {
+        removeUnusedFiles();
+        clear();
+    }
+
+    private void clear() {
+        byResource.clear();
+        byHash.clear();
+        uncached.clear();
+    }
+
+    /**
+     * Get a response that is sent from the extracted file of the resource.
+     *
+     * @param resource Name of the resource, eg. "css/style.css"
+     * @param source   Creates the response when the resource has not been extracted yet.
+     * @return Response that points to the extracted file, or the response from the source (can be null) if it can not be extracted.
+     */
+    public Response getResponse(String resource, Supplier<Response> source) {
+        if (uncached.contains(resource)) return source.get();
+
+        StaticFile file = byResource.get(resource);
+        if (file == null) {
+            // Customized files can be edited while the server is running
+            if (config.getResourceSettings().shouldBeCustomized("Plan", resource)) {
+                uncached.add(resource);
+                return source.get();
+            }
+            Response response = source.get();
+            file = response != null ? extract(response) : null;
+            if (file == null) return response;
+            byResource.put(resource, file);
+        }
+        return file.toResponse();
+    }
+
+    /**
+     * Get the content hash of the resource, to version its URL in the pages.
+     *
+     * @param resource Name of the resource, eg. "css/style.css"
+     * @param source   Creates the response when the resource has not been extracted yet.
+     * @return Hash of the extracted file, or empty if the resource is not extracted, eg. customized files that can change.
+     */
+    public Optional<String> getHash(String resource, Supplier<Response> source) {
+        if (uncached.contains(resource)) return Optional.empty();
+        Response response = getResponse(resource, source);
+        return Optional.ofNullable(response != null ? response.getHeaders().get(FILE_HEADER) : null);
+    }
+
+    public Optional<StaticFile> getFile(String hash) {
+        if (hash == null) return Optional.empty();
+        return Optional.ofNullable(byHash.get(hash));
+    }
+
+    private StaticFile extract(Response response) {
+        byte[] bytes = response.getBytes();
+        String mimeType = response.getHeaders().get("Content-Type");
+        if (!writable || response.getCode() != 200 || bytes == null || bytes.length == 0 || mimeType == null) {
+            return null;
+        }
+
+        ByteBuffer digest = CompressedResponseCache.digest(bytes);
+        String etag = ConditionalRequests.etagOf(digest);
+        String hash = etag.substring(1, etag.length() - 1);
+        Path directory = files.getStaticResourceCacheDirectory();
+        try {
+            if (!Files.isSymbolicLink(directory)) Files.createDirectories(directory);
+            Path path = writeIfMissing(directory.resolve(hash), bytes);
+            Path gzipPath = null;
+            if (bytes.length >= CompressedResponseCache.MIN_COMPRESSED_SIZE && CompressedResponseCache.isCompressible(mimeType)) {
+                gzipPath = writeIfMissing(directory.resolve(hash + GZIP_EXTENSION), compressedResponseCache.gzip(digest, bytes));
+            }
+            StaticFile file = new StaticFile(hash, etag, mimeType, path, bytes.length, gzipPath);
+            StaticFile previous = byHash.putIfAbsent(hash, file);
+            return previous != null ? previous : file;
+        } catch (IOException e) {
+            writable = false;
+            logger.warn("Could not write a file to " + directory.toFile().getAbsolutePath() + ", static resources are served from memory: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Path writeIfMissing(Path path, byte[] bytes) throws IOException {
+        // Name is the hash of the content, so an existing file of the same size is from an earlier extraction.
+        if (Files.exists(path) && Files.size(path) == bytes.length) return path;
+
+        Path temporary = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, bytes);
+            try {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException notSupported) {
+                Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return path;
+    }
+
+    private void removeUnusedFiles() {
+        Path directory = files.getStaticResourceCacheDirectory();
+        if (!Files.isDirectory(directory)) return;
+
+        Set<Path> inUse = new HashSet<>();
+        for (StaticFile file : byHash.values()) {
+            inUse.add(file.getPath());
+            file.getGzipPath().ifPresent(inUse::add);
+        }
+        try (Stream<Path> extracted = Files.list(directory)) {
+            extracted.filter(path -> !inUse.contains(path)).forEach(this::delete);
+        } catch (IOException e) {
+            logger.warn("Could not list files in " + directory.toFile().getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    private void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete " + path.toFile().getAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Static resource that has been extracted to disk.
+     */
+    public static class StaticFile {
+        private final String hash;
+        private final String etag;
+        private final String mimeType;
+        private final Path path;
+        private final long size;
+        private final Path gzipPath;
+
+        StaticFile(String hash, String etag, String mimeType, Path path, long size, Path gzipPath) {
+            this.hash = hash;
+            this.etag = etag;
+            this.mimeType = mimeType;
+            this.path = path;
+            this.size = size;
+            this.gzipPath = gzipPath;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public Optional<Path> getGzipPath() {
+            return Optional.ofNullable(gzipPath);
+        }
+
+        Response toResponse() {
+            // Content is sent from the file, Content-Length is the size of the file.
+            return Response.builder()
+                    .setMimeType(mimeType)
+                    .setContent(new byte[0])
+                    .setHeader("Content-Length", size)
+                    .setHeader("ETag", etag)
+                    .setHeader(FILE_HEADER, hash)
+                    .build();
+        }
+    }
+}
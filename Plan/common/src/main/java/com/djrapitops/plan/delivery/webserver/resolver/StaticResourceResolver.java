@@ -19,9 +19,8 @@ package com.djrapitops.plan.delivery.webserver.resolver;
 import com.djrapitops.plan.delivery.web.resolver.NoAuthResolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
-import com.djrapitops.plan.delivery.web.resolver.request.URIPath;
 import com.djrapitops.plan.delivery.webserver.ResponseFactory;
-import org.apache.commons.lang3.StringUtils;
+import com.djrapitops.plan.delivery.webserver.cache.StaticResourceCache;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -29,16 +28,24 @@ import java.util.Optional;
 
 /**
  * Resolves all static resources for the pages.
+ * <p>
+ * URLs versioned with the content hash by the pages are cached by browsers until the content changes.
  *
  * @author AuroraLS3
  */
 @Singleton
 public class StaticResourceResolver implements NoAuthResolver {
 
+    private static final String[] RESOURCE_DIRECTORIES = {"vendor", "css", "js", "img"};
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
     private final ResponseFactory responseFactory;
 
     @Inject
-    public StaticResourceResolver(ResponseFactory responseFactory) {
+    public StaticResourceResolver(
+            ResponseFactory responseFactory
+    ) {
         this.responseFactory = responseFactory;
     }
 
@@ -48,28 +55,41 @@ public class StaticResourceResolver implements NoAuthResolver {
     }
 
     private Response getResponse(Request request) {
-        String resource = getPath(request).asString().substring(1);
-        if (resource.endsWith(".css")) {
-            return responseFactory.cssResponse(resource);
-        }
-        if (resource.endsWith(".js")) {
-            return responseFactory.javaScriptResponse(resource);
-        }
-        if (resource.endsWith(".png")) {
-            return responseFactory.imageResponse(resource);
+        String resource = getResource(request.getPath().asString());
+        if (resource == null) {
+            return null;
         }
-        if (StringUtils.endsWithAny(resource, ".woff", ".woff2", ".eot", ".ttf")) {
-            return responseFactory.fontResponse(resource);
+        Response response = responseFactory.staticResourceResponse(resource);
+        if (response != null && isCurrentVersion(request, response)) {
+            response.getHeaders().put("Cache-Control", IMMUTABLE);
         }
-        return null;
+        return response;
+    }
+
+    private static boolean isCurrentVersion(Request request, Response response) {
+        String hash = response.getHeaders().get(StaticResourceCache.FILE_HEADER);
+        return hash != null && request.getQuery().get("v").filter(hash::equals).isPresent();
     }
 
-    private URIPath getPath(Request request) {
-        URIPath path = request.getPath();
-        // Remove everything before /vendor /css /js or /img
-        while (!path.getPart(0).map(part -> part.matches("(vendor|css|js|img)")).orElse(true)) {
-            path = path.omitFirst();
+    /**
+     * Remove everything before /vendor /css /js or /img.
+     *
+     * @param path "/server/Server/css/style.css"
+     * @return "css/style.css", or null if the path has no resource directory.
+     */
+    public static String getResource(String path) {
+        int slash = path.indexOf('/');
+        while (slash != -1) {
+            int partStart = slash + 1;
+            int nextSlash = path.indexOf('/', partStart);
+            int partLength = (nextSlash != -1 ? nextSlash : path.length()) - partStart;
+            for (String directory : RESOURCE_DIRECTORIES) {
+                if (partLength == directory.length() && path.startsWith(directory, partStart)) {
+                    return path.substring(partStart);
+                }
+            }
+            slash = nextSlash;
         }
-        return path;
+        return null;
     }
-}
\ No newline at end of file
+}
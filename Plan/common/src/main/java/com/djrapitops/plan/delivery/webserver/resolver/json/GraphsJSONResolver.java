@@ -17,14 +17,15 @@
 package com.djrapitops.plan.delivery.webserver.resolver.json;
 
 import com.djrapitops.plan.delivery.rendering.json.graphs.GraphJSONCreator;
-import com.djrapitops.plan.delivery.web.resolver.MimeType;
 import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.delivery.webserver.ConditionalRequests;
 import com.djrapitops.plan.delivery.webserver.cache.AsyncJSONResolverService;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
+import com.djrapitops.plan.delivery.webserver.cache.JSONSerializer;
 import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
 import com.djrapitops.plan.identification.Identifiers;
 import com.djrapitops.plan.identification.ServerUUID;
@@ -78,11 +79,14 @@ public class GraphsJSONResolver implements Resolver {
         String type = request.getQuery().get("type")
                 .orElseThrow(() -> new BadRequestException("'type' parameter was not defined."));
 
-        DataID dataID = getDataID(type);
+        // Clients that support it can ask for the compact columnar format of time series graphs
+        boolean columnar = request.getQuery().get("format").map("columnar"::equals).orElse(false);
+        DataID dataID = getDataID(type, columnar);
 
-        return Response.builder()
-                .setMimeType(MimeType.JSON)
-                .setJSONContent(getGraphJSON(request, dataID).json)
+        JSONStorage.StoredJSON storedJSON = getGraphJSON(request, dataID);
+        return ConditionalRequests.withValidators(Response.builder()
+                        .setMimeType(JSONSerializer.CONTENT_TYPE)
+                        .setContent(storedJSON.getBytes()), storedJSON)
                 .build();
     }
 
@@ -105,12 +109,12 @@ public class GraphsJSONResolver implements Resolver {
         return storedJSON;
     }
 
-    private DataID getDataID(String type) {
+    private DataID getDataID(String type, boolean columnar) {
         switch (type) {
             case "performance":
                 return DataID.GRAPH_PERFORMANCE;
             case "optimizedPerformance":
-                return DataID.GRAPH_OPTIMIZED_PERFORMANCE;
+                return columnar ? DataID.GRAPH_OPTIMIZED_PERFORMANCE_COLUMNAR : DataID.GRAPH_OPTIMIZED_PERFORMANCE;
             case "playersOnline":
                 return DataID.GRAPH_ONLINE;
             case "uniqueAndNew":
@@ -144,6 +148,8 @@ public class GraphsJSONResolver implements Resolver {
                 return graphJSON.performanceGraphJSON(serverUUID);
             case GRAPH_OPTIMIZED_PERFORMANCE:
                 return graphJSON.optimizedPerformanceGraphJSON(serverUUID);
+            case GRAPH_OPTIMIZED_PERFORMANCE_COLUMNAR:
+                return graphJSON.optimizedPerformanceGraphColumnarJSON(serverUUID);
             case GRAPH_ONLINE:
                 return graphJSON.playersOnlineGraph(serverUUID);
             case GRAPH_UNIQUE_NEW:
@@ -0,0 +1,103 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.resolver.json;
+
+import com.djrapitops.plan.delivery.web.ResolverSvc;
+import com.djrapitops.plan.delivery.web.RouteStats;
+import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.djrapitops.plan.delivery.web.resolver.Resolver;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.extension.ExtensionGatheringScheduler;
+import com.djrapitops.plan.extension.ExtensionGatheringStats;
+import com.djrapitops.plan.utilities.java.Maps;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves /v1/metrics, latency of the web server routes and extension data gathering for troubleshooting slow pages.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class MetricsJSONResolver implements Resolver {
+
+    private final ResolverSvc resolverService;
+    private final ExtensionGatheringScheduler extensionGatheringScheduler;
+
+    @Inject
+    public MetricsJSONResolver(
+            ResolverSvc resolverService,
+            ExtensionGatheringScheduler extensionGatheringScheduler
+    ) {
+        this.resolverService = resolverService;
+        this.extensionGatheringScheduler = extensionGatheringScheduler;
+    }
+
+    @Override
+    public boolean canAccess(Request request) {
+        return request.getUser().orElse(new WebUser("")).hasPermission("page.server");
+    }
+
+    @Override
+    public Optional<Response> resolve(Request request) {
+        return Optional.of(Response.builder()
+                .setMimeType(MimeType.JSON)
+                .setJSONContent(Maps.builder(String.class, Object.class)
+                        .put("routes", getRoutes())
+                        .put("extensions", getExtensions())
+                        .build())
+                .build());
+    }
+
+    private List<Map<String, Object>> getRoutes() {
+        List<Map<String, Object>> routes = new ArrayList<>();
+        for (RouteStats stats : resolverService.getRouteStats()) {
+            routes.add(Maps.builder(String.class, Object.class)
+                    .put("plugin", stats.getPlugin())
+                    .put("route", stats.getRoute())
+                    .put("calls", stats.getCalls())
+                    .put("errors", stats.getErrors())
+                    .put("callsPerSecond", stats.getCallsPerSecond())
+                    .put("averageNanos", stats.getAverageNanos())
+                    .put("maxNanos", stats.getMaxNanos())
+                    .build());
+        }
+        return routes;
+    }
+
+    private List<Map<String, Object>> getExtensions() {
+        List<Map<String, Object>> extensions = new ArrayList<>();
+        for (ExtensionGatheringStats stats : extensionGatheringScheduler.getStats()) {
+            extensions.add(Maps.builder(String.class, Object.class)
+                    .put("plugin", stats.getPluginName())
+                    .put("calls", stats.getCalls())
+                    .put("timeouts", stats.getTimeouts())
+                    .put("averageNanos", stats.getAverageNanos())
+                    .put("maxNanos", stats.getMaxNanos())
+                    .put("disabled", stats.isDisabled())
+                    .build());
+        }
+        return extensions;
+    }
+}
@@ -17,13 +17,15 @@
 package com.djrapitops.plan.delivery.webserver.resolver.json;
 
 import com.djrapitops.plan.delivery.rendering.json.network.NetworkTabJSONCreator;
-import com.djrapitops.plan.delivery.web.resolver.MimeType;
 import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.delivery.webserver.ConditionalRequests;
 import com.djrapitops.plan.delivery.webserver.cache.AsyncJSONResolverService;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
+import com.djrapitops.plan.delivery.webserver.cache.JSONSerializer;
+import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
 import com.djrapitops.plan.identification.Identifiers;
 
 import java.util.Optional;
@@ -47,6 +49,8 @@ public class NetworkTabJSONResolver<T> implements Resolver {
         this.dataID = dataID;
         this.jsonCreator = jsonCreator;
         this.asyncJSONResolverService = asyncJSONResolverService;
+
+        asyncJSONResolverService.registerCreator(dataID, jsonCreator);
     }
 
     @Override
@@ -60,9 +64,10 @@ public class NetworkTabJSONResolver<T> implements Resolver {
     }
 
     private Response getResponse(Request request) {
-        return Response.builder()
-                .setMimeType(MimeType.JSON)
-                .setJSONContent(asyncJSONResolverService.resolve(Identifiers.getTimestamp(request), dataID, jsonCreator).json)
+        JSONStorage.StoredJSON storedJSON = asyncJSONResolverService.resolve(Identifiers.getTimestamp(request), dataID, jsonCreator);
+        return ConditionalRequests.withValidators(Response.builder()
+                        .setMimeType(JSONSerializer.CONTENT_TYPE)
+                        .setContent(storedJSON.getBytes()), storedJSON)
                 .build();
     }
 }
\ No newline at end of file
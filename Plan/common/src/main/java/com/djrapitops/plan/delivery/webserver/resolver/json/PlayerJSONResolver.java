@@ -17,16 +17,18 @@
 package com.djrapitops.plan.delivery.webserver.resolver.json;
 
 import com.djrapitops.plan.delivery.rendering.json.PlayerJSONCreator;
-import com.djrapitops.plan.delivery.web.resolver.MimeType;
 import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.delivery.webserver.cache.JSONSerializer;
+import com.djrapitops.plan.delivery.webserver.cache.SingleFlight;
 import com.djrapitops.plan.identification.Identifiers;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -35,11 +37,13 @@ public class PlayerJSONResolver implements Resolver {
 
     private final Identifiers identifiers;
     private final PlayerJSONCreator jsonCreator;
+    private final SingleFlight singleFlight;
 
     @Inject
-    public PlayerJSONResolver(Identifiers identifiers, PlayerJSONCreator jsonCreator) {
+    public PlayerJSONResolver(Identifiers identifiers, PlayerJSONCreator jsonCreator, SingleFlight singleFlight) {
         this.identifiers = identifiers;
         this.jsonCreator = jsonCreator;
+        this.singleFlight = singleFlight;
     }
 
     @Override
@@ -65,9 +69,12 @@ public class PlayerJSONResolver implements Resolver {
 
     private Response getResponse(Request request) {
         UUID playerUUID = identifiers.getPlayerUUID(request); // Can throw BadRequestException
+        // Popular player pages get many simultaneous requests, they share one load and serialization.
+        byte[] json = singleFlight.execute("player:" + playerUUID,
+                () -> JSONSerializer.toJson(jsonCreator.createJSONAsMap(playerUUID)).getBytes(StandardCharsets.UTF_8));
         return Response.builder()
-                .setMimeType(MimeType.JSON)
-                .setJSONContent(jsonCreator.createJSONAsMap(playerUUID))
+                .setMimeType(JSONSerializer.CONTENT_TYPE)
+                .setContent(json)
                 .build();
     }
 }
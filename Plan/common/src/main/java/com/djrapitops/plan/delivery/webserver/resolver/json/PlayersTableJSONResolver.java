@@ -16,43 +16,64 @@
  */
 package com.djrapitops.plan.delivery.webserver.resolver.json;
 
+import com.djrapitops.plan.delivery.formatting.Formatter;
+import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.delivery.rendering.json.JSONFactory;
-import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.djrapitops.plan.delivery.rendering.json.PlayersTableJSONCreator;
 import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.delivery.web.resolver.request.URIQuery;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.delivery.webserver.ConditionalRequests;
 import com.djrapitops.plan.delivery.webserver.cache.AsyncJSONResolverService;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
+import com.djrapitops.plan.delivery.webserver.cache.JSONSerializer;
 import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
+import com.djrapitops.plan.delivery.webserver.cache.PlayersTableCache;
 import com.djrapitops.plan.identification.Identifiers;
 import com.djrapitops.plan.identification.ServerUUID;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Resolves /v1/players JSON requests.
+ * <p>
+ * The whole table is returned unless the request has a 'start' parameter,
+ * in which case one page is returned (parameters start, length, order, dir and search).
  *
  * @author AuroraLS3
  */
 @Singleton
 public class PlayersTableJSONResolver implements Resolver {
 
+    private static final int MAX_PAGE_LENGTH = 100;
+    // Pages are sorted and searched over every player, the players table settings only limit the whole table json.
+    private static final int ALL_PLAYERS = Integer.MAX_VALUE;
+
     private final Identifiers identifiers;
     private final AsyncJSONResolverService jsonResolverService;
+    private final PlayersTableCache playersTableCache;
     private final JSONFactory jsonFactory;
+    private final Formatter<Long> dateFormatter;
 
     @Inject
     public PlayersTableJSONResolver(
             Identifiers identifiers,
             AsyncJSONResolverService jsonResolverService,
-            JSONFactory jsonFactory
+            PlayersTableCache playersTableCache,
+            JSONFactory jsonFactory,
+            Formatters formatters
     ) {
         this.identifiers = identifiers;
         this.jsonResolverService = jsonResolverService;
+        this.playersTableCache = playersTableCache;
         this.jsonFactory = jsonFactory;
+        this.dateFormatter = formatters.yearLong();
     }
 
     @Override
@@ -71,9 +92,13 @@ public class PlayersTableJSONResolver implements Resolver {
     }
 
     private Response getResponse(Request request) {
-        return Response.builder()
-                .setMimeType(MimeType.JSON)
-                .setJSONContent(getStoredJSON(request).json)
+        if (request.getQuery().get("start").isPresent()) {
+            return getPageResponse(request);
+        }
+        JSONStorage.StoredJSON storedJSON = getStoredJSON(request);
+        return ConditionalRequests.withValidators(Response.builder()
+                        .setMimeType(JSONSerializer.CONTENT_TYPE)
+                        .setContent(storedJSON.getBytes()), storedJSON)
                 .build();
     }
 
@@ -89,4 +114,47 @@ public class PlayersTableJSONResolver implements Resolver {
         }
         return storedJSON;
     }
+
+    private Response getPageResponse(Request request) {
+        URIQuery query = request.getQuery();
+        int start = getNumber(query, "start", 0);
+        int length = Math.min(getNumber(query, "length", 25), MAX_PAGE_LENGTH);
+        String sortBy = query.get("order").orElse("seen");
+        boolean descending = !"asc".equalsIgnoreCase(query.get("dir").orElse("desc"));
+        String search = query.get("search").orElse("");
+
+        PlayersTableCache.Snapshot snapshot = getTable(request);
+        PlayersTableJSONCreator table = snapshot.getTable();
+        if (!table.getIndex().isSortable(sortBy)) {
+            throw new BadRequestException("'order' was not a sortable column: " + sortBy);
+        }
+        Map<String, Object> page = table.toPageJSONMap(sortBy, descending, search, start, length);
+        page.put("timestamp", snapshot.getTimestamp());
+        page.put("timestamp_f", dateFormatter.apply(snapshot.getTimestamp()));
+        return Response.builder()
+                .setMimeType(JSONSerializer.CONTENT_TYPE)
+                .setContent(JSONSerializer.toJson(page))
+                .setHeader("Cache-Control", "no-cache")
+                .build();
+    }
+
+    private int getNumber(URIQuery query, String parameter, int defaultValue) {
+        try {
+            int value = query.get(parameter).map(Integer::parseInt).orElse(defaultValue);
+            if (value < 0) throw new BadRequestException("'" + parameter + "' was negative: " + value);
+            return value;
+        } catch (NumberFormatException notNumber) {
+            throw new BadRequestException("'" + parameter + "' was not a number: " + notNumber.getMessage());
+        }
+    }
+
+    private PlayersTableCache.Snapshot getTable(Request request) {
+        long timestamp = Identifiers.getTimestamp(request);
+        if (request.getQuery().get("server").isPresent()) {
+            ServerUUID serverUUID = identifiers.getServerUUID(request); // Can throw BadRequestException
+            return playersTableCache.get(timestamp, DataID.PLAYERS.of(serverUUID), () -> jsonFactory.serverPlayersTable(serverUUID, ALL_PLAYERS));
+        }
+        // Assume players page
+        return playersTableCache.get(timestamp, DataID.PLAYERS.name(), () -> jsonFactory.networkPlayersTable(ALL_PLAYERS));
+    }
 }
\ No newline at end of file
@@ -21,13 +21,14 @@ import com.djrapitops.plan.delivery.formatting.Formatter;
 import com.djrapitops.plan.delivery.formatting.Formatters;
 import com.djrapitops.plan.delivery.rendering.json.PlayersTableJSONCreator;
 import com.djrapitops.plan.delivery.rendering.json.graphs.GraphJSONCreator;
-import com.djrapitops.plan.delivery.web.resolver.MimeType;
 import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.exception.BadRequestException;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.delivery.webserver.cache.JSONSerializer;
 import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
+import com.djrapitops.plan.delivery.webserver.cache.SingleFlight;
 import com.djrapitops.plan.extension.implementation.storage.queries.ExtensionQueryResultTableDataQuery;
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.settings.config.PlanConfig;
@@ -67,6 +68,7 @@ public class QueryJSONResolver implements Resolver {
     private final GraphJSONCreator graphJSONCreator;
     private final Locale locale;
     private final Formatters formatters;
+    private final SingleFlight singleFlight;
 
     @Inject
     public QueryJSONResolver(
@@ -76,7 +78,8 @@ public class QueryJSONResolver implements Resolver {
             ServerInfo serverInfo, JSONStorage jsonStorage,
             GraphJSONCreator graphJSONCreator,
             Locale locale,
-            Formatters formatters
+            Formatters formatters,
+            SingleFlight singleFlight
     ) {
         this.filters = filters;
         this.config = config;
@@ -86,6 +89,7 @@ public class QueryJSONResolver implements Resolver {
         this.graphJSONCreator = graphJSONCreator;
         this.locale = locale;
         this.formatters = formatters;
+        this.singleFlight = singleFlight;
     }
 
     @Override
@@ -108,14 +112,29 @@ public class QueryJSONResolver implements Resolver {
 
         try {
             String query = URLDecoder.decode(q, "UTF-8");
+            // Identical queries made at the same time are only run once.
+            JSONStorage.StoredJSON stored = singleFlight.execute("query:" + query + ':' + view,
+                    () -> runAndStoreQuery(query, view));
+
+            return Response.builder()
+                    .setMimeType(JSONSerializer.CONTENT_TYPE)
+                    .setContent(stored.getBytes())
+                    .build();
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to decode json: '" + q + "', " + e.getMessage());
+        }
+    }
+
+    private JSONStorage.StoredJSON runAndStoreQuery(String query, String view) {
+        try {
             List<SpecifiedFilterInformation> queries = SpecifiedFilterInformation.parse(query);
             Filter.Result result = filters.apply(queries);
             List<Filter.ResultPath> resultPath = result.getInverseResultPath();
             Collections.reverse(resultPath);
 
-            return buildAndStoreResponse(view, result, resultPath);
+            return storeResult(view, result, resultPath);
         } catch (IOException e) {
-            throw new BadRequestException("Failed to decode json: '" + q + "', " + e.getMessage());
+            throw new BadRequestException("Failed to decode json: '" + query + "', " + e.getMessage());
         }
     }
 
@@ -124,15 +143,15 @@ public class QueryJSONResolver implements Resolver {
             return request.getQuery().get("timestamp")
                     .flatMap(queryTimestamp -> jsonStorage.fetchExactJson("query", Long.parseLong(queryTimestamp)))
                     .map(results -> Response.builder()
-                            .setMimeType(MimeType.JSON)
-                            .setJSONContent(results.json)
+                            .setMimeType(JSONSerializer.CONTENT_TYPE)
+                            .setContent(results.getBytes())
                             .build());
         } catch (NumberFormatException e) {
             throw new BadRequestException("Could not parse 'timestamp' into a number. Remove parameter or fix it.");
         }
     }
 
-    private Response buildAndStoreResponse(String view, Filter.Result result, List<Filter.ResultPath> resultPath) {
+    private JSONStorage.StoredJSON storeResult(String view, Filter.Result result, List<Filter.ResultPath> resultPath) {
         try {
             long timestamp = System.currentTimeMillis();
             Map<String, Object> json = Maps.builder(String.class, Object.class)
@@ -144,12 +163,7 @@ public class QueryJSONResolver implements Resolver {
                 json.put("data", getDataFor(result.getResultUUIDs(), view));
             }
 
-            JSONStorage.StoredJSON stored = jsonStorage.storeJson("query", json, timestamp);
-
-            return Response.builder()
-                    .setMimeType(MimeType.JSON)
-                    .setJSONContent(stored.json)
-                    .build();
+            return jsonStorage.storeJson("query", json, timestamp);
         } catch (ParseException e) {
             throw new BadRequestException("'view' date format was incorrect (expecting afterDate dd/mm/yyyy, afterTime hh:mm, beforeDate dd/mm/yyyy, beforeTime hh:mm}): " + e.getMessage());
         }
@@ -54,11 +54,13 @@ public class RootJSONResolver {
             PlayerBaseOverviewJSONCreator playerBaseOverviewJSONCreator,
             PerformanceJSONCreator performanceJSONCreator,
             ErrorsJSONResolver errorsJSONResolver,
+            MetricsJSONResolver metricsJSONResolver,
 
             PlayerJSONResolver playerJSONResolver,
             NetworkJSONResolver networkJSONResolver,
             FiltersJSONResolver filtersJSONResolver,
-            QueryJSONResolver queryJSONResolver
+            QueryJSONResolver queryJSONResolver,
+            UpdateEventsResolver updateEventsResolver
     ) {
         this.identifiers = identifiers;
         this.asyncJSONResolverService = asyncJSONResolverService;
@@ -80,6 +82,8 @@ public class RootJSONResolver {
                 .add("filters", filtersJSONResolver)
                 .add("query", queryJSONResolver)
                 .add("errors", errorsJSONResolver)
+                .add("metrics", metricsJSONResolver)
+                .add("events", updateEventsResolver)
                 .build();
     }
 
@@ -17,13 +17,15 @@
 package com.djrapitops.plan.delivery.webserver.resolver.json;
 
 import com.djrapitops.plan.delivery.rendering.json.ServerTabJSONCreator;
-import com.djrapitops.plan.delivery.web.resolver.MimeType;
 import com.djrapitops.plan.delivery.web.resolver.Resolver;
 import com.djrapitops.plan.delivery.web.resolver.Response;
 import com.djrapitops.plan.delivery.web.resolver.request.Request;
 import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.delivery.webserver.ConditionalRequests;
 import com.djrapitops.plan.delivery.webserver.cache.AsyncJSONResolverService;
 import com.djrapitops.plan.delivery.webserver.cache.DataID;
+import com.djrapitops.plan.delivery.webserver.cache.JSONSerializer;
+import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
 import com.djrapitops.plan.identification.Identifiers;
 import com.djrapitops.plan.identification.ServerUUID;
 
@@ -50,6 +52,8 @@ public class ServerTabJSONResolver<T> implements Resolver {
         this.identifiers = identifiers;
         this.jsonCreator = jsonCreator;
         this.asyncJSONResolverService = asyncJSONResolverService;
+
+        asyncJSONResolverService.registerCreator(dataID, jsonCreator);
     }
 
     @Override
@@ -64,9 +68,10 @@ public class ServerTabJSONResolver<T> implements Resolver {
 
     private Response getResponse(Request request) {
         ServerUUID serverUUID = identifiers.getServerUUID(request); // Can throw BadRequestException
-        return Response.builder()
-                .setMimeType(MimeType.JSON)
-                .setJSONContent(asyncJSONResolverService.resolve(Identifiers.getTimestamp(request), dataID, serverUUID, jsonCreator).json)
+        JSONStorage.StoredJSON storedJSON = asyncJSONResolverService.resolve(Identifiers.getTimestamp(request), dataID, serverUUID, jsonCreator);
+        return ConditionalRequests.withValidators(Response.builder()
+                        .setMimeType(JSONSerializer.CONTENT_TYPE)
+                        .setContent(storedJSON.getBytes()), storedJSON)
                 .build();
     }
 }
\ No newline at end of file
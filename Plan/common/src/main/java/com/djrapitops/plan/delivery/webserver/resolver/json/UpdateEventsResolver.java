@@ -0,0 +1,88 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.resolver.json;
+
+import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.djrapitops.plan.delivery.web.resolver.Resolver;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.delivery.webserver.DataUpdateEvents;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resolves /v1/events, the Server-Sent Events stream of {@link DataUpdateEvents}.
+ * <p>
+ * The response only starts the stream, RequestHandler hands the connection over to {@link DataUpdateEvents}.
+ * Subscribers only receive events about json their permissions allow them to see,
+ * or all events when the webserver does not require users to log in.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class UpdateEventsResolver implements Resolver {
+
+    private static final long RECONNECT_DELAY_MS = 10000L;
+
+    private final DataUpdateEvents dataUpdateEvents;
+
+    @Inject
+    public UpdateEventsResolver(DataUpdateEvents dataUpdateEvents) {
+        this.dataUpdateEvents = dataUpdateEvents;
+    }
+
+    @Override
+    public boolean canAccess(Request request) {
+        return !getScopes(request.getUser().orElse(new WebUser(""))).isEmpty();
+    }
+
+    private static List<String> getScopes(WebUser user) {
+        // Same permissions as the pages and json that the events are about.
+        List<String> scopes = new ArrayList<>();
+        if (user.hasPermission("page.server")) scopes.add(DataUpdateEvents.SERVER_SCOPE);
+        if (user.hasPermission("page.network")) scopes.add(DataUpdateEvents.NETWORK_SCOPE);
+        if (user.hasPermission("page.players")) scopes.add(DataUpdateEvents.PLAYERS_SCOPE);
+        return scopes;
+    }
+
+    @Override
+    public Optional<Response> resolve(Request request) {
+        if (!dataUpdateEvents.isAcceptingSubscribers()) {
+            return Optional.of(Response.builder()
+                    .setMimeType(MimeType.HTML)
+                    .setContent("<h1>503 Service Unavailable</h1><p>Too many pages are listening to updates.</p>")
+                    .setStatus(503)
+                    .build());
+        }
+        // No user when authentication is not required, then every page can be seen.
+        List<String> scopes = request.getUser()
+                .map(UpdateEventsResolver::getScopes)
+                .orElseGet(() -> Arrays.asList(DataUpdateEvents.SERVER_SCOPE, DataUpdateEvents.NETWORK_SCOPE, DataUpdateEvents.PLAYERS_SCOPE));
+        return Optional.of(Response.builder()
+                .setMimeType(DataUpdateEvents.CONTENT_TYPE)
+                .setHeader(DataUpdateEvents.SCOPES_HEADER, String.join(",", scopes))
+                .setContent("retry: " + RECONNECT_DELAY_MS + "\n\n")
+                .setStatus(200)
+                .build());
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension;
+
+import com.djrapitops.plan.SubSystem;
+import com.djrapitops.plan.extension.implementation.providers.gathering.DataValueGatherer;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.TimeSettings;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import net.playeranalytics.plugin.server.PluginLogger;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Fans out {@link DataValueGatherer} calls of different extensions in parallel.
+ * <p>
+ * Each extension gets the same timeout, so one slow extension no longer delays the others.
+ * Calls that do not finish in time are cancelled and interrupted.
+ * An extension that times out too many times in a row is disabled until next reload.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class ExtensionGatheringScheduler implements SubSystem {
+
+    static final int TIMEOUTS_UNTIL_DISABLE = 3;
+    private static final int THREAD_COUNT = 4;
+
+    private final PlanConfig config;
+    private final PluginLogger logger;
+    private final ErrorLogger errorLogger;
+
+    private final Map<String, ExtensionGatheringStats> stats;
+    private volatile ExecutorService executor;
+
+    @Inject
+    public ExtensionGatheringScheduler(
+            PlanConfig config,
+            PluginLogger logger,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.logger = logger;
+        this.errorLogger = errorLogger;
+
+        stats = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public synchronized void enable() {
+        if (executor != null) return;
+        executor = Executors.newFixedThreadPool(THREAD_COUNT, new BasicThreadFactory.Builder()
+                .namingPattern("Plan Extension-pool-%d")
+                .daemon(true)
+                .uncaughtExceptionHandler((thread, throwable) ->
+                        errorLogger.warn(throwable, ErrorContext.builder().build())
+                ).build());
+    }
+
+    @Override
+    public synchronized void disable() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public ExtensionGatheringStats getStats(String pluginName) {
+        return stats.computeIfAbsent(pluginName, ExtensionGatheringStats::new);
+    }
+
+    public Collection<ExtensionGatheringStats> getStats() {
+        return Collections.unmodifiableCollection(stats.values());
+    }
+
+    void resetStats(String pluginName) {
+        stats.remove(pluginName);
+    }
+
+    public boolean isDisabled(DataValueGatherer gatherer) {
+        return getStats(gatherer.getPluginName()).isDisabled();
+    }
+
+    /**
+     * Run gathering for each gatherer in parallel and wait until they finish or time out.
+     * <p>
+     * Nothing is gathered while the scheduler is disabled.
+     *
+     * @param gatherers Gatherers to run.
+     * @param gathering What to do with each gatherer.
+     */
+    public void gatherAll(Collection<DataValueGatherer> gatherers, Consumer<DataValueGatherer> gathering) {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.get(TimeSettings.EXTENSION_GATHERING_TIMEOUT));
+        ExecutorService pool = executor;
+        if (pool == null) return;
+
+        List<Running> running = new ArrayList<>();
+        for (DataValueGatherer gatherer : gatherers) {
+            ExtensionGatheringStats extensionStats = getStats(gatherer.getPluginName());
+            if (extensionStats.isDisabled()) continue;
+
+            AtomicLong startedAt = new AtomicLong(0L);
+            Future<?> future;
+            try {
+                future = pool.submit(() -> {
+                    long start = System.nanoTime();
+                    startedAt.set(start);
+                    try {
+                        gathering.accept(gatherer);
+                    } finally {
+                        extensionStats.recordCall(System.nanoTime() - start, timeoutNanos);
+                    }
+                });
+            } catch (RejectedExecutionException disabledInBetween) {
+                break;
+            }
+            running.add(new Running(extensionStats, future, startedAt));
+        }
+
+        // Calls queued behind slow extensions get their timeout from the moment they start,
+        // but the caller never waits longer than it would take to run every call with full timeout.
+        long waitRounds = (running.size() + THREAD_COUNT - 1) / THREAD_COUNT + 1L;
+        long giveUpAt = System.nanoTime() + timeoutNanos * waitRounds;
+        for (Running call : running) {
+            try {
+                waitFor(call, timeoutNanos, giveUpAt);
+            } catch (ExecutionException e) {
+                errorLogger.warn(e.getCause(), ErrorContext.builder()
+                        .whatToDo("Report and/or disable " + call.stats.getPluginName() + " extension in the Plan config.")
+                        .related(call.stats.getPluginName()).build());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void waitFor(Running call, long timeoutNanos, long giveUpAt) throws ExecutionException, InterruptedException {
+        while (true) {
+            long now = System.nanoTime();
+            long startedAt = call.startedAt.get();
+            long waitUntil = startedAt != 0L ? startedAt + timeoutNanos : Math.min(now + timeoutNanos, giveUpAt);
+            try {
+                call.future.get(Math.max(0L, waitUntil - now), TimeUnit.NANOSECONDS);
+                return;
+            } catch (TimeoutException e) {
+                long started = call.startedAt.get();
+                if (started != 0L && System.nanoTime() - started >= timeoutNanos) {
+                    handleTimeout(call);
+                    return;
+                }
+                if (System.nanoTime() >= giveUpAt) {
+                    // Held up by slow calls of other extensions, so this is not counted against this extension.
+                    call.future.cancel(true);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handleTimeout(Running call) {
+        call.future.cancel(true);
+        int timeoutsInRow = call.stats.recordTimeout();
+        if (timeoutsInRow >= TIMEOUTS_UNTIL_DISABLE && !call.stats.isDisabled()) {
+            call.stats.disable();
+            logger.warn("Disabled extension " + call.stats.getPluginName() + " until next reload, it took longer than " +
+                    config.get(TimeSettings.EXTENSION_GATHERING_TIMEOUT) + "ms to gather data " + timeoutsInRow + " times in a row.");
+        }
+    }
+
+    private static class Running {
+        private final ExtensionGatheringStats stats;
+        private final Future<?> future;
+        private final AtomicLong startedAt;
+
+        private Running(ExtensionGatheringStats stats, Future<?> future, AtomicLong startedAt) {
+            this.stats = stats;
+            this.future = future;
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency statistics and circuit breaker state of a single {@link DataExtension}.
+ *
+ * @author AuroraLS3
+ */
+public class ExtensionGatheringStats {
+
+    private final String pluginName;
+
+    private final LongAdder calls;
+    private final LongAdder totalNanos;
+    private final AtomicLong maxNanos;
+    private final LongAdder timeouts;
+    private final AtomicInteger consecutiveTimeouts;
+    private volatile boolean disabled;
+
+    public ExtensionGatheringStats(String pluginName) {
+        this.pluginName = pluginName;
+        calls = new LongAdder();
+        totalNanos = new LongAdder();
+        maxNanos = new AtomicLong();
+        timeouts = new LongAdder();
+        consecutiveTimeouts = new AtomicInteger();
+        disabled = false;
+    }
+
+    void recordCall(long tookNanos, long timeoutNanos) {
+        calls.increment();
+        totalNanos.add(tookNanos);
+        maxNanos.accumulateAndGet(tookNanos, Math::max);
+        if (tookNanos <= timeoutNanos) {
+            consecutiveTimeouts.set(0);
+        }
+    }
+
+    /**
+     * Record that the extension did not finish in time.
+     *
+     * @return How many times in a row the extension has not finished in time.
+     */
+    int recordTimeout() {
+        timeouts.increment();
+        return consecutiveTimeouts.incrementAndGet();
+    }
+
+    void disable() {
+        disabled = true;
+    }
+
+    public boolean isDisabled() {
+        return disabled;
+    }
+
+    public String getPluginName() {
+        return pluginName;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getAverageNanos() {
+        long callCount = getCalls();
+        return callCount != 0 ? totalNanos.sum() / callCount : 0L;
+    }
+
+    @Override
+    public String toString() {
+        return "ExtensionGatheringStats{" +
+                "pluginName='" + pluginName + '\'' +
+                ", calls=" + getCalls() +
+                ", averageNanos=" + getAverageNanos() +
+                ", maxNanos=" + getMaxNanos() +
+                ", timeouts=" + getTimeouts() +
+                ", disabled=" + disabled +
+                '}';
+    }
+}
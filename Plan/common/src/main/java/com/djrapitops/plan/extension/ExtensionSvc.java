@@ -25,6 +25,7 @@ import com.djrapitops.plan.extension.implementation.providers.gathering.DataValu
 import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.identification.UUIDUtility;
 import com.djrapitops.plan.processing.Processing;
+import com.djrapitops.plan.query.QuerySvc;
 import com.djrapitops.plan.settings.config.ExtensionSettings;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.storage.database.DBSystem;
@@ -35,10 +36,11 @@ import net.playeranalytics.plugin.server.PluginLogger;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementation for {@link ExtensionService}.
@@ -52,7 +54,9 @@ public class ExtensionSvc implements ExtensionService {
     private final DBSystem dbSystem;
     private final ServerInfo serverInfo;
     private final Processing processing;
+    private final ExtensionGatheringScheduler gatheringScheduler;
     private final ExtensionRegister extensionRegister;
+    private final QuerySvc queryService;
     private final UUIDUtility uuidUtility;
     private final PluginLogger logger;
     private final ErrorLogger errorLogger;
@@ -65,7 +69,9 @@ public class ExtensionSvc implements ExtensionService {
             DBSystem dbSystem,
             ServerInfo serverInfo,
             Processing processing,
+            ExtensionGatheringScheduler gatheringScheduler,
             ExtensionRegister extensionRegister,
+            QuerySvc queryService,
             UUIDUtility uuidUtility,
             PluginLogger logger,
             ErrorLogger errorLogger
@@ -74,16 +80,27 @@ public class ExtensionSvc implements ExtensionService {
         this.dbSystem = dbSystem;
         this.serverInfo = serverInfo;
         this.processing = processing;
+        this.gatheringScheduler = gatheringScheduler;
         this.extensionRegister = extensionRegister;
+        this.queryService = queryService;
         this.uuidUtility = uuidUtility;
         this.logger = logger;
         this.errorLogger = errorLogger;
 
-        extensionGatherers = new HashMap<>();
+        extensionGatherers = new ConcurrentHashMap<>();
     }
 
     public void register() {
         Holder.set(this);
+        // Gatherers skip storing providers and values they have stored before, removed data needs to be stored again.
+        queryService.subscribeToPlayerRemoveEvent(playerUUID -> forgetStoredData());
+        queryService.subscribeDataClearEvent(this::forgetStoredData);
+    }
+
+    private void forgetStoredData() {
+        for (DataValueGatherer gatherer : extensionGatherers.values()) {
+            gatherer.forgetStoredData();
+        }
     }
 
     public void registerExtensions() {
@@ -115,6 +132,7 @@ public class ExtensionSvc implements ExtensionService {
         DataValueGatherer gatherer = new DataValueGatherer(extension, dbSystem, serverInfo, errorLogger);
         gatherer.storeExtensionInformation();
         extensionGatherers.put(pluginName, gatherer);
+        gatheringScheduler.resetStats(pluginName);
 
         processing.submitNonCritical(() -> updateServerValues(gatherer, CallEvents.SERVER_EXTENSION_REGISTER));
 
@@ -124,7 +142,9 @@ public class ExtensionSvc implements ExtensionService {
 
     @Override
     public void unregister(DataExtension extension) {
-        extensionGatherers.remove(extension.getPluginName());
+        DataValueGatherer gatherer = extensionGatherers.remove(extension.getPluginName());
+        // Callers of the extension can still use the gatherer.
+        if (gatherer != null) gatherer.forgetStoredData();
     }
 
     @Override
@@ -152,13 +172,13 @@ public class ExtensionSvc implements ExtensionService {
     }
 
     public void updatePlayerValues(UUID playerUUID, String playerName, CallEvents event) {
-        for (DataValueGatherer gatherer : extensionGatherers.values()) {
-            updatePlayerValues(gatherer, playerUUID, playerName, event);
-        }
+        gatheringScheduler.gatherAll(new ArrayList<>(extensionGatherers.values()),
+                gatherer -> updatePlayerValues(gatherer, playerUUID, playerName, event));
     }
 
     public void updatePlayerValues(DataValueGatherer gatherer, UUID playerUUID, String playerName, CallEvents event) {
         if (gatherer.shouldSkipEvent(event)) return;
+        if (gatheringScheduler.isDisabled(gatherer)) return;
         if (playerUUID == null && playerName == null) return;
 
         UUID realUUID = playerUUID != null ? playerUUID : uuidUtility.getUUIDOf(playerName);
@@ -172,13 +192,13 @@ public class ExtensionSvc implements ExtensionService {
     }
 
     public void updateServerValues(CallEvents event) {
-        for (DataValueGatherer gatherer : extensionGatherers.values()) {
-            updateServerValues(gatherer, event);
-        }
+        gatheringScheduler.gatherAll(new ArrayList<>(extensionGatherers.values()),
+                gatherer -> updateServerValues(gatherer, event));
     }
 
     public void updateServerValues(DataValueGatherer gatherer, CallEvents event) {
         if (gatherer.shouldSkipEvent(event)) return;
+        if (gatheringScheduler.isDisabled(gatherer)) return;
 
         gatherer.updateValues();
     }
@@ -21,48 +21,97 @@ import com.djrapitops.plan.extension.DataExtension;
 import com.djrapitops.plan.extension.NotReadyException;
 import com.djrapitops.plan.extension.implementation.MethodType;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
  * Wrap a Method so that it is easier to call.
+ * <p>
+ * The method is compiled into a {@link MethodHandle} once when the wrapper is created,
+ * so that calling it does not go through {@link Method#invoke(Object, Object...)} every time.
  *
  * @author AuroraLS3
  */
 public class MethodWrapper<T> {
 
+    private static final java.lang.invoke.MethodType NO_PARAMETER_TYPE
+            = java.lang.invoke.MethodType.methodType(Object.class, DataExtension.class);
+    private static final java.lang.invoke.MethodType ONE_PARAMETER_TYPE
+            = java.lang.invoke.MethodType.methodType(Object.class, DataExtension.class, Object.class);
+
     private final Method method;
     private final Class<T> returnType;
     private final MethodType methodType;
+    private final Class<?> parameterType; // null if the method has no parameters
+    private final MethodHandle handle; // null if the method could not be accessed
+    private final IllegalAccessException accessFailure;
     private boolean disabled = false;
 
     public MethodWrapper(Method method, Class<T> returnType) {
         this.method = method;
         this.returnType = returnType;
         methodType = MethodType.forMethod(this.method);
+
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        parameterType = parameterTypes.length > 0 ? parameterTypes[0] : null;
+
+        MethodHandle compiled = null;
+        IllegalAccessException failure = null;
+        try {
+            compiled = MethodHandles.lookup().unreflect(method)
+                    .asType(parameterType != null ? ONE_PARAMETER_TYPE : NO_PARAMETER_TYPE);
+        } catch (IllegalAccessException e) {
+            failure = e;
+        }
+        handle = compiled;
+        accessFailure = failure;
     }
 
     public T callMethod(DataExtension extension, Parameters with) {
         if (disabled) return null;
+        if (handle == null) {
+            throw new DataExtensionMethodCallException(extension.getPluginName() + '.' + getMethodName() + " could not be accessed: " + accessFailure.getMessage(), accessFailure, extension.getPluginName(), getMethodName());
+        }
         try {
-            return returnType.cast(with.usingOn(extension, method));
-        } catch (InvocationTargetException notReadyToBeCalled) {
-            Throwable cause = notReadyToBeCalled.getCause();
-            if (cause instanceof NotReadyException || cause instanceof UnsupportedOperationException) {
-                return null; // Data or API not available to make the call.
-            } else {
-                throw new DataExtensionMethodCallException(getErrorMessage(extension, notReadyToBeCalled), notReadyToBeCalled, extension.getPluginName(), getMethodName());
-            }
-        } catch (IllegalAccessException e) {
-            throw new DataExtensionMethodCallException(extension.getPluginName() + '.' + getMethodName() + " could not be accessed: " + e.getMessage(), e, extension.getPluginName(), getMethodName());
+            return returnType.cast(with.usingOn(extension, this));
+        } catch (NotReadyException | UnsupportedOperationException notReadyToBeCalled) {
+            return null; // Data or API not available to make the call.
+        } catch (Throwable e) {
+            throw new DataExtensionMethodCallException(getErrorMessage(extension, e), e, extension.getPluginName(), getMethodName());
         }
     }
 
-    private String getErrorMessage(DataExtension extension, InvocationTargetException e) {
-        Optional<Throwable> actualCause = Optional.ofNullable(e.getCause()); // InvocationTargetException
-        return extension.getPluginName() + '.' + getMethodName() + " errored: " + actualCause.orElse(e).toString();
+    private String getErrorMessage(DataExtension extension, Throwable e) {
+        return extension.getPluginName() + '.' + getMethodName() + " errored: " + e.toString();
+    }
+
+    /**
+     * Invoke a method that has no parameters.
+     *
+     * @param extension Extension to call the method on.
+     * @return Returned value.
+     * @throws Throwable Anything the method throws, as is.
+     */
+    Object invoke(DataExtension extension) throws Throwable {
+        return (Object) handle.invokeExact(extension);
+    }
+
+    /**
+     * Invoke a method that has one parameter.
+     *
+     * @param extension Extension to call the method on.
+     * @param parameter Parameter of the type given by {@link #getParameterType()}.
+     * @return Returned value.
+     * @throws Throwable Anything the method throws, as is.
+     */
+    Object invoke(DataExtension extension, Object parameter) throws Throwable {
+        return (Object) handle.invokeExact(extension, parameter);
+    }
+
+    Class<?> getParameterType() {
+        return parameterType;
     }
 
     public String getMethodName() {
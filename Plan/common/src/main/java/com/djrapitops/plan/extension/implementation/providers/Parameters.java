@@ -21,8 +21,6 @@ import com.djrapitops.plan.extension.Group;
 import com.djrapitops.plan.extension.implementation.MethodType;
 import com.djrapitops.plan.identification.ServerUUID;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.UUID;
 
 public interface Parameters {
@@ -38,7 +36,7 @@ public interface Parameters {
         return new GroupParameters(serverUUID, groupName);
     }
 
-    Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException;
+    Object usingOn(DataExtension extension, MethodWrapper<?> method) throws Throwable;
 
     MethodType getMethodType();
 
@@ -60,7 +58,7 @@ public interface Parameters {
         }
 
         @Override
-        public Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException {
+        public Object usingOn(DataExtension extension, MethodWrapper<?> method) throws Throwable {
             return method.invoke(extension);
         }
 
@@ -91,8 +89,8 @@ public interface Parameters {
         }
 
         @Override
-        public Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException {
-            Class<?> parameterType = method.getParameterTypes()[0];
+        public Object usingOn(DataExtension extension, MethodWrapper<?> method) throws Throwable {
+            Class<?> parameterType = method.getParameterType();
             if (UUID.class.equals(parameterType)) {
                 return method.invoke(extension, playerUUID);
             } else {
@@ -120,7 +118,7 @@ public interface Parameters {
         }
 
         @Override
-        public Object usingOn(DataExtension extension, Method method) throws InvocationTargetException, IllegalAccessException {
+        public Object usingOn(DataExtension extension, MethodWrapper<?> method) throws Throwable {
             Group group = this::getGroupName;
             return method.invoke(extension, group);
         }
@@ -31,6 +31,7 @@ import com.djrapitops.plan.extension.implementation.TabInformation;
 import com.djrapitops.plan.extension.implementation.builder.*;
 import com.djrapitops.plan.extension.implementation.providers.MethodWrapper;
 import com.djrapitops.plan.extension.implementation.providers.Parameters;
+import com.djrapitops.plan.extension.implementation.storage.transactions.StoreExtensionDataTransaction;
 import com.djrapitops.plan.extension.implementation.storage.transactions.StoreIconTransaction;
 import com.djrapitops.plan.extension.implementation.storage.transactions.StorePluginTransaction;
 import com.djrapitops.plan.extension.implementation.storage.transactions.StoreTabInformationTransaction;
@@ -42,13 +43,13 @@ import com.djrapitops.plan.identification.ServerInfo;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Object that can be called to place data about players to the database.
@@ -57,6 +58,8 @@ import java.util.UUID;
  */
 public class DataValueGatherer {
 
+    private static final long FULL_SERVER_WRITE_INTERVAL_MS = TimeUnit.HOURS.toMillis(1L);
+
     private final CallEvents[] callEvents;
     private final ExtensionWrapper extension;
     private final DBSystem dbSystem;
@@ -64,6 +67,11 @@ public class DataValueGatherer {
     private final ErrorLogger errorLogger;
 
     private final Set<ExtensionMethod> brokenMethods;
+    private final Map<ExtensionMethod, MethodWrapper<?>> methodWrappers;
+    // Provider name -> fields of the stored provider information, to skip storing it again when unchanged.
+    private final Map<String, List<Object>> storedProviders;
+    private final StoredServerValues storedServerValues;
+    private volatile long lastFullServerWrite;
 
     public DataValueGatherer(
             ExtensionWrapper extension,
@@ -78,6 +86,10 @@ public class DataValueGatherer {
         this.errorLogger = errorLogger;
 
         this.brokenMethods = new HashSet<>();
+        this.methodWrappers = new ConcurrentHashMap<>();
+        this.storedProviders = new ConcurrentHashMap<>();
+        this.storedServerValues = new StoredServerValues();
+        this.lastFullServerWrite = System.currentTimeMillis();
     }
 
     public boolean shouldSkipEvent(CallEvents event) {
@@ -284,7 +296,7 @@ public class DataValueGatherer {
 
     private <T> T callMethod(ExtensionMethod provider, Parameters params, Class<T> returnType) {
         try {
-            return new MethodWrapper<>(provider.getMethod(), returnType)
+            return getMethodWrapper(provider, returnType)
                     .callMethod(extension.getExtension(), params);
         } catch (DataExtensionMethodCallException e) {
             brokenMethods.add(provider);
@@ -292,6 +304,16 @@ public class DataValueGatherer {
         }
     }
 
+    @SuppressWarnings("unchecked") // Each provider method is always called with the same return type.
+    private <T> MethodWrapper<T> getMethodWrapper(ExtensionMethod provider, Class<T> returnType) {
+        MethodWrapper<?> wrapper = methodWrappers.get(provider);
+        if (wrapper == null || wrapper.getReturnType() != returnType) {
+            wrapper = new MethodWrapper<>(provider.getMethod(), returnType);
+            methodWrappers.put(provider, wrapper);
+        }
+        return (MethodWrapper<T>) wrapper;
+    }
+
     public void updateValues(UUID playerUUID, String playerName) {
         Parameters parameters = Parameters.player(serverInfo.getServerUUID(), playerUUID, playerName);
         ExtensionDataBuilder dataBuilder = extension.getExtension().newExtensionDataBuilder();
@@ -299,37 +321,58 @@ public class DataValueGatherer {
         addValuesToBuilder(dataBuilder, extension.getMethods().get(ExtensionMethod.ParameterType.PLAYER_STRING), parameters);
         addValuesToBuilder(dataBuilder, extension.getMethods().get(ExtensionMethod.ParameterType.PLAYER_UUID), parameters);
 
-        gatherPlayer(parameters, (ExtDataBuilder) dataBuilder);
+        StoreExtensionDataTransaction batch = new StoreExtensionDataTransaction();
+        gatherPlayer(batch, parameters, (ExtDataBuilder) dataBuilder);
 
-        dbSystem.getDatabase().executeTransaction(new RemoveInvalidResultsTransaction(extension.getPluginName(), serverInfo.getServerUUID(), ((ExtDataBuilder) dataBuilder).getInvalidatedValues()));
+        Collection<String> invalidatedValues = ((ExtDataBuilder) dataBuilder).getInvalidatedValues();
+        if (!invalidatedValues.isEmpty()) {
+            batch.add(new RemoveInvalidResultsTransaction(extension.getPluginName(), serverInfo.getServerUUID(), invalidatedValues))
+                    .afterCommit(() -> forgetStoredProviders(invalidatedValues));
+        }
+        storeBatch(batch);
     }
 
     public void updateValues() {
+        long now = System.currentTimeMillis();
+        if (now - lastFullServerWrite > FULL_SERVER_WRITE_INTERVAL_MS) {
+            // Unchanged values are written again once in a while in case they were removed from the database.
+            storedServerValues.clear();
+            lastFullServerWrite = now;
+        }
+
         Parameters parameters = Parameters.server(serverInfo.getServerUUID());
         ExtensionDataBuilder dataBuilder = extension.getExtension().newExtensionDataBuilder();
 
         addValuesToBuilder(dataBuilder, extension.getMethods().get(ExtensionMethod.ParameterType.SERVER_NONE), parameters);
 
-        gather(parameters, (ExtDataBuilder) dataBuilder);
+        StoreExtensionDataTransaction batch = new StoreExtensionDataTransaction();
+        gather(batch, parameters, (ExtDataBuilder) dataBuilder);
+        storeBatch(batch);
+    }
+
+    private void storeBatch(StoreExtensionDataTransaction batch) {
+        if (!batch.isEmpty()) {
+            dbSystem.getDatabase().executeTransaction(batch);
+        }
     }
 
 
-    private void gatherPlayer(Parameters parameters, ExtDataBuilder dataBuilder) {
+    private void gatherPlayer(StoreExtensionDataTransaction batch, Parameters parameters, ExtDataBuilder dataBuilder) {
         Conditions conditions = new Conditions();
         for (ExtDataBuilder.ClassValuePair pair : dataBuilder.getValues()) {
             try {
                 pair.getValue(Boolean.class).flatMap(data -> data.getMetadata(BooleanDataValue.class))
-                        .ifPresent(data -> storePlayerBoolean(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerBoolean(batch, parameters, conditions, data));
                 pair.getValue(Long.class).flatMap(data -> data.getMetadata(NumberDataValue.class))
-                        .ifPresent(data -> storePlayerNumber(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerNumber(batch, parameters, conditions, data));
                 pair.getValue(Double.class).flatMap(data -> data.getMetadata(DoubleDataValue.class))
-                        .ifPresent(data -> storePlayerDouble(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerDouble(batch, parameters, conditions, data));
                 pair.getValue(String.class).flatMap(data -> data.getMetadata(StringDataValue.class))
-                        .ifPresent(data -> storePlayerString(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerString(batch, parameters, conditions, data));
                 pair.getValue(String[].class).flatMap(data -> data.getMetadata(GroupsDataValue.class))
-                        .ifPresent(data -> storePlayerGroups(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerGroups(batch, parameters, conditions, data));
                 pair.getValue(Table.class).flatMap(data -> data.getMetadata(TableDataValue.class))
-                        .ifPresent(data -> storePlayerTable(parameters, conditions, data));
+                        .ifPresent(data -> storePlayerTable(batch, parameters, conditions, data));
             } catch (DataExtensionMethodCallException methodError) {
                 logFailure(methodError);
             } catch (Exception | NoClassDefFoundError | NoSuchFieldError | NoSuchMethodError unexpectedError) {
@@ -338,20 +381,20 @@ public class DataValueGatherer {
         }
     }
 
-    private void gather(Parameters parameters, ExtDataBuilder dataBuilder) {
+    private void gather(StoreExtensionDataTransaction batch, Parameters parameters, ExtDataBuilder dataBuilder) {
         Conditions conditions = new Conditions();
         for (ExtDataBuilder.ClassValuePair pair : dataBuilder.getValues()) {
             try {
                 pair.getValue(Boolean.class).flatMap(data -> data.getMetadata(BooleanDataValue.class))
-                        .ifPresent(data -> storeBoolean(parameters, conditions, data));
+                        .ifPresent(data -> storeBoolean(batch, parameters, conditions, data));
                 pair.getValue(Long.class).flatMap(data -> data.getMetadata(NumberDataValue.class))
-                        .ifPresent(data -> storeNumber(parameters, conditions, data));
+                        .ifPresent(data -> storeNumber(batch, parameters, conditions, data));
                 pair.getValue(Double.class).flatMap(data -> data.getMetadata(DoubleDataValue.class))
-                        .ifPresent(data -> storeDouble(parameters, conditions, data));
+                        .ifPresent(data -> storeDouble(batch, parameters, conditions, data));
                 pair.getValue(String.class).flatMap(data -> data.getMetadata(StringDataValue.class))
-                        .ifPresent(data -> storeString(parameters, conditions, data));
+                        .ifPresent(data -> storeString(batch, parameters, conditions, data));
                 pair.getValue(Table.class).flatMap(data -> data.getMetadata(TableDataValue.class))
-                        .ifPresent(data -> storeTable(parameters, conditions, data));
+                        .ifPresent(data -> storeTable(batch, parameters, conditions, data));
             } catch (DataExtensionMethodCallException methodError) {
                 logFailure(methodError);
             } catch (Exception | NoClassDefFoundError | NoSuchFieldError | NoSuchMethodError unexpectedError) {
@@ -383,6 +426,101 @@ public class DataValueGatherer {
         errorLogger.warn(unexpectedError, context.build());
     }
 
+    /**
+     * @return true if the provider is stored as part of the batch, false if it was already stored.
+     */
+    private boolean storeProvider(StoreExtensionDataTransaction batch, ProviderInformation information, Parameters parameters) {
+        String key = information.getName();
+        List<Object> fingerprint = Arrays.asList(providerFingerprint(information), parameters.getMethodType());
+        if (isStored(key, fingerprint)) return false;
+
+        batch.add(new StoreIconTransaction(information.getIcon()))
+                .add(new StoreProviderTransaction(information, parameters))
+                .afterCommit(() -> storedProviders.put(key, fingerprint));
+        return true;
+    }
+
+    /**
+     * @return true if the provider is stored as part of the batch, false if it was already stored.
+     */
+    private boolean storeTableProvider(StoreExtensionDataTransaction batch, ProviderInformation information, Parameters parameters, Table table) {
+        String key = "table:" + information.getName();
+        List<Object> fingerprint = Arrays.asList(providerFingerprint(information), parameters.getMethodType(),
+                Arrays.asList(table.getColumns()), iconsFingerprint(table.getIcons()));
+        if (isStored(key, fingerprint)) return false;
+
+        for (Icon icon : table.getIcons()) {
+            if (icon != null) batch.add(new StoreIconTransaction(icon));
+        }
+        batch.add(new StoreTableProviderTransaction(information, parameters, table))
+                .afterCommit(() -> storedProviders.put(key, fingerprint));
+        return true;
+    }
+
+    private void storeServerValue(StoreExtensionDataTransaction batch, boolean providerStored, String key, Object value, Transaction storeValue) {
+        if (!providerStored && value.equals(storedServerValues.get(key))) return;
+
+        long write = storedServerValues.startWrite(key);
+        batch.add(storeValue)
+                .afterCommit(() -> storedServerValues.committed(key, write, value));
+    }
+
+    private boolean isStored(String key, List<Object> fingerprint) {
+        return fingerprint.equals(storedProviders.get(key));
+    }
+
+    /**
+     * Store every provider and value again on the next update.
+     * <p>
+     * Called when extension data may have been removed from the database by something else than this gatherer.
+     */
+    public void forgetStoredData() {
+        storedProviders.clear();
+        storedServerValues.clear();
+    }
+
+    private void forgetStoredProviders(Collection<String> providerNames) {
+        for (String providerName : providerNames) {
+            storedProviders.remove(providerName);
+            storedProviders.remove("table:" + providerName);
+            storedServerValues.forget(providerName);
+            storedServerValues.forget("table:" + providerName);
+        }
+    }
+
+    private static List<Object> providerFingerprint(ProviderInformation information) {
+        // ProviderInformation#equals uses Icon identity and leaves out fields, so all stored fields are compared here.
+        return Arrays.asList(
+                information.getName(),
+                information.getText(),
+                information.getDescription(),
+                iconFingerprint(information.getIcon()),
+                information.getPriority(),
+                information.getPluginName(),
+                information.getTab(),
+                information.getCondition(),
+                information.isShownInPlayersTable(),
+                information.isHidden(),
+                information.getProvidedCondition(),
+                information.getFormatType(),
+                information.isPlayerName(),
+                information.getTableColor(),
+                information.isPercentage()
+        );
+    }
+
+    private static List<Object> iconsFingerprint(Icon[] icons) {
+        List<Object> fingerprint = new ArrayList<>();
+        for (Icon icon : icons) {
+            fingerprint.add(iconFingerprint(icon));
+        }
+        return fingerprint;
+    }
+
+    private static List<Object> iconFingerprint(Icon icon) {
+        return icon != null ? Arrays.asList(icon.getName(), icon.getFamily(), icon.getColor()) : Collections.emptyList();
+    }
+
     private <T> T getValue(Conditions conditions, DataValue<T> data, ProviderInformation information) {
         Optional<String> condition = information.getCondition();
         if (condition.isPresent() && conditions.isNotFulfilled(condition.get())) {
@@ -391,70 +529,86 @@ public class DataValueGatherer {
         return data.getValue(); // can be null, can throw
     }
 
-    private void storeBoolean(Parameters parameters, Conditions conditions, BooleanDataValue data) {
+    private void storeBoolean(StoreExtensionDataTransaction batch, Parameters parameters, Conditions conditions, BooleanDataValue data) {
         ProviderInformation information = data.getInformation();
         Boolean value = getValue(conditions, data, information);
-        if (value == null) return;
+        if (value == null) {
+            storedServerValues.forget(information.getName());
+            return;
+        }
         if (value) {
             conditions.conditionFulfilled(information.getProvidedCondition());
         } else {
             conditions.conditionFulfilled("not_" + information.getProvidedCondition());
         }
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerBooleanResultTransaction(information, parameters, value));
+        boolean providerStored = storeProvider(batch, information, parameters);
+        storeServerValue(batch, providerStored, information.getName(), value,
+                new StoreServerBooleanResultTransaction(information, parameters, value));
     }
 
-    private void storeNumber(Parameters parameters, Conditions conditions, NumberDataValue data) {
+    private void storeNumber(StoreExtensionDataTransaction batch, Parameters parameters, Conditions conditions, NumberDataValue data) {
         ProviderInformation information = data.getInformation();
         Long value = getValue(conditions, data, information);
-        if (value == null) return;
+        if (value == null) {
+            storedServerValues.forget(information.getName());
+            return;
+        }
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerNumberResultTransaction(information, parameters, value));
+        boolean providerStored = storeProvider(batch, information, parameters);
+        storeServerValue(batch, providerStored, information.getName(), value,
+                new StoreServerNumberResultTransaction(information, parameters, value));
     }
 
 
-    private void storeDouble(Parameters parameters, Conditions conditions, DoubleDataValue data) {
+    private void storeDouble(StoreExtensionDataTransaction batch, Parameters parameters, Conditions conditions, DoubleDataValue data) {
         ProviderInformation information = data.getInformation();
         Double value = getValue(conditions, data, information);
-        if (value == null) return;
+        if (value == null) {
+            storedServerValues.forget(information.getName());
+            return;
+        }
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerDoubleResultTransaction(information, parameters, value));
+        boolean providerStored = storeProvider(batch, information, parameters);
+        storeServerValue(batch, providerStored, information.getName(), value,
+                new StoreServerDoubleResultTransaction(information, parameters, value));
     }
 
-    private void storeString(Parameters parameters, Conditions conditions, StringDataValue data) {
+    private void storeString(StoreExtensionDataTransaction batch, Parameters parameters, Conditions conditions, StringDataValue data) {
         ProviderInformation information = data.getInformation();
         String value = getValue(conditions, data, information);
-        if (value == null) return;
+        if (value == null) {
+            storedServerValues.forget(information.getName());
+            return;
+        }
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StoreServerStringResultTransaction(information, parameters, value));
+        boolean providerStored = storeProvider(batch, information, parameters);
+        storeServerValue(batch, providerStored, information.getName(), value,
+                new StoreServerStringResultTransaction(information, parameters, value));
     }
 
-    private void storeTable(Parameters parameters, Conditions conditions, TableDataValue data) {
+    private void storeTable(StoreExtensionDataTransaction batch, Parameters parameters, Conditions conditions, TableDataValue data) {
         ProviderInformation information = data.getInformation();
+        String key = "table:" + information.getName();
         Table value = getValue(conditions, data, information);
-        if (value == null) return;
-
-        Database db = dbSystem.getDatabase();
-        for (Icon icon : value.getIcons()) {
-            if (icon != null) db.executeTransaction(new StoreIconTransaction(icon));
+        if (value == null) {
+            storedServerValues.forget(key);
+            return;
         }
-        db.executeTransaction(new StoreTableProviderTransaction(information, parameters, value));
-        db.executeTransaction(new StoreServerTableResultTransaction(information, parameters, value));
+
+        boolean providerStored = storeTableProvider(batch, information, parameters, value);
+        Object previous = storedServerValues.get(key);
+        String[][] previousRows = !providerStored && previous instanceof String[][] ? (String[][]) previous : null;
+        StoreServerTableResultTransaction storeTable = new StoreServerTableResultTransaction(information, parameters, value, previousRows);
+        String[][] storedRows = storeTable.getStoredRows();
+        if (Arrays.deepEquals(previousRows, storedRows)) return;
+
+        long write = storedServerValues.startWrite(key);
+        batch.add(storeTable)
+                .afterCommit(() -> storedServerValues.committed(key, write, storedRows));
     }
 
-    private void storePlayerBoolean(Parameters parameters, Conditions conditions, BooleanDataValue data) {
+    private void storePlayerBoolean(StoreExtensionDataTransaction batch, Parameters parameters, Conditions conditions, BooleanDataValue data) {
         ProviderInformation information = data.getInformation();
         Boolean value = getValue(conditions, data, information);
         if (value == null) return;
@@ -464,66 +618,52 @@ public class DataValueGatherer {
             conditions.conditionFulfilled("not_" + information.getProvidedCondition());
         }
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerBooleanResultTransaction(information, parameters, value));
+        storeProvider(batch, information, parameters);
+        batch.add(new StorePlayerBooleanResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerNumber(Parameters parameters, Conditions conditions, NumberDataValue data) {
+    private void storePlayerNumber(StoreExtensionDataTransaction batch, Parameters parameters, Conditions conditions, NumberDataValue data) {
         ProviderInformation information = data.getInformation();
         Long value = getValue(conditions, data, information);
         if (value == null) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerNumberResultTransaction(information, parameters, value));
+        storeProvider(batch, information, parameters);
+        batch.add(new StorePlayerNumberResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerDouble(Parameters parameters, Conditions conditions, DoubleDataValue data) {
+    private void storePlayerDouble(StoreExtensionDataTransaction batch, Parameters parameters, Conditions conditions, DoubleDataValue data) {
         ProviderInformation information = data.getInformation();
         Double value = getValue(conditions, data, information);
         if (value == null) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerDoubleResultTransaction(information, parameters, value));
+        storeProvider(batch, information, parameters);
+        batch.add(new StorePlayerDoubleResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerString(Parameters parameters, Conditions conditions, StringDataValue data) {
+    private void storePlayerString(StoreExtensionDataTransaction batch, Parameters parameters, Conditions conditions, StringDataValue data) {
         ProviderInformation information = data.getInformation();
         String value = getValue(conditions, data, information);
         if (value == null) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerStringResultTransaction(information, parameters, value));
+        storeProvider(batch, information, parameters);
+        batch.add(new StorePlayerStringResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerGroups(Parameters parameters, Conditions conditions, GroupsDataValue data) {
+    private void storePlayerGroups(StoreExtensionDataTransaction batch, Parameters parameters, Conditions conditions, GroupsDataValue data) {
         ProviderInformation information = data.getInformation();
         String[] value = getValue(conditions, data, information);
         if (value == null) return;
 
-        Database db = dbSystem.getDatabase();
-        db.executeTransaction(new StoreIconTransaction(information.getIcon()));
-        db.executeTransaction(new StoreProviderTransaction(information, parameters));
-        db.executeTransaction(new StorePlayerGroupsResultTransaction(information, parameters, value));
+        storeProvider(batch, information, parameters);
+        batch.add(new StorePlayerGroupsResultTransaction(information, parameters, value));
     }
 
-    private void storePlayerTable(Parameters parameters, Conditions conditions, TableDataValue data) {
+    private void storePlayerTable(StoreExtensionDataTransaction batch, Parameters parameters, Conditions conditions, TableDataValue data) {
         ProviderInformation information = data.getInformation();
         Table value = getValue(conditions, data, information);
         if (value == null) return;
 
-        Database db = dbSystem.getDatabase();
-        for (Icon icon : value.getIcons()) {
-            if (icon != null) db.executeTransaction(new StoreIconTransaction(icon));
-        }
-        db.executeTransaction(new StoreTableProviderTransaction(information, parameters, value));
-        db.executeTransaction(new StorePlayerTableResultTransaction(information, parameters, value));
+        storeTableProvider(batch, information, parameters, value);
+        batch.add(new StorePlayerTableResultTransaction(information, parameters, value));
     }
 }
\ No newline at end of file
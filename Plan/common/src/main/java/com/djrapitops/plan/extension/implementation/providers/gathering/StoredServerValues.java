@@ -0,0 +1,87 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers.gathering;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers server values that have been committed to the database, to skip storing values that have not changed.
+ * <p>
+ * A value is only remembered if no other write of the same value was started after it,
+ * so that a value is never compared against something the database no longer has.
+ *
+ * @author AuroraLS3
+ */
+class StoredServerValues {
+
+    private final Map<String, Object> committed;
+    private final Map<String, Long> latestWrites;
+    private long writeCount;
+
+    StoredServerValues() {
+        committed = new HashMap<>();
+        latestWrites = new HashMap<>();
+        writeCount = 0;
+    }
+
+    /**
+     * Get the value that was last committed.
+     *
+     * @param key Name of the provider.
+     * @return the value or null if it is unknown, or another write is in progress.
+     */
+    synchronized Object get(String key) {
+        return committed.get(key);
+    }
+
+    /**
+     * Mark a write to have started.
+     *
+     * @param key Name of the provider.
+     * @return Number of the write to give to {@link #committed(String, long, Object)}.
+     */
+    synchronized long startWrite(String key) {
+        committed.remove(key);
+        long write = ++writeCount;
+        latestWrites.put(key, write);
+        return write;
+    }
+
+    synchronized void committed(String key, long write, Object value) {
+        Long latest = latestWrites.get(key);
+        if (latest != null && latest == write) {
+            latestWrites.remove(key);
+            committed.put(key, value);
+        }
+    }
+
+    /**
+     * Forget a value, for example when it might be removed from the database.
+     *
+     * @param key Name of the provider.
+     */
+    synchronized void forget(String key) {
+        committed.remove(key);
+        latestWrites.put(key, ++writeCount); // Writes in progress are no longer remembered.
+    }
+
+    synchronized void clear() {
+        committed.clear();
+        latestWrites.clear();
+    }
+}
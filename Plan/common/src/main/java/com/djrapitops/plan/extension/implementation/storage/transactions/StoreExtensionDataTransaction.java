@@ -0,0 +1,100 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.storage.transactions;
+
+import com.djrapitops.plan.storage.database.SQLDB;
+import com.djrapitops.plan.storage.database.transactions.ThrowawayTransaction;
+import com.djrapitops.plan.storage.database.transactions.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Transaction that stores everything gathered during a single extension update with one database transaction.
+ * <p>
+ * Icon, provider and result transactions are collected during the update and executed on the same connection,
+ * instead of each of them acquiring a connection and committing separately.
+ *
+ * @author AuroraLS3
+ */
+public class StoreExtensionDataTransaction extends ThrowawayTransaction {
+
+    private final List<Transaction> operations;
+    private final List<Runnable> afterCommit;
+    private boolean performed;
+
+    public StoreExtensionDataTransaction() {
+        this.operations = new ArrayList<>();
+        this.afterCommit = new ArrayList<>();
+        this.performed = false;
+    }
+
+    /**
+     * Add a transaction to execute as part of this transaction.
+     *
+     * @param operation Transaction, executed in the order added.
+     * @return this transaction.
+     */
+    public StoreExtensionDataTransaction add(Transaction operation) {
+        operations.add(operation);
+        return this;
+    }
+
+    /**
+     * Add a callback that is run once the operations have been committed to the database.
+     * <p>
+     * Not run if the transaction is thrown away, fails, or if any of the operations was skipped.
+     *
+     * @param callback Callback to run.
+     * @return this transaction.
+     */
+    public StoreExtensionDataTransaction afterCommit(Runnable callback) {
+        afterCommit.add(callback);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    public List<Transaction> getOperations() {
+        return Collections.unmodifiableList(operations);
+    }
+
+    @Override
+    public void executeTransaction(SQLDB db) {
+        performed = false;
+        super.executeTransaction(db); // Retries call this method again, which runs the callbacks if they succeed.
+        if (performed) {
+            performed = false;
+            for (Runnable callback : afterCommit) {
+                callback.run();
+            }
+        }
+    }
+
+    @Override
+    protected void performOperations() {
+        boolean allExecuted = true;
+        for (Transaction operation : operations) {
+            // Operations can be thrown away on their own, eg. when the database is under heavy load.
+            allExecuted &= executeOther(operation);
+        }
+        performed = allExecuted;
+    }
+}
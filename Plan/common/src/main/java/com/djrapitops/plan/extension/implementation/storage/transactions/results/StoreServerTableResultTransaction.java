@@ -35,6 +35,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.djrapitops.plan.storage.database.sql.building.Sql.*;
@@ -42,6 +43,8 @@ import static com.djrapitops.plan.storage.database.sql.tables.ExtensionServerTab
 
 /**
  * Transaction to store method result of a Table.
+ * <p>
+ * If the rows of the previously stored table are given, only the rows that changed are updated.
  *
  * @author AuroraLS3
  */
@@ -52,16 +55,60 @@ public class StoreServerTableResultTransaction extends ThrowawayTransaction {
     private final String providerName;
 
     private final Table table;
+    private final String[][] storedRows;
+    private final String[][] previousRows; // can be null
 
     public StoreServerTableResultTransaction(String pluginName, ServerUUID serverUUID, String providerName, Table table) {
+        this(pluginName, serverUUID, providerName, table, null);
+    }
+
+    public StoreServerTableResultTransaction(String pluginName, ServerUUID serverUUID, String providerName, Table table, String[][] previousRows) {
         this.pluginName = pluginName;
         this.serverUUID = serverUUID;
         this.providerName = providerName;
         this.table = table;
+        this.storedRows = toStoredRows(table);
+        this.previousRows = previousRows;
     }
 
     public StoreServerTableResultTransaction(ProviderInformation information, Parameters parameters, Table value) {
-        this(information.getPluginName(), parameters.getServerUUID(), information.getName(), value);
+        this(information, parameters, value, null);
+    }
+
+    public StoreServerTableResultTransaction(ProviderInformation information, Parameters parameters, Table value, String[][] previousRows) {
+        this(information.getPluginName(), parameters.getServerUUID(), information.getName(), value, previousRows);
+    }
+
+    private static String[][] toStoredRows(Table table) {
+        List<Object[]> rows = table.getRows();
+        int maxColumnSize = Math.min(table.getMaxColumnSize(), 5); // Limit to maximum 5 columns, or how many column names there are.
+        String[][] stored = new String[rows.size()][maxColumnSize];
+        for (int rowNumber = 0; rowNumber < stored.length; rowNumber++) {
+            Object[] row = rows.get(rowNumber);
+            for (int i = 0; i < maxColumnSize; i++) {
+                stored[rowNumber][i] = getStoredValue(row[i]);
+            }
+        }
+        return stored;
+    }
+
+    private static String getStoredValue(Object value) {
+        return value != null ? StringUtils.truncate(value.toString(), 250) : null;
+    }
+
+    /**
+     * Get values of the rows as they are stored, to give to the next transaction of the same table.
+     *
+     * @return Stored values of each row.
+     */
+    public String[][] getStoredRows() {
+        return storedRows;
+    }
+
+    private boolean isUnchanged(int rowNumber) {
+        return previousRows != null
+                && rowNumber < previousRows.length
+                && Arrays.equals(previousRows[rowNumber], storedRows[rowNumber]);
     }
 
     @Override
@@ -135,8 +182,7 @@ public class StoreServerTableResultTransaction extends ThrowawayTransaction {
                     statement.setInt(1, tableID);
                     statement.setString(2, serverUUID.toString());
                     for (int i = 0; i < maxColumnSize; i++) {
-                        Object value = row[i];
-                        setStringOrNull(statement, 3 + i, value != null ? StringUtils.truncate(value.toString(), 250) : null);
+                        setStringOrNull(statement, 3 + i, getStoredValue(row[i]));
                     }
                     // Rest are set null if not 5 columns wide.
                     for (int i = maxColumnSize; i < 5; i++) {
@@ -152,6 +198,15 @@ public class StoreServerTableResultTransaction extends ThrowawayTransaction {
     }
 
     private void updateRows(Integer tableID, Integer untilRow, List<Object[]> rows) {
+        boolean noChanges = true;
+        for (int rowNumber = 0; rowNumber < untilRow; rowNumber++) {
+            if (!isUnchanged(rowNumber)) {
+                noChanges = false;
+                break;
+            }
+        }
+        if (noChanges) return;
+
         String sql = "UPDATE " + TABLE_NAME + " SET " +
                 VALUE_1 + "=?," +
                 VALUE_2 + "=?," +
@@ -167,11 +222,11 @@ public class StoreServerTableResultTransaction extends ThrowawayTransaction {
                 int maxColumnSize = Math.min(table.getMaxColumnSize(), 5); // Limit to maximum 5 columns, or how many column names there are.
 
                 for (int rowNumber = 0; rowNumber < untilRow; rowNumber++) {
+                    if (isUnchanged(rowNumber)) continue;
                     Object[] row = rows.get(rowNumber);
 
                     for (int valueIndex = 0; valueIndex < maxColumnSize; valueIndex++) {
-                        Object value = row[valueIndex];
-                        setStringOrNull(statement, 1 + valueIndex, value != null ? StringUtils.truncate(value.toString(), 250) : null);
+                        setStringOrNull(statement, 1 + valueIndex, getStoredValue(row[valueIndex]));
                     }
                     // Rest are set null if not 5 columns wide.
                     for (int valueIndex = maxColumnSize; valueIndex < 5; valueIndex++) {
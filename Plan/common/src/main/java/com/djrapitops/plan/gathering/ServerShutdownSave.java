@@ -20,6 +20,7 @@ import com.djrapitops.plan.exceptions.database.DBInitException;
 import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.gathering.domain.ActiveSession;
 import com.djrapitops.plan.gathering.domain.FinishedSession;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.settings.locale.lang.PluginLang;
 import com.djrapitops.plan.storage.database.DBSystem;
@@ -43,6 +44,7 @@ public abstract class ServerShutdownSave {
 
     protected final PluginLogger logger;
     private final DBSystem dbSystem;
+    private final GatheringEventPipeline pipeline;
     private final Locale locale;
     private final ErrorLogger errorLogger;
 
@@ -52,11 +54,13 @@ public abstract class ServerShutdownSave {
     protected ServerShutdownSave(
             Locale locale,
             DBSystem dbSystem,
+            GatheringEventPipeline pipeline,
             PluginLogger logger,
             ErrorLogger errorLogger
     ) {
         this.locale = locale;
         this.dbSystem = dbSystem;
+        this.pipeline = pipeline;
         this.logger = logger;
         this.errorLogger = errorLogger;
     }
@@ -72,6 +76,8 @@ public abstract class ServerShutdownSave {
             return Optional.empty();
         }
 
+        // Deaths, kills and world changes that are still queued belong to the sessions being saved.
+        pipeline.flush();
         Collection<ActiveSession> activeSessions = SessionCache.getActiveSessions();
         if (activeSessions.isEmpty()) {
             return Optional.empty();
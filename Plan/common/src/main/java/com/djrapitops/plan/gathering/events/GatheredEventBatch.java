@@ -0,0 +1,64 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.events;
+
+import com.djrapitops.plan.delivery.domain.Nickname;
+
+import java.util.*;
+
+/**
+ * Collects the database writes caused by a batch of {@link GatheredEvent}s so that duplicates are only stored once.
+ *
+ * @author AuroraLS3
+ */
+class GatheredEventBatch {
+
+    private final Set<String> worldNames;
+    private final Map<UUID, Nickname> nicknames;
+    private int eventCount;
+
+    GatheredEventBatch() {
+        worldNames = new LinkedHashSet<>();
+        nicknames = new LinkedHashMap<>();
+        eventCount = 0;
+    }
+
+    void countEvent() {
+        eventCount++;
+    }
+
+    void addWorldName(String worldName) {
+        if (worldName != null && !worldName.isEmpty()) worldNames.add(worldName);
+    }
+
+    void addNickname(UUID playerUUID, Nickname nickname) {
+        // Only latest nickname of the batch needs to be stored
+        nicknames.put(playerUUID, nickname);
+    }
+
+    Set<String> getWorldNames() {
+        return worldNames;
+    }
+
+    Map<UUID, Nickname> getNicknames() {
+        return nicknames;
+    }
+
+    int getEventCount() {
+        return eventCount;
+    }
+}
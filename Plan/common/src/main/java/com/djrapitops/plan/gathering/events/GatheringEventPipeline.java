@@ -0,0 +1,254 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.events;
+
+import com.djrapitops.plan.SubSystem;
+import com.djrapitops.plan.delivery.domain.Nickname;
+import com.djrapitops.plan.gathering.cache.NicknameCache;
+import com.djrapitops.plan.gathering.cache.SessionCache;
+import com.djrapitops.plan.gathering.domain.ActiveSession;
+import com.djrapitops.plan.gathering.domain.PlayerKill;
+import com.djrapitops.plan.identification.ServerInfo;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.WorldAliasSettings;
+import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.transactions.events.NicknameStoreTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.WorldNameStoreTransaction;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves the work of high-frequency listeners off the server thread.
+ * <p>
+ * Listeners enqueue compact event records into a lock-free queue and return immediately.
+ * A single consumer thread applies the records to {@link SessionCache} once per tick
+ * and batches the resulting transactions.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class GatheringEventPipeline implements SubSystem {
+
+    private static final long CONSUMER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50L); // One tick
+
+    private final PlanConfig config;
+    private final ServerInfo serverInfo;
+    private final DBSystem dbSystem;
+    private final WorldAliasSettings worldAliasSettings;
+    private final NicknameCache nicknameCache;
+    private final ErrorLogger errorLogger;
+
+    private final Queue<GatheredEvent> queue;
+    private final Map<String, ListenerTiming> timings;
+    private final Set<String> storedWorldNames;
+    private final LongAdder enqueued;
+    private final LongAdder applied;
+    private final LongAdder batches;
+
+    private volatile long listenerBudgetNanos;
+    private volatile boolean running;
+    private Thread consumer;
+
+    @Inject
+    public GatheringEventPipeline(
+            PlanConfig config,
+            ServerInfo serverInfo,
+            DBSystem dbSystem,
+            WorldAliasSettings worldAliasSettings,
+            NicknameCache nicknameCache,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.serverInfo = serverInfo;
+        this.dbSystem = dbSystem;
+        this.worldAliasSettings = worldAliasSettings;
+        this.nicknameCache = nicknameCache;
+        this.errorLogger = errorLogger;
+
+        queue = new ConcurrentLinkedQueue<>();
+        timings = new ConcurrentHashMap<>();
+        storedWorldNames = ConcurrentHashMap.newKeySet();
+        enqueued = new LongAdder();
+        applied = new LongAdder();
+        batches = new LongAdder();
+    }
+
+    @Override
+    public void enable() {
+        if (running) return;
+        storedWorldNames.clear();
+        // Listeners register their timings when they are created, before the config is loaded.
+        listenerBudgetNanos = TimeUnit.MICROSECONDS.toNanos(config.get(DataGatheringSettings.LISTENER_TIME_BUDGET));
+        for (ListenerTiming timing : timings.values()) {
+            timing.setBudgetNanos(listenerBudgetNanos);
+        }
+        running = true;
+        consumer = new BasicThreadFactory.Builder()
+                .namingPattern("Plan Gathering-thread-%d")
+                .daemon(true)
+                .uncaughtExceptionHandler((thread, throwable) ->
+                        errorLogger.warn(throwable, ErrorContext.builder().build())
+                ).build()
+                .newThread(this::consume);
+        consumer.start();
+    }
+
+    @Override
+    public void disable() {
+        running = false;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join(TimeUnit.SECONDS.toMillis(3L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumer = null;
+        }
+        // Apply anything that was enqueued after the consumer stopped.
+        drain();
+    }
+
+    /**
+     * Register a listener for main thread time counters.
+     * <p>
+     * Calls are compared against the budget in {@link DataGatheringSettings#LISTENER_TIME_BUDGET}.
+     *
+     * @param listenerName Name of the listener, eg. class name.
+     * @return Timing the listener should record each call to.
+     */
+    public ListenerTiming registerTiming(String listenerName) {
+        return timings.computeIfAbsent(listenerName, name -> new ListenerTiming(name, listenerBudgetNanos));
+    }
+
+    /**
+     * Apply all queued events right away on the calling thread.
+     * <p>
+     * Called before a session ends, so that events of the player that are still queued are counted in the session.
+     */
+    public void flush() {
+        drain();
+    }
+
+    public Collection<ListenerTiming> getTimings() {
+        return Collections.unmodifiableCollection(timings.values());
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    public long getAppliedCount() {
+        return applied.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public void changeState(UUID playerUUID, String worldName, String gameMode, long time) {
+        enqueue(batch -> {
+            batch.addWorldName(worldName);
+            SessionCache.getCachedSession(playerUUID)
+                    .ifPresent(session -> session.changeState(worldName, gameMode, time));
+        });
+    }
+
+    public void death(UUID playerUUID) {
+        enqueue(batch -> SessionCache.getCachedSession(playerUUID).ifPresent(ActiveSession::addDeath));
+    }
+
+    public void playerKill(UUID killer, UUID victim, String weaponName, long time) {
+        enqueue(batch -> SessionCache.getCachedSession(killer)
+                .ifPresent(session -> session.addPlayerKill(new PlayerKill(killer, victim, weaponName, time))));
+    }
+
+    public void mobKill(UUID killer) {
+        enqueue(batch -> SessionCache.getCachedSession(killer).ifPresent(ActiveSession::addMobKill));
+    }
+
+    public void chat(UUID playerUUID, String displayName, long time) {
+        enqueue(batch -> batch.addNickname(playerUUID, new Nickname(displayName, time, serverInfo.getServerUUID())));
+    }
+
+    private void enqueue(GatheredEvent event) {
+        enqueued.increment();
+        queue.offer(event);
+    }
+
+    private void consume() {
+        while (running) {
+            drain();
+            LockSupport.parkNanos(this, CONSUMER_PARK_NANOS);
+        }
+    }
+
+    private synchronized void drain() {
+        if (queue.isEmpty()) return;
+
+        GatheredEventBatch batch = new GatheredEventBatch();
+        GatheredEvent event;
+        while ((event = queue.poll()) != null) {
+            try {
+                event.apply(batch);
+                batch.countEvent();
+            } catch (Exception e) {
+                errorLogger.warn(e, ErrorContext.builder().related(event).build());
+            }
+        }
+        applied.add(batch.getEventCount());
+        batches.increment();
+
+        try {
+            storeBatch(batch);
+        } catch (Exception e) {
+            errorLogger.warn(e, ErrorContext.builder().related("Storing gathered events").build());
+        }
+    }
+
+    private void storeBatch(GatheredEventBatch batch) {
+        Database database = dbSystem.getDatabase();
+        for (String worldName : batch.getWorldNames()) {
+            if (storedWorldNames.add(worldName)) {
+                database.executeTransaction(new WorldNameStoreTransaction(serverInfo.getServerUUID(), worldName));
+                worldAliasSettings.addWorld(worldName);
+            }
+        }
+        for (Map.Entry<UUID, Nickname> entry : batch.getNicknames().entrySet()) {
+            database.executeTransaction(new NicknameStoreTransaction(
+                    entry.getKey(), entry.getValue(),
+                    (playerUUID, name) -> nicknameCache.getDisplayName(playerUUID).map(name::equals).orElse(false)
+            ));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for time a listener spends on the server thread.
+ * <p>
+ * Each listener has a nanosecond budget, calls that exceed the budget are counted separately.
+ *
+ * @author AuroraLS3
+ */
+public class ListenerTiming {
+
+    private final String listenerName;
+    private volatile long budgetNanos;
+
+    private final LongAdder calls;
+    private final LongAdder totalNanos;
+    private final LongAdder overBudget;
+    private final AtomicLong maxNanos;
+
+    public ListenerTiming(String listenerName, long budgetNanos) {
+        this.listenerName = listenerName;
+        this.budgetNanos = budgetNanos;
+        calls = new LongAdder();
+        totalNanos = new LongAdder();
+        overBudget = new LongAdder();
+        maxNanos = new AtomicLong();
+    }
+
+    /**
+     * Record a call of the listener.
+     *
+     * @param startNanos {@link System#nanoTime()} when the listener started handling the event.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public void record(long tookNanos) {
+        calls.increment();
+        totalNanos.add(tookNanos);
+        if (tookNanos > budgetNanos) overBudget.increment();
+        maxNanos.accumulateAndGet(tookNanos, Math::max);
+    }
+
+    public String getListenerName() {
+        return listenerName;
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    void setBudgetNanos(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getOverBudgetCalls() {
+        return overBudget.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getAverageNanos() {
+        long callCount = getCalls();
+        return callCount != 0 ? getTotalNanos() / callCount : 0L;
+    }
+
+    @Override
+    public String toString() {
+        return "ListenerTiming{" +
+                "listenerName='" + listenerName + '\'' +
+                ", budgetNanos=" + budgetNanos +
+                ", calls=" + getCalls() +
+                ", averageNanos=" + getAverageNanos() +
+                ", maxNanos=" + getMaxNanos() +
+                ", overBudget=" + getOverBudgetCalls() +
+                '}';
+    }
+}
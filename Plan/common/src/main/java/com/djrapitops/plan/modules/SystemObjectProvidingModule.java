@@ -18,6 +18,8 @@ package com.djrapitops.plan.modules;
 
 import com.djrapitops.plan.DataService;
 import com.djrapitops.plan.DataSvc;
+import com.djrapitops.plan.delivery.webserver.JdkHttpServerEngine;
+import com.djrapitops.plan.delivery.webserver.WebServerEngine;
 import com.djrapitops.plan.delivery.webserver.cache.JSONFileStorage;
 import com.djrapitops.plan.delivery.webserver.cache.JSONMemoryStorageShim;
 import com.djrapitops.plan.delivery.webserver.cache.JSONStorage;
@@ -108,4 +110,9 @@ public class SystemObjectProvidingModule {
         return new JSONMemoryStorageShim(config, jsonFileStorage);
     }
 
-}
\ No newline at end of file
+    @Provides
+    @Singleton
+    WebServerEngine provideWebServerEngine(JdkHttpServerEngine engine) {
+        return engine;
+    }
+}
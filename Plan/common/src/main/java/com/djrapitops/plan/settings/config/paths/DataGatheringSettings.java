@@ -17,6 +17,7 @@
 package com.djrapitops.plan.settings.config.paths;
 
 import com.djrapitops.plan.settings.config.paths.key.BooleanSetting;
+import com.djrapitops.plan.settings.config.paths.key.IntegerSetting;
 import com.djrapitops.plan.settings.config.paths.key.Setting;
 
 /**
@@ -32,6 +33,7 @@ public class DataGatheringSettings {
     public static final Setting<Boolean> DISK_SPACE = new BooleanSetting("Data_gathering.Disk_space");
     public static final Setting<Boolean> LOG_UNKNOWN_COMMANDS = new BooleanSetting("Data_gathering.Commands.Log_unknown");
     public static final Setting<Boolean> COMBINE_COMMAND_ALIASES = new BooleanSetting("Data_gathering.Commands.Log_aliases_as_main_command");
+    public static final Setting<Integer> LISTENER_TIME_BUDGET = new IntegerSetting("Data_gathering.Listener_time_budget_microseconds", value -> value > 0);
 
     private DataGatheringSettings() {
         /* static variable class */
@@ -44,10 +44,18 @@ public class WebserverSettings {
     public static final Setting<Boolean> DISABLED_AUTHENTICATION = new BooleanSetting("Webserver.Security.Disable_authentication");
     public static final Setting<String> EXTERNAL_LINK = new StringSetting("Webserver.External_Webserver_address");
 
+    public static final Setting<Integer> WORKER_THREADS = new IntegerSetting("Webserver.Performance.Worker_threads", value -> value > 0);
+    public static final Setting<Integer> CONNECTION_BACKLOG = new IntegerSetting("Webserver.Performance.Connection_backlog", value -> value >= 0);
+    public static final Setting<Long> PAGE_QUERY_TIMEOUT = new TimeSetting("Webserver.Performance.Page_query_timeout", TimeUnit.SECONDS.toMillis(30L));
+    public static final Setting<Integer> HEAVY_REQUEST_LIMIT = new IntegerSetting("Webserver.Performance.Request_limits.Heavy", value -> value > 0);
+    public static final Setting<Integer> DEFAULT_REQUEST_LIMIT = new IntegerSetting("Webserver.Performance.Request_limits.Default", value -> value > 0);
+
     public static final Setting<Long> REDUCED_REFRESH_BARRIER = new TimeSetting("Webserver.Cache.Reduced_refresh_barrier");
     public static final Setting<Long> INVALIDATE_QUERY_RESULTS = new TimeSetting("Webserver.Cache.Invalidate_query_results_on_disk_after");
     public static final Setting<Long> INVALIDATE_DISK_CACHE = new TimeSetting("Webserver.Cache.Invalidate_disk_cache_after");
     public static final Setting<Long> INVALIDATE_MEMORY_CACHE = new TimeSetting("Webserver.Cache.Invalidate_memory_cache_after", TimeUnit.MINUTES.toMillis(5L));
+    public static final Setting<Long> REFRESH_REQUESTED_JSON = new TimeSetting("Webserver.Cache.Refresh_requested_json_after", TimeUnit.MINUTES.toMillis(2L));
+    public static final Setting<Integer> MEMORY_CACHE_MAX_SIZE_MB = new IntegerSetting("Webserver.Cache.Max_memory_cache_size_MB", value -> value > 0);
     public static final Setting<Long> COOKIES_EXPIRE_AFTER = new TimeSetting("Webserver.Security.Cookies_expire_after", TimeUnit.HOURS.toMillis(2L));
 
     private WebserverSettings() {
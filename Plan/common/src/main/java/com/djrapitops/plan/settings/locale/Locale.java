@@ -19,8 +19,12 @@ package com.djrapitops.plan.settings.locale;
 import com.djrapitops.plan.settings.locale.lang.HtmlLang;
 import com.djrapitops.plan.settings.locale.lang.JSLang;
 import com.djrapitops.plan.settings.locale.lang.Lang;
+import com.djrapitops.plan.settings.theme.Theme;
 import com.djrapitops.plan.storage.file.FileResource;
 import com.djrapitops.plan.storage.file.PlanFiles;
+import com.djrapitops.plan.utilities.java.MultiReplacer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import java.io.File;
 import java.io.IOException;
@@ -36,7 +40,46 @@ import java.util.regex.Pattern;
  */
 public class Locale extends HashMap<Lang, Message> {
 
-    private static final Pattern FIND_SCRIPT = Pattern.compile("(<script id=[\"|'].*[\"|']>[\\s\\S]*?</script>|<script>[\\s\\S]*?</script>|<script src=[\"|'].*[\"|']></script>|<link [\\s\\S]*?>)");
+    static final Pattern FIND_SCRIPT = Pattern.compile("(<script id=[\"|'].*[\"|']>[\\s\\S]*?</script>|<script>[\\s\\S]*?</script>|<script src=[\"|'].*[\"|']></script>|<link [\\s\\S]*?>)");
+
+    // Longest first so that entries that contain each other don't partially replace.
+    static final HtmlLang[] HTML_LANG_LONGEST_FIRST = sortLongestFirst(HtmlLang.values());
+    static final JSLang[] JS_LANG_LONGEST_FIRST = sortLongestFirst(JSLang.values());
+    // HtmlLang values that are also used in javascript.
+    static final Lang[] JS_EXTRA_LANG = new Lang[]{
+            HtmlLang.UNIT_NO_DATA,
+            HtmlLang.TITLE_WORLD_PLAYTIME,
+            HtmlLang.LABEL_OPERATOR,
+            HtmlLang.LABEL_BANNED,
+            HtmlLang.SIDE_SESSIONS,
+            HtmlLang.LABEL_PLAYTIME,
+            HtmlLang.LABEL_AFK_TIME,
+            HtmlLang.LABEL_LONGEST_SESSION,
+            HtmlLang.LABEL_SESSION_MEDIAN,
+            HtmlLang.LABEL_PLAYER_KILLS,
+            HtmlLang.LABEL_MOB_KILLS,
+            HtmlLang.LABEL_DEATHS,
+            HtmlLang.LABEL_PLAYERS_ONLINE,
+            HtmlLang.LABEL_REGISTERED,
+            HtmlLang.TITLE_SERVER,
+            HtmlLang.TITLE_LENGTH,
+            HtmlLang.TITLE_AVG_PING,
+            HtmlLang.TITLE_BEST_PING,
+            HtmlLang.TITLE_WORST_PING,
+            HtmlLang.LABEL_FREE_DISK_SPACE,
+            HtmlLang.LABEL_NEW_PLAYERS,
+            HtmlLang.LABEL_UNIQUE_PLAYERS,
+            HtmlLang.LABEL_ACTIVE_PLAYTIME,
+            HtmlLang.LABEL_AFK_TIME,
+            HtmlLang.LABEL_AVG_SESSION_LENGTH,
+            HtmlLang.LABEL_AVG_PLAYTIME,
+            HtmlLang.LABEL_AVG_ACTIVE_PLAYTIME,
+            HtmlLang.LABEL_AVG_AFK_TIME,
+            HtmlLang.LABEL_AVG_PLAYTIME,
+            HtmlLang.SIDE_GEOLOCATIONS,
+            HtmlLang.LABEL_PER_PLAYER,
+            HtmlLang.TITLE_JOIN_ADDRESSES
+    };
 
     public static Locale forLangCodeString(PlanFiles files, String code) throws IOException {
         return forLangCode(LangCode.fromString(code), files);
@@ -47,6 +90,16 @@ public class Locale extends HashMap<Lang, Message> {
     }
 
     private LangCode langCode;
+    private final transient Cache<TranslatedTemplate.Key, TranslatedTemplate> templates = Caffeine.newBuilder()
+            .maximumSize(50)
+            .build();
+    // Placeholder values such as plugin tabs, most stay the same between renders.
+    private final transient Cache<TranslatedTemplate.Key, TranslatedTemplate> values = Caffeine.newBuilder()
+            .maximumWeight(4_000_000) // characters
+            .weigher((TranslatedTemplate.Key key, TranslatedTemplate value) -> key.getText().length())
+            .build();
+    private transient volatile MultiReplacer htmlReplacer;
+    private transient volatile MultiReplacer javascriptReplacer;
 
     public Locale() {
         this(LangCode.EN);
@@ -103,11 +156,111 @@ public class Locale extends HashMap<Lang, Message> {
         return get(key).toArray(values);
     }
 
+    private static <T extends Lang> T[] sortLongestFirst(T[] values) {
+        Arrays.sort(values, (one, two) -> Integer.compare(
+                two.getIdentifier().length(),
+                one.getIdentifier().length()
+        ));
+        return values;
+    }
+
     public void loadFromAnotherLocale(Locale locale) {
         putAll(locale);
         this.langCode = locale.langCode;
     }
 
+    @Override
+    public Message put(Lang key, Message value) {
+        Message previous = super.put(key, value);
+        translationsChanged();
+        return previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends Lang, ? extends Message> m) {
+        super.putAll(m);
+        translationsChanged();
+    }
+
+    @Override
+    public Message remove(Object key) {
+        Message removed = super.remove(key);
+        translationsChanged();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        translationsChanged();
+    }
+
+    private void translationsChanged() {
+        htmlReplacer = null;
+        javascriptReplacer = null;
+        // Null during HashMap deserialization
+        if (templates != null) clearTemplates();
+    }
+
+    /**
+     * Compile templates again on next use, for example after the theme has been reloaded.
+     */
+    void clearTemplates() {
+        templates.invalidateAll();
+        values.invalidateAll();
+    }
+
+    private MultiReplacer getHtmlReplacer() {
+        MultiReplacer replacer = htmlReplacer;
+        if (replacer == null) {
+            replacer = createReplacer(HTML_LANG_LONGEST_FIRST);
+            htmlReplacer = replacer;
+        }
+        return replacer;
+    }
+
+    private MultiReplacer getJavascriptReplacer() {
+        MultiReplacer replacer = javascriptReplacer;
+        if (replacer == null) {
+            replacer = createReplacer(JS_LANG_LONGEST_FIRST, JS_EXTRA_LANG);
+            javascriptReplacer = replacer;
+        }
+        return replacer;
+    }
+
+    private MultiReplacer createReplacer(Lang[]... langs) {
+        List<String> replace = new ArrayList<>();
+        List<String> with = new ArrayList<>();
+        for (Lang[] group : langs) {
+            for (Lang lang : group) {
+                getNonDefault(lang).ifPresent(replacement -> {
+                    replace.add(lang.getDefault());
+                    with.add(replacement.toString());
+                });
+            }
+        }
+        return MultiReplacer.of(replace.toArray(new String[0]), with.toArray(new String[0]));
+    }
+
+    /**
+     * Get the html with theme colors and translated with this locale, compiled for filling in its placeholders.
+     * <p>
+     * Templates are cached until the translations of the locale change or the locale is reloaded.
+     *
+     * @param html  Html with ${placeholder} values.
+     * @param theme Theme to replace colors of the html with.
+     * @return Template that produces the same result as replacing the theme colors, then the placeholders and then calling {@link #replaceLanguageInHtml(String)}.
+     */
+    public TranslatedTemplate getTemplate(String html, Theme theme) {
+        return templates.get(new TranslatedTemplate.Key(html, theme),
+                key -> TranslatedTemplate.compile(this, theme.replaceThemeColors(html)));
+    }
+
+    TranslatedTemplate getValueTemplate(String value, TranslatedTemplate.SlotContext context) {
+        return values.get(new TranslatedTemplate.Key(value, context),
+                key -> TranslatedTemplate.compile(this, value, context));
+    }
+
     public String replaceLanguageInHtml(String from) {
         if (isEmpty()) {
             return from;
@@ -120,15 +273,7 @@ public class Locale extends HashMap<Lang, Message> {
         }
 
         TranslatedString translated = new TranslatedString(from);
-        Arrays.stream(HtmlLang.values())
-                // Longest first so that entries that contain each other don't partially replace.
-                .sorted((one, two) -> Integer.compare(
-                        two.getIdentifier().length(),
-                        one.getIdentifier().length()
-                ))
-                .forEach(lang -> getNonDefault(lang).ifPresent(replacement ->
-                        translated.translate(lang.getDefault(), replacement.toString()))
-                );
+        translated.translate(getHtmlReplacer());
 
         StringBuilder complete = new StringBuilder(translated.length());
 
@@ -149,54 +294,7 @@ public class Locale extends HashMap<Lang, Message> {
         }
 
         TranslatedString translated = new TranslatedString(from);
-        Arrays.stream(JSLang.values())
-                // Longest first so that entries that contain each other don't partially replace.
-                .sorted((one, two) -> Integer.compare(
-                        two.getIdentifier().length(),
-                        one.getIdentifier().length()
-                ))
-                .forEach(lang -> getNonDefault(lang).ifPresent(replacement ->
-                        translated.translate(lang.getDefault(), replacement.toString()))
-                );
-
-        for (Lang extra : new Lang[]{
-                HtmlLang.UNIT_NO_DATA,
-                HtmlLang.TITLE_WORLD_PLAYTIME,
-                HtmlLang.LABEL_OPERATOR,
-                HtmlLang.LABEL_BANNED,
-                HtmlLang.SIDE_SESSIONS,
-                HtmlLang.LABEL_PLAYTIME,
-                HtmlLang.LABEL_AFK_TIME,
-                HtmlLang.LABEL_LONGEST_SESSION,
-                HtmlLang.LABEL_SESSION_MEDIAN,
-                HtmlLang.LABEL_PLAYER_KILLS,
-                HtmlLang.LABEL_MOB_KILLS,
-                HtmlLang.LABEL_DEATHS,
-                HtmlLang.LABEL_PLAYERS_ONLINE,
-                HtmlLang.LABEL_REGISTERED,
-                HtmlLang.TITLE_SERVER,
-                HtmlLang.TITLE_LENGTH,
-                HtmlLang.TITLE_AVG_PING,
-                HtmlLang.TITLE_BEST_PING,
-                HtmlLang.TITLE_WORST_PING,
-                HtmlLang.LABEL_FREE_DISK_SPACE,
-                HtmlLang.LABEL_NEW_PLAYERS,
-                HtmlLang.LABEL_UNIQUE_PLAYERS,
-                HtmlLang.LABEL_ACTIVE_PLAYTIME,
-                HtmlLang.LABEL_AFK_TIME,
-                HtmlLang.LABEL_AVG_SESSION_LENGTH,
-                HtmlLang.LABEL_AVG_PLAYTIME,
-                HtmlLang.LABEL_AVG_ACTIVE_PLAYTIME,
-                HtmlLang.LABEL_AVG_AFK_TIME,
-                HtmlLang.LABEL_AVG_PLAYTIME,
-                HtmlLang.SIDE_GEOLOCATIONS,
-                HtmlLang.LABEL_PER_PLAYER,
-                HtmlLang.TITLE_JOIN_ADDRESSES
-
-        }) {
-            getNonDefault(extra).ifPresent(replacement ->
-                    translated.translate(extra.getDefault(), replacement.toString()));
-        }
+        translated.translate(getJavascriptReplacer());
 
         return translated.toString();
     }
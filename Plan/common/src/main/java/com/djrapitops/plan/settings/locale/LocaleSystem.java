@@ -99,6 +99,8 @@ public class LocaleSystem implements SubSystem {
             loaded = loadSettingLocale();
         }
         loaded.ifPresent(locale::loadFromAnotherLocale);
+        // Theme is enabled before the locale, templates have the colors of the previous theme.
+        locale.clearTemplates();
 
         LangCode langCode = locale.getLangCode();
         logger.info("Locale: '" + langCode.getName() + "' by " + langCode.getAuthors());
@@ -16,7 +16,7 @@
  */
 package com.djrapitops.plan.settings.locale;
 
-import org.apache.commons.lang3.StringUtils;
+import com.djrapitops.plan.utilities.java.MultiReplacer;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -26,13 +26,12 @@ import java.util.regex.Pattern;
 /**
  * Utility for translating String.
  * <p>
- * Improves performance by avoiding a double for-each loop since this class can be considered final in the lambda
- * expression in {@link Locale#replaceLanguageInHtml(String)}.
+ * Links are split off so that they are not translated.
  *
  * @author AuroraLS3
  */
 class TranslatedString {
-    private static final Pattern LINK_MATCHER = Pattern.compile("http(s|)://[\\w.\\-_%/?$#@!()&=]+");
+    static final Pattern LINK_MATCHER = Pattern.compile("http(s|)://[\\w.\\-_%/?$#@!()&=]+");
 
     private final List<TranslatedString> translating = new LinkedList<>();
 
@@ -57,9 +56,9 @@ class TranslatedString {
     TranslatedString() {
     }
 
-    public void translate(String replace, String with) {
+    public void translate(MultiReplacer replacer) {
         for (TranslatedString sub : translating) {
-            sub.translate(replace, with);
+            sub.translate(replacer);
         }
     }
 
@@ -93,8 +92,8 @@ class TranslatedString {
         }
 
         @Override
-        public void translate(String replace, String with) {
-            translating = StringUtils.replace(translating, replace, with);
+        public void translate(MultiReplacer replacer) {
+            translating = replacer.replace(translating);
         }
 
         @Override
@@ -116,7 +115,7 @@ class TranslatedString {
         }
 
         @Override
-        public void translate(String replace, String with) {
+        public void translate(MultiReplacer replacer) {
         }
 
         @Override
@@ -0,0 +1,200 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.settings.locale;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTML template that has been translated once, leaving ${placeholder} slots to fill on each render.
+ * <p>
+ * Translating a whole page goes through every {@link com.djrapitops.plan.settings.locale.lang.HtmlLang} value,
+ * so it is only done when the template is compiled. Placeholder values are translated when they are filled in,
+ * since they were translated along with the rest of the page before. Translated values are cached by the {@link Locale},
+ * so values that stay the same between renders are only translated once.
+ *
+ * @author AuroraLS3
+ */
+public class TranslatedTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^{}$]+)}");
+    // Stands in for placeholders during translation so that placeholder names are not translated.
+    private static final char SLOT = '\u0000';
+    private static final int MAX_NESTING = 10;
+
+    private final Locale locale;
+    private final String[] chunks;
+    private final String[] slots;
+    private final SlotContext[] slotContexts;
+
+    private TranslatedTemplate(Locale locale, String[] chunks, String[] slots, SlotContext[] slotContexts) {
+        this.locale = locale;
+        this.chunks = chunks;
+        this.slots = slots;
+        this.slotContexts = slotContexts;
+    }
+
+    static TranslatedTemplate compile(Locale locale, String html) {
+        return compile(locale, html, SlotContext.HTML);
+    }
+
+    static TranslatedTemplate compile(Locale locale, String text, SlotContext context) {
+        List<String> slots = new ArrayList<>();
+        StringBuilder masked = new StringBuilder(text.length());
+        Matcher placeholders = PLACEHOLDER.matcher(text);
+        int start = 0;
+        while (placeholders.find()) {
+            masked.append(text, start, placeholders.start()).append(SLOT);
+            slots.add(placeholders.group(1));
+            start = placeholders.end();
+        }
+        masked.append(text, start, text.length());
+
+        String maskedText = masked.toString();
+        SlotContext[] slotContexts = findSlotContexts(maskedText, slots.size(), context);
+        String translated = context.translate(locale, maskedText);
+
+        String[] chunks = StringUtils.splitPreserveAllTokens(translated, SLOT);
+        if (chunks.length != slots.size() + 1) {
+            // Text contained the slot character already, placeholders can not be told apart from it.
+            return new TranslatedTemplate(locale, new String[]{translated}, new String[0], new SlotContext[0]);
+        }
+        return new TranslatedTemplate(locale, chunks, slots.toArray(new String[0]), slotContexts);
+    }
+
+    private static SlotContext[] findSlotContexts(String maskedText, int slotCount, SlotContext context) {
+        int[] positions = new int[slotCount];
+        int position = -1;
+        for (int i = 0; i < slotCount; i++) {
+            position = maskedText.indexOf(SLOT, position + 1);
+            positions[i] = position;
+        }
+
+        SlotContext[] contexts = new SlotContext[slotCount];
+        Arrays.fill(contexts, context);
+        if (context == SlotContext.HTML) {
+            Matcher scripts = Locale.FIND_SCRIPT.matcher(maskedText);
+            while (scripts.find()) {
+                markSlotsBetween(contexts, positions, scripts.start(), scripts.end(), SlotContext.SCRIPT);
+            }
+        }
+        // Links are not translated, a placeholder right after a link continues it.
+        Matcher links = TranslatedString.LINK_MATCHER.matcher(maskedText);
+        while (links.find()) {
+            markSlotsBetween(contexts, positions, links.end(), links.end() + 1, SlotContext.LINK);
+        }
+        return contexts;
+    }
+
+    private static void markSlotsBetween(SlotContext[] contexts, int[] positions, int start, int end, SlotContext context) {
+        for (int i = 0; i < positions.length; i++) {
+            if (start <= positions[i] && positions[i] < end) {
+                contexts[i] = context;
+            }
+        }
+    }
+
+    /**
+     * Render the template.
+     *
+     * @param placeholders Values for the placeholders, earlier maps take priority. Placeholders without a value are left as is.
+     * @return Translated html with the placeholders replaced.
+     */
+    @SafeVarargs
+    public final String render(Map<String, ?>... placeholders) {
+        StringBuilder html = new StringBuilder();
+        appendTo(html, placeholders, 0);
+        return html.toString();
+    }
+
+    private void appendTo(StringBuilder html, Map<String, ?>[] placeholders, int nesting) {
+        for (int i = 0; i < slots.length; i++) {
+            html.append(chunks[i]);
+            appendValue(html, slots[i], slotContexts[i], placeholders, nesting);
+        }
+        html.append(chunks[chunks.length - 1]);
+    }
+
+    private void appendValue(StringBuilder html, String slot, SlotContext context, Map<String, ?>[] placeholders, int nesting) {
+        Object value = null;
+        for (Map<String, ?> values : placeholders) {
+            value = values.get(slot);
+            if (value != null) break;
+        }
+        if (value == null || nesting >= MAX_NESTING) {
+            html.append("${").append(slot).append('}');
+            return;
+        }
+        // Values can contain placeholders of their own.
+        locale.getValueTemplate(value.toString(), context).appendTo(html, placeholders, nesting + 1);
+    }
+
+    enum SlotContext {
+        HTML,
+        SCRIPT,
+        LINK;
+
+        String translate(Locale locale, String text) {
+            switch (this) {
+                case SCRIPT:
+                    return locale.replaceLanguageInJavascript(text);
+                case LINK:
+                    return text;
+                case HTML:
+                default:
+                    return locale.replaceLanguageInHtml(text);
+            }
+        }
+    }
+
+    /**
+     * Cache key of a compiled template, the text and what else the compiled template depends on.
+     */
+    static class Key {
+        private final String text;
+        private final Object variant;
+
+        Key(String text, Object variant) {
+            this.text = text;
+            this.variant = variant;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return variant == key.variant && text.equals(key.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, System.identityHashCode(variant));
+        }
+    }
+}
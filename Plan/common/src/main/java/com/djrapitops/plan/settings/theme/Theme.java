@@ -47,6 +47,8 @@ public class Theme implements SubSystem {
     private final PluginLogger logger;
 
     private ThemeConfig themeConfig;
+    // Search and replacement lists for replaceThemeColors, created once per enable.
+    private volatile String[][] colorReplacements;
 
     @Inject
     public Theme(PlanFiles files, PlanConfig config, PluginLogger logger) {
@@ -74,6 +76,7 @@ public class Theme implements SubSystem {
         try {
             themeConfig = new ThemeConfig(files, config, logger);
             themeConfig.save();
+            colorReplacements = null;
         } catch (IOException e) {
             throw new EnableException("theme.yml could not be saved.", e);
         }
@@ -95,16 +98,21 @@ public class Theme implements SubSystem {
     }
 
     public String replaceThemeColors(String resourceString) {
-        return replaceVariables(resourceString,
-                RED, PINK, PURPLE,
-                DEEP_PURPLE, INDIGO, BLUE, LIGHT_BLUE, CYAN, TEAL, GREEN, LIGHT_GREEN, LIME,
-                YELLOW, AMBER, ORANGE, DEEP_ORANGE, BROWN, GREY, BLUE_GREY, BLACK, WHITE,
-                GRAPH_PUNCHCARD, GRAPH_PLAYERS_ONLINE, GRAPH_TPS_HIGH, GRAPH_TPS_MED, GRAPH_TPS_LOW,
-                GRAPH_CPU, GRAPH_RAM, GRAPH_CHUNKS, GRAPH_ENTITIES, GRAPH_WORLD_PIE, FONT_STYLESHEET, FONT_FAMILY
-        );
+        String[][] replacements = colorReplacements;
+        if (replacements == null) {
+            replacements = getReplacements(
+                    RED, PINK, PURPLE,
+                    DEEP_PURPLE, INDIGO, BLUE, LIGHT_BLUE, CYAN, TEAL, GREEN, LIGHT_GREEN, LIME,
+                    YELLOW, AMBER, ORANGE, DEEP_ORANGE, BROWN, GREY, BLUE_GREY, BLACK, WHITE,
+                    GRAPH_PUNCHCARD, GRAPH_PLAYERS_ONLINE, GRAPH_TPS_HIGH, GRAPH_TPS_MED, GRAPH_TPS_LOW,
+                    GRAPH_CPU, GRAPH_RAM, GRAPH_CHUNKS, GRAPH_ENTITIES, GRAPH_WORLD_PIE, FONT_STYLESHEET, FONT_FAMILY
+            );
+            colorReplacements = replacements;
+        }
+        return StringUtils.replaceEach(resourceString, replacements[0], replacements[1]);
     }
 
-    private String replaceVariables(String resourceString, ThemeVal... themeVariables) {
+    private String[][] getReplacements(ThemeVal... themeVariables) {
         List<String> replace = new ArrayList<>();
         List<String> with = new ArrayList<>();
         for (ThemeVal variable : themeVariables) {
@@ -119,7 +127,7 @@ public class Theme implements SubSystem {
         replace.add("${defaultTheme}");
         with.add(getValue(ThemeVal.THEME_DEFAULT));
 
-        return StringUtils.replaceEach(resourceString, replace.toArray(new String[0]), with.toArray(new String[0]));
+        return new String[][]{replace.toArray(new String[0]), with.toArray(new String[0])};
     }
 
     private String getThemeValue(ThemeVal color) {
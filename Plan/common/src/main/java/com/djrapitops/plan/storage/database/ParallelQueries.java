@@ -0,0 +1,184 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.storage.database;
+
+import com.djrapitops.plan.SubSystem;
+import com.djrapitops.plan.exceptions.database.DBOpException;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.DatabaseSettings;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.storage.database.queries.Query;
+import com.djrapitops.plan.utilities.logging.ErrorContext;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Runs independent read queries of a single page concurrently.
+ * <p>
+ * Page generation then takes about as long as the slowest query instead of the sum of all of them.
+ * Queries are run in parallel only on MySQL, where the connection pool allows it.
+ * On SQLite all queries share one connection, so they are run on the calling thread as before.
+ *
+ * @author AuroraLS3
+ */
+@Singleton
+public class ParallelQueries implements SubSystem {
+
+    private final PlanConfig config;
+    private final DBSystem dbSystem;
+    private final ErrorLogger errorLogger;
+
+    private volatile ExecutorService executor;
+
+    @Inject
+    public ParallelQueries(
+            PlanConfig config,
+            DBSystem dbSystem,
+            ErrorLogger errorLogger
+    ) {
+        this.config = config;
+        this.dbSystem = dbSystem;
+        this.errorLogger = errorLogger;
+    }
+
+    @Override
+    public void enable() {
+        // Leave one connection free for transactions.
+        int threads = Math.max(1, config.get(DatabaseSettings.MAX_CONNECTIONS) - 1);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads, threads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(500),
+                new BasicThreadFactory.Builder()
+                        .namingPattern("Plan Query-pool-%d")
+                        .daemon(true)
+                        .uncaughtExceptionHandler((thread, throwable) ->
+                                errorLogger.warn(throwable, ErrorContext.builder().build())
+                        ).build(),
+                (task, rejectedBy) -> {
+                    if (rejectedBy.isShutdown()) throw new RejectedExecutionException("Plan is disabling");
+                    // Too many queries queued, run on the page generation thread instead.
+                    task.run();
+                }
+        );
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+    }
+
+    @Override
+    public void disable() {
+        ExecutorService stopping = executor;
+        executor = null;
+        if (stopping == null) return;
+        // Pages being generated fail, the database is closing.
+        for (Runnable queued : stopping.shutdownNow()) {
+            if (queued instanceof Future) ((Future<?>) queued).cancel(true);
+        }
+    }
+
+    /**
+     * Start a batch of queries for generating one page.
+     * <p>
+     * All queries of the batch must finish before the deadline set by Webserver.Performance.Page_query_timeout.
+     *
+     * @return New batch.
+     */
+    public Batch batch() {
+        Database db = dbSystem.getDatabase();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.get(WebserverSettings.PAGE_QUERY_TIMEOUT));
+        boolean parallel = db.getType() != DBType.SQLITE;
+        return new Batch(db, parallel ? executor : null, deadline);
+    }
+
+    public static class Batch {
+        private final Database db;
+        private final ExecutorService executor;
+        private final long deadline;
+        private final List<Future<?>> submitted;
+
+        Batch(Database db, ExecutorService executor, long deadline) {
+            this.db = db;
+            this.executor = executor;
+            this.deadline = deadline;
+            submitted = new ArrayList<>();
+        }
+
+        /**
+         * Start running a query.
+         *
+         * @param query Query to run.
+         * @param <T>   Type of the result.
+         * @return Result that can be waited for with {@link Pending#get()}.
+         */
+        public <T> Pending<T> query(Query<T> query) {
+            if (executor != null) {
+                try {
+                    Future<T> future = executor.submit(() -> db.query(query));
+                    submitted.add(future);
+                    return new Pending<>(this, future);
+                } catch (RejectedExecutionException disabled) {
+                    // Plan is disabling, run on the calling thread.
+                }
+            }
+            return new Pending<>(this, CompletableFuture.completedFuture(db.query(query)));
+        }
+
+        void cancel() {
+            for (Future<?> future : submitted) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    public static class Pending<T> {
+        private final Batch batch;
+        private final Future<T> future;
+
+        Pending(Batch batch, Future<T> future) {
+            this.batch = batch;
+            this.future = future;
+        }
+
+        /**
+         * Wait for the query to finish.
+         *
+         * @return Result of the query.
+         * @throws DBOpException If the query failed or the batch deadline passed.
+         */
+        public T get() {
+            try {
+                return future.get(Math.max(0L, batch.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                batch.cancel();
+                throw new DBOpException("Queries for the page did not finish in time, see Webserver.Performance.Page_query_timeout", e);
+            } catch (InterruptedException e) {
+                batch.cancel();
+                Thread.currentThread().interrupt();
+                throw new DBOpException("Interrupted while waiting for page queries", e);
+            } catch (ExecutionException e) {
+                batch.cancel();
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                throw new DBOpException("Page query failed: " + cause.getMessage(), cause);
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.djrapitops.plan.storage.database.queries.objects;
 import com.djrapitops.plan.delivery.domain.DateHolder;
 import com.djrapitops.plan.delivery.domain.PlayerName;
 import com.djrapitops.plan.delivery.domain.ServerName;
+import com.djrapitops.plan.delivery.domain.SessionAggregates;
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
 import com.djrapitops.plan.gathering.domain.*;
 import com.djrapitops.plan.identification.Server;
@@ -761,6 +762,109 @@ public class SessionQueries {
         };
     }
 
+    /**
+     * Query playtime, AFK time, session count, unique players and per player averages of multiple time windows on a server.
+     * <p>
+     * All windows are computed in a single scan of the sessions table with conditional aggregation,
+     * instead of one query per metric per window.
+     *
+     * @param serverUUID UUID of the Plan server.
+     * @param windows    Time windows as {after, before} epoch ms pairs.
+     * @return Aggregates of each window in the same order as the windows were given.
+     */
+    public static Query<List<SessionAggregates>> aggregatesOfWindows(ServerUUID serverUUID, long[]... windows) {
+        return aggregatesOfWindowsOf(serverUUID, windows);
+    }
+
+    /**
+     * Query playtime, AFK time, session count, unique players and per player averages of multiple time windows on all servers.
+     *
+     * @param windows Time windows as {after, before} epoch ms pairs.
+     * @return Aggregates of each window in the same order as the windows were given.
+     * @see #aggregatesOfWindows(ServerUUID, long[]...)
+     */
+    public static Query<List<SessionAggregates>> aggregatesOfWindows(long[]... windows) {
+        return aggregatesOfWindowsOf(null, windows);
+    }
+
+    private static Query<List<SessionAggregates>> aggregatesOfWindowsOf(ServerUUID serverUUID, long[]... windows) {
+        if (windows.length == 0) return database -> Collections.emptyList();
+
+        long earliest = Arrays.stream(windows).mapToLong(window -> window[0]).min().orElse(0L);
+        long latest = Arrays.stream(windows).mapToLong(window -> window[1]).max().orElse(0L);
+
+        String sessionLength = SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START;
+        // Overlapping sessions are counted towards playtime, as in playtime(after, before)
+        String overlaps = SessionsTable.SESSION_END + ">=?" + AND + SessionsTable.SESSION_START + "<=?";
+        // Only sessions within the window are counted towards players, as in uniquePlayerCount(after, before)
+        String within = SessionsTable.SESSION_END + "<=?" + AND + SessionsTable.SESSION_START + ">=?";
+
+        StringBuilder perPlayer = new StringBuilder(SELECT).append(SessionsTable.USER_UUID);
+        StringBuilder totals = new StringBuilder(SELECT);
+        for (int i = 0; i < windows.length; i++) {
+            perPlayer.append(",SUM(CASE WHEN ").append(overlaps).append(" THEN ").append(sessionLength).append(" ELSE 0 END) as playtime_").append(i)
+                    .append(",SUM(CASE WHEN ").append(overlaps).append(" THEN ").append(SessionsTable.AFK_TIME).append(" ELSE 0 END) as afk_").append(i)
+                    .append(",SUM(CASE WHEN ").append(overlaps).append(" THEN 1 ELSE 0 END) as sessions_").append(i)
+                    .append(",SUM(CASE WHEN ").append(within).append(" THEN ").append(sessionLength).append(" ELSE 0 END) as player_playtime_").append(i)
+                    .append(",SUM(CASE WHEN ").append(within).append(" THEN ").append(SessionsTable.AFK_TIME).append(" ELSE 0 END) as player_afk_").append(i)
+                    .append(",MAX(CASE WHEN ").append(within).append(" THEN 1 ELSE 0 END) as played_").append(i);
+            totals.append(i == 0 ? "" : ",").append("SUM(playtime_").append(i).append(") as playtime_").append(i)
+                    .append(",SUM(afk_").append(i).append(") as afk_").append(i)
+                    .append(",SUM(sessions_").append(i).append(") as sessions_").append(i)
+                    .append(",SUM(player_playtime_").append(i).append(") as player_playtime_").append(i)
+                    .append(",SUM(player_afk_").append(i).append(") as player_afk_").append(i)
+                    .append(",SUM(played_").append(i).append(") as players_").append(i);
+        }
+        perPlayer.append(FROM).append(SessionsTable.TABLE_NAME)
+                .append(WHERE).append(overlaps);
+        if (serverUUID != null) perPlayer.append(AND).append(SessionsTable.SERVER_UUID).append("=?");
+        perPlayer.append(GROUP_BY).append(SessionsTable.USER_UUID);
+        String sql = totals.append(FROM).append('(').append(perPlayer).append(") q1").toString();
+
+        return new QueryStatement<List<SessionAggregates>>(sql) {
+            @Override
+            public void prepare(PreparedStatement statement) throws SQLException {
+                int index = 1;
+                for (long[] window : windows) {
+                    long after = window[0];
+                    long before = window[1];
+                    for (int i = 0; i < 3; i++) {
+                        statement.setLong(index++, after);
+                        statement.setLong(index++, before);
+                    }
+                    for (int i = 0; i < 3; i++) {
+                        statement.setLong(index++, before);
+                        statement.setLong(index++, after);
+                    }
+                }
+                statement.setLong(index++, earliest);
+                statement.setLong(index++, latest);
+                if (serverUUID != null) statement.setString(index, serverUUID.toString());
+            }
+
+            @Override
+            public List<SessionAggregates> processResults(ResultSet set) throws SQLException {
+                // Aggregate functions always produce a row, sums of no rows are read as 0
+                if (!set.next()) return Collections.emptyList();
+                List<SessionAggregates> aggregates = new ArrayList<>();
+                for (int i = 0; i < windows.length; i++) {
+                    long[] window = windows[i];
+                    int players = set.getInt("players_" + i);
+                    aggregates.add(new SessionAggregates(
+                            window[0], window[1],
+                            set.getLong("playtime_" + i),
+                            set.getLong("afk_" + i),
+                            set.getLong("sessions_" + i),
+                            players,
+                            players != 0 ? set.getLong("player_playtime_" + i) / players : 0L,
+                            players != 0 ? set.getLong("player_afk_" + i) / players : 0L
+                    ));
+                }
+                return aggregates;
+            }
+        };
+    }
+
     public static Query<Map<String, Long>> playtimePerServer(long after, long before) {
         String sql = SELECT +
                 "SUM(" + SessionsTable.SESSION_END + '-' + SessionsTable.SESSION_START + ") as playtime," +
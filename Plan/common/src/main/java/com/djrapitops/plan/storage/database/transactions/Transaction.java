@@ -228,16 +228,24 @@ public abstract class Transaction {
         }
     }
 
-    protected void executeOther(Transaction transaction) {
+    /**
+     * Execute another transaction on the connection of this transaction.
+     *
+     * @param transaction Transaction to execute.
+     * @return false if the other transaction was skipped because it should not be executed.
+     */
+    protected boolean executeOther(Transaction transaction) {
         transaction.db = db;
         transaction.dbType = dbType;
         transaction.connection = this.connection;
-        if (transaction.shouldBeExecuted()) {
+        boolean executed = transaction.shouldBeExecuted();
+        if (executed) {
             transaction.performOperations();
         }
         transaction.connection = null;
         transaction.dbType = null;
         transaction.db = null;
+        return executed;
     }
 
     protected Database.State getDBState() {
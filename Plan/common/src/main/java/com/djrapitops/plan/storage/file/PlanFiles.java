@@ -152,4 +152,8 @@ public class PlanFiles implements SubSystem {
     public Path getJSONStorageDirectory() {
         return getDataDirectory().resolve("cached_json");
     }
+
+    public Path getStaticResourceCacheDirectory() {
+        return getDataDirectory().resolve("cached_static");
+    }
 }
@@ -0,0 +1,187 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.utilities.java;
+
+import java.util.*;
+
+/**
+ * Replaces many strings in a text, with the same result as calling
+ * {@link org.apache.commons.lang3.StringUtils#replace(String, String, String)} for each of them one after another.
+ * <p>
+ * The text is scanned once (Aho-Corasick automaton) to find which strings occur in it, so that strings that do not
+ * occur are skipped instead of each searching through the whole text. After a string is replaced, only the text
+ * around the replaced parts is scanned again, since later strings can only start occurring there.
+ *
+ * @author AuroraLS3
+ */
+public class MultiReplacer {
+
+    private final Node root;
+    private final String[] searches;
+    private final String[] replacements;
+    private final int longestSearch;
+
+    private MultiReplacer(Node root, String[] searches, String[] replacements, int longestSearch) {
+        this.root = root;
+        this.searches = searches;
+        this.replacements = replacements;
+        this.longestSearch = longestSearch;
+    }
+
+    /**
+     * Build a replacer.
+     *
+     * @param searchList      Strings to replace, in the order of replacing. The same string can be given more than once.
+     * @param replacementList Strings to replace them with, same length as searchList.
+     * @return Replacer that can be reused for any number of texts.
+     * @throws IllegalArgumentException If the lists are of different length.
+     */
+    public static MultiReplacer of(String[] searchList, String[] replacementList) {
+        if (searchList.length != replacementList.length) {
+            throw new IllegalArgumentException("Search and Replace array lengths don't match: "
+                    + searchList.length + " vs " + replacementList.length);
+        }
+        Node root = new Node();
+        List<String> searches = new ArrayList<>();
+        List<String> replacements = new ArrayList<>();
+        int longestSearch = 0;
+        for (int i = 0; i < searchList.length; i++) {
+            String search = searchList[i];
+            String replacement = replacementList[i];
+            // Same cases that StringUtils.replace leaves the text as is.
+            if (search == null || search.isEmpty() || replacement == null || search.equals(replacement)) continue;
+
+            Node node = root;
+            for (char c : search.toCharArray()) {
+                node = node.next.computeIfAbsent(c, key -> new Node());
+            }
+            node.addOrder(searches.size());
+            searches.add(search);
+            replacements.add(replacement);
+            longestSearch = Math.max(longestSearch, search.length());
+        }
+        linkFailures(root);
+        return new MultiReplacer(root, searches.toArray(new String[0]), replacements.toArray(new String[0]), longestSearch);
+    }
+
+    private static void linkFailures(Node root) {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.next.values()) {
+            child.fail = root;
+            child.output = child.orders.length > 0 ? child : null;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (Map.Entry<Character, Node> transition : node.next.entrySet()) {
+                Node child = transition.getValue();
+                child.fail = step(root, node.fail, transition.getKey());
+                child.output = child.orders.length > 0 ? child : child.fail.output;
+                queue.add(child);
+            }
+        }
+    }
+
+    private static Node step(Node root, Node from, char c) {
+        Node state = from;
+        while (true) {
+            Node next = state.next.get(c);
+            if (next != null) return next;
+            if (state == root) return root;
+            state = state.fail;
+        }
+    }
+
+    /**
+     * Replace the strings in the text.
+     *
+     * @param text Text to replace strings in.
+     * @return Text with the strings replaced, same instance if nothing was replaced.
+     */
+    public String replace(String text) {
+        if (searches.length == 0 || text == null || text.isEmpty()) return text;
+
+        // Strings that might occur in the current text, every string that does occur is included.
+        BitSet occurring = new BitSet(searches.length);
+        findOccurring(text, 0, text.length(), -1, occurring);
+
+        String replaced = text;
+        for (int order = occurring.nextSetBit(0); order >= 0; order = occurring.nextSetBit(order + 1)) {
+            String search = searches[order];
+            int found = replaced.indexOf(search);
+            if (found == -1) continue;
+
+            String replacement = replacements[order];
+            StringBuilder builder = new StringBuilder(replaced.length());
+            // Parts of the new text where later strings could start occurring.
+            int rescanFrom = -1;
+            int rescanTo = -1;
+            int copiedUntil = 0;
+            while (found != -1) {
+                builder.append(replaced, copiedUntil, found);
+                int windowStart = Math.max(0, builder.length() - longestSearch + 1);
+                builder.append(replacement);
+                int windowEnd = builder.length() + longestSearch - 1;
+                if (windowStart > rescanTo) {
+                    if (rescanFrom != -1) findOccurring(builder, rescanFrom, rescanTo, order, occurring);
+                    rescanFrom = windowStart;
+                }
+                rescanTo = windowEnd;
+                copiedUntil = found + search.length();
+                found = replaced.indexOf(search, copiedUntil);
+            }
+            builder.append(replaced, copiedUntil, replaced.length());
+            findOccurring(builder, rescanFrom, Math.min(rescanTo, builder.length()), order, occurring);
+            replaced = builder.toString();
+        }
+        return replaced;
+    }
+
+    /**
+     * Scan part of the text for strings.
+     *
+     * @param text      Text to scan.
+     * @param from      Start of the part, inclusive.
+     * @param to        End of the part, exclusive. Can be past the end of the text.
+     * @param after     Only strings later than this order are marked.
+     * @param occurring Set to mark the found strings in.
+     */
+    private void findOccurring(CharSequence text, int from, int to, int after, BitSet occurring) {
+        int end = Math.min(to, text.length());
+        Node state = root;
+        for (int i = from; i < end; i++) {
+            state = step(root, state, text.charAt(i));
+            for (Node found = state.output; found != null; found = found.fail.output) {
+                for (int order : found.orders) {
+                    if (order > after) occurring.set(order);
+                }
+            }
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> next = new HashMap<>();
+        private int[] orders = new int[0]; // Indexes of the strings that end at this node
+        private Node fail;
+        private Node output; // Closest node with strings that are a suffix of this node
+
+        void addOrder(int order) {
+            orders = Arrays.copyOf(orders, orders.length + 1);
+            orders[orders.length - 1] = order;
+        }
+    }
+}
@@ -219,6 +219,24 @@ function mapToDataSeries(performanceData) {
     }))
 }
 
+/**
+ * Decode the columnar graph format: first column has delta encoded dates, other columns one value per date.
+ */
+function mapColumnsToDataSeries(columns) {
+    const dates = columns[0];
+    const length = dates.length;
+    let date = 0;
+    const series = [[], [], [], [], [], [], []];
+    for (let i = 0; i < length; i++) {
+        date += dates[i];
+        for (let column = 1; column < columns.length; column++) {
+            series[column - 1][i] = [date, columns[column][i]];
+        }
+    }
+    const [playersOnline, tps, cpu, ram, entities, chunks, disk] = series;
+    return Promise.resolve({playersOnline, tps, cpu, ram, entities, chunks, disk});
+}
+
 function performanceChart(id, playersOnlineSeries, tpsSeries, cpuSeries, ramSeries, entitySeries, chunkSeries) {
     const chart = Highcharts.stockChart(id, {
         rangeSelector: {
@@ -0,0 +1,54 @@
+/**
+ * Create the players table.
+ *
+ * When the json is one page of the table (it has recordsTotal), the rest of the pages are requested
+ * from the server when the table is sorted, searched or paged. Exported json contains the whole table,
+ * which is sorted and searched in the browser.
+ *
+ * @param json Players table json requested with start=0&length=0 parameters.
+ * @param address Address of the players table json, without the paging parameters.
+ * @returns DataTable
+ */
+function createPlayersTable(json, address) {
+    const options = {
+        responsive: true,
+        columns: json.columns,
+        order: [[5, "desc"]]
+    };
+    if (json.recordsTotal === undefined) {
+        options.data = json.data;
+    } else {
+        options.serverSide = true;
+        options.searchDelay = 400;
+        options.ajax = (request, callback) => requestPlayersTablePage(address, json, request, callback);
+    }
+    return $('.player-table').DataTable(options);
+}
+
+function requestPlayersTablePage(address, json, request, callback) {
+    const order = request.order.length ? request.order[0] : {column: 5, dir: 'desc'};
+    const column = json.columns[order.column].data;
+    // Sort by the value instead of the displayed text, 'seen.v' -> 'seen'
+    const sortBy = typeof column === 'object' ? column._.substring(0, column._.length - 2) : column;
+    // Same timestamp as the first page, so that all pages are from the same table
+    const parameters = `timestamp=${json.timestamp}&start=${request.start}&length=${request.length}` +
+        `&order=${encodeURIComponent(sortBy)}&dir=${order.dir}&search=${encodeURIComponent(request.search.value)}`;
+    jsonRequest(address + (address.includes('?') ? '&' : '?') + parameters, (page, error) => {
+        if (error) {
+            callback({
+                draw: request.draw,
+                recordsTotal: 0,
+                recordsFiltered: 0,
+                data: [],
+                error: "Failed to load Players table data: " + (error.error ? error.error : error)
+            });
+            return;
+        }
+        callback({
+            draw: request.draw,
+            recordsTotal: page.recordsTotal,
+            recordsFiltered: page.recordsFiltered,
+            data: page.data
+        });
+    });
+}
@@ -376,7 +376,7 @@ async function loadOptimizedPerformanceGraph(json, error) {
                 color: json.colors.high
             }]
         };
-        const dataSeries = await mapToDataSeries(json.values);
+        const dataSeries = json.columns ? await mapColumnsToDataSeries(json.columns) : await mapToDataSeries(json.values);
         const series = {
             playersOnline: {
                 name: s.name.playersOnline, type: s.type.areaSpline, tooltip: s.tooltip.zeroDecimals,
@@ -2,6 +2,40 @@
 const currentlyRefreshing = {};
 let refreshBarrierMs = 0;
 
+// Requests waiting for newer data, stored by data identifier {'SERVER_OVERVIEW-uuid': [function, function]}
+const waitingForUpdate = {};
+let updateEvents = null;
+
+/**
+ * Listen to the Server-Sent Events of updated data.
+ * @param address Address of a json request, used to find the address of the event stream.
+ * @returns true if events are supported.
+ */
+function listenForUpdates(address) {
+    if (updateEvents) return true;
+    if (typeof EventSource === 'undefined' || !address.includes('v1/')) return false;
+
+    updateEvents = new EventSource(address.substring(0, address.indexOf('v1/')) + 'v1/events', {withCredentials: true});
+    // Events may have been missed while connecting
+    updateEvents.addEventListener('open', () => retryWaiting(Object.keys(waitingForUpdate)));
+    updateEvents.addEventListener('update', event => retryWaiting([JSON.parse(event.data).identifier]));
+    return true;
+}
+
+function retryWaiting(identifiers) {
+    for (const identifier of identifiers) {
+        const waiting = waitingForUpdate[identifier];
+        if (!waiting) continue;
+        delete waitingForUpdate[identifier];
+        waiting.forEach(retry => retry());
+    }
+}
+
+function waitForUpdate(dataID, retry) {
+    if (!waitingForUpdate[dataID]) waitingForUpdate[dataID] = [];
+    waitingForUpdate[dataID].push(retry);
+}
+
 function refreshingJsonRequest(address, callback, tabID, skipOldData) {
     const timestamp = Date.now();
     const addressWithTimestamp = address.includes('?')
@@ -23,7 +57,7 @@ function refreshingJsonRequest(address, callback, tabID, skipOldData) {
     currentlyRefreshing[tabID].push(address);
 
     function makeTheRequest(skipOldData) {
-        jsonRequest(addressWithTimestamp, (json, error) => {
+        jsonRequest(addressWithTimestamp, (json, error, dataID) => {
             if (error) {
                 currentlyRefreshing[tabID].splice(currentlyRefreshing[tabID].indexOf(address), 1);
                 if (error.status === 400 && error.error.includes('Attempt to get data from the future!')) {
@@ -39,8 +73,20 @@ function refreshingJsonRequest(address, callback, tabID, skipOldData) {
 
             const lastUpdated = json.timestamp;
             if (lastUpdated + refreshBarrierMs < timestamp) {
-                setTimeout(() => makeTheRequest(true), timeout);
-                timeout = timeout >= 12000 ? timeout : timeout * 2;
+                if (dataID && listenForUpdates(address)) {
+                    // Request again when the server tells the data was updated, the timeout is a fallback if the event is missed.
+                    let retried = false;
+                    const retry = () => {
+                        if (retried) return;
+                        retried = true;
+                        makeTheRequest(true);
+                    };
+                    waitForUpdate(dataID, retry);
+                    setTimeout(retry, 12000);
+                } else {
+                    setTimeout(() => makeTheRequest(true), timeout);
+                    timeout = timeout >= 12000 ? timeout : timeout * 2;
+                }
                 if (!skipOldData) callback(json, error);
             } else {
                 currentlyRefreshing[tabID].splice(currentlyRefreshing[tabID].indexOf(address), 1);
@@ -58,11 +104,11 @@ function refreshingJsonRequest(address, callback, tabID, skipOldData) {
 /**
  * Make a GET XMLHttpRequest for JSON data.
  * @param address Address to request from
- * @param callback function with (json, error) parameters to call after the request.
+ * @param callback function with (json, error, dataID) parameters to call after the request.
  */
 function jsonRequest(address, callback) {
     setTimeout(function () {
-        const xhr = newConfiguredXHR(callback);
+        const xhr = newConfiguredXHR(callback, () => jsonRequest(address, callback));
 
         xhr.open("GET", address, true);
         xhr.send();
@@ -88,8 +134,9 @@ function jsonPostRequest(address, postBody, callback) {
 /**
  * Create new XMLHttpRequest configured for methods such as jsonRequest
  * @param callback function with (json, error) parameters to call after the request.
+ * @param retry (optional) function to call to send the request again when the server is busy.
  */
-function newConfiguredXHR(callback) {
+function newConfiguredXHR(callback, retry) {
     const xhr = new XMLHttpRequest();
 
     xhr.withCredentials = true;
@@ -98,10 +145,14 @@ function newConfiguredXHR(callback) {
             try {
                 if (this.status === 200 || (this.status === 0 && this.responseText)) {
                     var json = JSON.parse(this.responseText);
+                    const dataID = this.getResponseHeader("X-Plan-Data-ID");
                     setTimeout(function () {
-                        callback(json, null)
+                        callback(json, null, dataID)
                     }, 0);
-                } else if (this.status === 404 || this.status === 403 || this.status === 500) {
+                } else if (this.status === 429 && retry) {
+                    const retryAfterSeconds = Number(this.getResponseHeader("Retry-After")) || 1;
+                    setTimeout(retry, retryAfterSeconds * 1000);
+                } else if (this.status === 404 || this.status === 403 || this.status === 429 || this.status === 500) {
                     callback(null, "HTTP " + this.status + " (See " + address + ")")
                 } else if (this.status === 400) {
                     const json = JSON.parse(this.responseText);
@@ -0,0 +1,131 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.rendering.json;
+
+import com.djrapitops.plan.delivery.domain.TablePlayer;
+import com.djrapitops.plan.delivery.domain.mutators.ActivityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayersTableIndexTest {
+
+    private List<TablePlayer> players;
+    private PlayersTableIndex underTest;
+
+    @BeforeEach
+    void setUp() {
+        players = new ArrayList<>();
+        Random random = new Random(5L);
+        for (int i = 0; i < 500; i++) {
+            players.add(TablePlayer.builder()
+                    .uuid(UUID.randomUUID())
+                    .name((i % 3 == 0 ? "Steve" : "Alex") + i)
+                    .activityIndex(new ActivityIndex(random.nextDouble() * 5.0, 0L))
+                    .activePlaytime(random.nextInt(1000))
+                    .sessionCount(random.nextInt(20))
+                    .registered(random.nextInt(1000))
+                    .lastSeen(random.nextInt(1000))
+                    .build());
+        }
+        underTest = new PlayersTableIndex(players);
+    }
+
+    private List<String> namesOf(PlayersTableIndex.Page page) {
+        return page.getPlayers().stream().map(player -> player.getName().orElse(null)).collect(Collectors.toList());
+    }
+
+    private List<String> expected(Comparator<TablePlayer> sort, String prefix, int start, int length) {
+        return players.stream()
+                .filter(player -> player.getName().map(name -> name.toLowerCase().startsWith(prefix)).orElse(false))
+                .sorted(sort)
+                .skip(start)
+                .limit(length)
+                .map(player -> player.getName().orElse(null))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void pageIsSortedByLastSeen() {
+        Comparator<TablePlayer> byLastSeen = Comparator.comparingLong(player -> player.getLastSeen().orElse(-1L));
+        PlayersTableIndex.Page page = underTest.query("seen", false, "", 20, 25);
+
+        assertEquals(expected(byLastSeen, "", 20, 25), namesOf(page));
+        assertEquals(500, page.getTotalCount());
+        assertEquals(500, page.getFilteredCount());
+    }
+
+    @Test
+    void equalValuesAreInTableOrder() {
+        // 500 players have only 20 different session counts
+        Comparator<TablePlayer> bySessions = Comparator.comparingInt(player -> player.getSessionCount().orElse(0));
+        PlayersTableIndex.Page page = underTest.query("sessions", false, "", 0, 500);
+
+        assertEquals(expected(bySessions, "", 0, 500), namesOf(page));
+    }
+
+    @Test
+    void descendingPageIsReversed() {
+        PlayersTableIndex.Page ascending = underTest.query("activePlaytime", false, null, 0, 500);
+        PlayersTableIndex.Page descending = underTest.query("activePlaytime", true, null, 0, 500);
+
+        long previous = Long.MAX_VALUE;
+        for (TablePlayer player : descending.getPlayers()) {
+            long playtime = player.getActivePlaytime().orElse(-1L);
+            assertTrue(playtime <= previous);
+            previous = playtime;
+        }
+        assertEquals(ascending.getPlayers().get(0), descending.getPlayers().get(499));
+    }
+
+    @Test
+    void searchFindsNamePrefixes() {
+        Comparator<TablePlayer> byRegistered = Comparator.comparingLong(player -> player.getRegistered().orElse(-1L));
+        PlayersTableIndex.Page page = underTest.query("registered", false, "STEVE1", 5, 10);
+
+        assertEquals(expected(byRegistered, "steve1", 5, 10), namesOf(page));
+        assertEquals(expected(byRegistered, "steve1", 0, 500).size(), page.getFilteredCount());
+    }
+
+    @Test
+    void searchOfManyPlayersUsesSortedIndex() {
+        Comparator<TablePlayer> bySessions = Comparator.comparingInt(player -> player.getSessionCount().orElse(0));
+        PlayersTableIndex.Page page = underTest.query("sessions", false, "alex", 100, 30);
+
+        assertEquals(expected(bySessions, "alex", 100, 30), namesOf(page));
+        assertEquals(expected(bySessions, "alex", 0, 500).size(), page.getFilteredCount());
+    }
+
+    @Test
+    void noMatchesGivesEmptyPage() {
+        PlayersTableIndex.Page page = underTest.query("index", true, "notch", 0, 25);
+
+        assertTrue(page.getPlayers().isEmpty());
+        assertEquals(0, page.getFilteredCount());
+    }
+
+    @Test
+    void extensionColumnsAreNotSortable() {
+        assertTrue(underTest.isSortable("seen"));
+        assertFalse(underTest.isSortable("someExtensionValue"));
+        assertThrows(IllegalArgumentException.class, () -> underTest.query("someExtensionValue", false, "", 0, 25));
+    }
+}
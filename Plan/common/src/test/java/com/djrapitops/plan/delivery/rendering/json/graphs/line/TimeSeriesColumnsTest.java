@@ -0,0 +1,65 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.rendering.json.graphs.line;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for {@link TimeSeriesColumns}.
+ */
+class TimeSeriesColumnsTest {
+
+    @Test
+    void datesAreDeltaEncoded() {
+        List<Number[]> rows = Arrays.asList(
+                new Number[]{1000L, 1},
+                new Number[]{61000L, 2},
+                new Number[]{121000L, 3}
+        );
+        Number[][] columns = TimeSeriesColumns.fromRows(rows, 2);
+
+        assertArrayEquals(new Number[]{1000L, 60000L, 60000L}, columns[0]);
+        assertArrayEquals(new Number[]{1, 2, 3}, columns[1]);
+    }
+
+    @Test
+    void decimalsAreRoundedAndWholeDecimalsBecomeIntegers() {
+        List<Number[]> rows = Collections.singletonList(new Number[]{0L, 19.98765, 20.0, 5L});
+        Number[][] columns = TimeSeriesColumns.fromRows(rows, 4);
+
+        assertEquals(19.99, columns[1][0]);
+        assertEquals(20L, columns[2][0]);
+        assertEquals(5L, columns[3][0]);
+    }
+
+    @Test
+    void missingValuesAreNull() {
+        List<Number[]> rows = Collections.singletonList(new Number[]{0L, null, Double.NaN});
+        Number[][] columns = TimeSeriesColumns.fromRows(rows, 5);
+
+        assertArrayEquals(new Number[]{null}, columns[1]);
+        assertArrayEquals(new Number[]{null}, columns[2]);
+        assertArrayEquals(new Number[]{null}, columns[4]);
+    }
+}
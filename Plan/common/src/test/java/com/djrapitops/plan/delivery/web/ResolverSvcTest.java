@@ -0,0 +1,115 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.web;
+
+import com.djrapitops.plan.delivery.web.resolver.Resolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link ResolverSvc} route ordering.
+ *
+ * @author AuroraLS3
+ */
+class ResolverSvcTest {
+
+    private ResolverSvc underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ResolverSvc();
+    }
+
+    @Test
+    void longerPrefixIsTriedFirst() {
+        Resolver player = mock(Resolver.class);
+        Resolver players = mock(Resolver.class);
+        underTest.registerResolver("Test", "/player", player);
+        underTest.registerResolver("Test", "/players", players);
+
+        assertEquals(Arrays.asList(players, player), underTest.getResolvers("/players/abc"));
+        assertEquals(Collections.singletonList(player), underTest.getResolvers("/player/abc"));
+        assertEquals(Optional.of(players), underTest.getResolver("/players"));
+    }
+
+    @Test
+    void prefixesAreTriedBeforeRegex() {
+        Resolver regex = mock(Resolver.class);
+        Resolver prefix = mock(Resolver.class);
+        underTest.registerResolverForMatches("Test", Pattern.compile("^/server/.*"), regex);
+        underTest.registerResolver("Test", "/server", prefix);
+
+        assertEquals(Arrays.asList(prefix, regex), underTest.getResolvers("/server/Server"));
+        assertEquals(Optional.of(prefix), underTest.getResolver("/server/Server"));
+    }
+
+    @Test
+    void longerRegexIsTriedFirst() {
+        Resolver shortRegex = mock(Resolver.class);
+        Resolver longRegex = mock(Resolver.class);
+        Resolver sameLength = mock(Resolver.class);
+        underTest.registerResolverForMatches("Test", Pattern.compile("/a.*"), shortRegex);
+        underTest.registerResolverForMatches("Test", Pattern.compile("/ab.*"), longRegex);
+        underTest.registerResolverForMatches("Test", Pattern.compile("/a.+"), sameLength);
+
+        assertEquals(Arrays.asList(longRegex, shortRegex, sameLength), underTest.getResolvers("/abc"));
+    }
+
+    @Test
+    void samePrefixIsTriedInRegistrationOrder() {
+        Resolver first = mock(Resolver.class);
+        Resolver second = mock(Resolver.class);
+        underTest.registerResolver("First", "/example", first);
+        underTest.registerResolver("Second", "/example", second);
+
+        assertEquals(Arrays.asList(first, second), underTest.getResolvers("/example"));
+        assertEquals(Optional.of("First"), underTest.getPluginInChargeOf("/example/target"));
+    }
+
+    @Test
+    void unmatchedTargetHasNoResolvers() {
+        underTest.registerResolver("Test", "/example", mock(Resolver.class));
+        underTest.registerResolverForMatches("Test", Pattern.compile("^/$"), mock(Resolver.class));
+
+        assertEquals(Collections.emptyList(), underTest.getResolvers("/exampl"));
+        assertEquals(Optional.empty(), underTest.getResolver("/other"));
+    }
+
+    @Test
+    void routeStatsAreRecorded() {
+        underTest.registerResolver("Test", "/example", mock(Resolver.class));
+        List<Route> routes = underTest.getRoutes("/example/target");
+        routes.get(0).getStats().record(2000L, false);
+        routes.get(0).getStats().record(1000L, true);
+
+        RouteStats stats = underTest.getRouteStats().get(0);
+        assertEquals("/example", stats.getRoute());
+        assertEquals(2L, stats.getCalls());
+        assertEquals(1L, stats.getErrors());
+        assertEquals(1500L, stats.getAverageNanos());
+        assertEquals(2000L, stats.getMaxNanos());
+    }
+}
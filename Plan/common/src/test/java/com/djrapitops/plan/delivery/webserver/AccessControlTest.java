@@ -155,6 +155,7 @@ public class AccessControlTest {
             "/v1/playerbaseOverview?server=" + TestConstants.SERVER_UUID_STRING + ",200",
             "/v1/performanceOverview?server=" + TestConstants.SERVER_UUID_STRING + ",200",
             "/v1/graph?type=optimizedPerformance&server=" + TestConstants.SERVER_UUID_STRING + ",200",
+            "/v1/graph?type=optimizedPerformance&format=columnar&server=" + TestConstants.SERVER_UUID_STRING + ",200",
             "/v1/graph?type=aggregatedPing&server=" + TestConstants.SERVER_UUID_STRING + ",200",
             "/v1/graph?type=worldPie&server=" + TestConstants.SERVER_UUID_STRING + ",200",
             "/v1/graph?type=activity&server=" + TestConstants.SERVER_UUID_STRING + ",200",
@@ -194,6 +195,7 @@ public class AccessControlTest {
             "/v1/filters,200",
             "/v1/query,400",
             "/v1/errors,200",
+            "/v1/metrics,200",
             "/errors,200",
     })
     void levelZeroCanAccess(String resource, String expectedResponseCode) throws NoSuchAlgorithmException, IOException, KeyManagementException {
@@ -215,6 +217,7 @@ public class AccessControlTest {
             "/v1/playerbaseOverview?server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/performanceOverview?server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/graph?type=optimizedPerformance&server=" + TestConstants.SERVER_UUID_STRING + ",403",
+            "/v1/graph?type=optimizedPerformance&format=columnar&server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/graph?type=aggregatedPing&server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/graph?type=worldPie&server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/graph?type=activity&server=" + TestConstants.SERVER_UUID_STRING + ",403",
@@ -254,6 +257,7 @@ public class AccessControlTest {
             "/v1/filters,200",
             "/v1/query,400",
             "/v1/errors,403",
+            "/v1/metrics,403",
             "/errors,403",
     })
     void levelOneCanAccess(String resource, String expectedResponseCode) throws NoSuchAlgorithmException, IOException, KeyManagementException {
@@ -275,6 +279,7 @@ public class AccessControlTest {
             "/v1/playerbaseOverview?server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/performanceOverview?server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/graph?type=optimizedPerformance&server=" + TestConstants.SERVER_UUID_STRING + ",403",
+            "/v1/graph?type=optimizedPerformance&format=columnar&server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/graph?type=aggregatedPing&server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/graph?type=worldPie&server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/graph?type=activity&server=" + TestConstants.SERVER_UUID_STRING + ",403",
@@ -314,6 +319,7 @@ public class AccessControlTest {
             "/v1/filters,403",
             "/v1/query,403",
             "/v1/errors,403",
+            "/v1/metrics,403",
             "/errors,403",
     })
     void levelTwoCanAccess(String resource, String expectedResponseCode) throws NoSuchAlgorithmException, IOException, KeyManagementException {
@@ -335,6 +341,7 @@ public class AccessControlTest {
             "/v1/playerbaseOverview?server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/performanceOverview?server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/graph?type=optimizedPerformance&server=" + TestConstants.SERVER_UUID_STRING + ",403",
+            "/v1/graph?type=optimizedPerformance&format=columnar&server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/graph?type=aggregatedPing&server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/graph?type=worldPie&server=" + TestConstants.SERVER_UUID_STRING + ",403",
             "/v1/graph?type=activity&server=" + TestConstants.SERVER_UUID_STRING + ",403",
@@ -0,0 +1,117 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedResponseCacheTest {
+
+    @Test
+    void gzipIsAccepted() {
+        assertTrue(CompressedResponseCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(CompressedResponseCache.acceptsGzip("deflate;q=0.5, gzip;q=0.8"));
+        assertTrue(CompressedResponseCache.acceptsGzip("*"));
+    }
+
+    @Test
+    void gzipIsNotAccepted() {
+        assertFalse(CompressedResponseCache.acceptsGzip(null));
+        assertFalse(CompressedResponseCache.acceptsGzip("identity"));
+        assertFalse(CompressedResponseCache.acceptsGzip("gzip;q=0, *"));
+        assertFalse(CompressedResponseCache.acceptsGzip("br, *;q=0"));
+    }
+
+    @Test
+    void textIsCompressible() {
+        assertTrue(CompressedResponseCache.isCompressible("application/json; charset=utf-8"));
+        assertTrue(CompressedResponseCache.isCompressible("text/html"));
+        assertFalse(CompressedResponseCache.isCompressible("image/gif"));
+        assertFalse(CompressedResponseCache.isCompressible(null));
+    }
+
+    @Test
+    void sameContentIsCompressedOnce() throws IOException {
+        CompressedResponseCache cache = new CompressedResponseCache();
+        String content = "{\"value\":\"Test content that is compressed\"}";
+
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        byte[] first = cache.gzip(CompressedResponseCache.digest(bytes), bytes);
+        byte[] second = cache.gzip(CompressedResponseCache.digest(bytes), content.getBytes(StandardCharsets.UTF_8));
+
+        assertSame(first, second);
+        assertEquals(content, decompress(first));
+    }
+
+    @Test
+    void contentWithSameETagIsCompressedOnce() throws IOException {
+        CompressedResponseCache cache = new CompressedResponseCache();
+        String content = "{\"value\":\"Test content that is compressed\"}";
+
+        byte[] first = cache.gzipByETag("/v1/test", "\"abc\"", content.getBytes(StandardCharsets.UTF_8));
+        byte[] second = cache.gzipByETag("/v1/test", "\"abc\"", content.getBytes(StandardCharsets.UTF_8));
+
+        assertSame(first, second);
+        assertEquals(content, decompress(first));
+    }
+
+    @Test
+    void sameETagOfDifferentRequestsIsNotShared() throws IOException {
+        CompressedResponseCache cache = new CompressedResponseCache();
+        String content = "{\"value\":\"Test content that is compressed\"}";
+        String other = "{\"value\":\"Tost content that is compressed\"}";
+
+        byte[] first = cache.gzipByETag("/v1/test?server=1", "\"abc\"", content.getBytes(StandardCharsets.UTF_8));
+        byte[] second = cache.gzipByETag("/v1/test?server=2", "\"abc\"", other.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(content, decompress(first));
+        assertEquals(other, decompress(second));
+    }
+
+    @Test
+    void contentWithoutStrongETagIsNotCached() throws IOException {
+        CompressedResponseCache cache = new CompressedResponseCache();
+        String content = "{\"value\":\"Test content that is compressed\"}";
+
+        byte[] first = cache.gzipByETag("/v1/test", null, content.getBytes(StandardCharsets.UTF_8));
+        byte[] second = cache.gzipByETag("/v1/test", "W/\"abc\"", content.getBytes(StandardCharsets.UTF_8));
+        byte[] third = cache.gzipByETag("/v1/test", "W/\"abc\"", content.getBytes(StandardCharsets.UTF_8));
+
+        assertNotSame(first, second);
+        assertNotSame(second, third);
+        assertEquals(content, decompress(third));
+    }
+
+    private String decompress(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed));
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalRequestsTest {
+
+    private static final String ETAG = "\"abc123\"";
+
+    @Test
+    void matchingETagIsNotModified() {
+        assertTrue(ConditionalRequests.isNotModified(ETAG, null, ETAG, null));
+        assertTrue(ConditionalRequests.isNotModified("\"other\", " + ETAG, null, ETAG, null));
+        assertTrue(ConditionalRequests.isNotModified("W/" + ETAG, null, ETAG, null));
+        assertTrue(ConditionalRequests.isNotModified("*", null, ETAG, null));
+    }
+
+    @Test
+    void gzipETagMatchesUncompressed() {
+        assertTrue(ConditionalRequests.isNotModified(ConditionalRequests.gzipEtagOf(ETAG), null, ETAG, null));
+    }
+
+    @Test
+    void differentETagIsModified() {
+        assertFalse(ConditionalRequests.isNotModified("\"other\"", null, ETAG, null));
+        assertFalse(ConditionalRequests.isNotModified(null, null, ETAG, null));
+    }
+
+    @Test
+    void ifNoneMatchTakesPrecedenceOverDate() {
+        String lastModified = ConditionalRequests.formatHttpDate(1000L);
+        assertFalse(ConditionalRequests.isNotModified("\"other\"", lastModified, ETAG, lastModified));
+    }
+
+    @Test
+    void notModifiedSince() {
+        String lastModified = ConditionalRequests.formatHttpDate(1_600_000_000_000L);
+        String later = ConditionalRequests.formatHttpDate(1_600_000_060_000L);
+        assertTrue(ConditionalRequests.isNotModified(null, lastModified, ETAG, lastModified));
+        assertTrue(ConditionalRequests.isNotModified(null, later, ETAG, lastModified));
+        assertFalse(ConditionalRequests.isNotModified(null, lastModified, ETAG, later));
+    }
+
+    @Test
+    void httpDateIsFormattedAndParsed() {
+        String formatted = ConditionalRequests.formatHttpDate(1_600_000_000_000L);
+        assertEquals("Sun, 13 Sep 2020 12:26:40 GMT", formatted);
+        assertEquals(1_600_000_000_000L, ConditionalRequests.parseHttpDate(formatted));
+        assertEquals(-1L, ConditionalRequests.parseHttpDate("not a date"));
+    }
+
+    @Test
+    void etagOfDigestIsQuotedHex() {
+        ByteBuffer digest = ByteBuffer.wrap(new byte[]{0x01, (byte) 0xAB});
+        assertEquals("\"01ab\"", ConditionalRequests.etagOf(digest));
+    }
+}
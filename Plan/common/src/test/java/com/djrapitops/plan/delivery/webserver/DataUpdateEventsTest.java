@@ -0,0 +1,124 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class DataUpdateEventsTest {
+
+    private DataUpdateEvents underTest;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        underTest = new DataUpdateEvents(mock(ErrorLogger.class));
+        underTest.enable();
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> underTest.subscribe(exchange, Response.builder()
+                .setMimeType(DataUpdateEvents.CONTENT_TYPE)
+                .setHeader(DataUpdateEvents.SCOPES_HEADER, exchange.getRequestURI().getQuery())
+                .setContent("retry: 1000\n\n")
+                .build()));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.disable();
+        server.stop(0);
+    }
+
+    @Test
+    void eventStreamResponseIsRecognized() {
+        Response stream = Response.builder().setMimeType(DataUpdateEvents.CONTENT_TYPE).setContent("").build();
+        Response json = Response.builder().setMimeType("application/json").setContent("{}").build();
+
+        assertTrue(DataUpdateEvents.isEventStream(stream));
+        assertFalse(DataUpdateEvents.isEventStream(json));
+    }
+
+    @Test
+    void identifiersAreScopedByKindOfJson() {
+        assertEquals(DataUpdateEvents.SERVER_SCOPE, DataUpdateEvents.getScope("SERVER_OVERVIEW-abc"));
+        assertEquals(DataUpdateEvents.PLAYERS_SCOPE, DataUpdateEvents.getScope("PLAYERS"));
+        assertEquals(DataUpdateEvents.NETWORK_SCOPE, DataUpdateEvents.getScope("SERVERS"));
+    }
+
+    @Test
+    void publishedUpdateIsSentToSubscriber() throws Exception {
+        HttpURLConnection connection = openEvents(DataUpdateEvents.SERVER_SCOPE);
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            assertEquals("text/event-stream; charset=utf-8", connection.getContentType());
+            assertNull(connection.getHeaderField(DataUpdateEvents.SCOPES_HEADER));
+            assertEquals("retry: 1000", in.readLine());
+            assertEquals("", in.readLine());
+            assertEquals(1, underTest.getSubscriberCount());
+
+            underTest.publish("SERVER_OVERVIEW-abc", 1234L);
+
+            assertEquals("event: update", in.readLine());
+            String data = in.readLine();
+            assertTrue(data.startsWith("data: {"), data);
+            assertTrue(data.contains("\"identifier\":\"SERVER_OVERVIEW-abc\""), data);
+            assertTrue(data.contains("\"timestamp\":1234"), data);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Test
+    void updateOutsideScopesIsNotSent() throws Exception {
+        HttpURLConnection connection = openEvents(DataUpdateEvents.NETWORK_SCOPE);
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            assertEquals("retry: 1000", in.readLine());
+            assertEquals("", in.readLine());
+
+            underTest.publish("SERVER_OVERVIEW-abc", 1234L);
+            underTest.publish("SERVERS", 1235L);
+
+            assertEquals("event: update", in.readLine());
+            String data = in.readLine();
+            assertTrue(data.contains("\"identifier\":\"SERVERS\""), data);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private HttpURLConnection openEvents(String scopes) throws IOException {
+        URL address = new URL("http://localhost:" + server.getAddress().getPort() + "/v1/events?" + scopes);
+        HttpURLConnection connection = (HttpURLConnection) address.openConnection();
+        connection.setReadTimeout(5000);
+        return connection;
+    }
+}
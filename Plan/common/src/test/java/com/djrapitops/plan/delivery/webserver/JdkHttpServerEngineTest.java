@@ -0,0 +1,42 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class JdkHttpServerEngineTest {
+
+    @Test
+    void newestTlsProtocolsArePreferred() {
+        String[] supported = {"TLSv1", "TLSv1.1", "TLSv1.2", "TLSv1.3"};
+        assertArrayEquals(new String[]{"TLSv1.3", "TLSv1.2"}, JdkHttpServerEngine.selectProtocols(supported));
+    }
+
+    @Test
+    void tls12IsUsedWithoutTls13Support() {
+        String[] supported = {"TLSv1", "TLSv1.1", "TLSv1.2"};
+        assertArrayEquals(new String[]{"TLSv1.2"}, JdkHttpServerEngine.selectProtocols(supported));
+    }
+
+    @Test
+    void supportedProtocolsAreUsedIfNoneArePreferred() {
+        String[] supported = {"TLSv1"};
+        assertArrayEquals(supported, JdkHttpServerEngine.selectProtocols(supported));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver;
+
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import net.playeranalytics.plugin.server.PluginLogger;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestBulkheadTest {
+
+    @Test
+    void requestOverLimitIsRejected() {
+        RequestBulkhead underTest = new RequestBulkhead(EndpointClass.HEAVY, 1);
+
+        assertTrue(underTest.tryEnter());
+        assertFalse(underTest.tryEnter());
+        assertEquals(1, underTest.getRunning());
+
+        underTest.exit();
+        assertTrue(underTest.tryEnter());
+    }
+
+    @Test
+    void limitsAreKeptBelowWorkerThreads() {
+        PlanConfig config = mock(PlanConfig.class);
+        when(config.get(WebserverSettings.WORKER_THREADS)).thenReturn(8);
+        when(config.get(WebserverSettings.HEAVY_REQUEST_LIMIT)).thenReturn(4);
+        when(config.get(WebserverSettings.DEFAULT_REQUEST_LIMIT)).thenReturn(32);
+        RequestBulkheads underTest = new RequestBulkheads(config, mock(PluginLogger.class));
+
+        int heavy = underTest.getBulkhead(request("/v1/query")).map(RequestBulkhead::getLimit).orElse(0);
+        int other = underTest.getBulkhead(request("/v1/network/overview")).map(RequestBulkhead::getLimit).orElse(0);
+        assertEquals(4, heavy);
+        assertEquals(3, other);
+        assertFalse(underTest.getBulkhead(request("/css/style.css")).isPresent());
+    }
+
+    @Test
+    void requestsAreClassified() {
+        assertEquals(EndpointClass.STATIC, EndpointClass.of(request("/css/style.css")));
+        assertEquals(EndpointClass.STATIC, EndpointClass.of(request("/server/Server/css/style.css")));
+        assertEquals(EndpointClass.STATIC, EndpointClass.of(request("/favicon.ico")));
+        assertEquals(EndpointClass.HEAVY, EndpointClass.of(request("/v1/query?q=abc")));
+        assertEquals(EndpointClass.HEAVY, EndpointClass.of(request("/v1/query/")));
+        assertEquals(EndpointClass.HEAVY, EndpointClass.of(request("/v1/query/js/file?q=abc")));
+        assertEquals(EndpointClass.HEAVY, EndpointClass.of(request("/player/Test")));
+        assertEquals(EndpointClass.HEAVY, EndpointClass.of(request("/v1/graph?type=optimizedPerformance&server=abc")));
+        assertEquals(EndpointClass.DEFAULT, EndpointClass.of(request("/v1/graph?type=uniqueAndNew&server=abc")));
+        assertEquals(EndpointClass.DEFAULT, EndpointClass.of(request("/server/Server")));
+        assertEquals(EndpointClass.DEFAULT, EndpointClass.of(request("/server/css")));
+    }
+
+    private static Request request(String target) {
+        return new Request("GET", target, null, Collections.emptyMap());
+    }
+}
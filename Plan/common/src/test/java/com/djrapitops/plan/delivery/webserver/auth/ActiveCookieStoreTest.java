@@ -32,24 +32,28 @@ import utilities.mocks.objects.TestRunnableFactory;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 class ActiveCookieStoreTest {
 
     private ActiveCookieStore underTest;
+    private Database db;
     private User user;
 
     @BeforeEach
     void createActiveCookieStore() {
         DBSystem dbSystem = Mockito.mock(DBSystem.class);
-        Database db = Mockito.mock(Database.class);
+        db = Mockito.mock(Database.class);
         when(dbSystem.getDatabase()).thenReturn(db);
 
         underTest = new ActiveCookieStore(
                 Mockito.mock(PlanConfig.class),
                 dbSystem,
                 new TestRunnableFactory(),
-                Mockito.mock(Processing.class)
+                Mockito.mock(Processing.class),
+                new VerifiedCredentialCache()
         );
         user = new User(TestConstants.PLAYER_ONE_NAME, "console", null, PassEncryptUtil.createHash("testPass"), 0, WebUser.getPermissionsForLevel(0));
     }
@@ -83,4 +87,24 @@ class ActiveCookieStoreTest {
         assertFalse(underTest.checkCookie(cookie).isPresent());
     }
 
-}
\ No newline at end of file
+    @Test
+    void allCookiesAreRemovedAndNewOnesStillWork() {
+        String cookie = underTest.generateNewCookie(user);
+
+        underTest.removeAll();
+        assertFalse(underTest.checkCookie(cookie).isPresent());
+
+        String newCookie = underTest.generateNewCookie(user);
+        assertTrue(underTest.checkCookie(newCookie).isPresent());
+    }
+
+    @Test
+    void unknownCookiesAreNotLookedUpFromDatabase() {
+        when(db.getState()).thenReturn(Database.State.OPEN);
+
+        assertFalse(underTest.checkCookie("unknown").isPresent());
+        assertFalse(underTest.checkCookie("unknown").isPresent());
+        verify(db, never()).query(any());
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.auth;
+
+import com.djrapitops.plan.delivery.domain.WebUser;
+import com.djrapitops.plan.delivery.domain.auth.User;
+import com.djrapitops.plan.exceptions.WebUserAuthException;
+import com.djrapitops.plan.processing.Processing;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.utilities.Base64Util;
+import com.djrapitops.plan.utilities.PassEncryptUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import utilities.TestConstants;
+import utilities.mocks.objects.TestRunnableFactory;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BasicAuthenticationTest {
+
+    private Database database;
+    private User user;
+    private VerifiedCredentialCache verifiedCredentials;
+
+    @BeforeEach
+    void setUp() {
+        user = new User(TestConstants.PLAYER_ONE_NAME, "console", null, PassEncryptUtil.createHash("testPass"), 0, WebUser.getPermissionsForLevel(0));
+        database = Mockito.mock(Database.class);
+        when(database.getState()).thenReturn(Database.State.OPEN);
+        when(database.query(any())).thenReturn(Optional.of(user));
+        verifiedCredentials = new VerifiedCredentialCache();
+    }
+
+    @AfterEach
+    void clearVerifiedCredentials() {
+        verifiedCredentials.disable();
+    }
+
+    private BasicAuthentication authenticationWith(String password) {
+        return new BasicAuthentication(Base64Util.encode(TestConstants.PLAYER_ONE_NAME + ':' + password), database, verifiedCredentials);
+    }
+
+    @Test
+    void verifiedCredentialsAreNotVerifiedAgain() {
+        assertEquals(user, authenticationWith("testPass").getUser());
+        assertEquals(user, authenticationWith("testPass").getUser());
+
+        verify(database, times(1)).query(any());
+    }
+
+    @Test
+    void wrongPasswordIsNotCached() {
+        assertThrows(WebUserAuthException.class, () -> authenticationWith("wrongPass").getUser());
+        assertThrows(WebUserAuthException.class, () -> authenticationWith("wrongPass").getUser());
+
+        verify(database, times(2)).query(any());
+    }
+
+    @Test
+    void loggingOutUserRequiresVerificationAgain() {
+        DBSystem dbSystem = Mockito.mock(DBSystem.class);
+        when(dbSystem.getDatabase()).thenReturn(database);
+        new ActiveCookieStore(Mockito.mock(PlanConfig.class), dbSystem, new TestRunnableFactory(), Mockito.mock(Processing.class), verifiedCredentials);
+
+        authenticationWith("testPass").getUser();
+        ActiveCookieStore.removeUserCookie(TestConstants.PLAYER_ONE_NAME);
+        authenticationWith("testPass").getUser();
+
+        verify(database, times(2)).query(any());
+    }
+
+    @Test
+    void reloadRequiresVerificationAgain() {
+        authenticationWith("testPass").getUser();
+        verifiedCredentials.disable();
+        verifiedCredentials.enable();
+        authenticationWith("testPass").getUser();
+
+        verify(database, times(2)).query(any());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JSONMemoryStorageShimTest {
+
+    private JSONStorage underlyingStorage;
+    private JSONMemoryStorageShim underTest;
+
+    @BeforeEach
+    void setUp() {
+        PlanConfig config = Mockito.mock(PlanConfig.class);
+        when(config.get(WebserverSettings.INVALIDATE_MEMORY_CACHE)).thenReturn(TimeUnit.MINUTES.toMillis(5L));
+        when(config.get(WebserverSettings.MEMORY_CACHE_MAX_SIZE_MB)).thenReturn(1);
+
+        underlyingStorage = Mockito.mock(JSONStorage.class);
+        when(underlyingStorage.storeJson(anyString(), anyString(), anyLong()))
+                .then(invocation -> new JSONStorage.StoredJSON(invocation.getArgument(1), invocation.getArgument(2)));
+        when(underlyingStorage.fetchJSON(anyString())).thenReturn(Optional.empty());
+        when(underlyingStorage.fetchJsonMadeBefore(anyString(), anyLong())).thenReturn(Optional.empty());
+        when(underlyingStorage.fetchJsonMadeAfter(anyString(), anyLong())).thenReturn(Optional.empty());
+
+        underTest = new JSONMemoryStorageShim(config, underlyingStorage);
+        underTest.enable();
+    }
+
+    @Test
+    void newestCachedIsFetchedFromMemory() {
+        underTest.storeJson("Identifier", "old", 1L);
+        JSONStorage.StoredJSON stored = underTest.storeJson("Identifier", "new", 2L);
+
+        assertEquals(stored, underTest.fetchJSON("Identifier").orElseThrow(AssertionError::new));
+        assertEquals(stored, underTest.fetchJsonMadeAfter("Identifier", 0L).orElseThrow(AssertionError::new));
+        verify(underlyingStorage, never()).fetchJSON(anyString());
+        verify(underlyingStorage, never()).fetchJsonMadeAfter(anyString(), anyLong());
+        assertEquals(2L, underTest.getHitCount());
+    }
+
+    @Test
+    void madeBeforeIsFetchedFromMemory() {
+        JSONStorage.StoredJSON stored = underTest.storeJson("Identifier", "old", 1L);
+        underTest.storeJson("Identifier", "new", 2L);
+
+        assertEquals(stored, underTest.fetchJsonMadeBefore("Identifier", 2L).orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void otherIdentifiersAreNotFetched() {
+        underTest.storeJson("SESSIONS_OVERVIEW", "data", 1L);
+
+        assertFalse(underTest.fetchJSON("SESSIONS").isPresent());
+        verify(underlyingStorage).fetchJSON("SESSIONS");
+        assertEquals(1L, underTest.getMissCount());
+    }
+
+    @Test
+    void olderAreInvalidated() {
+        underTest.storeJson("Identifier", "old", 1L);
+        JSONStorage.StoredJSON stored = underTest.storeJson("Identifier", "new", 2L);
+
+        underTest.invalidateOlder("Identifier", 2L);
+
+        assertFalse(underTest.fetchJsonMadeBefore("Identifier", 2L).isPresent());
+        assertEquals(stored, underTest.fetchJSON("Identifier").orElseThrow(AssertionError::new));
+        verify(underlyingStorage).invalidateOlder("Identifier", 2L);
+    }
+
+    @Test
+    void weightIncludesEncodedBytes() {
+        JSONStorage.StoredJSON stored = new JSONStorage.StoredJSON("Identifier", "{\"value\":\"\u00e4\"}", 1L);
+        int weight = JSONMemoryStorageShim.weigh(new JSONMemoryStorageShim.TimestampedIdentifier("Identifier", 1L), stored);
+
+        int chars = "Identifier".length() * 2 + stored.json.length();
+        assertTrue(weight >= chars * 2 + stored.getBytes().length);
+    }
+
+    @Test
+    void emptyIndexIsRemovedWithLastEntry() {
+        underTest.storeJson("Identifier", "data", 1L);
+        assertEquals(1, underTest.getIndexedIdentifierCount());
+
+        underTest.getCache().invalidateAll();
+
+        assertEquals(0, underTest.getIndexedIdentifierCount());
+    }
+}
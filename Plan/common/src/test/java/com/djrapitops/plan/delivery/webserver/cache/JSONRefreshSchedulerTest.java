@@ -0,0 +1,92 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.WebserverSettings;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import utilities.mocks.objects.TestRunnableFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JSONRefreshSchedulerTest {
+
+    private static final long NOW = System.currentTimeMillis();
+
+    private JSONRefreshScheduler underTest;
+    private JSONStorage jsonStorage;
+    private AsyncJSONResolverService jsonResolverService;
+
+    @BeforeEach
+    void setUp() {
+        PlanConfig config = Mockito.mock(PlanConfig.class);
+        when(config.get(WebserverSettings.REFRESH_REQUESTED_JSON)).thenReturn(TimeUnit.MINUTES.toMillis(2L));
+        DBSystem dbSystem = Mockito.mock(DBSystem.class);
+        Database db = Mockito.mock(Database.class);
+        when(dbSystem.getDatabase()).thenReturn(db);
+        when(db.getState()).thenReturn(Database.State.OPEN);
+        jsonStorage = Mockito.mock(JSONStorage.class);
+        jsonResolverService = Mockito.mock(AsyncJSONResolverService.class);
+        when(jsonResolverService.canCreate(anyString())).thenReturn(true);
+        when(jsonResolverService.refresh(anyString()))
+                .thenReturn(Optional.of(CompletableFuture.completedFuture(new JSONStorage.StoredJSON("{}", NOW))));
+
+        underTest = new JSONRefreshScheduler(
+                config, dbSystem, jsonStorage, jsonResolverService,
+                new TestRunnableFactory(), Mockito.mock(ErrorLogger.class)
+        );
+    }
+
+    @Test
+    void outdatedRequestedJSONIsDueOldestFirst() {
+        when(jsonResolverService.getRequestedSince(anyLong())).thenReturn(Arrays.asList("NEW", "OLD", "OLDEST", "UNKNOWN"));
+        when(jsonResolverService.getLastUpdated("NEW")).thenReturn(NOW - TimeUnit.SECONDS.toMillis(10L));
+        when(jsonResolverService.getLastUpdated("OLD")).thenReturn(NOW - TimeUnit.MINUTES.toMillis(5L));
+        when(jsonResolverService.getLastUpdated("OLDEST")).thenReturn(0L);
+        when(jsonResolverService.getLastUpdated("UNKNOWN")).thenReturn(0L);
+        when(jsonResolverService.canCreate("UNKNOWN")).thenReturn(false);
+
+        assertEquals(Arrays.asList("OLDEST", "OLD"), underTest.findDue(NOW));
+    }
+
+    @Test
+    void storedJSONIsCreatedAgainAfterRestart() {
+        when(jsonResolverService.getRequestedSince(anyLong())).thenReturn(Collections.emptyList());
+        when(jsonStorage.getStoredIdentifiers()).thenReturn(Arrays.asList("SERVER_OVERVIEW", "query"));
+        when(jsonResolverService.canCreate("query")).thenReturn(false);
+
+        underTest.refresh();
+        underTest.refresh();
+
+        verify(jsonResolverService, times(1)).refresh("SERVER_OVERVIEW");
+        verify(jsonResolverService, never()).refresh("query");
+    }
+}
@@ -17,6 +17,7 @@
 package com.djrapitops.plan.delivery.webserver.cache;
 
 import com.djrapitops.plan.storage.file.PlanFiles;
+import com.google.gson.Gson;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -25,6 +26,7 @@ import utilities.TestPluginLogger;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
@@ -34,8 +36,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
 class JSONStorageTest {
@@ -88,6 +89,21 @@ class JSONStorageTest {
         }
     }
 
+    @Test
+    void serializedDataMatchesGson() {
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", Collections.singletonMap("data", new Number[]{1, 2.5}));
+        assertEquals(new Gson().toJson(Collections.singletonMap("data", new Number[]{1, 2.5})), stored.json);
+    }
+
+    @Test
+    void storedJsonBytesAreEncodedOnce() {
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", "{\"name\":\"\u00e4\"}");
+
+        byte[] bytes = stored.getBytes();
+        assertArrayEquals(stored.json.getBytes(StandardCharsets.UTF_8), bytes);
+        assertSame(bytes, stored.getBytes());
+    }
+
     @Test
     void stringDataIsStoredWithTimestamp() throws IOException {
         long timestamp = System.currentTimeMillis();
@@ -170,4 +186,48 @@ class JSONStorageTest {
         JSONStorage.StoredJSON stored = UNDER_TEST.storeJson(DataID.SESSIONS_OVERVIEW.name(), Collections.singletonList("data"), timestamp);
         assertFalse(UNDER_TEST.fetchJsonMadeBefore(DataID.SESSIONS.name(), timestamp + TimeUnit.DAYS.toMillis(1L)).isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void newestStoredIsFetched() {
+        long timestamp = System.currentTimeMillis();
+        UNDER_TEST.storeJson("Identifier", Collections.singletonList("old"), timestamp - 1L);
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", Collections.singletonList("new"), timestamp);
+        assertEquals(stored, UNDER_TEST.fetchJSON("Identifier").orElseThrow(AssertionError::new));
+        assertEquals(stored, UNDER_TEST.fetchJsonMadeBefore("Identifier", timestamp + 1L).orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void previouslyStoredFilesAreFound() {
+        long timestamp = System.currentTimeMillis();
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", Collections.singletonList("data"), timestamp);
+
+        PlanFiles files = Mockito.mock(PlanFiles.class);
+        when(files.getJSONStorageDirectory()).thenReturn(tempDir);
+        JSONStorage afterRestart = new JSONFileStorage(files, value -> Long.toString(value), new TestPluginLogger());
+
+        assertEquals(stored, afterRestart.fetchExactJson("Identifier", timestamp).orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void olderFilesAreInvalidated() {
+        long timestamp = System.currentTimeMillis();
+        UNDER_TEST.storeJson("Identifier", Collections.singletonList("data"), timestamp - 1L);
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", Collections.singletonList("data"), timestamp);
+
+        UNDER_TEST.invalidateOlder("Identifier", timestamp);
+
+        assertFalse(UNDER_TEST.fetchExactJson("Identifier", timestamp - 1L).isPresent());
+        assertFalse(Files.exists(tempDir.resolve("Identifier-" + (timestamp - 1L) + ".json")));
+        assertEquals(stored, UNDER_TEST.fetchJSON("Identifier").orElseThrow(AssertionError::new));
+    }
+
+    @Test
+    void fileRemovedFromDiskIsSkipped() throws IOException {
+        long timestamp = System.currentTimeMillis();
+        JSONStorage.StoredJSON stored = UNDER_TEST.storeJson("Identifier", Collections.singletonList("data"), timestamp - 1L);
+        UNDER_TEST.storeJson("Identifier", Collections.singletonList("data"), timestamp);
+        Files.delete(tempDir.resolve("Identifier-" + timestamp + ".json"));
+
+        assertEquals(stored, UNDER_TEST.fetchJSON("Identifier").orElseThrow(AssertionError::new));
+    }
+}
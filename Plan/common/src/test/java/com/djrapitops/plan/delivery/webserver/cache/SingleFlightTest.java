@@ -0,0 +1,88 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight underTest = new SingleFlight();
+
+    @Test
+    void concurrentCallsShareComputation() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> underTest.execute("key", () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                awaitUninterruptibly(release);
+                return "result";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> underTest.execute("key", () -> {
+                computations.incrementAndGet();
+                return "other";
+            }));
+            // Give the second call time to start waiting for the first
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals("result", first.get(5, TimeUnit.SECONDS));
+            assertEquals("result", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, computations.get());
+            assertEquals(0, underTest.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void sequentialCallsComputeAgain() {
+        AtomicInteger computations = new AtomicInteger();
+        underTest.execute("key", computations::incrementAndGet);
+        underTest.execute("key", computations::incrementAndGet);
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    void exceptionIsThrownAndKeyIsReleased() {
+        IllegalArgumentException expected = new IllegalArgumentException("Test");
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> underTest.execute("key", () -> {
+                    throw expected;
+                }));
+        assertSame(expected, thrown);
+        assertEquals("ok", underTest.execute("key", () -> "ok"));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
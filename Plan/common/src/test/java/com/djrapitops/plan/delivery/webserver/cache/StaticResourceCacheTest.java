@@ -0,0 +1,146 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.cache;
+
+import com.djrapitops.plan.delivery.web.resolver.MimeType;
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.webserver.CompressedResponseCache;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.ResourceSettings;
+import com.djrapitops.plan.storage.file.PlanFiles;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import utilities.TestPluginLogger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+class StaticResourceCacheTest {
+
+    private static final String CONTENT = StringUtils.repeat("body {color: #368F17;}\n", 100);
+
+    private StaticResourceCache underTest;
+    private Path tempDir;
+    private AtomicInteger created;
+    private ResourceSettings resourceSettings;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) {
+        this.tempDir = tempDir;
+        PlanFiles files = Mockito.mock(PlanFiles.class);
+        when(files.getStaticResourceCacheDirectory()).thenReturn(tempDir);
+        resourceSettings = Mockito.mock(ResourceSettings.class);
+        when(resourceSettings.shouldBeCustomized(anyString(), anyString())).thenReturn(false);
+        PlanConfig config = Mockito.mock(PlanConfig.class);
+        when(config.getResourceSettings()).thenReturn(resourceSettings);
+
+        underTest = new StaticResourceCache(config, files, new CompressedResponseCache(), new TestPluginLogger());
+        underTest.enable();
+        created = new AtomicInteger();
+    }
+
+    private Supplier<Response> source(String content) {
+        return () -> {
+            created.incrementAndGet();
+            return Response.builder()
+                    .setMimeType(MimeType.CSS)
+                    .setContent(content)
+                    .build();
+        };
+    }
+
+    @Test
+    void resourceIsExtractedOnce() throws IOException {
+        Response first = underTest.getResponse("css/style.css", source(CONTENT));
+        Response second = underTest.getResponse("css/style.css", source(CONTENT));
+
+        assertEquals(1, created.get());
+        String hash = second.getHeaders().get(StaticResourceCache.FILE_HEADER);
+        assertEquals(first.getHeaders().get(StaticResourceCache.FILE_HEADER), hash);
+        assertEquals(0, second.getBytes().length);
+        assertEquals(Integer.toString(CONTENT.getBytes(StandardCharsets.UTF_8).length), second.getHeaders().get("Content-Length"));
+
+        StaticResourceCache.StaticFile file = underTest.getFile(hash).orElseThrow(AssertionError::new);
+        assertEquals(CONTENT, new String(Files.readAllBytes(file.getPath()), StandardCharsets.UTF_8));
+        assertTrue(file.getGzipPath().isPresent());
+    }
+
+    @Test
+    void contentHashIsTheETag() {
+        Response response = underTest.getResponse("css/style.css", source(CONTENT));
+        String hash = response.getHeaders().get(StaticResourceCache.FILE_HEADER);
+
+        assertEquals('"' + hash + '"', response.getHeaders().get("ETag"));
+        assertNull(response.getHeaders().get("Cache-Control"));
+    }
+
+    @Test
+    void hashForVersionedURLsIsTheExtractedFile() {
+        String hash = underTest.getHash("css/style.css", source(CONTENT)).orElseThrow(AssertionError::new);
+        Response response = underTest.getResponse("css/style.css", source(CONTENT));
+
+        assertEquals(1, created.get());
+        assertEquals(response.getHeaders().get(StaticResourceCache.FILE_HEADER), hash);
+    }
+
+    @Test
+    void customizedResourcesAreNotVersioned() {
+        when(resourceSettings.shouldBeCustomized("Plan", "css/custom.css")).thenReturn(true);
+        underTest.getResponse("css/custom.css", source(CONTENT));
+
+        assertFalse(underTest.getHash("css/custom.css", source(CONTENT)).isPresent());
+    }
+
+    @Test
+    void errorResponsesAreNotExtracted() {
+        Supplier<Response> notFound = () -> {
+            created.incrementAndGet();
+            return Response.builder().setStatus(404).setContent("Not found").setMimeType(MimeType.HTML).build();
+        };
+        underTest.getResponse("css/missing.css", notFound);
+        Response response = underTest.getResponse("css/missing.css", notFound);
+
+        assertEquals(2, created.get());
+        assertEquals(404, response.getCode());
+        assertNull(response.getHeaders().get(StaticResourceCache.FILE_HEADER));
+    }
+
+    @Test
+    void unusedFilesAreRemovedOnDisable() throws IOException {
+        Path unused = tempDir.resolve("0123456789abcdef");
+        Files.write(unused, new byte[]{1, 2, 3});
+        Response response = underTest.getResponse("css/style.css", source(CONTENT));
+        StaticResourceCache.StaticFile file = underTest.getFile(response.getHeaders().get(StaticResourceCache.FILE_HEADER))
+                .orElseThrow(AssertionError::new);
+
+        underTest.disable();
+
+        assertFalse(Files.exists(unused));
+        assertTrue(Files.exists(file.getPath()));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.delivery.webserver.resolver.json;
+
+import com.djrapitops.plan.delivery.web.resolver.Response;
+import com.djrapitops.plan.delivery.web.resolver.request.Request;
+import com.djrapitops.plan.delivery.web.resolver.request.WebUser;
+import com.djrapitops.plan.delivery.webserver.DataUpdateEvents;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UpdateEventsResolverTest {
+
+    private UpdateEventsResolver underTest;
+
+    @BeforeEach
+    void setUp() {
+        DataUpdateEvents dataUpdateEvents = mock(DataUpdateEvents.class);
+        when(dataUpdateEvents.isAcceptingSubscribers()).thenReturn(true);
+        underTest = new UpdateEventsResolver(dataUpdateEvents);
+    }
+
+    @Test
+    void everyScopeIsGrantedWithoutAuthentication() {
+        Response response = underTest.resolve(new Request("GET", "/v1/events", null, Collections.emptyMap()))
+                .orElseThrow(AssertionError::new);
+
+        assertEquals("server,network,players", response.getHeaders().get(DataUpdateEvents.SCOPES_HEADER));
+    }
+
+    @Test
+    void scopesFollowUserPermissions() {
+        Request request = new Request("GET", "/v1/events", new WebUser("Test", "page.server"), Collections.emptyMap());
+        Response response = underTest.resolve(request).orElseThrow(AssertionError::new);
+
+        assertTrue(underTest.canAccess(request));
+        assertEquals("server", response.getHeaders().get(DataUpdateEvents.SCOPES_HEADER));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension;
+
+import com.djrapitops.plan.extension.implementation.providers.gathering.DataValueGatherer;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.paths.TimeSettings;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import net.playeranalytics.plugin.server.PluginLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExtensionGatheringSchedulerTest {
+
+    private ExtensionGatheringScheduler underTest;
+
+    @BeforeEach
+    void setUp() {
+        PlanConfig config = mock(PlanConfig.class);
+        when(config.get(TimeSettings.EXTENSION_GATHERING_TIMEOUT)).thenReturn(100L);
+        underTest = new ExtensionGatheringScheduler(config, mock(PluginLogger.class), mock(ErrorLogger.class));
+        underTest.enable();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.disable();
+    }
+
+    private DataValueGatherer gatherer(String pluginName) {
+        DataValueGatherer gatherer = mock(DataValueGatherer.class);
+        when(gatherer.getPluginName()).thenReturn(pluginName);
+        return gatherer;
+    }
+
+    @Test
+    void allGatherersAreRun() {
+        Set<String> gathered = ConcurrentHashMap.newKeySet();
+        underTest.gatherAll(Arrays.asList(gatherer("A"), gatherer("B"), gatherer("C")),
+                gatherer -> gathered.add(gatherer.getPluginName()));
+
+        assertEquals(3, gathered.size());
+        assertEquals(1, underTest.getStats("A").getCalls());
+    }
+
+    @Test
+    void slowGathererDoesNotDelayOthers() {
+        Set<String> gathered = ConcurrentHashMap.newKeySet();
+        long start = System.currentTimeMillis();
+        underTest.gatherAll(Arrays.asList(gatherer("Slow"), gatherer("Fast")), gatherer -> {
+            if ("Slow".equals(gatherer.getPluginName())) sleep(1000L);
+            gathered.add(gatherer.getPluginName());
+        });
+
+        assertTrue(System.currentTimeMillis() - start < 1000L);
+        assertTrue(gathered.contains("Fast"));
+        assertEquals(1, underTest.getStats("Slow").getTimeouts());
+    }
+
+    @Test
+    void timedOutGathererIsInterrupted() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        underTest.gatherAll(Collections.singletonList(gatherer("Slow")), gatherer -> {
+            try {
+                Thread.sleep(5000L);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+
+        assertTrue(interrupted.await(1L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void nothingIsGatheredAfterDisable() {
+        underTest.disable();
+        Set<String> gathered = ConcurrentHashMap.newKeySet();
+        underTest.gatherAll(Collections.singletonList(gatherer("A")), gatherer -> gathered.add(gatherer.getPluginName()));
+
+        assertTrue(gathered.isEmpty());
+    }
+
+    @Test
+    void repeatedlySlowGathererIsDisabled() {
+        DataValueGatherer slow = gatherer("Slow");
+        for (int i = 0; i < ExtensionGatheringScheduler.TIMEOUTS_UNTIL_DISABLE; i++) {
+            underTest.gatherAll(Collections.singletonList(slow), gatherer -> sleep(300L));
+        }
+
+        assertTrue(underTest.isDisabled(slow));
+    }
+
+    @Test
+    void gathererQueuedBehindSlowOnesIsNotCountedAsTimeout() {
+        Set<String> gathered = ConcurrentHashMap.newKeySet();
+        underTest.gatherAll(Arrays.asList(gatherer("A"), gatherer("B"), gatherer("C"), gatherer("D"), gatherer("Queued")), gatherer -> {
+            if (!"Queued".equals(gatherer.getPluginName())) sleepUninterruptibly(1000L);
+            gathered.add(gatherer.getPluginName());
+        });
+
+        assertFalse(gathered.contains("Queued"));
+        assertEquals(1, underTest.getStats("A").getTimeouts());
+        assertEquals(0, underTest.getStats("Queued").getTimeouts());
+        assertEquals(0, underTest.getStats("Queued").getCalls());
+    }
+
+    private static void sleepUninterruptibly(long ms) {
+        long end = System.currentTimeMillis() + ms;
+        long left;
+        while ((left = end - System.currentTimeMillis()) > 0) {
+            try {
+                Thread.sleep(left);
+            } catch (InterruptedException ignored) {
+                // Like an extension that does not stop when interrupted
+            }
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers;
+
+import com.djrapitops.plan.exceptions.DataExtensionMethodCallException;
+import com.djrapitops.plan.extension.DataExtension;
+import com.djrapitops.plan.extension.NotReadyException;
+import com.djrapitops.plan.extension.annotation.PluginInfo;
+import com.djrapitops.plan.identification.ServerUUID;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodWrapperTest {
+
+    private static final ServerUUID SERVER_UUID = ServerUUID.randomUUID();
+    private static final UUID PLAYER_UUID = UUID.randomUUID();
+
+    @Test
+    void serverMethodIsCalled() throws NoSuchMethodException {
+        MethodWrapper<Long> method = new MethodWrapper<>(Extension.class.getMethod("serverValue"), Long.class);
+        assertEquals(5L, method.callMethod(new Extension(), Parameters.server(SERVER_UUID)));
+    }
+
+    @Test
+    void playerMethodIsCalledWithUUID() throws NoSuchMethodException {
+        MethodWrapper<String> method = new MethodWrapper<>(Extension.class.getMethod("uuidValue", UUID.class), String.class);
+        assertEquals(PLAYER_UUID.toString(), method.callMethod(new Extension(), Parameters.player(SERVER_UUID, PLAYER_UUID, "Name")));
+    }
+
+    @Test
+    void playerMethodIsCalledWithName() throws NoSuchMethodException {
+        MethodWrapper<String> method = new MethodWrapper<>(Extension.class.getMethod("nameValue", String.class), String.class);
+        assertEquals("Name", method.callMethod(new Extension(), Parameters.player(SERVER_UUID, PLAYER_UUID, "Name")));
+    }
+
+    @Test
+    void notReadyReturnsNull() throws NoSuchMethodException {
+        MethodWrapper<Long> method = new MethodWrapper<>(Extension.class.getMethod("notReady"), Long.class);
+        assertNull(method.callMethod(new Extension(), Parameters.server(SERVER_UUID)));
+    }
+
+    @Test
+    void failureIsWrapped() throws NoSuchMethodException {
+        MethodWrapper<Long> method = new MethodWrapper<>(Extension.class.getMethod("failing"), Long.class);
+        Extension extension = new Extension();
+        Parameters parameters = Parameters.server(SERVER_UUID);
+        DataExtensionMethodCallException thrown = assertThrows(DataExtensionMethodCallException.class,
+                () -> method.callMethod(extension, parameters));
+        assertTrue(thrown.getCause() instanceof IllegalArgumentException);
+        assertEquals("failing", thrown.getMethodName().orElse(null));
+    }
+
+    @PluginInfo(name = "Extension")
+    public static class Extension implements DataExtension {
+        public long serverValue() {
+            return 5L;
+        }
+
+        public String uuidValue(UUID playerUUID) {
+            return playerUUID.toString();
+        }
+
+        public String nameValue(String playerName) {
+            return playerName;
+        }
+
+        public long notReady() {
+            throw new NotReadyException();
+        }
+
+        public long failing() {
+            throw new IllegalArgumentException("Test");
+        }
+    }
+}
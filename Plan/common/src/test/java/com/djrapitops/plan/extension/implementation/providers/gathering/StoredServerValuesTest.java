@@ -0,0 +1,66 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.extension.implementation.providers.gathering;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StoredServerValuesTest {
+
+    @Test
+    void committedValueIsRemembered() {
+        StoredServerValues values = new StoredServerValues();
+        long write = values.startWrite("key");
+        assertNull(values.get("key"));
+        values.committed("key", write, 5L);
+        assertEquals(5L, values.get("key"));
+    }
+
+    @Test
+    void olderWriteIsNotRememberedIfNewerWriteStarted() {
+        StoredServerValues values = new StoredServerValues();
+        long first = values.startWrite("key");
+        long second = values.startWrite("key");
+        values.committed("key", first, 1L);
+        assertNull(values.get("key"));
+        values.committed("key", second, 2L);
+        assertEquals(2L, values.get("key"));
+    }
+
+    @Test
+    void forgottenWriteIsNotRemembered() {
+        StoredServerValues values = new StoredServerValues();
+        long write = values.startWrite("key");
+        values.forget("key");
+        values.committed("key", write, 1L);
+        assertNull(values.get("key"));
+    }
+
+    @Test
+    void clearForgetsEverything() {
+        StoredServerValues values = new StoredServerValues();
+        long write = values.startWrite("key");
+        values.committed("key", write, 1L);
+        long pending = values.startWrite("other");
+        values.clear();
+        values.committed("other", pending, 1L);
+        assertNull(values.get("key"));
+        assertNull(values.get("other"));
+    }
+}
@@ -21,6 +21,7 @@ import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.gathering.domain.ActiveSession;
 import com.djrapitops.plan.gathering.domain.FinishedSession;
 import com.djrapitops.plan.gathering.domain.GMTimes;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
 import com.djrapitops.plan.identification.Server;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.settings.locale.Locale;
@@ -49,6 +50,7 @@ import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -59,6 +61,7 @@ import static org.mockito.Mockito.when;
 class ShutdownSaveTest {
 
     private boolean shutdownStatus;
+    private GatheringEventPipeline pipeline;
     private ServerShutdownSave underTest;
     private Database database;
     private SessionCache sessionCache;
@@ -80,7 +83,8 @@ class ShutdownSaveTest {
         when(dbSystemMock.getDatabase()).thenReturn(database);
 
         TestPluginLogger logger = new TestPluginLogger();
-        underTest = new ServerShutdownSave(new Locale(), dbSystemMock, logger, system.getErrorLogger()) {
+        pipeline = mock(GatheringEventPipeline.class);
+        underTest = new ServerShutdownSave(new Locale(), dbSystemMock, pipeline, logger, system.getErrorLogger()) {
             @Override
             protected boolean checkServerShuttingDownStatus() {
                 return shutdownStatus;
@@ -130,6 +134,14 @@ class ShutdownSaveTest {
         database.close();
     }
 
+    @Test
+    void queuedEventsAreAppliedBeforeSessionsAreSaved() {
+        shutdownStatus = true;
+        underTest.performSave();
+
+        verify(pipeline).flush();
+    }
+
     private void placeSessionToCache() {
         ServerUUID serverUUID = TestConstants.SERVER_UUID;
         UUID playerUUID = TestConstants.PLAYER_ONE_UUID;
@@ -0,0 +1,141 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.gathering.events;
+
+import com.djrapitops.plan.gathering.cache.NicknameCache;
+import com.djrapitops.plan.gathering.cache.SessionCache;
+import com.djrapitops.plan.gathering.domain.ActiveSession;
+import com.djrapitops.plan.gathering.domain.FinishedSession;
+import com.djrapitops.plan.identification.ServerInfo;
+import com.djrapitops.plan.settings.config.PlanConfig;
+import com.djrapitops.plan.settings.config.WorldAliasSettings;
+import com.djrapitops.plan.settings.config.paths.DataGatheringSettings;
+import com.djrapitops.plan.storage.database.DBSystem;
+import com.djrapitops.plan.storage.database.Database;
+import com.djrapitops.plan.storage.database.transactions.events.NicknameStoreTransaction;
+import com.djrapitops.plan.storage.database.transactions.events.WorldNameStoreTransaction;
+import com.djrapitops.plan.utilities.logging.ErrorLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utilities.TestConstants;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GatheringEventPipelineTest {
+
+    private final UUID uuid = TestConstants.PLAYER_ONE_UUID;
+    private PlanConfig config;
+    private Database database;
+    private WorldAliasSettings worldAliasSettings;
+    private GatheringEventPipeline underTest;
+
+    @BeforeEach
+    void setUp() {
+        config = mock(PlanConfig.class);
+        database = mock(Database.class);
+        DBSystem dbSystem = mock(DBSystem.class);
+        when(dbSystem.getDatabase()).thenReturn(database);
+        ServerInfo serverInfo = mock(ServerInfo.class);
+        when(serverInfo.getServerUUID()).thenReturn(TestConstants.SERVER_UUID);
+        worldAliasSettings = mock(WorldAliasSettings.class);
+
+        underTest = new GatheringEventPipeline(
+                config, serverInfo, dbSystem, worldAliasSettings, mock(NicknameCache.class), mock(ErrorLogger.class)
+        );
+        new SessionCache().cacheSession(uuid, new ActiveSession(uuid, TestConstants.SERVER_UUID, 0L, "World1", "SURVIVAL"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.disable();
+        SessionCache.clear();
+    }
+
+    @Test
+    void eventsAreAppliedToSessionOnDrain() {
+        underTest.death(uuid);
+        underTest.mobKill(uuid);
+        underTest.playerKill(uuid, TestConstants.PLAYER_TWO_UUID, "Sword", 10L);
+        underTest.changeState(uuid, "World2", "CREATIVE", 20L);
+
+        assertEquals(4, underTest.getQueueSize());
+        underTest.disable();
+        assertEquals(0, underTest.getQueueSize());
+        assertEquals(4, underTest.getAppliedCount());
+
+        FinishedSession session = SessionCache.getCachedSession(uuid)
+                .orElseThrow(AssertionError::new)
+                .toFinishedSession(30L);
+        assertEquals(1, session.getDeathCount());
+        assertEquals(1, session.getMobKillCount());
+        assertEquals(1, session.getPlayerKillCount());
+    }
+
+    @Test
+    void worldNamesAreStoredOncePerBatch() {
+        underTest.changeState(uuid, "World2", "CREATIVE", 20L);
+        underTest.changeState(uuid, "World2", "SURVIVAL", 30L);
+        underTest.changeState(uuid, "World2", "CREATIVE", 40L);
+        underTest.disable();
+
+        verify(database, times(1)).executeTransaction(any(WorldNameStoreTransaction.class));
+        verify(worldAliasSettings, times(1)).addWorld("World2");
+    }
+
+    @Test
+    void onlyLatestNicknameOfBatchIsStored() {
+        underTest.chat(uuid, "First", 10L);
+        underTest.chat(uuid, "Second", 20L);
+        underTest.disable();
+
+        verify(database, times(1)).executeTransaction(any(NicknameStoreTransaction.class));
+    }
+
+    @Test
+    void eventsAreAppliedOnFlush() {
+        underTest.death(uuid);
+        underTest.flush();
+
+        assertEquals(0, underTest.getQueueSize());
+        FinishedSession session = SessionCache.getCachedSession(uuid)
+                .orElseThrow(AssertionError::new)
+                .toFinishedSession(30L);
+        assertEquals(1, session.getDeathCount());
+    }
+
+    @Test
+    void listenerTimingCountsCallsOverConfiguredBudget() {
+        when(config.get(DataGatheringSettings.LISTENER_TIME_BUDGET)).thenReturn(100);
+        // Listeners register before the pipeline is enabled
+        ListenerTiming timing = underTest.registerTiming("TestListener");
+        underTest.enable();
+        timing.record(50_000L);
+        timing.record(150_000L);
+
+        assertSame(timing, underTest.registerTiming("TestListener"));
+        assertEquals(100_000L, timing.getBudgetNanos());
+        assertEquals(2, timing.getCalls());
+        assertEquals(1, timing.getOverBudgetCalls());
+        assertEquals(150_000L, timing.getMaxNanos());
+        assertEquals(100_000L, timing.getAverageNanos());
+    }
+}
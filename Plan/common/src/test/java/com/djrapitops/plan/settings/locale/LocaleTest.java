@@ -0,0 +1,119 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.settings.locale;
+
+import com.djrapitops.plan.settings.locale.lang.Lang;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import utilities.TestResources;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for {@link Locale} translation of the bundled web files.
+ *
+ * @author AuroraLS3
+ */
+class LocaleTest {
+
+    @ParameterizedTest
+    @EnumSource(value = LangCode.class, names = {"CUSTOM", "EN"}, mode = EnumSource.Mode.EXCLUDE)
+    void webFilesAreTranslatedSameAsReplacingOneAfterAnother(LangCode langCode) throws URISyntaxException, IOException {
+        Locale locale = Locale.fromFile(TestResources.getTestResourceFile("assets/plan/locale/" + langCode.getFileName(), LocaleTest.class));
+
+        for (Path webFile : getWebFiles()) {
+            String text = new String(Files.readAllBytes(webFile), StandardCharsets.UTF_8);
+            if (webFile.toString().endsWith(".js")) {
+                assertEquals(replaceLanguageInJavascript(locale, text), locale.replaceLanguageInJavascript(text), webFile::toString);
+            } else {
+                assertEquals(replaceLanguageInHtml(locale, text), locale.replaceLanguageInHtml(text), webFile::toString);
+            }
+        }
+    }
+
+    private static List<Path> getWebFiles() throws URISyntaxException, IOException {
+        File webDirectory = TestResources.getTestResourceFile("assets/plan/web", LocaleTest.class);
+        try (Stream<Path> files = Files.walk(webDirectory.toPath())) {
+            return files.filter(file -> file.toString().endsWith(".html") || file.toString().endsWith(".js"))
+                    .filter(file -> !file.toString().contains("vendor"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // Translation as it was done before translations were replaced with a single replacer.
+
+    private static String replaceLanguageInHtml(Locale locale, String from) {
+        Matcher scriptMatcher = Locale.FIND_SCRIPT.matcher(from);
+        List<String> foundScripts = new ArrayList<>();
+        while (scriptMatcher.find()) {
+            foundScripts.add(scriptMatcher.group());
+        }
+
+        String translated = translate(locale, from, Locale.HTML_LANG_LONGEST_FIRST);
+
+        StringBuilder complete = new StringBuilder();
+        String[] parts = Locale.FIND_SCRIPT.split(translated);
+        for (int i = 0; i < parts.length; i++) {
+            complete.append(parts[i]);
+            if (i < parts.length - 1) {
+                complete.append(replaceLanguageInJavascript(locale, foundScripts.get(i)));
+            }
+        }
+        return complete.toString();
+    }
+
+    private static String replaceLanguageInJavascript(Locale locale, String from) {
+        return translate(locale, from, Locale.JS_LANG_LONGEST_FIRST, Locale.JS_EXTRA_LANG);
+    }
+
+    private static String translate(Locale locale, String from, Lang[]... langs) {
+        StringBuilder translated = new StringBuilder();
+        Matcher links = TranslatedString.LINK_MATCHER.matcher(from);
+        int start = 0;
+        while (links.find()) {
+            translated.append(translateText(locale, from.substring(start, links.start()), langs)).append(links.group());
+            start = links.end();
+        }
+        return translated.append(translateText(locale, from.substring(start), langs)).toString();
+    }
+
+    private static String translateText(Locale locale, String text, Lang[]... langs) {
+        String translated = text;
+        for (Lang[] group : langs) {
+            for (Lang lang : group) {
+                String replacement = locale.getNonDefault(lang).map(Message::toString).orElse(null);
+                if (replacement != null) {
+                    translated = StringUtils.replace(translated, lang.getDefault(), replacement);
+                }
+            }
+        }
+        return translated;
+    }
+}
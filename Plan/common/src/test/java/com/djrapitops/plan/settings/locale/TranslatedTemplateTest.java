@@ -0,0 +1,100 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.settings.locale;
+
+import com.djrapitops.plan.settings.locale.lang.HtmlLang;
+import com.djrapitops.plan.settings.theme.Theme;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TranslatedTemplateTest {
+
+    private static final String TEMPLATE = "<h1>Name ${serverName}</h1>" +
+            "<script>var timeZone = ${timeZone}; var url = `?user=${encodeURIComponent(user)}`;</script>" +
+            "<div>${tabs}</div>";
+
+    private Locale locale;
+    private Theme theme;
+
+    @BeforeEach
+    void setUp() {
+        locale = new Locale();
+        locale.put(HtmlLang.LABEL_NAME, new Message("Nimi"));
+        theme = Mockito.mock(Theme.class);
+        when(theme.replaceThemeColors(anyString())).then(returnsFirstArg());
+    }
+
+    @Test
+    void placeholdersAreReplacedAndTranslated() {
+        Map<String, Object> placeholders = new HashMap<>();
+        placeholders.put("serverName", "Lobby");
+        placeholders.put("timeZone", 2);
+        Map<String, Object> pluginPlaceholders = new HashMap<>();
+        pluginPlaceholders.put("tabs", "<p>Name of ${serverName}</p>");
+
+        String expected = "<h1>Nimi Lobby</h1>" +
+                "<script>var timeZone = 2; var url = `?user=${encodeURIComponent(user)}`;</script>" +
+                "<div><p>Nimi of Lobby</p></div>";
+        assertEquals(expected, locale.getTemplate(TEMPLATE, theme).render(placeholders, pluginPlaceholders));
+    }
+
+    @Test
+    void templatesAreCompiledOnce() {
+        assertSame(locale.getTemplate(TEMPLATE, theme), locale.getTemplate(TEMPLATE, theme));
+    }
+
+    @Test
+    void themeColorsAreReplacedOnce() {
+        locale.getTemplate(TEMPLATE, theme).render(new HashMap<>());
+        locale.getTemplate(TEMPLATE, theme).render(new HashMap<>());
+
+        verify(theme, times(1)).replaceThemeColors(anyString());
+    }
+
+    @Test
+    void placeholderValueTemplatesAreCached() {
+        Map<String, Object> placeholders = new HashMap<>();
+        placeholders.put("tabs", "<p>Name of ${serverName}</p>");
+        TranslatedTemplate template = locale.getTemplate(TEMPLATE, theme);
+        template.render(placeholders);
+
+        assertSame(locale.getValueTemplate("<p>Name of ${serverName}</p>", TranslatedTemplate.SlotContext.HTML),
+                locale.getValueTemplate("<p>Name of ${serverName}</p>", TranslatedTemplate.SlotContext.HTML));
+    }
+
+    @Test
+    void templatesAreCompiledAgainAfterLocaleChanges() {
+        TranslatedTemplate before = locale.getTemplate(TEMPLATE, theme);
+
+        Locale reloaded = new Locale();
+        reloaded.put(HtmlLang.LABEL_NAME, new Message("Namn"));
+        locale.loadFromAnotherLocale(reloaded);
+
+        TranslatedTemplate after = locale.getTemplate(TEMPLATE, theme);
+        assertNotSame(before, after);
+        assertTrue(after.render(new HashMap<>()).startsWith("<h1>Namn ${serverName}</h1>"));
+    }
+}
@@ -16,6 +16,7 @@
  */
 package com.djrapitops.plan.storage.database.queries;
 
+import com.djrapitops.plan.delivery.domain.SessionAggregates;
 import com.djrapitops.plan.delivery.domain.TablePlayer;
 import com.djrapitops.plan.delivery.domain.container.PlayerContainer;
 import com.djrapitops.plan.delivery.domain.mutators.SessionsMutator;
@@ -26,6 +27,7 @@ import com.djrapitops.plan.gathering.domain.WorldTimes;
 import com.djrapitops.plan.identification.Server;
 import com.djrapitops.plan.identification.ServerUUID;
 import com.djrapitops.plan.storage.database.DatabaseTestPreparer;
+import com.djrapitops.plan.storage.database.queries.analysis.PlayerCountQueries;
 import com.djrapitops.plan.storage.database.queries.containers.PlayerContainerQuery;
 import com.djrapitops.plan.storage.database.queries.objects.KillQueries;
 import com.djrapitops.plan.storage.database.queries.objects.SessionQueries;
@@ -379,4 +381,37 @@ public interface SessionQueriesTest extends DatabaseTestPreparer {
         Map<String, Long> results = db().query(SessionQueries.playtimePerServer(Long.MIN_VALUE, Long.MAX_VALUE));
         assertEquals(expected, results);
     }
+
+    @Test
+    default void sessionAggregatesOfWindowsMatchSeparateQueries() {
+        prepareForSessionSave();
+        List<FinishedSession> sessions = RandomData.randomSessions(serverUUID(), worlds, playerUUID, player2UUID);
+        sessions.forEach(session -> execute(DataStoreQueries.storeSession(session)));
+
+        long now = System.currentTimeMillis();
+        long[][] windows = {
+                {0L, Long.MAX_VALUE},
+                {now - TimeUnit.DAYS.toMillis(30L), now},
+                {now - TimeUnit.DAYS.toMillis(60L), now - TimeUnit.DAYS.toMillis(30L)}
+        };
+
+        List<SessionAggregates> serverAggregates = db().query(SessionQueries.aggregatesOfWindows(serverUUID(), windows));
+        List<SessionAggregates> networkAggregates = db().query(SessionQueries.aggregatesOfWindows(windows));
+        assertEquals(windows.length, serverAggregates.size());
+        for (int i = 0; i < windows.length; i++) {
+            long after = windows[i][0];
+            long before = windows[i][1];
+            SessionAggregates expected = new SessionAggregates(after, before,
+                    db().query(SessionQueries.playtime(after, before, serverUUID())),
+                    db().query(SessionQueries.afkTime(after, before, serverUUID())),
+                    db().query(SessionQueries.sessionCount(after, before, serverUUID())),
+                    db().query(PlayerCountQueries.uniquePlayerCount(after, before, serverUUID())),
+                    db().query(SessionQueries.averagePlaytimePerPlayer(after, before, serverUUID())),
+                    db().query(SessionQueries.averageAfkPerPlayer(after, before, serverUUID()))
+            );
+            assertEquals(expected, serverAggregates.get(i));
+            // Only one server has sessions
+            assertEquals(expected, networkAggregates.get(i));
+        }
+    }
 }
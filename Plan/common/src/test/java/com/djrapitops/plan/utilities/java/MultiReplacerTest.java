@@ -0,0 +1,103 @@
+/*
+ *  This file is part of Player Analytics (Plan).
+ *
+ *  Plan is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU Lesser General Public License v3 as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Plan is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU Lesser General Public License for more details.
+ *
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with Plan. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.djrapitops.plan.utilities.java;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MultiReplacerTest {
+
+    @Test
+    void allStringsAreReplaced() {
+        MultiReplacer underTest = MultiReplacer.of(new String[]{"Players", "Name"}, new String[]{"Pelaajat", "Nimi"});
+
+        assertEquals("<th>Nimi</th><th>Pelaajat</th><th>Nimi</th>", underTest.replace("<th>Name</th><th>Players</th><th>Name</th>"));
+    }
+
+    @Test
+    void earlierReplacementIsDoneFirst() {
+        MultiReplacer underTest = MultiReplacer.of(
+                new String[]{"Players Online", " Online", "Players"},
+                new String[]{"Pelaajia paikalla", " paikalla", "Pelaajat"}
+        );
+
+        assertEquals("Pelaajia paikalla, Pelaajat, paikalla", underTest.replace("Players Online, Players, Online"));
+    }
+
+    @Test
+    void replacedTextIsReplacedByLaterStrings() {
+        MultiReplacer underTest = MultiReplacer.of(new String[]{"a", "b"}, new String[]{"b", "c"});
+
+        assertEquals("ccc", underTest.replace("abb"));
+    }
+
+    @Test
+    void replacedTextIsNotReplacedByEarlierStrings() {
+        MultiReplacer underTest = MultiReplacer.of(new String[]{"b", "a"}, new String[]{"c", "b"});
+
+        assertEquals("bcc", underTest.replace("abb"));
+    }
+
+    @Test
+    void stringCanStartOccurringWhereTextWasRemoved() {
+        MultiReplacer underTest = MultiReplacer.of(new String[]{"-", "ab"}, new String[]{"", "c"});
+
+        assertEquals("c", underTest.replace("a-b"));
+    }
+
+    @Test
+    void textWithoutMatchesIsReturnedAsIs() {
+        MultiReplacer underTest = MultiReplacer.of(new String[]{"Players"}, new String[]{"Pelaajat"});
+        String text = "No matches in this text";
+
+        assertSame(text, underTest.replace(text));
+    }
+
+    @Test
+    void sameResultAsReplacingOneAfterAnother() {
+        Random random = new Random(8451);
+        for (int i = 0; i < 2000; i++) {
+            String[] searches = new String[random.nextInt(8)];
+            String[] replacements = new String[searches.length];
+            for (int j = 0; j < searches.length; j++) {
+                searches[j] = randomText(random, 1 + random.nextInt(3));
+                replacements[j] = randomText(random, random.nextInt(4));
+            }
+            String text = randomText(random, random.nextInt(30));
+
+            String expected = text;
+            for (int j = 0; j < searches.length; j++) {
+                expected = StringUtils.replace(expected, searches[j], replacements[j]);
+            }
+            assertEquals(expected, MultiReplacer.of(searches, replacements).replace(text),
+                    "'" + text + "' with " + String.join(",", searches) + " -> " + String.join(",", replacements));
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+}
@@ -73,6 +73,7 @@ public class TestSettings {
         List<Setting> settings = new ArrayList<>();
         for (Class settingKeyClass : new Class[]{
                 DatabaseSettings.class,
+                DataGatheringSettings.class,
                 DisplaySettings.class,
                 ExportSettings.class,
                 FormatSettings.class,
@@ -88,6 +89,8 @@ public class TestSettings {
         settings.remove(PluginSettings.PROXY_COPY_CONFIG);
         settings.remove(DatabaseSettings.TYPE);
         settings.remove(DisplaySettings.WORLD_ALIASES);
+        settings.remove(DataGatheringSettings.LOG_UNKNOWN_COMMANDS);
+        settings.remove(DataGatheringSettings.COMBINE_COMMAND_ALIASES);
         return settings;
     }
 }
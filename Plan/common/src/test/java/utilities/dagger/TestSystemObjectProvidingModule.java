@@ -16,6 +16,8 @@
  */
 package utilities.dagger;
 
+import com.djrapitops.plan.delivery.webserver.JdkHttpServerEngine;
+import com.djrapitops.plan.delivery.webserver.WebServerEngine;
 import com.djrapitops.plan.settings.config.ExtensionSettings;
 import com.djrapitops.plan.settings.config.PlanConfig;
 import com.djrapitops.plan.settings.locale.Locale;
@@ -78,4 +80,10 @@ public class TestSystemObjectProvidingModule {
     ErrorLogger provideErrorLogger() {
         return new TestErrorLogger();
     }
+
+    @Provides
+    @Singleton
+    WebServerEngine provideWebServerEngine(JdkHttpServerEngine engine) {
+        return engine;
+    }
 }
@@ -17,6 +17,7 @@
 package com.djrapitops.plan;
 
 import com.djrapitops.plan.gathering.ServerShutdownSave;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
 import com.djrapitops.plan.settings.locale.Locale;
 import com.djrapitops.plan.storage.database.DBSystem;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
@@ -37,10 +38,11 @@ public class NukkitServerShutdownSave extends ServerShutdownSave {
     public NukkitServerShutdownSave(
             Locale locale,
             DBSystem dbSystem,
+            GatheringEventPipeline pipeline,
             PluginLogger logger,
             ErrorLogger errorLogger
     ) {
-        super(locale, dbSystem, logger, errorLogger);
+        super(locale, dbSystem, pipeline, logger, errorLogger);
     }
 
     @Override
@@ -31,11 +31,8 @@ import cn.nukkit.event.player.PlayerDeathEvent;
 import cn.nukkit.item.Item;
 import com.djrapitops.plan.delivery.formatting.EntityNameFormatter;
 import com.djrapitops.plan.delivery.formatting.ItemNameFormatter;
-import com.djrapitops.plan.gathering.cache.SessionCache;
-import com.djrapitops.plan.gathering.domain.ActiveSession;
-import com.djrapitops.plan.processing.Processing;
-import com.djrapitops.plan.processing.processors.player.MobKillProcessor;
-import com.djrapitops.plan.processing.processors.player.PlayerKillProcessor;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
+import com.djrapitops.plan.gathering.events.ListenerTiming;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 
@@ -49,23 +46,26 @@ import java.util.Optional;
  */
 public class DeathEventListener implements Listener {
 
-    private final Processing processing;
+    private final GatheringEventPipeline pipeline;
+    private final ListenerTiming timing;
     private final ErrorLogger errorLogger;
 
     @Inject
     public DeathEventListener(
-            Processing processing,
+            GatheringEventPipeline pipeline,
             ErrorLogger errorLogger
     ) {
-        this.processing = processing;
+        this.pipeline = pipeline;
         this.errorLogger = errorLogger;
+        timing = pipeline.registerTiming(getClass().getSimpleName());
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerDeath(PlayerDeathEvent event) {
+        long start = System.nanoTime();
         long time = System.currentTimeMillis();
         Player dead = event.getEntity();
-        SessionCache.getCachedSession(dead.getUniqueId()).ifPresent(ActiveSession::addDeath);
+        pipeline.death(dead.getUniqueId());
 
         try {
             Optional<Player> foundKiller = findKiller(dead);
@@ -74,16 +74,17 @@ public class DeathEventListener implements Listener {
             }
             Player killer = foundKiller.get();
 
-            processing.submitCritical(new PlayerKillProcessor(
-                    killer.getUniqueId(), time, dead.getUniqueId(), findWeapon(dead)
-            ));
+            pipeline.playerKill(killer.getUniqueId(), dead.getUniqueId(), findWeapon(dead), time);
         } catch (Exception e) {
             errorLogger.error(e, ErrorContext.builder().related(event, dead).build());
+        } finally {
+            timing.recordSince(start);
         }
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onMobDeath(EntityDeathEvent event) {
+        long start = System.nanoTime();
         Entity dead = event.getEntity();
 
         try {
@@ -93,9 +94,11 @@ public class DeathEventListener implements Listener {
             }
             Player killer = foundKiller.get();
 
-            processing.submitCritical(new MobKillProcessor(killer.getUniqueId()));
+            pipeline.mobKill(killer.getUniqueId());
         } catch (Exception e) {
             errorLogger.error(e, ErrorContext.builder().related(event, dead).build());
+        } finally {
+            timing.recordSince(start);
         }
     }
 
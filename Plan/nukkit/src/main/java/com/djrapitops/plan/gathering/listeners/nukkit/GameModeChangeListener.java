@@ -21,18 +21,13 @@ import cn.nukkit.event.EventHandler;
 import cn.nukkit.event.EventPriority;
 import cn.nukkit.event.Listener;
 import cn.nukkit.event.player.PlayerGameModeChangeEvent;
-import com.djrapitops.plan.gathering.cache.SessionCache;
-import com.djrapitops.plan.gathering.domain.ActiveSession;
 import com.djrapitops.plan.gathering.domain.GMTimes;
-import com.djrapitops.plan.identification.ServerInfo;
-import com.djrapitops.plan.settings.config.WorldAliasSettings;
-import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.transactions.events.WorldNameStoreTransaction;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
+import com.djrapitops.plan.gathering.events.ListenerTiming;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 
 import javax.inject.Inject;
-import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -42,22 +37,18 @@ import java.util.UUID;
  */
 public class GameModeChangeListener implements Listener {
 
-    private final WorldAliasSettings worldAliasSettings;
-    private final ServerInfo serverInfo;
-    private final DBSystem dbSystem;
+    private final GatheringEventPipeline pipeline;
+    private final ListenerTiming timing;
     private final ErrorLogger errorLogger;
 
     @Inject
     public GameModeChangeListener(
-            WorldAliasSettings worldAliasSettings,
-            ServerInfo serverInfo,
-            DBSystem dbSystem,
+            GatheringEventPipeline pipeline,
             ErrorLogger errorLogger
     ) {
-        this.worldAliasSettings = worldAliasSettings;
-        this.serverInfo = serverInfo;
-        this.dbSystem = dbSystem;
+        this.pipeline = pipeline;
         this.errorLogger = errorLogger;
+        timing = pipeline.registerTiming(getClass().getSimpleName());
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
@@ -65,10 +56,13 @@ public class GameModeChangeListener implements Listener {
         if (event.isCancelled()) {
             return;
         }
+        long start = System.nanoTime();
         try {
             actOnEvent(event);
         } catch (Exception e) {
             errorLogger.error(e, ErrorContext.builder().related(event, event.getPlayer().getGamemode() + "->" + event.getNewGamemode()).build());
+        } finally {
+            timing.recordSince(start);
         }
     }
 
@@ -79,10 +73,6 @@ public class GameModeChangeListener implements Listener {
         String gameMode = GMTimes.magicNumberToGMName(event.getNewGamemode());
         String worldName = player.getLevel().getName();
 
-        dbSystem.getDatabase().executeTransaction(new WorldNameStoreTransaction(serverInfo.getServerUUID(), worldName));
-        worldAliasSettings.addWorld(worldName);
-
-        Optional<ActiveSession> cachedSession = SessionCache.getCachedSession(uuid);
-        cachedSession.ifPresent(session -> session.changeState(worldName, gameMode, time));
+        pipeline.changeState(uuid, worldName, gameMode, time);
     }
 }
@@ -34,6 +34,7 @@ import com.djrapitops.plan.gathering.cache.NicknameCache;
 import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.gathering.domain.ActiveSession;
 import com.djrapitops.plan.gathering.domain.GMTimes;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
 import com.djrapitops.plan.gathering.geolocation.GeolocationCache;
 import com.djrapitops.plan.gathering.listeners.Status;
 import com.djrapitops.plan.identification.ServerInfo;
@@ -70,6 +71,7 @@ public class PlayerOnlineListener implements Listener {
     private final GeolocationCache geolocationCache;
     private final NicknameCache nicknameCache;
     private final SessionCache sessionCache;
+    private final GatheringEventPipeline pipeline;
     private final ErrorLogger errorLogger;
     private final Status status;
 
@@ -84,6 +86,7 @@ public class PlayerOnlineListener implements Listener {
             GeolocationCache geolocationCache,
             NicknameCache nicknameCache,
             SessionCache sessionCache,
+            GatheringEventPipeline pipeline,
             Status status,
             ErrorLogger errorLogger
     ) {
@@ -96,6 +99,7 @@ public class PlayerOnlineListener implements Listener {
         this.geolocationCache = geolocationCache;
         this.nicknameCache = nicknameCache;
         this.sessionCache = sessionCache;
+        this.pipeline = pipeline;
         this.status = status;
         this.errorLogger = errorLogger;
     }
@@ -227,6 +231,8 @@ public class PlayerOnlineListener implements Listener {
 
         dbSystem.getDatabase().executeTransaction(new BanStatusTransaction(playerUUID, serverUUID, player::isBanned));
 
+        // Events of the player that are still queued belong to the session that is ending.
+        pipeline.flush();
         sessionCache.endSession(playerUUID, time)
                 .ifPresent(endedSession -> dbSystem.getDatabase().executeTransaction(new SessionEndTransaction(endedSession)));
 
@@ -25,6 +25,7 @@ import com.djrapitops.plan.extension.ExtensionSvc;
 import com.djrapitops.plan.gathering.cache.NicknameCache;
 import com.djrapitops.plan.gathering.cache.SessionCache;
 import com.djrapitops.plan.gathering.domain.ActiveSession;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
 import com.djrapitops.plan.gathering.geolocation.GeolocationCache;
 import com.djrapitops.plan.gathering.listeners.Status;
 import com.djrapitops.plan.identification.ServerInfo;
@@ -72,6 +73,7 @@ public class PlayerOnlineListener {
     private final GeolocationCache geolocationCache;
     private final NicknameCache nicknameCache;
     private final SessionCache sessionCache;
+    private final GatheringEventPipeline pipeline;
     private final Status status;
     private final ErrorLogger errorLogger;
 
@@ -85,6 +87,7 @@ public class PlayerOnlineListener {
             Exporter exporter, GeolocationCache geolocationCache,
             NicknameCache nicknameCache,
             SessionCache sessionCache,
+            GatheringEventPipeline pipeline,
             Status status,
             ErrorLogger errorLogger
     ) {
@@ -97,6 +100,7 @@ public class PlayerOnlineListener {
         this.geolocationCache = geolocationCache;
         this.nicknameCache = nicknameCache;
         this.sessionCache = sessionCache;
+        this.pipeline = pipeline;
         this.status = status;
         this.errorLogger = errorLogger;
     }
@@ -226,6 +230,8 @@ public class PlayerOnlineListener {
 
         dbSystem.getDatabase().executeTransaction(new BanStatusTransaction(playerUUID, serverUUID, () -> isBanned(player.getProfile())));
 
+        // Events of the player that are still queued belong to the session that is ending.
+        pipeline.flush();
         sessionCache.endSession(playerUUID, time)
                 .ifPresent(endedSession -> dbSystem.getDatabase().executeTransaction(new SessionEndTransaction(endedSession)));
 
@@ -16,11 +16,8 @@
  */
 package com.djrapitops.plan.gathering.listeners.sponge;
 
-import com.djrapitops.plan.delivery.domain.Nickname;
-import com.djrapitops.plan.gathering.cache.NicknameCache;
-import com.djrapitops.plan.identification.ServerInfo;
-import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.transactions.events.NicknameStoreTransaction;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
+import com.djrapitops.plan.gathering.events.ListenerTiming;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import org.spongepowered.api.entity.living.player.Player;
@@ -39,22 +36,18 @@ import java.util.UUID;
  */
 public class SpongeChatListener {
 
-    private final ServerInfo serverInfo;
-    private final DBSystem dbSystem;
-    private final NicknameCache nicknameCache;
+    private final GatheringEventPipeline pipeline;
+    private final ListenerTiming timing;
     private final ErrorLogger errorLogger;
 
     @Inject
     public SpongeChatListener(
-            ServerInfo serverInfo,
-            DBSystem dbSystem,
-            NicknameCache nicknameCache,
+            GatheringEventPipeline pipeline,
             ErrorLogger errorLogger
     ) {
-        this.serverInfo = serverInfo;
-        this.dbSystem = dbSystem;
-        this.nicknameCache = nicknameCache;
+        this.pipeline = pipeline;
         this.errorLogger = errorLogger;
+        timing = pipeline.registerTiming(getClass().getSimpleName());
     }
 
     @Listener(order = Order.POST)
@@ -63,10 +56,13 @@ public class SpongeChatListener {
             return;
         }
 
+        long start = System.nanoTime();
         try {
             actOnChatEvent(player);
         } catch (Exception e) {
             errorLogger.error(e, ErrorContext.builder().related(event).build());
+        } finally {
+            timing.recordSince(start);
         }
     }
 
@@ -75,9 +71,6 @@ public class SpongeChatListener {
         UUID uuid = player.getUniqueId();
         String displayName = player.getDisplayNameData().displayName().get().toPlain();
 
-        dbSystem.getDatabase().executeTransaction(new NicknameStoreTransaction(
-                uuid, new Nickname(displayName, time, serverInfo.getServerUUID()),
-                (playerUUID, name) -> nicknameCache.getDisplayName(playerUUID).map(name::equals).orElse(false)
-        ));
+        pipeline.chat(uuid, displayName, time);
     }
 }
\ No newline at end of file
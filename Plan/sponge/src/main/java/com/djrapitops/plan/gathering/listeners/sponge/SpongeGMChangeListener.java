@@ -16,12 +16,8 @@
  */
 package com.djrapitops.plan.gathering.listeners.sponge;
 
-import com.djrapitops.plan.gathering.cache.SessionCache;
-import com.djrapitops.plan.gathering.domain.ActiveSession;
-import com.djrapitops.plan.identification.ServerInfo;
-import com.djrapitops.plan.settings.config.WorldAliasSettings;
-import com.djrapitops.plan.storage.database.DBSystem;
-import com.djrapitops.plan.storage.database.transactions.events.WorldNameStoreTransaction;
+import com.djrapitops.plan.gathering.events.GatheringEventPipeline;
+import com.djrapitops.plan.gathering.events.ListenerTiming;
 import com.djrapitops.plan.utilities.logging.ErrorContext;
 import com.djrapitops.plan.utilities.logging.ErrorLogger;
 import org.spongepowered.api.entity.living.player.Player;
@@ -30,7 +26,6 @@ import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.entity.living.humanoid.ChangeGameModeEvent;
 
 import javax.inject.Inject;
-import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -40,22 +35,18 @@ import java.util.UUID;
  */
 public class SpongeGMChangeListener {
 
-    private final WorldAliasSettings worldAliasSettings;
-    private final ServerInfo serverInfo;
-    private final DBSystem dbSystem;
+    private final GatheringEventPipeline pipeline;
+    private final ListenerTiming timing;
     private final ErrorLogger errorLogger;
 
     @Inject
     public SpongeGMChangeListener(
-            WorldAliasSettings worldAliasSettings,
-            ServerInfo serverInfo,
-            DBSystem dbSystem,
+            GatheringEventPipeline pipeline,
             ErrorLogger errorLogger
     ) {
-        this.worldAliasSettings = worldAliasSettings;
-        this.serverInfo = serverInfo;
-        this.dbSystem = dbSystem;
+        this.pipeline = pipeline;
         this.errorLogger = errorLogger;
+        timing = pipeline.registerTiming(getClass().getSimpleName());
     }
 
     @Listener(order = Order.POST)
@@ -64,10 +55,13 @@ public class SpongeGMChangeListener {
             return;
         }
 
+        long start = System.nanoTime();
         try {
             actOnGMChangeEvent(event);
         } catch (Exception e) {
             errorLogger.error(e, ErrorContext.builder().related(event, event.getGameMode()).build());
+        } finally {
+            timing.recordSince(start);
         }
     }
 
@@ -79,11 +73,7 @@ public class SpongeGMChangeListener {
         String gameMode = event.getGameMode().getName().toUpperCase();
         String worldName = player.getWorld().getName();
 
-        dbSystem.getDatabase().executeTransaction(new WorldNameStoreTransaction(serverInfo.getServerUUID(), worldName));
-        worldAliasSettings.addWorld(worldName);
-
-        Optional<ActiveSession> cachedSession = SessionCache.getCachedSession(uuid);
-        cachedSession.ifPresent(session -> session.changeState(worldName, gameMode, time));
+        pipeline.changeState(uuid, worldName, gameMode, time);
     }
 
 }
\ No newline at end of file